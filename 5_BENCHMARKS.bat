@@ -0,0 +1,22 @@
+@echo off
+title BENCHMARKS - BATALLA NAVAL
+color 0F
+echo ========================================
+echo    BENCHMARKS JMH - BATALLA NAVAL
+echo ========================================
+echo.
+echo Compilando y empaquetando la suite...
+echo.
+
+call mvn -q -pl benchmarks -am package -DskipTests
+
+echo.
+echo Ejecutando benchmarks (sin GUI, con perfilador de GC)...
+echo Para filtrar: 5_BENCHMARKS.bat BoardBenchmark
+echo.
+
+java -Djava.awt.headless=true -jar benchmarks\target\benchmarks.jar %* -rf json -rff benchmarks\target\jmh-result.json
+
+echo.
+echo Resultados en benchmarks\target\jmh-result.json
+pause
@@ -0,0 +1,22 @@
+@echo off
+title PRUEBA DE CARGA - BATALLA NAVAL
+color 0F
+echo ========================================
+echo    PRUEBA DE CARGA - BATALLA NAVAL
+echo ========================================
+echo.
+echo Compilando...
+echo.
+
+call mvn -q -pl loadtest -am install -DskipTests
+
+echo.
+echo Ejecutando bots sin GUI contra un servidor en este proceso.
+echo Para usar un servidor ya iniciado: 6_PRUEBA_CARGA.bat -Dbattleship.loadtest.mode=rmi
+echo Mas bots: 6_PRUEBA_CARGA.bat -Dbattleship.loadtest.players=4000
+echo.
+
+java -Djava.awt.headless=true %* -cp "loadtest/target/classes;server/target/classes;shared/target/classes" co.edu.uptc.loadtest.LoadTestMain
+
+echo.
+pause
@@ -0,0 +1,22 @@
+@echo off
+title TORNEO IA - BATALLA NAVAL
+color 0F
+echo ========================================
+echo    TORNEO IA - BATALLA NAVAL
+echo ========================================
+echo.
+echo Compilando...
+echo.
+
+call mvn -q -pl server -am install -DskipTests
+
+echo.
+echo Partidas IA contra IA en paralelo, sin red ni GUI.
+echo Estrategias: 7_TORNEO_IA.bat -Dbattleship.sim.strategies=hunt,density
+echo Mas partidas: 7_TORNEO_IA.bat -Dbattleship.sim.games=5000000
+echo.
+
+java %* -cp "server/target/classes;shared/target/classes" co.edu.uptc.server.sim.SimulatorMain
+
+echo.
+pause
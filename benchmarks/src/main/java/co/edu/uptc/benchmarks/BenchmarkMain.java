@@ -0,0 +1,25 @@
+package co.edu.uptc.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de la suite JMH
+ * Acepta las mismas opciones que org.openjdk.jmh.Main y siempre agrega el
+ * perfilador de GC para reportar asignación de memoria por operación.
+ */
+public class BenchmarkMain {
+    
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(cli)
+                .addProfiler(GCProfiler.class)
+                .jvmArgsPrepend("-Djava.awt.headless=true")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,56 @@
+package co.edu.uptc.benchmarks;
+
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.Position;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del modelo Board: ataques y colocación de barcos
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+    
+    private Position[] shots;
+    private Board board;
+    
+    @Setup(Level.Trial)
+    public void setupShots() {
+        shots = Fixtures.shuffledCells(42);
+    }
+    
+    @Setup(Level.Invocation)
+    public void setupBoard() {
+        board = Fixtures.fleetBoard();
+    }
+    
+    /** Ataca las 100 celdas de un tablero con la flota estándar */
+    @Benchmark
+    @OperationsPerInvocation(Board.CELLS)
+    public void receiveAttack(Blackhole bh) {
+        for (Position shot : shots) {
+            bh.consume(board.receiveAttack(shot));
+        }
+    }
+    
+    /** Construye un tablero y coloca la flota estándar completa */
+    @Benchmark
+    public Board placeFleet() {
+        return Fixtures.fleetBoard();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(Board.CELLS)
+    public void hasShipAt(Blackhole bh) {
+        for (Position shot : shots) {
+            bh.consume(board.hasShipAt(shot));
+        }
+    }
+}
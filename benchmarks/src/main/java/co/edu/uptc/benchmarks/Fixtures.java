@@ -0,0 +1,103 @@
+package co.edu.uptc.benchmarks;
+
+import co.edu.uptc.shared.event.GameEvent;
+import co.edu.uptc.shared.interfaces.GameCallback;
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.Position;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Datos y stubs compartidos por los benchmarks
+ */
+final class Fixtures {
+    
+    /** Flota estándar: origen (x, y), tamaño y orientación */
+    static final int[][] FLEET = {
+        {0, 0, 5, 1},
+        {0, 2, 4, 1},
+        {6, 2, 3, 0},
+        {0, 6, 3, 1},
+        {8, 7, 2, 0}
+    };
+    
+    private Fixtures() {
+    }
+    
+    static Board fleetBoard() {
+        Board board = new Board();
+        for (int[] ship : FLEET) {
+            board.placeShip(start(ship), end(ship));
+        }
+        return board;
+    }
+    
+    static Position start(int[] ship) {
+        return Position.of(ship[0], ship[1]);
+    }
+    
+    static Position end(int[] ship) {
+        boolean horizontal = ship[3] == 1;
+        return Position.of(ship[0] + (horizontal ? ship[2] - 1 : 0),
+                           ship[1] + (horizontal ? 0 : ship[2] - 1));
+    }
+    
+    /** Las 100 celdas del tablero en orden aleatorio reproducible */
+    static Position[] shuffledCells(long seed) {
+        Position[] cells = new Position[Board.CELLS];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = Position.ofIndex(i);
+        }
+        Random random = new Random(seed);
+        for (int i = cells.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Position tmp = cells[i];
+            cells[i] = cells[j];
+            cells[j] = tmp;
+        }
+        return cells;
+    }
+    
+    /** Directorio temporal para journals y logs de un benchmark */
+    static Path tempDir(String prefix) {
+        try {
+            return Files.createTempDirectory(prefix);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    static void deleteDir(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /** Evita que el log por consola del servidor domine las mediciones */
+    static void quietServerLogging() {
+        Logger.getLogger("co.edu.uptc").setLevel(Level.WARNING);
+    }
+    
+    /**
+     * Callback local que descarta las notificaciones (sin exportar por RMI)
+     */
+    static final class NoOpCallback implements GameCallback {
+        @Override public void onGameEvent(String message) { }
+        @Override public void onGameEvents(List<GameEvent> events) { }
+        @Override public void onPlayerJoined(String playerName) { }
+        @Override public void onTurnChanged(boolean isMyTurn, String currentPlayerName) { }
+        @Override public void onGameEnded(String winner) { }
+        @Override public void onOpponentDisconnected() { }
+    }
+}
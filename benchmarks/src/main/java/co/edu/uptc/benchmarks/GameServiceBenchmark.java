@@ -0,0 +1,44 @@
+package co.edu.uptc.benchmarks;
+
+import co.edu.uptc.server.GameServiceImpl;
+import co.edu.uptc.shared.interfaces.GameCallback;
+import org.openjdk.jmh.annotations.*;
+
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de GameServiceImpl.joinGame invocado en proceso (sin red)
+ * El servicio se recrea en cada iteración para no acumular jugadores; se
+ * levanta el límite de sesiones para medir el emparejamiento y no el rechazo.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dbattleship.maxSessions=2147483647")
+@State(Scope.Benchmark)
+public class GameServiceBenchmark {
+    
+    private GameServiceImpl service;
+    private GameCallback callback;
+    
+    @Setup(Level.Iteration)
+    public void setup() throws RemoteException {
+        Fixtures.quietServerLogging();
+        service = new GameServiceImpl();
+        callback = new Fixtures.NoOpCallback();
+    }
+    
+    @TearDown(Level.Iteration)
+    public void tearDown() throws RemoteException {
+        UnicastRemoteObject.unexportObject(service, true);
+        service.shutdown();
+    }
+    
+    @Benchmark
+    public String joinGame() throws RemoteException {
+        return service.joinGame("Bot", callback);
+    }
+}
@@ -0,0 +1,97 @@
+package co.edu.uptc.benchmarks;
+
+import co.edu.uptc.server.CallbackDispatcher;
+import co.edu.uptc.server.GameSession;
+import co.edu.uptc.server.Player;
+import co.edu.uptc.server.ServerContext;
+import co.edu.uptc.server.eventlog.EventLog;
+import co.edu.uptc.server.journal.Journal;
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.Position;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de GameSession.attack en proceso, con callbacks stub entregados
+ * por el CallbackDispatcher real
+ * Cuando una partida termina se arma otra; ese costo queda amortizado
+ * entre los ~100-200 ataques de cada partida.
+ *
+ * El parámetro journaled compara el ataque sin journal contra el ataque con
+ * el journal mapeado en memoria activo (fsync por grupos cada 20 ms o 1024
+ * registros, como en la configuración por defecto).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameSessionBenchmark {
+    
+    private static final String P1 = "player_1";
+    private static final String P2 = "player_2";
+    
+    @Param({"false", "true"})
+    public boolean journaled;
+    
+    private Position[] shots1;
+    private Position[] shots2;
+    private ServerContext context;
+    private Path journalDir;
+    private GameSession session;
+    private int cursor1;
+    private int cursor2;
+    private boolean player1Turn;
+    private int games;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        Fixtures.quietServerLogging();
+        shots1 = Fixtures.shuffledCells(1);
+        shots2 = Fixtures.shuffledCells(2);
+        Journal journal = Journal.disabled();
+        if (journaled) {
+            journalDir = Fixtures.tempDir("bench-journal");
+            journal = Journal.open(journalDir, 64 << 20, 20, 1024);
+        }
+        context = new ServerContext(new CallbackDispatcher(2), EventLog.disabled(), journal);
+        newGame();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.shutdown();
+        if (journalDir != null) {
+            Fixtures.deleteDir(journalDir);
+        }
+    }
+    
+    @Benchmark
+    public Board.AttackResult attack() {
+        Board.AttackResult result = player1Turn
+                ? session.attack(P1, shots1[cursor1++])
+                : session.attack(P2, shots2[cursor2++]);
+        if (result == Board.AttackResult.SUNK_AND_GAME_OVER) {
+            newGame();
+        } else if (result == Board.AttackResult.MISS) {
+            player1Turn = !player1Turn;
+        }
+        return result;
+    }
+    
+    private void newGame() {
+        session = new GameSession(games++, context);
+        session.addPlayer(new Player(1, "Uno", new Fixtures.NoOpCallback()));
+        session.addPlayer(new Player(2, "Dos", new Fixtures.NoOpCallback()));
+        for (int[] ship : Fixtures.FLEET) {
+            session.placeShip(P1, Fixtures.start(ship), Fixtures.end(ship));
+            session.placeShip(P2, Fixtures.start(ship), Fixtures.end(ship));
+        }
+        cursor1 = 0;
+        cursor2 = 0;
+        player1Turn = true;
+    }
+}
@@ -0,0 +1,47 @@
+package co.edu.uptc.benchmarks;
+
+import co.edu.uptc.shared.model.GameStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de los métodos fábrica de GameStatus
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameStatusBenchmark {
+    
+    private String playerName = "Jugador123";
+    private boolean myTurn = true;
+    private int players = 1;
+    
+    @Benchmark
+    public GameStatus waiting() {
+        return GameStatus.waiting(players);
+    }
+    
+    @Benchmark
+    public GameStatus placingShips() {
+        return GameStatus.placingShips(players);
+    }
+    
+    @Benchmark
+    public GameStatus playingMyTurn() {
+        return GameStatus.playing(playerName, myTurn);
+    }
+    
+    @Benchmark
+    public GameStatus playingOpponentTurn() {
+        return GameStatus.playing(playerName, !myTurn);
+    }
+    
+    @Benchmark
+    public GameStatus finished() {
+        return GameStatus.finished(playerName);
+    }
+}
@@ -0,0 +1,11 @@
+package co.edu.uptc.benchmarks;
+
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * Mismos benchmarks de SerializationBenchmark con la serialización Java por
+ * defecto (formato anterior), para comparar bytes y tiempos con el compacto
+ */
+@Fork(value = 1, jvmArgsAppend = "-Dbattleship.wire.legacy=true")
+public class LegacySerializationBenchmark extends SerializationBenchmark {
+}
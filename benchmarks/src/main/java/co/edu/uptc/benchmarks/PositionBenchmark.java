@@ -0,0 +1,49 @@
+package co.edu.uptc.benchmarks;
+
+import co.edu.uptc.shared.model.Position;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de Position: hash, fábrica y búsqueda en mapas
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PositionBenchmark {
+    
+    private int x = 7;
+    private int y = 4;
+    private Position position;
+    private Map<Position, Integer> map;
+    
+    @Setup
+    public void setup() {
+        position = Position.of(x, y);
+        map = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(Position.ofIndex(i), i);
+        }
+    }
+    
+    @Benchmark
+    public int hashCodeOf() {
+        return position.hashCode();
+    }
+    
+    @Benchmark
+    public Position factory() {
+        return Position.of(x, y);
+    }
+    
+    @Benchmark
+    public Integer mapLookup() {
+        return map.get(Position.of(x, y));
+    }
+}
@@ -0,0 +1,99 @@
+package co.edu.uptc.benchmarks;
+
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.GameStatus;
+import co.edu.uptc.shared.model.Position;
+import co.edu.uptc.shared.model.WireFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de serialización de los modelos que viajan por RMI
+ * Cada operación usa un stream nuevo, igual que una invocación RMI.
+ * Mide el formato compacto; LegacySerializationBenchmark repite lo mismo
+ * con la serialización Java por defecto para comparar.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+    
+    private Position position;
+    private GameStatus status;
+    private Board board;
+    
+    private byte[] positionBytes;
+    private byte[] statusBytes;
+    private byte[] boardBytes;
+    
+    @Setup
+    public void setup() throws IOException {
+        position = Position.of(4, 6);
+        status = GameStatus.playing("Jugador123", false);
+        board = Fixtures.fleetBoard();
+        for (Position shot : Fixtures.shuffledCells(7)) {
+            if (shot.getIndex() % 3 == 0) {
+                board.receiveAttack(shot);
+            }
+        }
+        positionBytes = serialize(position);
+        statusBytes = serialize(status);
+        boardBytes = serialize(board);
+        System.out.println("\nBytes serializados (" + (WireFormat.COMPACT ? "compacto" : "Java por defecto")
+                + "): Position=" + positionBytes.length
+                + ", GameStatus=" + statusBytes.length + ", Board=" + boardBytes.length);
+    }
+    
+    @Benchmark
+    public byte[] writePosition() throws IOException {
+        return serialize(position);
+    }
+    
+    @Benchmark
+    public Object readPosition() throws Exception {
+        return deserialize(positionBytes);
+    }
+    
+    @Benchmark
+    public byte[] writeGameStatus() throws IOException {
+        return serialize(status);
+    }
+    
+    @Benchmark
+    public Object readGameStatus() throws Exception {
+        return deserialize(statusBytes);
+    }
+    
+    @Benchmark
+    public byte[] writeBoard() throws IOException {
+        return serialize(board);
+    }
+    
+    @Benchmark
+    public Object readBoard() throws Exception {
+        return deserialize(boardBytes);
+    }
+    
+    static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+    
+    static Object deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+}
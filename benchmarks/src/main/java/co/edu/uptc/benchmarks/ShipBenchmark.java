@@ -0,0 +1,48 @@
+package co.edu.uptc.benchmarks;
+
+import co.edu.uptc.shared.model.Position;
+import co.edu.uptc.shared.model.Ship;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de Ship: consulta de hundimiento y ocupación
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShipBenchmark {
+    
+    private Ship intact;
+    private Ship damaged;
+    private Position probe;
+    
+    @Setup
+    public void setup() {
+        intact = new Ship(Position.of(2, 3), Position.of(6, 3));
+        damaged = new Ship(Position.of(2, 3), Position.of(6, 3));
+        for (int x = 2; x <= 5; x++) {
+            damaged.hit(Position.of(x, 3));
+        }
+        probe = Position.of(5, 3);
+    }
+    
+    @Benchmark
+    public boolean isSunkIntact() {
+        return intact.isSunk();
+    }
+    
+    @Benchmark
+    public boolean isSunkDamaged() {
+        return damaged.isSunk();
+    }
+    
+    @Benchmark
+    public boolean occupiesPosition() {
+        return intact.occupiesPosition(probe);
+    }
+}
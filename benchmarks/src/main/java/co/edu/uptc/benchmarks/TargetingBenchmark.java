@@ -0,0 +1,107 @@
+package co.edu.uptc.benchmarks;
+
+import co.edu.uptc.server.ai.AiOpponents;
+import co.edu.uptc.server.ai.DensityTargeter;
+import co.edu.uptc.server.ai.MonteCarloTargeter;
+import co.edu.uptc.server.ai.ShotSelector;
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.Position;
+import co.edu.uptc.shared.model.ShipPlacement;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de los selectores de disparo de la IA sobre una partida a
+ * medias (30 disparos, un barco hundido y un impacto sin rematar)
+ *
+ * El Monte Carlo toma una cantidad fija de muestras, sin límite de tiempo,
+ * para comparar la escala con 1, 4 y todos los núcleos (threads = 0).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TargetingBenchmark {
+    
+    private static final int SAMPLES = 20000;
+    
+    @Param({"1", "4", "0"})
+    public int threads;
+    
+    private ForkJoinPool pool;
+    private MonteCarloTargeter monteCarlo;
+    private DensityTargeter density;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = AiOpponents.samplerPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        monteCarlo = new MonteCarloTargeter(pool, Long.MAX_VALUE / 2, SAMPLES, new Random(7));
+        density = new DensityTargeter(new Random(7));
+        replay(monteCarlo);
+        replay(density);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+    
+    /**
+     * Dispara contra la flota de Fixtures hasta hundir un barco y dejar otro
+     * tocado, con al menos 30 disparos
+     */
+    private static void replay(ShotSelector selector) {
+        Board board = Fixtures.fleetBoard();
+        boolean sunk = false;
+        int shots = 0;
+        for (Position shot : Fixtures.shuffledCells(3)) {
+            shots++;
+            Board.AttackResult result = board.receiveAttack(shot);
+            int cell = shot.getIndex();
+            if (result == Board.AttackResult.MISS) {
+                selector.miss(cell);
+            } else if (result == Board.AttackResult.SUNK) {
+                selector.hit(cell);
+                selector.sunk(shipAt(cell));
+                sunk = true;
+            } else {
+                selector.hit(cell);
+                if (sunk && shots >= 30) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    private static ShipPlacement shipAt(int cell) {
+        int x = cell % Board.SIZE;
+        int y = cell / Board.SIZE;
+        for (int[] ship : Fixtures.FLEET) {
+            boolean horizontal = ship[3] == 1;
+            boolean covers = horizontal
+                    ? y == ship[1] && x >= ship[0] && x < ship[0] + ship[2]
+                    : x == ship[0] && y >= ship[1] && y < ship[1] + ship[2];
+            if (covers) {
+                return new ShipPlacement(Fixtures.start(ship), ship[2], horizontal);
+            }
+        }
+        throw new IllegalStateException("Sin barco en la celda " + cell);
+    }
+    
+    /** Un disparo del nivel difícil: SAMPLES flotas repartidas en el pool */
+    @Benchmark
+    public int monteCarlo() {
+        return monteCarlo.nextShot();
+    }
+    
+    /** Un disparo del nivel normal, como referencia (no usa el pool) */
+    @Benchmark
+    public int density() {
+        return density.nextShot();
+    }
+}
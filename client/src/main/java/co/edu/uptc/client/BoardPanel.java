@@ -1,11 +1,15 @@
 package co.edu.uptc.client;
 
+import co.edu.uptc.shared.model.FleetRules;
 import co.edu.uptc.shared.model.Position;
+import co.edu.uptc.shared.model.ShipPlacement;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Panel súper simple del tablero 10x10 para Batalla Naval
@@ -29,7 +33,8 @@ public class BoardPanel extends JPanel {
     
     // Variables para colocación manual de barcos
     private boolean isHorizontal = true;
-    private int[] shipSizes = {5, 4, 3, 3, 2}; // Tamaños de barcos estándar
+    private int[] shipSizes = FleetRules.standardFleet(); // Tamaños de barcos estándar
+    private final List<ShipPlacement> placements = new ArrayList<>(); // Flota a enviar al servidor
     private int currentShipIndex = 0; // Índice del barco actual a colocar
     private int shipsPlaced = 0; // Contador de barcos colocados
     
@@ -99,7 +104,7 @@ public class BoardPanel extends JPanel {
         int y = e.getY() / CELL_SIZE;
         
         if (x >= 0 && x < BOARD_SIZE && y >= 0 && y < BOARD_SIZE) {
-            return new Position(x, y);
+            return Position.of(x, y);
         }
         return null;
     }
@@ -138,6 +143,10 @@ public class BoardPanel extends JPanel {
         return shipsPlaced >= shipSizes.length;
     }
     
+    public List<ShipPlacement> getPlacements() {
+        return new ArrayList<>(placements);
+    }
+    
     private void tryPlaceShip(int x, int y) {
         if (!isMyBoard || allShipsPlaced()) {
             return;
@@ -146,6 +155,7 @@ public class BoardPanel extends JPanel {
         int shipSize = shipSizes[currentShipIndex];
         if (canPlaceShip(x, y, shipSize, isHorizontal)) {
             placeShip(x, y, shipSize, isHorizontal);
+            placements.add(new ShipPlacement(Position.of(x, y), shipSize, isHorizontal));
             shipsPlaced++;
             currentShipIndex++;
             String remaining = (shipSizes.length - shipsPlaced) + " barcos restantes";
@@ -1,33 +1,39 @@
 package co.edu.uptc.client;
 
+import co.edu.uptc.shared.nio.NioGameClient;
+import co.edu.uptc.shared.nio.NioProtocol;
+
 import javax.swing.*;
 import java.rmi.registry.LocateRegistry;
-import java.rmi.registry.Registry;
 import java.util.logging.Logger;
 
 /**
  * Punto de entrada del cliente RMI
  * Conecta al servidor y lanza la GUI simple
+ * Con -Dbattleship.transport=nio usa el transporte binario NIO en lugar de RMI.
  */
 public class ClientMain {
     private static final Logger LOGGER = Logger.getLogger(ClientMain.class.getName());
     private static final String DEFAULT_HOST = "localhost";
     private static final int DEFAULT_PORT = 1100;
+    private static final boolean NIO = "nio".equals(System.getProperty("battleship.transport"));
     
     public static void main(String[] args) {
         // Obtener parámetros de conexión
         String host = args.length > 0 ? args[0] : DEFAULT_HOST;
-        int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : NIO ? NioProtocol.DEFAULT_PORT : DEFAULT_PORT;
         
-        LOGGER.info("Conectando al servidor RMI en " + host + ":" + port);
+        LOGGER.info("Conectando al servidor " + (NIO ? "NIO" : "RMI") + " en " + host + ":" + port);
         
         SwingUtilities.invokeLater(() -> {
             try {
-                // Buscar registro RMI
-                Registry registry = LocateRegistry.getRegistry(host, port);
+                // Buscar registro RMI, o conectar directamente con el servidor NIO
+                GameController controller = NIO
+                        ? new GameController(NioGameClient.connect(host, port))
+                        : new GameController(LocateRegistry.getRegistry(host, port));
                 
                 // Crear y mostrar ventana del juego
-                GameWindow gameWindow = new GameWindow(registry);
+                GameWindow gameWindow = new GameWindow(controller);
                 gameWindow.setVisible(true);
                 
                 LOGGER.info("Cliente iniciado correctamente");
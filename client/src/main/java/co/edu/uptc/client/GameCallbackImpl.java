@@ -1,9 +1,11 @@
 package co.edu.uptc.client;
 
+import co.edu.uptc.shared.event.GameEvent;
 import co.edu.uptc.shared.interfaces.GameCallback;
 
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
+import java.util.List;
 import java.util.logging.Logger;
 
 /**
@@ -27,6 +29,13 @@ public class GameCallbackImpl extends UnicastRemoteObject implements GameCallbac
         controller.handleGameEvent(message);
     }
     
+    @Override
+    public void onGameEvents(List<GameEvent> events) throws RemoteException {
+        LOGGER.fine("Eventos del juego: " + events);
+        
+        controller.handleGameEvents(events);
+    }
+    
     @Override
     public void onPlayerJoined(String playerName) throws RemoteException {
         LOGGER.info("Jugador conectado: " + playerName);
@@ -52,6 +61,6 @@ public class GameCallbackImpl extends UnicastRemoteObject implements GameCallbac
     public void onOpponentDisconnected() throws RemoteException {
         LOGGER.info("Oponente desconectado");
         
-        controller.handleGameEvent("Oponente desconectado");
+        controller.handleOpponentDisconnected();
     }
 }
@@ -1,11 +1,18 @@
 package co.edu.uptc.client;
 
+import co.edu.uptc.shared.event.*;
 import co.edu.uptc.shared.interfaces.GameService;
+import co.edu.uptc.shared.interfaces.LobbyService;
 import co.edu.uptc.shared.model.*;
 
 import javax.swing.*;
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 /**
@@ -14,28 +21,50 @@ import java.util.logging.Logger;
 public class GameController {
     private static final Logger LOGGER = Logger.getLogger(GameController.class.getName());
     private static final String SERVICE_NAME = "GameService";
+    private static final String LOBBY_NAME = "LobbyService";
+    private static final long STATUS_WAIT_MS = 25000;
+    private static final long STATUS_RETRY_MS = 2000;
+    private static final long HEARTBEAT_MS = 3000;
     
-    private final Registry registry;
-    private GameService gameService;
+    private final Registry registry; // null con el transporte NIO
+    private volatile GameService gameService;
+    private LobbyService lobby; // solo en modo shards
     private GameCallbackImpl callback;
     private GameWindow gameWindow;
     
     private String playerId;
     private String sessionId;
+    private String reattachToken; // secreto para retomar la partida tras una caída
     private boolean isMyTurn = false;
-    private Timer statusCheckTimer;
+    private volatile Thread statusPoller;
+    private ScheduledExecutorService heartbeat;
     
     public GameController(Registry registry) {
         this.registry = registry;
     }
     
+    /**
+     * Controlador sobre un servicio ya conectado (transporte NIO)
+     */
+    public GameController(GameService gameService) {
+        this.registry = null;
+        this.gameService = gameService;
+    }
+    
     /**
      * Inicializa la conexión RMI y callbacks
      */
     public void initialize() throws Exception {
-        // Buscar servicio RMI
-        gameService = (GameService) registry.lookup(SERVICE_NAME);
-        LOGGER.info("Servicio RMI encontrado: " + SERVICE_NAME);
+        // Buscar servicio RMI; en modo shards el registro publica el lobby
+        if (registry == null) {
+            LOGGER.info("Servicio NIO conectado");
+        } else if (Arrays.asList(registry.list()).contains(LOBBY_NAME)) {
+            lobby = (LobbyService) registry.lookup(LOBBY_NAME);
+            LOGGER.info("Lobby RMI encontrado: " + LOBBY_NAME);
+        } else {
+            gameService = (GameService) registry.lookup(SERVICE_NAME);
+            LOGGER.info("Servicio RMI encontrado: " + SERVICE_NAME);
+        }
         
         // Crear callback para recibir notificaciones
         callback = new GameCallbackImpl(this);
@@ -54,13 +83,14 @@ public class GameController {
         }
         
         try {
-            String result = gameService.joinGame(playerName, callback);
+            String result = lobby != null ? joinThroughLobby(playerName) : gameService.joinGame(playerName, callback);
             
             if (result.startsWith("SUCCESS:")) {
-                // Parsear respuesta: "SUCCESS:playerId:sessionId"
+                // Parsear respuesta: "SUCCESS:playerId:sessionId:token"
                 String[] parts = result.split(":");
                 playerId = parts[1];
                 sessionId = parts[2];
+                reattachToken = parts.length > 3 ? parts[3] : null;
                 
                 SwingUtilities.invokeLater(() -> {
                     gameWindow.showMessage("✅ Conectado como: " + playerName + " (ID: " + playerId + ")");
@@ -70,8 +100,9 @@ public class GameController {
                     gameWindow.showMessage("🚢 Coloca tus barcos haciendo clic en TU TABLERO");
                     gameWindow.showMessage("💡 Tip: Usa el botón para cambiar orientación (horizontal/vertical)");
                     
-                    // Iniciar verificación periódica del estado
+                    // Iniciar la espera de cambios de estado y la renovación de la concesión
                     startStatusChecking();
+                    startHeartbeat();
                 });
                 
                 LOGGER.info("Conectado exitosamente - ID: " + playerId + ", Sesión: " + sessionId);
@@ -89,30 +120,133 @@ public class GameController {
     }
     
     /**
-     * Inicia verificación periódica del estado del juego
+     * Se une a través del lobby; desde ahí se juega con el shard asignado
+     */
+    private String joinThroughLobby(String playerName) throws RemoteException {
+        ShardAssignment assignment = lobby.joinGame(playerName, callback);
+        if (assignment.isSuccess()) {
+            gameService = assignment.getShard();
+            LOGGER.info("Asignado al shard " + assignment.getShardName());
+        }
+        return assignment.getResult();
+    }
+    
+    /**
+     * Inicia la espera de cambios de estado (long-poll) en un hilo de fondo
+     * El servidor solo responde cuando la versión cambia o vence el plazo.
      */
     private void startStatusChecking() {
-        if (statusCheckTimer != null) {
-            statusCheckTimer.stop();
+        stopStatusChecking();
+        
+        Thread poller = new Thread(this::pollStatusChanges, "status-poller");
+        poller.setDaemon(true);
+        statusPoller = poller;
+        poller.start();
+        LOGGER.info("Espera de cambios de estado iniciada");
+    }
+    
+    /**
+     * Detiene la espera de cambios de estado
+     */
+    private void stopStatusChecking() {
+        Thread poller = statusPoller;
+        if (poller != null) {
+            statusPoller = null;
+            poller.interrupt();
+            LOGGER.info("Espera de cambios de estado detenida");
         }
+    }
+    
+    /**
+     * Renueva periódicamente la concesión de vida en el servidor
+     * Si el servidor ya nos dio por desconectados se detiene.
+     */
+    private void startHeartbeat() {
+        if (heartbeat != null) {
+            return;
+        }
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeat, HEARTBEAT_MS, HEARTBEAT_MS, TimeUnit.MILLISECONDS);
+    }
+    
+    private void sendHeartbeat() {
+        String id = playerId;
+        if (id == null) return;
         
-        statusCheckTimer = new Timer(3000, e -> {
-            if (playerId != null && sessionId != null) {
-                refreshGameStatus();
+        try {
+            if (!gameService.heartbeat(id)) {
+                LOGGER.warning("El servidor cerró la conexión del jugador " + id);
+                heartbeat.shutdown();
+                stopStatusChecking();
+                SwingUtilities.invokeLater(() ->
+                    gameWindow.showError("Conexión con el servidor perdida"));
             }
-        });
-        statusCheckTimer.start();
-        LOGGER.info("Verificación periódica de estado iniciada");
+        } catch (RemoteException e) {
+            LOGGER.warning("Error enviando heartbeat: " + e.getMessage());
+            reattach(id);
+        }
     }
     
     /**
-     * Detiene la verificación periódica del estado
+     * Tras una caída del servidor busca de nuevo el servicio y retoma la
+     * partida con el mismo ID; el servidor la restaura desde su journal
      */
-    private void stopStatusChecking() {
-        if (statusCheckTimer != null) {
-            statusCheckTimer.stop();
-            statusCheckTimer = null;
-            LOGGER.info("Verificación periódica de estado detenida");
+    private void reattach(String id) {
+        try {
+            // Con NIO el mismo cliente abre una conexión nueva en la siguiente invocación
+            GameService service = lobby != null ? lobby.locate(sessionId).getShard()
+                    : registry != null ? (GameService) registry.lookup(SERVICE_NAME) : gameService;
+            if (service == null) {
+                return;
+            }
+            String result = service.reattach(id, reattachToken, callback);
+            if (!result.startsWith("SUCCESS:")) {
+                LOGGER.warning("No se pudo retomar la partida: " + result);
+                return;
+            }
+            gameService = service;
+            LOGGER.info("Reconectado al servidor como " + id);
+            SwingUtilities.invokeLater(() -> {
+                gameWindow.showMessage("🔄 Reconectado al servidor, partida restaurada");
+                // Nueva espera desde versión -1: se recibe el estado completo
+                startStatusChecking();
+            });
+        } catch (Exception e) {
+            // Servidor aún caído: se reintenta en el próximo heartbeat
+            LOGGER.fine("Servidor no disponible: " + e.getMessage());
+        }
+    }
+    
+    private void pollStatusChanges() {
+        long knownVersion = -1;
+        while (statusPoller == Thread.currentThread() && playerId != null) {
+            try {
+                long begin = System.nanoTime();
+                GameStatus status = gameService.getGameStatusSince(playerId, knownVersion, STATUS_WAIT_MS);
+                if (status.getVersion() != knownVersion) {
+                    knownVersion = status.getVersion();
+                    handleStatusChange(status);
+                } else if (System.nanoTime() - begin < TimeUnit.MILLISECONDS.toNanos(STATUS_RETRY_MS)) {
+                    // Sin cambios y sin esperar: el servidor tiene ocupados sus long-polls
+                    Thread.sleep(STATUS_RETRY_MS);
+                }
+                if (status.isGameFinished()) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RemoteException e) {
+                LOGGER.warning("Error esperando estado: " + e.getMessage());
+                try {
+                    Thread.sleep(STATUS_RETRY_MS);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
         }
     }
     
@@ -140,6 +274,29 @@ public class GameController {
         }
     }
     
+    /**
+     * Envía la flota completa al servidor, que valida las reglas en una sola llamada
+     * @return true si el servidor aceptó la flota
+     */
+    public boolean placeFleet(List<ShipPlacement> fleet) {
+        if (playerId == null) return false;
+        
+        try {
+            boolean success = gameService.placeFleet(playerId, fleet);
+            if (!success) {
+                SwingUtilities.invokeLater(() ->
+                    gameWindow.showMessage("❌ El servidor rechazó la flota"));
+            }
+            return success;
+            
+        } catch (RemoteException e) {
+            LOGGER.severe("Error colocando flota: " + e.getMessage());
+            SwingUtilities.invokeLater(() ->
+                gameWindow.showError("Error comunicación: " + e.getMessage()));
+            return false;
+        }
+    }
+    
     /**
      * Realiza un ataque
      */
@@ -153,19 +310,16 @@ public class GameController {
         try {
             String result = gameService.attack(playerId, target);
             
+            // Impactos, hundimientos y turnos llegan como eventos tipados (handleGameEvents)
             SwingUtilities.invokeLater(() -> {
                 switch (result) {
                     case "HIT":
-                        gameWindow.showMessage("¡Impacto en " + target + "!");
-                        break;
                     case "MISS":
-                        gameWindow.showMessage("Agua en " + target);
-                        break;
                     case "SUNK":
-                        gameWindow.showMessage("¡Barco hundido en " + target + "!");
+                    case "SUNK_AND_GAME_OVER":
                         break;
-                    case "VICTORY":
-                        gameWindow.showMessage("¡VICTORIA! Has ganado");
+                    case "ALREADY_ATTACKED":
+                        gameWindow.showMessage("Ya atacaste " + target);
                         break;
                     case "NOT_YOUR_TURN":
                         gameWindow.showMessage("No es tu turno");
@@ -202,22 +356,57 @@ public class GameController {
     
     public void handleGameEvent(String message) {
         SwingUtilities.invokeLater(() -> gameWindow.showMessage(message));
+    }
         
-        // Activar modo ataque cuando inicie el juego
-        if (message.contains("¡Juego iniciado!")) {
-            SwingUtilities.invokeLater(() -> {
-                boolean myTurn = message.contains(gameWindow.getPlayerName());
-                gameWindow.setTurnIndicator(myTurn);
-            });
+    /**
+     * Procesa los eventos tipados de una jugada, sin interpretar textos
+     */
+    public void handleGameEvents(List<GameEvent> events) {
+        for (GameEvent event : events) {
+            switch (event.getType()) {
+                case ATTACK_RESOLVED:
+                    handleAttackResolved((AttackResolved) event);
+                    break;
+                case TURN_CHANGED:
+                    TurnChanged turn = (TurnChanged) event;
+                    handleTurnChange(turn.isMyTurn(), turn.getCurrentPlayerName());
+                    break;
+                case SHIP_SUNK:
+                    ShipSunk sunk = (ShipSunk) event;
+                    handleGameEvent(sunk.isMine()
+                        ? "💀 Hundieron tu barco de " + sunk.getShip().getSize() + " casillas"
+                        : "🔥 ¡Hundiste un barco de " + sunk.getShip().getSize() + " casillas!");
+                    break;
+                case GAME_OVER:
+                    GameOver gameOver = (GameOver) event;
+                    isMyTurn = false;
+                    SwingUtilities.invokeLater(() -> {
+                        gameWindow.setTurnIndicator(false);
+                        gameWindow.showMessage(gameOver.isYouWon()
+                            ? "🏆 ¡VICTORIA! Has ganado"
+                            : "¡Juego terminado! Ganador: " + gameOver.getWinnerName());
+                    });
+                    break;
+                case PLAYER_JOINED:
+                    PlayerJoined joined = (PlayerJoined) event;
+                    handleGameEvent("Conectado contra: " + joined.getPlayerName() + ". ¡Coloca tus barcos!");
+                    break;
+                default:
+                    LOGGER.warning("Evento desconocido: " + event);
+            }
         }
-        
-        // Detectar cambios de turno
-        if (message.contains("Turno de:")) {
-            String playerName = gameWindow.getPlayerName();
-            isMyTurn = message.contains(playerName);
-            
+    }
+    
+    private void handleAttackResolved(AttackResolved attack) {
+        Position target = attack.getTarget();
+        String result = attack.getResult().name();
+        if (attack.isByMe()) {
+            handleAttackResult(target, result, "Atacaste " + target + ": " + attack.getResult().getDescription());
+        } else {
             SwingUtilities.invokeLater(() -> {
-                gameWindow.setTurnIndicator(isMyTurn);
+                gameWindow.getMyBoard().markAttack(target, result);
+                gameWindow.showMessage(attack.getAttackerName() + " atacó " + target + ": "
+                    + attack.getResult().getDescription());
             });
         }
     }
@@ -246,6 +435,19 @@ public class GameController {
         });
     }
     
+    /**
+     * El servidor cerró la partida porque el oponente salió o dejó de responder
+     */
+    public void handleOpponentDisconnected() {
+        stopStatusChecking();
+        SwingUtilities.invokeLater(() -> {
+            isMyTurn = false;
+            gameWindow.setTurnIndicator(false);
+            gameWindow.updateStatus("🔌 Oponente desconectado");
+            gameWindow.showMessage("Oponente desconectado - la partida terminó");
+        });
+    }
+    
     public void handleTurnChange(boolean isMyTurn, String currentPlayerName) {
         SwingUtilities.invokeLater(() -> {
             this.isMyTurn = isMyTurn;
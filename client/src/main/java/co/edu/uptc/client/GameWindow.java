@@ -28,7 +28,11 @@ public class GameWindow extends JFrame {
     private String playerName;
     
     public GameWindow(Registry registry) throws Exception {
-        this.controller = new GameController(registry);
+        this(new GameController(registry));
+    }
+    
+    public GameWindow(GameController controller) throws Exception {
+        this.controller = controller;
         controller.initialize();
         controller.setGameWindow(this);
         
@@ -248,9 +252,12 @@ public class GameWindow extends JFrame {
         readyButton.addActionListener(e -> {
             // Verificar que todos los barcos estén colocados
             if (myBoard.allShipsPlaced()) {
-                showMessage("✅ Todos los barcos colocados. Esperando oponente...");
-                readyButton.setEnabled(false);
-                readyButton.setText("⏳ Esperando...");
+                // Enviar la flota completa al servidor en una sola llamada
+                if (controller.placeFleet(myBoard.getPlacements())) {
+                    showMessage("✅ Todos los barcos colocados. Esperando oponente...");
+                    readyButton.setEnabled(false);
+                    readyButton.setText("⏳ Esperando...");
+                }
             } else {
                 showMessage("❌ Debes colocar todos los barcos primero (5 en total)");
             }
@@ -291,7 +298,7 @@ public class GameWindow extends JFrame {
     // === Métodos para interacción con el controlador ===
     
     public void onEnemyCellClicked(int x, int y) {
-        Position pos = new Position(x, y);
+        Position pos = Position.of(x, y);
         if (controller.isConnected()) {
             controller.attack(pos);
         }
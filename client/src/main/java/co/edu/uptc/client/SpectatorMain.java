@@ -0,0 +1,83 @@
+package co.edu.uptc.client;
+
+import co.edu.uptc.shared.event.GameEvent;
+import co.edu.uptc.shared.event.SpectatorFrame;
+import co.edu.uptc.shared.interfaces.SpectatorCallback;
+import co.edu.uptc.shared.interfaces.SpectatorService;
+import co.edu.uptc.shared.nio.NioGameClient;
+import co.edu.uptc.shared.nio.NioProtocol;
+
+import java.io.IOException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Logger;
+
+/**
+ * Espectador de consola: observa una partida en curso sin participar
+ * Uso: SpectatorMain sessionId [host] [puerto]; con -Dbattleship.transport=nio
+ * se conecta al servidor NIO en lugar de RMI.
+ */
+public class SpectatorMain {
+    private static final Logger LOGGER = Logger.getLogger(SpectatorMain.class.getName());
+    private static final String SERVICE_NAME = "GameService";
+    private static final String DEFAULT_HOST = "localhost";
+    private static final int DEFAULT_PORT = 1100;
+    private static final boolean NIO = "nio".equals(System.getProperty("battleship.transport"));
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Uso: SpectatorMain sessionId [host] [puerto]");
+            System.exit(1);
+        }
+        String sessionId = args[0];
+        String host = args.length > 1 ? args[1] : DEFAULT_HOST;
+        int port = args.length > 2 ? Integer.parseInt(args[2]) : NIO ? NioProtocol.DEFAULT_PORT : DEFAULT_PORT;
+        
+        CountDownLatch closed = new CountDownLatch(1);
+        SpectatorCallback callback = frame -> print(frame, closed);
+        SpectatorService service;
+        if (NIO) {
+            service = NioGameClient.connect(host, port);
+        } else {
+            service = (SpectatorService) LocateRegistry.getRegistry(host, port).lookup(SERVICE_NAME);
+            callback = (SpectatorCallback) UnicastRemoteObject.exportObject(callback, 0);
+        }
+        
+        String result = service.spectate(sessionId, callback);
+        if (!result.startsWith("SUCCESS:")) {
+            System.err.println(result);
+            System.exit(1);
+        }
+        String spectatorId = result.substring("SUCCESS:".length());
+        LOGGER.info("Observando " + sessionId + " como " + spectatorId);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                service.stopSpectating(spectatorId);
+            } catch (IOException e) {
+                // El servidor lo da de baja al fallar la entrega
+            }
+        }));
+        
+        closed.await();
+        System.exit(0);
+    }
+    
+    private static void print(byte[] frame, CountDownLatch closed) {
+        try {
+            SpectatorFrame moves = SpectatorFrame.decode(frame);
+            if (moves.isSnapshot()) {
+                System.out.println("--- Estado de la partida (#" + moves.getSequence() + ") ---");
+            }
+            for (GameEvent event : moves.getEvents()) {
+                System.out.println(event);
+            }
+            if (moves.isClosed()) {
+                System.out.println("--- Sesión cerrada ---");
+                closed.countDown();
+            }
+        } catch (IOException e) {
+            LOGGER.warning("Trama de espectador inválida: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package co.edu.uptc.loadtest;
+
+import co.edu.uptc.shared.event.AttackResolved;
+import co.edu.uptc.shared.event.GameEvent;
+import co.edu.uptc.shared.event.GameOver;
+import co.edu.uptc.shared.event.PlayerJoined;
+import co.edu.uptc.shared.event.TurnChanged;
+import co.edu.uptc.shared.interfaces.GameCallback;
+import co.edu.uptc.shared.interfaces.GameService;
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.FleetRules;
+import co.edu.uptc.shared.model.GameStatus;
+import co.edu.uptc.shared.model.Position;
+import java.rmi.NoSuchObjectException;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Jugador automático sin GUI
+ *
+ * No tiene hilo propio: entra, coloca una flota aleatoria cuando llega el
+ * oponente y dispara a celdas en orden aleatorio desde el pool compartido,
+ * guiado por los callbacks (PlayerJoined, TurnChanged, GameOver) como el
+ * cliente real. Cada partida tiene su propio
+ * objeto de callback, así un aviso tardío de la anterior no afecta a la nueva.
+ */
+final class BotPlayer {
+    private final String name;
+    private final GameService service;
+    private final boolean exportCallbacks;
+    private final ScheduledExecutorService executor;
+    private final LoadStats stats;
+    private final Random random;
+    private final CountDownLatch done;
+    private int gamesLeft;
+    
+    /**
+     * @param exportCallbacks true si el servicio es remoto por RMI y los callbacks deben exportarse
+     */
+    BotPlayer(String name, GameService service, boolean exportCallbacks, ScheduledExecutorService executor,
+            LoadStats stats, long seed, int games, CountDownLatch done) {
+        this.name = name;
+        this.service = service;
+        this.exportCallbacks = exportCallbacks;
+        this.executor = executor;
+        this.stats = stats;
+        this.random = new Random(seed);
+        this.gamesLeft = games;
+        this.done = done;
+    }
+    
+    void start(long delayMs) {
+        stats.activeBots.increment();
+        executor.schedule(this::join, delayMs, TimeUnit.MILLISECONDS);
+    }
+    
+    private void join() {
+        Match match = new Match();
+        try {
+            GameCallback callback = exportCallbacks
+                    ? (GameCallback) UnicastRemoteObject.exportObject(match, 0) : match;
+            long start = System.nanoTime();
+            String result = service.joinGame(name, callback);
+            stats.join.record(System.nanoTime() - start);
+            if (result == null || !result.startsWith("SUCCESS:")) {
+                stats.joinErrors.increment();
+                match.leave(false);
+                return;
+            }
+            match.begin(result.split(":")[1]);
+        } catch (RemoteException | RuntimeException e) {
+            stats.callErrors.increment();
+            match.leave(match.playerId != null);
+        }
+    }
+    
+    /**
+     * Otra partida o fin del bot
+     */
+    private synchronized void next() {
+        if (--gamesLeft > 0) {
+            executor.schedule(this::join, thinkMs(), TimeUnit.MILLISECONDS);
+        } else {
+            stats.activeBots.decrement();
+            done.countDown();
+        }
+    }
+    
+    private long thinkMs() {
+        long mean = LoadTestConfig.thinkMs();
+        return mean <= 0 ? 0 : mean / 2 + (long) (random.nextDouble() * mean);
+    }
+    
+    /**
+     * Una partida del bot; también es su callback
+     */
+    private final class Match implements GameCallback {
+        private final Position[] targets = new Position[Board.CELLS];
+        // Momento de envío de cada disparo, para medir cuánto tarda su callback
+        private final AtomicLongArray sentAt = new AtomicLongArray(Board.CELLS);
+        private final AtomicBoolean attackPending = new AtomicBoolean();
+        private final AtomicBoolean turnSignaled = new AtomicBoolean();
+        private final AtomicBoolean over = new AtomicBoolean();
+        // Llegó GameOver; el aviso de desconexión del ganador que le sigue no es un abandono
+        private volatile boolean decided;
+        private volatile String playerId;
+        // PlayerJoined llegó antes de que joinGame retornara el ID
+        private boolean opponentWaiting;
+        private volatile long lastProgress = System.nanoTime();
+        private volatile ScheduledFuture<?> watchdog;
+        // Solo lo usa el disparo en curso (attackPending los serializa)
+        private int nextTarget;
+        
+        Match() {
+            for (int i = 0; i < targets.length; i++) {
+                targets[i] = Position.ofIndex(i);
+            }
+            for (int i = targets.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                Position swap = targets[i];
+                targets[i] = targets[j];
+                targets[j] = swap;
+            }
+        }
+        
+        synchronized void begin(String id) {
+            playerId = id;
+            long period = LoadTestConfig.heartbeatMs();
+            watchdog = executor.scheduleWithFixedDelay(this::check, period, period, TimeUnit.MILLISECONDS);
+            if (opponentWaiting) {
+                executor.execute(this::placeFleet);
+            }
+        }
+        
+        private synchronized void opponentJoined() {
+            if (playerId == null) {
+                opponentWaiting = true;
+            } else {
+                executor.execute(this::placeFleet);
+            }
+        }
+        
+        /**
+         * La flota solo se acepta cuando la sesión tiene a los dos jugadores
+         */
+        private void placeFleet() {
+            try {
+                if (!service.placeFleet(playerId, FleetRules.randomFleet(random))) {
+                    stats.joinErrors.increment();
+                    leave(true);
+                }
+            } catch (RemoteException | RuntimeException e) {
+                stats.callErrors.increment();
+                leave(true);
+            }
+        }
+        
+        /**
+         * Empieza mi turno; si hay un disparo en curso queda anotado para
+         * cuando termine (el callback puede adelantarse a su respuesta)
+         */
+        private void turnStarted() {
+            turnSignaled.set(true);
+            scheduleAttack();
+        }
+        
+        private void scheduleAttack() {
+            if (!over.get() && attackPending.compareAndSet(false, true)) {
+                executor.schedule(this::attack, thinkMs(), TimeUnit.MILLISECONDS);
+            }
+        }
+        
+        private void attack() {
+            if (over.get()) {
+                return;
+            }
+            turnSignaled.set(false);
+            Position target = targets[nextTarget];
+            long start = System.nanoTime();
+            sentAt.set(target.getIndex(), start);
+            String result;
+            try {
+                result = service.attack(playerId, target);
+            } catch (RemoteException | RuntimeException e) {
+                stats.callErrors.increment();
+                // El vigilante reintenta si la partida queda detenida
+                attackPending.set(false);
+                return;
+            }
+            long now = System.nanoTime();
+            stats.attack.record(now - start);
+            lastProgress = now;
+            switch (result) {
+                case "HIT":
+                case "SUNK":
+                    nextTarget++;
+                    stats.moves.increment();
+                    attackPending.set(false);
+                    scheduleAttack();
+                    break;
+                case "MISS":
+                    nextTarget++;
+                    stats.moves.increment();
+                    attackPending.set(false);
+                    if (turnSignaled.get()) {
+                        scheduleAttack();
+                    }
+                    break;
+                case "SUNK_AND_GAME_OVER":
+                    stats.moves.increment();
+                    stats.gamesFinished.increment();
+                    leave(true);
+                    break;
+                case "NOT_YOUR_TURN":
+                    stats.outOfTurn.increment();
+                    attackPending.set(false);
+                    break;
+                default:
+                    stats.attackErrors.increment();
+                    stats.abandoned.increment();
+                    leave(true);
+            }
+        }
+        
+        /**
+         * Heartbeat y rescate de partidas detenidas por un callback perdido
+         */
+        private void check() {
+            if (over.get()) {
+                return;
+            }
+            try {
+                if (!service.heartbeat(playerId)) {
+                    stats.abandoned.increment();
+                    leave(false);
+                    return;
+                }
+                if (System.nanoTime() - lastProgress < TimeUnit.MILLISECONDS.toNanos(LoadTestConfig.stallMs())) {
+                    return;
+                }
+                GameStatus status = service.getGameStatus(playerId);
+                if (status.getPhase() == GameStatus.GamePhase.PLAYING) {
+                    stats.stalls.increment();
+                    lastProgress = System.nanoTime();
+                    if (status.isMyTurn()) {
+                        attackPending.set(false);
+                        scheduleAttack();
+                    }
+                } else if (status.getPhase() == GameStatus.GamePhase.FINISHED) {
+                    stats.stalls.increment();
+                    leave(true);
+                }
+            } catch (RemoteException | RuntimeException e) {
+                stats.callErrors.increment();
+            }
+        }
+        
+        /**
+         * Termina la partida una sola vez y pasa a la siguiente
+         */
+        void leave(boolean disconnect) {
+            if (!over.compareAndSet(false, true)) {
+                return;
+            }
+            ScheduledFuture<?> timer = watchdog;
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            if (disconnect) {
+                try {
+                    service.disconnectPlayer(playerId);
+                } catch (RemoteException | RuntimeException e) {
+                    stats.callErrors.increment();
+                }
+            }
+            if (exportCallbacks) {
+                try {
+                    UnicastRemoteObject.unexportObject(this, true);
+                } catch (NoSuchObjectException e) {
+                    // No llegó a exportarse
+                }
+            }
+            next();
+        }
+        
+        // === GameCallback: se ejecutan en hilos del servidor o de RMI, no deben bloquear ===
+        
+        @Override
+        public void onGameEvents(List<GameEvent> events) {
+            long now = System.nanoTime();
+            lastProgress = now;
+            for (GameEvent event : events) {
+                if (event instanceof PlayerJoined) {
+                    opponentJoined();
+                } else if (event instanceof AttackResolved) {
+                    AttackResolved attack = (AttackResolved) event;
+                    long sent = attack.isByMe() ? sentAt.get(attack.getTarget().getIndex()) : 0;
+                    if (sent != 0) {
+                        stats.callbackLag.record(now - sent);
+                    }
+                } else if (event instanceof TurnChanged) {
+                    if (((TurnChanged) event).isMyTurn()) {
+                        turnStarted();
+                    }
+                } else if (event instanceof GameOver) {
+                    decided = true;
+                    if (!((GameOver) event).isYouWon()) {
+                        executor.execute(() -> leave(true));
+                    }
+                }
+            }
+        }
+        
+        @Override
+        public void onGameEvent(String message) {
+        }
+        
+        @Override
+        public void onPlayerJoined(String playerName) {
+        }
+        
+        @Override
+        public void onTurnChanged(boolean isMyTurn, String currentPlayerName) {
+            if (isMyTurn) {
+                turnStarted();
+            }
+        }
+        
+        @Override
+        public void onGameEnded(String winner) {
+        }
+        
+        @Override
+        public void onOpponentDisconnected() {
+            if (!over.get() && !decided) {
+                stats.abandoned.increment();
+                executor.execute(() -> leave(true));
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package co.edu.uptc.loadtest;
+
+import co.edu.uptc.server.metrics.LatencyHistogram;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores e histogramas compartidos por todos los bots
+ * Se registran sin locks; los reportes leen una vista aproximada.
+ */
+final class LoadStats {
+    final LatencyHistogram join = new LatencyHistogram();
+    final LatencyHistogram attack = new LatencyHistogram();
+    /** Desde que se envía el ataque hasta que llega su AttackResolved por callback */
+    final LatencyHistogram callbackLag = new LatencyHistogram();
+    
+    final LongAdder moves = new LongAdder();
+    final LongAdder gamesFinished = new LongAdder();
+    final LongAdder activeBots = new LongAdder();
+    
+    // Errores
+    final LongAdder joinErrors = new LongAdder();
+    final LongAdder attackErrors = new LongAdder();
+    /** Excepciones al invocar el servicio (RemoteException o del servidor en proceso) */
+    final LongAdder callErrors = new LongAdder();
+    final LongAdder outOfTurn = new LongAdder();
+    final LongAdder stalls = new LongAdder();
+    final LongAdder abandoned = new LongAdder();
+    
+    private final long startNanos = System.nanoTime();
+    private long lastNanos = startNanos;
+    private long lastMoves;
+    
+    long errors() {
+        return joinErrors.sum() + attackErrors.sum() + callErrors.sum() + abandoned.sum();
+    }
+    
+    /**
+     * Línea de progreso con la tasa de jugadas desde la línea anterior
+     */
+    synchronized String progress() {
+        long now = System.nanoTime();
+        long total = moves.sum();
+        double rate = (total - lastMoves) * 1e9 / Math.max(1, now - lastNanos);
+        lastNanos = now;
+        lastMoves = total;
+        return String.format("[%5.0f s] bots activos %d, partidas %d, jugadas/s %.0f, ataque p99 %s, "
+                + "lag callback p99 %s, errores %d, atascos %d",
+                (now - startNanos) / 1e9, activeBots.sum(), gamesFinished.sum(), rate,
+                millis(attack.percentileNanos(99)), millis(callbackLag.percentileNanos(99)), errors(), stalls.sum());
+    }
+    
+    String summary() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("Duración: %.1f s, partidas terminadas: %d, jugadas: %d (%.0f jugadas/s)%n",
+                seconds, gamesFinished.sum(), moves.sum(), moves.sum() / seconds));
+        out.append(line("joinGame", join));
+        out.append(line("attack", attack));
+        out.append(line("lag callback", callbackLag));
+        out.append(String.format("Errores: join %d, ataque %d, invocación %d, abandonos %d; "
+                + "fuera de turno %d, atascos %d%n",
+                joinErrors.sum(), attackErrors.sum(), callErrors.sum(), abandoned.sum(),
+                outOfTurn.sum(), stalls.sum()));
+        return out.toString();
+    }
+    
+    private static String line(String name, LatencyHistogram histogram) {
+        return String.format("%-13s n=%-8d media %s  p50 %s  p99 %s  p99.9 %s  máx %s%n", name,
+                histogram.getCount(), millis((long) histogram.getMeanNanos()),
+                millis(histogram.percentileNanos(50)), millis(histogram.percentileNanos(99)),
+                millis(histogram.percentileNanos(99.9)), millis(histogram.getMaxNanos()));
+    }
+    
+    private static String millis(long nanos) {
+        return String.format("%.2f ms", nanos / 1e6);
+    }
+}
@@ -0,0 +1,75 @@
+package co.edu.uptc.loadtest;
+
+/**
+ * Parámetros de la prueba de carga, leídos de propiedades del sistema
+ * Ejemplo: java -Dbattleship.loadtest.players=2000 -Dbattleship.loadtest.mode=rmi ... LoadTestMain
+ */
+final class LoadTestConfig {
+    
+    private LoadTestConfig() {
+    }
+    
+    /** inprocess (GameServiceImpl en esta JVM), rmi (ServerMain) o nio (ServerMain con transporte nio) */
+    static String mode() {
+        return System.getProperty("battleship.loadtest.mode", "inprocess");
+    }
+    
+    static String host() {
+        return System.getProperty("battleship.loadtest.host", "localhost");
+    }
+    
+    /** Puerto del registro RMI o del servidor NIO (0 = el de cada transporte) */
+    static int port() {
+        return Integer.getInteger("battleship.loadtest.port", 0);
+    }
+    
+    /** Bots simultáneos; cada par juega una partida */
+    static int players() {
+        return Integer.getInteger("battleship.loadtest.players", 1000);
+    }
+    
+    /** Partidas que juega cada bot antes de terminar */
+    static int gamesPerPlayer() {
+        return Integer.getInteger("battleship.loadtest.games", 1);
+    }
+    
+    /** Tiempo de reflexión medio antes de cada disparo (±50% aleatorio) */
+    static long thinkMs() {
+        return Long.getLong("battleship.loadtest.thinkMs", 200);
+    }
+    
+    /** Intervalo en el que se reparten las entradas de los bots */
+    static long rampUpMs() {
+        return Long.getLong("battleship.loadtest.rampUpMs", 5000);
+    }
+    
+    /** Hilos que ejecutan las invocaciones de los bots */
+    static int threads() {
+        return Integer.getInteger("battleship.loadtest.threads", 64);
+    }
+    
+    /** Conexiones NIO compartidas por los bots */
+    static int connections() {
+        return Integer.getInteger("battleship.loadtest.connections", 4);
+    }
+    
+    /** Intervalo entre heartbeats de cada bot, como el cliente */
+    static long heartbeatMs() {
+        return Long.getLong("battleship.loadtest.heartbeatMs", 3000);
+    }
+    
+    /** Tiempo sin avances tras el que un bot consulta el estado por si perdió un callback */
+    static long stallMs() {
+        return Long.getLong("battleship.loadtest.stallMs", 10000);
+    }
+    
+    /** Intervalo entre líneas de progreso */
+    static long reportMs() {
+        return Long.getLong("battleship.loadtest.reportMs", 5000);
+    }
+    
+    /** Duración máxima de la prueba; los bots que no terminen cuentan como abandonados */
+    static long maxDurationMs() {
+        return Long.getLong("battleship.loadtest.maxDurationMs", 600000);
+    }
+}
@@ -0,0 +1,116 @@
+package co.edu.uptc.loadtest;
+
+import co.edu.uptc.server.GameServiceImpl;
+import co.edu.uptc.shared.interfaces.GameService;
+import co.edu.uptc.shared.nio.NioGameClient;
+import co.edu.uptc.shared.nio.NioProtocol;
+import java.rmi.registry.LocateRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Prueba de carga: N bots sin GUI juegan partidas completas contra el servidor
+ *
+ * Modos (battleship.loadtest.mode):
+ * inprocess - GameServiceImpl en esta JVM, sin red; mide la lógica y el despachador
+ * rmi       - ServerMain por RMI, con callbacks exportados como el cliente real
+ * nio       - ServerMain con -Dbattleship.transport=nio
+ * Reporta latencias de joinGame y attack, retraso de los callbacks, jugadas
+ * por segundo y errores. Ver LoadTestConfig para los demás parámetros.
+ */
+public class LoadTestMain {
+    private static final String SERVICE_NAME = "GameService";
+    private static final int RMI_PORT = 1100;
+    
+    public static void main(String[] args) throws Exception {
+        // Los avisos por jugador del servidor en proceso taparían el reporte
+        Logger.getLogger("").setLevel(Level.WARNING);
+        
+        String mode = LoadTestConfig.mode();
+        int players = LoadTestConfig.players();
+        GameServiceImpl local = null;
+        List<NioGameClient> connections = new ArrayList<>();
+        List<GameService> services = new ArrayList<>();
+        
+        switch (mode) {
+            case "inprocess":
+                local = new GameServiceImpl();
+                services.add(local);
+                break;
+            case "rmi": {
+                int port = LoadTestConfig.port() != 0 ? LoadTestConfig.port() : RMI_PORT;
+                services.add((GameService) LocateRegistry.getRegistry(LoadTestConfig.host(), port)
+                        .lookup(SERVICE_NAME));
+                break;
+            }
+            case "nio": {
+                int port = LoadTestConfig.port() != 0 ? LoadTestConfig.port() : NioProtocol.DEFAULT_PORT;
+                for (int i = 0; i < LoadTestConfig.connections(); i++) {
+                    NioGameClient client = NioGameClient.connect(LoadTestConfig.host(), port);
+                    connections.add(client);
+                    services.add(client);
+                }
+                break;
+            }
+            default:
+                System.err.println("Modo desconocido: " + mode + " (inprocess, rmi o nio)");
+                System.exit(1);
+                return;
+        }
+        
+        AtomicInteger counter = new AtomicInteger(1);
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(LoadTestConfig.threads(), runnable -> {
+            Thread thread = new Thread(runnable, "bot-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        
+        LoadStats stats = new LoadStats();
+        CountDownLatch done = new CountDownLatch(players);
+        System.out.printf("Prueba de carga: %d bots, modo %s, %d partida(s) por bot, reflexión %d ms%n",
+                players, mode, LoadTestConfig.gamesPerPlayer(), LoadTestConfig.thinkMs());
+        
+        long rampUp = LoadTestConfig.rampUpMs();
+        for (int i = 0; i < players; i++) {
+            BotPlayer bot = new BotPlayer("bot_" + i, services.get(i % services.size()), "rmi".equals(mode),
+                    executor, stats, i, LoadTestConfig.gamesPerPlayer(), done);
+            bot.start(rampUp * i / players);
+        }
+        
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long reportMs = LoadTestConfig.reportMs();
+        reporter.scheduleAtFixedRate(() -> System.out.println(stats.progress()), reportMs, reportMs,
+                TimeUnit.MILLISECONDS);
+        
+        boolean finished = done.await(LoadTestConfig.maxDurationMs(), TimeUnit.MILLISECONDS);
+        reporter.shutdownNow();
+        
+        System.out.println();
+        System.out.print(stats.summary());
+        if (!finished) {
+            System.out.println("Bots sin terminar al vencer el plazo: " + done.getCount());
+        }
+        if (local != null) {
+            System.out.println("Servidor: " + local.getServerStats());
+            local.shutdown();
+        }
+        for (NioGameClient client : connections) {
+            client.close();
+        }
+        // Los callbacks exportados por RMI mantienen viva la JVM
+        System.exit(finished && stats.errors() == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,8 @@
+#!/bin/sh
+# Ejecuta la suite JMH sin GUI (servidores de CI / Linux)
+# Uso: ./run-benchmarks.sh [opciones JMH], p. ej. ./run-benchmarks.sh BoardBenchmark -f 1
+set -e
+cd "$(dirname "$0")"
+mvn -B -q -pl benchmarks -am package -DskipTests
+java -Djava.awt.headless=true -jar benchmarks/target/benchmarks.jar "$@" \
+    -rf json -rff benchmarks/target/jmh-result.json
@@ -0,0 +1,12 @@
+#!/bin/sh
+# Prueba de carga con bots sin GUI; los parámetros van como -D (ver LoadTestConfig)
+# Uso: ./run-loadtest.sh [-D...], p. ej.
+#   ./run-loadtest.sh -Dbattleship.loadtest.players=4000 -Dbattleship.loadtest.thinkMs=100
+#   ./run-loadtest.sh -Dbattleship.loadtest.mode=rmi -Dbattleship.loadtest.host=10.0.0.5
+# En modo inprocess también aplican las propiedades battleship.* del servidor.
+set -e
+cd "$(dirname "$0")"
+mvn -B -q -pl loadtest -am install -DskipTests
+exec java -Djava.awt.headless=true "$@" \
+    -cp loadtest/target/classes:server/target/classes:shared/target/classes \
+    co.edu.uptc.loadtest.LoadTestMain
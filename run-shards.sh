@@ -0,0 +1,22 @@
+#!/bin/sh
+# Inicia el lobby y N servidores de juego (shards) en este host, cada uno en su JVM
+# Uso: ./run-shards.sh [N] (por defecto 2); Ctrl+C detiene todos los procesos
+# Los clientes se conectan al puerto 1100 como siempre; el lobby los reparte.
+set -e
+cd "$(dirname "$0")"
+SHARDS=${1:-2}
+CP=server/target/classes:shared/target/classes
+mvn -B -q -pl server -am compile
+
+java -cp "$CP" co.edu.uptc.server.shard.LobbyMain &
+PIDS=$!
+trap 'kill $PIDS 2>/dev/null' INT TERM EXIT
+sleep 1
+
+i=1
+while [ "$i" -le "$SHARDS" ]; do
+    java -Dbattleship.shard.name=shard-$i -cp "$CP" co.edu.uptc.server.ServerMain &
+    PIDS="$PIDS $!"
+    i=$((i + 1))
+done
+wait
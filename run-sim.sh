@@ -0,0 +1,9 @@
+#!/bin/sh
+# Torneo IA contra IA sobre el modelo Board, sin RMI; los parámetros van como -D (ver SimulatorMain)
+# Uso: ./run-sim.sh [-D...], p. ej.
+#   ./run-sim.sh -Dbattleship.sim.strategies=hunt,density -Dbattleship.sim.games=5000000
+#   ./run-sim.sh -Dbattleship.sim.seed=7 -Dbattleship.sim.threads=4
+set -e
+cd "$(dirname "$0")"
+mvn -B -q -pl server -am install -DskipTests
+exec java "$@" -cp server/target/classes:shared/target/classes co.edu.uptc.server.sim.SimulatorMain
@@ -0,0 +1,178 @@
+package co.edu.uptc.server;
+
+import co.edu.uptc.server.metrics.LatencyHistogram;
+import java.rmi.RemoteException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Despachador asíncrono de callbacks hacia los clientes
+ *
+ * La lógica del juego solo encola eventos (dispatch) y nunca invoca RMI
+ * mientras tiene el lock de la sesión. Cada jugador tiene su propia cola
+ * ordenada y acotada (Outbox) que drena un pool pequeño de hilos. Se usan
+ * hilos de plataforma porque el proyecto compila para Java 11 (sin hilos
+ * virtuales).
+ *
+ * Cada entrega RMI dura a lo sumo callbackTimeoutMs (ServerMain.limitRmiCalls).
+ * Si falla, los eventos pendientes de ese jugador se descartan y su cola
+ * rechaza eventos durante otro callbackTimeoutMs; el cliente recupera el
+ * estado con la consulta long-poll. Así un cliente caído retiene un hilo a
+ * lo sumo la mitad del tiempo, y los demás jugadores solo se retrasan
+ * mientras haya más clientes colgados a la vez que hilos en el pool.
+ */
+public class CallbackDispatcher {
+    private static final Logger LOGGER = Logger.getLogger(CallbackDispatcher.class.getName());
+    
+    // Eventos entregados por turno de drenado antes de ceder el hilo a otro jugador
+    private static final int DRAIN_BATCH = 32;
+    
+    private final ExecutorService workers;
+    private final long suspendNanos;
+    
+    // Métricas
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    
+    public CallbackDispatcher(int threads) {
+        this.suspendNanos = TimeUnit.MILLISECONDS.toNanos(ServerConfig.callbackTimeoutMs());
+        AtomicInteger counter = new AtomicInteger(1);
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "callback-dispatcher-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Encola una notificación para el jugador; retorna de inmediato
+     * @return false si la cola del jugador está llena y el evento se descartó
+     */
+    public boolean dispatch(Player player, CallbackTask task) {
+        if (player.getCallback() == null) {
+            // Jugador restaurado aún sin reconectar: recupera el estado con la consulta de estado
+            return false;
+        }
+        Outbox outbox = player.getOutbox();
+        if (outbox.isSuspended(System.nanoTime())) {
+            dropped.increment();
+            return false;
+        }
+        if (!outbox.offer(new Outbox.Envelope(task, System.nanoTime()))) {
+            dropped.increment();
+            LOGGER.warning("Cola de callbacks llena para " + player.getName() + ", evento descartado");
+            return false;
+        }
+        queued.increment();
+        schedule(player, outbox);
+        return true;
+    }
+    
+    private void schedule(Player player, Outbox outbox) {
+        if (outbox.tryClaim()) {
+            workers.execute(() -> drain(player, outbox));
+        }
+    }
+    
+    private void drain(Player player, Outbox outbox) {
+        int deliveredNow = 0;
+        Outbox.Envelope envelope;
+        while ((envelope = outbox.poll()) != null) {
+            queued.decrement();
+            if (!deliver(player, envelope)) {
+                int discarded = outbox.suspend(System.nanoTime() + suspendNanos);
+                queued.add(-discarded);
+                dropped.add(discarded);
+                break;
+            }
+            if (++deliveredNow == DRAIN_BATCH && !outbox.isEmpty()) {
+                // Ceder el hilo para no acaparar el pool; conservamos el derecho de drenado
+                workers.execute(() -> drain(player, outbox));
+                return;
+            }
+        }
+        outbox.release();
+        // Un evento pudo llegar entre el último poll y release
+        if (!outbox.isEmpty()) {
+            schedule(player, outbox);
+        }
+    }
+    
+    /**
+     * @return false si el cliente no respondió y hay que suspender su cola
+     */
+    private boolean deliver(Player player, Outbox.Envelope envelope) {
+        boolean reachable = true;
+        try {
+            envelope.task.deliver(player.getCallback());
+            delivered.increment();
+        } catch (RemoteException e) {
+            failed.increment();
+            reachable = false;
+            LOGGER.warning("Error notificando a " + player.getName() + ", se suspenden sus callbacks: "
+                    + e.getMessage());
+        } catch (RuntimeException e) {
+            failed.increment();
+            LOGGER.warning("Error en callback de " + player.getName() + ": " + e);
+        }
+        latency.record(System.nanoTime() - envelope.enqueuedAt);
+        return reachable;
+    }
+    
+    /**
+     * Detiene los hilos de entrega esperando brevemente los eventos pendientes
+     */
+    public void shutdown() {
+        workers.shutdown();
+        try {
+            workers.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    // === Métricas ===
+    
+    /** Eventos encolados aún sin entregar, sumando todos los jugadores */
+    public long getQueueDepth() {
+        return queued.sum();
+    }
+    
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+    
+    public long getFailedCount() {
+        return failed.sum();
+    }
+    
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+    
+    /** Latencia promedio desde que se encola hasta que termina la entrega */
+    public double getAverageLatencyMicros() {
+        return latency.getMeanNanos() / 1000.0;
+    }
+    
+    public double getMaxLatencyMicros() {
+        return latency.getMaxNanos() / 1000.0;
+    }
+    
+    /** Histograma de latencia de entrega (encolado hasta fin de la invocación) */
+    public LatencyHistogram getLatencyHistogram() {
+        return latency;
+    }
+    
+    /** Profundidad de la cola de un jugador */
+    public int getQueueDepth(Player player) {
+        return player.getOutbox().depth();
+    }
+}
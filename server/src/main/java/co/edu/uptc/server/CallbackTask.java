@@ -0,0 +1,12 @@
+package co.edu.uptc.server;
+
+import co.edu.uptc.shared.interfaces.GameCallback;
+import java.rmi.RemoteException;
+
+/**
+ * Notificación pendiente de entregar a un cliente a través de su callback RMI
+ */
+@FunctionalInterface
+public interface CallbackTask {
+    void deliver(GameCallback callback) throws RemoteException;
+}
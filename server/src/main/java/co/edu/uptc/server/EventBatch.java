@@ -0,0 +1,69 @@
+package co.edu.uptc.server;
+
+import co.edu.uptc.server.spectator.SpectatorHub;
+import co.edu.uptc.shared.event.GameEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acumula los eventos tipados que produce una jugada para cada jugador
+ * Al final de la jugada se envía una sola invocación onGameEvents por jugador
+ * y una sola trama a los espectadores de la sesión.
+ */
+final class EventBatch {
+    private Player first;
+    private Player second;
+    private List<GameEvent> firstEvents;
+    private List<GameEvent> secondEvents;
+    private final SpectatorHub spectators;
+    private List<GameEvent> watched;
+    
+    EventBatch(SpectatorHub spectators) {
+        this.spectators = spectators;
+    }
+    
+    void add(Player player, GameEvent event) {
+        if (player == null) {
+            return;
+        }
+        if (first == null || first == player) {
+            first = player;
+            if (firstEvents == null) firstEvents = new ArrayList<>(4);
+            firstEvents.add(event);
+        } else {
+            second = player;
+            if (secondEvents == null) secondEvents = new ArrayList<>(4);
+            secondEvents.add(event);
+        }
+    }
+    
+    /**
+     * Añade un evento en vista neutral para los espectadores
+     * Sin espectadores no se acumula nada.
+     */
+    void watch(GameEvent event) {
+        if (!spectators.hasSpectators()) {
+            return;
+        }
+        if (watched == null) watched = new ArrayList<>(4);
+        watched.add(event);
+    }
+    
+    /**
+     * Encola en el dispatcher un callback por jugador con todos sus eventos y
+     * publica la jugada a los espectadores
+     */
+    void flush(CallbackDispatcher dispatcher) {
+        send(dispatcher, first, firstEvents);
+        send(dispatcher, second, secondEvents);
+        if (watched != null) {
+            spectators.publish(watched);
+        }
+    }
+    
+    private static void send(CallbackDispatcher dispatcher, Player player, List<GameEvent> events) {
+        if (player != null && events != null) {
+            dispatcher.dispatch(player, callback -> callback.onGameEvents(events));
+        }
+    }
+}
@@ -1,12 +1,28 @@
 package co.edu.uptc.server;
 
-import co.edu.uptc.shared.interfaces.GameService;
+import co.edu.uptc.server.ai.AiOpponents;
+import co.edu.uptc.server.eventlog.EventType;
+import co.edu.uptc.server.metrics.RpcMethod;
+import co.edu.uptc.server.metrics.ServerMetrics;
+import co.edu.uptc.server.recovery.RecoveryManager;
+import co.edu.uptc.server.recovery.SessionState;
 import co.edu.uptc.shared.interfaces.GameCallback;
+import co.edu.uptc.shared.interfaces.ShardService;
+import co.edu.uptc.shared.interfaces.SpectatorCallback;
+import co.edu.uptc.shared.interfaces.SpectatorService;
 import co.edu.uptc.shared.model.*;
+import java.io.IOException;
+import java.rmi.NoSuchObjectException;
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
@@ -14,63 +30,213 @@ import java.util.logging.Logger;
  * Implementación del servicio RMI de Batalla Naval
  * Demuestra servidor distribuido que coordina múltiples clientes
  */
-public class GameServiceImpl extends UnicastRemoteObject implements GameService {
+public class GameServiceImpl extends UnicastRemoteObject implements ShardService, SpectatorService {
     private static final Logger LOGGER = Logger.getLogger(GameServiceImpl.class.getName());
     
     // Estructuras thread-safe para sistema distribuido
     private final Map<String, Player> players;
     private final Map<String, GameSession> playerToSession;
-    private GameSession currentSession;
+    private final SessionRegistry sessionRegistry;
+    private final Matchmaker matchmaker;
+    private final ServerContext context;
+    private final CallbackDispatcher dispatcher;
+    private final SessionLifecycle lifecycle;
+    private final ServerMetrics metrics;
     private final AtomicInteger playerCounter;
+    private final RecoveryManager recovery;
+    private final boolean sharded;
+    // Oponente automático para quien espera demasiado (null si está desactivado o en modo shards)
+    private final AiOpponents ai;
+    
+    // Un único hilo vence las esperas long-poll; los clientes en espera no ocupan hilos propios
+    private final ScheduledThreadPoolExecutor statusTimeouts;
+    // Salvo por RMI, que retiene su hilo de transporte: esas esperas tienen un tope
+    private final Semaphore rmiStatusWaiters = new Semaphore(ServerConfig.statusMaxRmiWaiters());
     
     public GameServiceImpl() throws RemoteException {
+        this(ServerContext.fromConfig());
+    }
+    
+    public GameServiceImpl(ServerContext context) throws RemoteException {
         super();
         this.players = new ConcurrentHashMap<>();
         this.playerToSession = new ConcurrentHashMap<>();
+        this.sessionRegistry = new SessionRegistry();
+        this.context = context;
+        this.dispatcher = context.getDispatcher();
+        this.matchmaker = new Matchmaker(sessionRegistry, context);
+        this.lifecycle = new SessionLifecycle(players, playerToSession, sessionRegistry, matchmaker, context);
+        this.metrics = new ServerMetrics(sessionRegistry, dispatcher, context.getSpectators(),
+                context.getJournal(), players::size);
         this.playerCounter = new AtomicInteger(1);
+        this.sharded = ServerConfig.shardName() != null;
+        this.ai = ServerConfig.aiEnabled() && !sharded ? new AiOpponents(this, this::seatAi) : null;
+        this.statusTimeouts = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "status-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.statusTimeouts.setRemoveOnCancelPolicy(true);
+        this.recovery = new RecoveryManager(context.getJournal(), sessionRegistry, playerCounter::get,
+                matchmaker::peekNextSession);
+        recoverSessions();
+        this.lifecycle.start();
+        this.recovery.start();
         LOGGER.info("Servicio RMI de Batalla Naval inicializado");
     }
     
-    @Override
-    public synchronized String joinGame(String playerName, GameCallback callback) throws RemoteException {
-        LOGGER.info("Solicitud de conexión de jugador: " + playerName);
-        
-        String playerId = "player_" + playerCounter.getAndIncrement();
-        Player player = new Player(playerId, playerName, callback);
-        
-        players.put(playerId, player);
+    /**
+     * Restaura las partidas que estaban en curso al caer el servidor
+     * Los jugadores restaurados tienen un plazo extra para volver con reattach.
+     */
+    private void recoverSessions() {
+        if (!recovery.isEnabled()) {
+            return;
+        }
+        RecoveryManager.Result result;
+        try {
+            result = recovery.recover();
+        } catch (IOException e) {
+            LOGGER.severe("No se pudieron recuperar las sesiones: " + e.getMessage());
+            return;
+        }
+        long graceNanos = TimeUnit.MILLISECONDS.toNanos(ServerConfig.recoveryGraceMs());
+        result.getSessions().parallelStream().forEach(state -> restore(state, graceNanos));
+        playerCounter.accumulateAndGet(result.getNextPlayer(), Math::max);
+        matchmaker.advanceSessionCounter(result.getNextSession());
         
-        // Buscar o crear sesión de juego distribuida
-        GameSession session = findOrCreateSession();
-        boolean added = session.addPlayer(player);
+        if (!result.getSessions().isEmpty()) {
+            LOGGER.info(String.format("Sesiones recuperadas: %d (%d registros del journal%s) en %.1f ms",
+                    result.getSessions().size(), result.getReplayedRecords(),
+                    result.isFromSnapshot() ? " tras la instantánea" : "", result.getElapsedMillis()));
+        }
+    }
+    
+    private void restore(SessionState state, long graceNanos) {
+        GameSession session = GameSession.restore(state, context);
+        sessionRegistry.register(session);
+        List<Player> members = session.getPlayers();
+        for (Player player : members) {
+            player.extendLease(graceNanos);
+            lifecycle.register(player);
+            playerToSession.put(player.getId(), session);
+        }
+        if (session.getPhase() == GameStatus.GamePhase.WAITING) {
+            matchmaker.reopen(session);
+            if (ai != null) {
+                ai.offer(session);
+            }
+        }
+        context.getEventLog().record(EventType.SESSION_RESTORED, session.getNumber(), 0, members.size(), 0);
+    }
+    
+    @Override
+    public String joinGame(String playerName, GameCallback callback) throws RemoteException {
+        long start = System.nanoTime();
+        if (sharded) {
+            // Los números de sesión los asigna el lobby; uno local podría repetirse en otro shard
+            metrics.recordError(RpcMethod.JOIN_GAME);
+            metrics.recordCall(RpcMethod.JOIN_GAME, start);
+            return "ERROR:Servidor en modo shards, conéctate a través del lobby";
+        }
         
-        if (added) {
-            playerToSession.put(playerId, session);
-            LOGGER.info("Jugador " + playerName + " (" + playerId + ") conectado al sistema distribuido");
+        try {
+            Player player = new Player(playerCounter.getAndIncrement(), playerName, callback);
+            String playerId = player.getId();
             
-            // Notificar al jugador sobre el estado actual
-            try {
-                callback.onGameEvent("Conectado al servidor. Esperando oponente...");
-            } catch (RemoteException e) {
-                LOGGER.warning("Error notificando conexión a " + playerId + ": " + e.getMessage());
+            lifecycle.register(player);
+            
+            // Emparejar en una sesión distribuida (sin lock global)
+            GameSession session = matchmaker.assign(player);
+            if (session == null) {
+                lifecycle.disconnect(playerId);
+                context.getEventLog().record(EventType.JOIN_REJECTED, 0, player.getNumber());
+                metrics.recordError(RpcMethod.JOIN_GAME);
+                return "ERROR:Servidor lleno, intenta más tarde";
             }
+            playerToSession.put(playerId, session);
+            if (ai != null && !session.isFull()) {
+                ai.offer(session);
+            }
+            
+            // Notificar al jugador sobre el estado actual (asíncrono, en orden tras los de la sesión)
+            dispatcher.dispatch(player, cb -> cb.onGameEvent("Conectado al servidor. Esperando oponente..."));
+            
+            // Retornar en formato esperado por el cliente; el token solo sirve para reattach
+            return "SUCCESS:" + playerId + ":" + session.getSessionId() + ":" + player.getReattachTokenText();
+        } finally {
+            metrics.recordCall(RpcMethod.JOIN_GAME, start);
+        }
+    }
+    
+    /**
+     * Sienta a la IA como oponente de una sesión que sigue esperando
+     * @return ID del jugador IA, o null si la sesión ya se completó o cerró
+     */
+    private String seatAi(GameSession session, GameCallback callback) {
+        if (!matchmaker.claim(session)) {
+            return null;
+        }
+        Player player = new Player(playerCounter.getAndIncrement(), "IA", callback);
+        String playerId = player.getId();
+        lifecycle.register(player);
+        // Antes de addPlayer: los eventos de la partida pueden llegar a la IA de inmediato
+        playerToSession.put(playerId, session);
+        if (!session.addPlayer(player)) {
+            playerToSession.remove(playerId);
+            lifecycle.disconnect(playerId);
+            return null;
+        }
+        return playerId;
+    }
+    
+    @Override
+    public String joinSession(long sessionNumber, boolean create, String playerName, GameCallback callback)
+            throws RemoteException {
+        long start = System.nanoTime();
+        try {
+            Player player = new Player(playerCounter.getAndIncrement(), playerName, callback);
+            String playerId = player.getId();
+            lifecycle.register(player);
             
-            // Retornar en formato esperado por el cliente
-            return "SUCCESS:" + playerId + ":" + session.getSessionId();
-        } else {
-            // No se pudo añadir
-            players.remove(playerId);
-            throw new RemoteException("No se pudo unir al juego - Servidor lleno");
+            GameSession session = matchmaker.assignTo(sessionNumber, create, player);
+            if (session == null) {
+                lifecycle.disconnect(playerId);
+                context.getEventLog().record(EventType.JOIN_REJECTED, sessionNumber, player.getNumber());
+                metrics.recordError(RpcMethod.JOIN_SESSION);
+                return create ? "ERROR:Servidor lleno, intenta más tarde" : "ERROR:Sesión no disponible";
+            }
+            playerToSession.put(playerId, session);
+            dispatcher.dispatch(player, cb -> cb.onGameEvent("Conectado al servidor. Esperando oponente..."));
+            return "SUCCESS:" + playerId + ":" + session.getSessionId() + ":" + player.getReattachTokenText();
+        } finally {
+            metrics.recordCall(RpcMethod.JOIN_SESSION, start);
         }
     }
     
+    @Override
+    public boolean hostsSession(String sessionId) throws RemoteException {
+        return sessionRegistry.get(sessionId) != null;
+    }
+    
+    /**
+     * Carga actual para el reporte al lobby (modo shards)
+     */
+    public ShardLoad loadReport(String shardName) {
+        return new ShardLoad(shardName, this, sessionRegistry.size(), players.size(),
+                ServerConfig.maxSessions(), matchmaker.peekNextSession());
+    }
+    
     @Override
     public boolean placeShip(String playerId, Position start, Position end) throws RemoteException {
-        LOGGER.info("Solicitud colocar barco de " + playerId + ": " + start + " a " + end);
+        long startNanos = System.nanoTime();
+        lifecycle.touch(playerId);
         
         GameSession session = playerToSession.get(playerId);
         if (session == null) {
             LOGGER.warning("Sesión no encontrada para jugador: " + playerId);
+            metrics.recordError(RpcMethod.PLACE_SHIP);
+            metrics.recordCall(RpcMethod.PLACE_SHIP, startNanos);
             return false;
         }
         
@@ -78,80 +244,263 @@ public class GameServiceImpl extends UnicastRemoteObject implements GameService
             return session.placeShip(playerId, start, end);
         } catch (Exception e) {
             LOGGER.warning("Error colocando barco para " + playerId + ": " + e.getMessage());
+            metrics.recordError(RpcMethod.PLACE_SHIP);
+            return false;
+        } finally {
+            metrics.recordCall(RpcMethod.PLACE_SHIP, startNanos);
+        }
+    }
+    
+    @Override
+    public boolean placeFleet(String playerId, List<ShipPlacement> fleet) throws RemoteException {
+        long start = System.nanoTime();
+        lifecycle.touch(playerId);
+        
+        GameSession session = playerToSession.get(playerId);
+        if (session == null) {
+            LOGGER.warning("Sesión no encontrada para jugador: " + playerId);
+            metrics.recordError(RpcMethod.PLACE_FLEET);
+            metrics.recordCall(RpcMethod.PLACE_FLEET, start);
+            return false;
+        }
+        
+        try {
+            return session.placeFleet(playerId, fleet);
+        } catch (Exception e) {
+            LOGGER.warning("Error colocando flota para " + playerId + ": " + e.getMessage());
+            metrics.recordError(RpcMethod.PLACE_FLEET);
             return false;
+        } finally {
+            metrics.recordCall(RpcMethod.PLACE_FLEET, start);
         }
     }
     
     @Override
     public String attack(String playerId, Position target) throws RemoteException {
-        LOGGER.info("Ataque de " + playerId + " a posición " + target);
+        long start = System.nanoTime();
+        lifecycle.touch(playerId);
         
         GameSession session = playerToSession.get(playerId);
         if (session == null) {
+            metrics.recordError(RpcMethod.ATTACK);
+            metrics.recordCall(RpcMethod.ATTACK, start);
             return "ERROR_SESSION";
         }
         
         try {
             Board.AttackResult result = session.attack(playerId, target);
             if (result != null) {
+                if (result != Board.AttackResult.ALREADY_ATTACKED) {
+                    metrics.recordMove();
+                }
                 return result.name();
             }
             return "NOT_YOUR_TURN";
         } catch (Exception e) {
             LOGGER.warning("Error en ataque de " + playerId + ": " + e.getMessage());
+            metrics.recordError(RpcMethod.ATTACK);
             return "ERROR";
+        } finally {
+            metrics.recordCall(RpcMethod.ATTACK, start);
         }
     }
     
     @Override
     public GameStatus getGameStatus(String playerId) throws RemoteException {
+        long start = System.nanoTime();
+        lifecycle.touch(playerId);
+        try {
+            GameSession session = playerToSession.get(playerId);
+            if (session == null) {
+                return GameStatus.waiting(0);
+            }
+            
+            return session.getGameStatus(playerId);
+        } finally {
+            metrics.recordCall(RpcMethod.GET_GAME_STATUS, start);
+        }
+    }
+    
+    @Override
+    public GameStatus getGameStatusSince(String playerId, long knownVersion, long timeoutMs) throws RemoteException {
+        // RMI es síncrono: cada espera retiene un hilo de transporte, así que se limitan.
+        // Pasado el límite se responde el estado actual y el cliente vuelve a consultar tras una pausa.
+        if (!rmiStatusWaiters.tryAcquire()) {
+            return getGameStatusSinceAsync(playerId, knownVersion, 0).join();
+        }
+        try {
+            return getGameStatusSinceAsync(playerId, knownVersion, timeoutMs).join();
+        } finally {
+            rmiStatusWaiters.release();
+        }
+    }
+    
+    /**
+     * getGameStatusSince sin hilo en espera, para el transporte NIO: renueva
+     * la concesión y registra la métrica al completarse
+     */
+    public CompletableFuture<GameStatus> getGameStatusSinceAsync(String playerId, long knownVersion, long timeoutMs) {
+        long start = System.nanoTime();
+        lifecycle.touch(playerId);
+        CompletableFuture<GameStatus> status = awaitGameStatus(playerId, knownVersion, timeoutMs);
+        status.whenComplete((result, error) -> metrics.recordCall(RpcMethod.GET_GAME_STATUS_SINCE, start));
+        return status;
+    }
+    
+    /**
+     * Versión asíncrona del long-poll: el futuro se completa con el siguiente
+     * cambio de estado o, al vencer el plazo, con el estado actual
+     */
+    public CompletableFuture<GameStatus> awaitGameStatus(String playerId, long knownVersion, long timeoutMs) {
+        long waitMs = Math.max(0, Math.min(timeoutMs, ServerConfig.statusMaxWaitMs()));
         GameSession session = playerToSession.get(playerId);
         if (session == null) {
-            return GameStatus.waiting(0);
+            // Sin sesión no habrá cambios: se responde al vencer el plazo para evitar un bucle del cliente
+            CompletableFuture<GameStatus> idle = new CompletableFuture<>();
+            statusTimeouts.schedule(() -> idle.complete(GameStatus.waiting(0)), waitMs, TimeUnit.MILLISECONDS);
+            return idle;
         }
         
-        return session.getGameStatus(playerId);
+        CompletableFuture<GameStatus> change = session.awaitChange(playerId, knownVersion);
+        if (!change.isDone()) {
+            ScheduledFuture<?> timeout = statusTimeouts.schedule(
+                    () -> session.expireWaiter(change), waitMs, TimeUnit.MILLISECONDS);
+            change.whenComplete((status, error) -> timeout.cancel(false));
+        }
+        return change;
+    }
+    
+    @Override
+    public boolean heartbeat(String playerId) throws RemoteException {
+        long start = System.nanoTime();
+        boolean alive = lifecycle.touch(playerId);
+        metrics.recordCall(RpcMethod.HEARTBEAT, start);
+        return alive;
+    }
+    
+    @Override
+    public String reattach(String playerId, String token, GameCallback callback) throws RemoteException {
+        long start = System.nanoTime();
+        try {
+            Player player = players.get(playerId);
+            // El mismo error para ID desconocido y token incorrecto: no revela qué jugadores existen
+            if (player == null || callback == null || !player.matchesToken(token)) {
+                metrics.recordError(RpcMethod.REATTACH);
+                return "ERROR:Jugador desconocido";
+            }
+            player.reattach(callback);
+            player.touch();
+            
+            GameSession session = playerToSession.get(playerId);
+            context.getEventLog().record(EventType.PLAYER_REATTACHED,
+                    session != null ? session.getNumber() : 0, player.getNumber());
+            return "SUCCESS:" + playerId + ":" + (session != null ? session.getSessionId() : "");
+        } finally {
+            metrics.recordCall(RpcMethod.REATTACH, start);
+        }
     }
     
     @Override
     public boolean setPlayerReady(String playerId) throws RemoteException {
-        LOGGER.info("Jugador " + playerId + " marcado como listo");
+        lifecycle.touch(playerId);
         // Simplificado: siempre retorna true
         return true;
     }
     
     @Override
     public void disconnectPlayer(String playerId) throws RemoteException {
-        LOGGER.info("Desconectando jugador: " + playerId);
+        long start = System.nanoTime();
         
-        Player player = players.get(playerId);
-        if (player != null) {
-            players.remove(playerId);
-            playerToSession.remove(playerId);
-            
-            LOGGER.info("Jugador " + player.getName() + " (" + playerId + ") desconectado del sistema distribuido");
+        // Cierra también la sesión y avisa al oponente (queda en el log de eventos)
+        lifecycle.disconnect(playerId);
+        metrics.recordCall(RpcMethod.DISCONNECT_PLAYER, start);
+    }
+    
+    @Override
+    public String spectate(String sessionId, SpectatorCallback callback) throws RemoteException {
+        long start = System.nanoTime();
+        try {
+            GameSession session = sessionId != null ? sessionRegistry.get(sessionId) : null;
+            if (session == null || callback == null) {
+                metrics.recordError(RpcMethod.SPECTATE);
+                return "ERROR:Sesión no encontrada";
+            }
+            String spectatorId = session.addSpectator(callback);
+            if (spectatorId == null) {
+                metrics.recordError(RpcMethod.SPECTATE);
+                return "ERROR:Sesión cerrada o sin cupo para espectadores";
+            }
+            return "SUCCESS:" + spectatorId;
+        } finally {
+            metrics.recordCall(RpcMethod.SPECTATE, start);
         }
     }
     
+    @Override
+    public void stopSpectating(String spectatorId) throws RemoteException {
+        long start = System.nanoTime();
+        // El ID es "sessionId/n": la sesión se ubica sin un mapa global de espectadores
+        int slash = spectatorId != null ? spectatorId.lastIndexOf('/') : -1;
+        GameSession session = slash > 0 ? sessionRegistry.get(spectatorId.substring(0, slash)) : null;
+        if (session == null || !session.removeSpectator(spectatorId)) {
+            metrics.recordError(RpcMethod.STOP_SPECTATING);
+        }
+        metrics.recordCall(RpcMethod.STOP_SPECTATING, start);
+    }
+    
     /**
-     * Busca una sesión disponible o crea una nueva
-     * Maneja la coordinación de sesiones en el sistema distribuido
+     * Detiene los hilos internos del servicio
+     * Primero deja de aceptar llamadas RMI, para que ninguna modifique
+     * sesiones después de cerrar el journal. El transporte NIO se detiene
+     * antes de invocar este método.
      */
-    private GameSession findOrCreateSession() {
-        if (currentSession == null || currentSession.isFull()) {
-            String sessionId = "session_" + System.currentTimeMillis();
-            currentSession = new GameSession(sessionId);
-            LOGGER.info("Nueva sesión de juego distribuida creada: " + sessionId);
+    public void shutdown() {
+        try {
+            UnicastRemoteObject.unexportObject(this, true);
+        } catch (NoSuchObjectException e) {
+            // No estaba exportado
         }
-        return currentSession;
+        if (ai != null) {
+            ai.shutdown();
+        }
+        lifecycle.shutdown();
+        statusTimeouts.shutdownNow();
+        // Última instantánea: un reinicio ordenado no necesita reaplicar el journal
+        recovery.shutdown();
+        context.shutdown();
+    }
+    
+    public CallbackDispatcher getDispatcher() {
+        return dispatcher;
+    }
+    
+    public SessionLifecycle getLifecycle() {
+        return lifecycle;
+    }
+    
+    public ServerMetrics getMetrics() {
+        return metrics;
     }
     
     /**
-     * Obtiene estadísticas del servidor distribuido
+     * Obtiene estadísticas del servidor distribuido (las mismas publicadas por JMX)
      */
     public String getServerStats() {
-        return String.format("Jugadores conectados: %d, Sesiones activas: %d", 
-                           players.size(), 
-                           currentSession != null ? 1 : 0);
+        return String.format("Jugadores conectados: %d, Sesiones activas: %d " +
+                           "(esperando %d, colocando %d, jugando %d, terminadas %d), " +
+                           "Jugadas/s: %.1f, Callbacks pendientes: %d, Callback p99: %.1f us, " +
+                           "Ataque p99: %.1f us, Sesiones cerradas: %d, Jugadores desalojados: %d", 
+                           metrics.getConnectedPlayers(), 
+                           metrics.getActiveSessions(),
+                           metrics.getSessionsWaiting(),
+                           metrics.getSessionsPlacingShips(),
+                           metrics.getSessionsPlaying(),
+                           metrics.getSessionsFinished(),
+                           metrics.getMovesPerSecond(),
+                           metrics.getCallbackQueueDepth(),
+                           metrics.getCallbackLatencyP99Micros(),
+                           metrics.method(RpcMethod.ATTACK).getP99Micros(),
+                           lifecycle.getClosedSessions(),
+                           lifecycle.getEvictedPlayers());
     }
 }
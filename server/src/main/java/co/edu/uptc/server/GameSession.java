@@ -1,68 +1,146 @@
 package co.edu.uptc.server;
 
+import co.edu.uptc.server.eventlog.EventLog;
+import co.edu.uptc.server.eventlog.EventType;
+import co.edu.uptc.server.journal.Journal;
+import co.edu.uptc.server.journal.RecordType;
+import co.edu.uptc.server.recovery.SessionState;
+import co.edu.uptc.server.spectator.SpectatorHub;
+import co.edu.uptc.shared.interfaces.SpectatorCallback;
+import co.edu.uptc.shared.event.*;
 import co.edu.uptc.shared.model.*;
-import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 /**
  * Sesión simple de juego entre 2 jugadores
  * Coordina la partida distribuida con lógica mínima
+ *
+ * Cada cambio de estado incrementa la versión y completa los futuros de los
+ * clientes que esperan un cambio (long-poll), sin hilos bloqueados por espera.
+ * Los estados se calculan con el lock tomado pero los futuros se completan
+ * después de soltarlo (wakeWaiters), así las etapas dependientes (respuesta
+ * NIO, hilos RMI en join) no corren dentro del lock de la partida.
+ * Los comandos aceptados se anexan al journal con el lock tomado, de modo que
+ * el orden de LSN de una sesión es el orden en que se aplicaron. Los
+ * espectadores reciben cada jugada en vista neutral (sin byMe, myTurn, mine
+ * ni youWon) reutilizando los eventos del jugador que no la protagoniza.
  */
 public class GameSession {
     private static final Logger LOGGER = Logger.getLogger(GameSession.class.getName());
     
+    private final long number;
     private final String sessionId;
+    private final CallbackDispatcher dispatcher;
+    private final EventLog eventLog;
+    private final Journal journal;
+    private final SpectatorHub spectators;
     private Player player1;
     private Player player2;
     private String currentTurn; // ID del jugador actual
+    private String winnerName;
     private GameStatus.GamePhase phase;
+    private long version;
+    private long lastLsn; // último registro del journal aplicado
+    private final List<StatusWaiter> waiters = new ArrayList<>();
+    private List<StatusWaiter> woken = new ArrayList<>(); // listos para completar fuera del lock
+    private boolean closed;
+    private volatile long lastActivity = System.nanoTime();
     
-    public GameSession(String sessionId) {
-        this.sessionId = sessionId;
+    /**
+     * @param number Número único de la sesión; el ID es "session_" + número
+     */
+    public GameSession(long number, ServerContext context) {
+        this.number = number;
+        this.sessionId = "session_" + number;
+        this.dispatcher = context.getDispatcher();
+        this.eventLog = context.getEventLog();
+        this.journal = context.getJournal();
+        this.spectators = new SpectatorHub(sessionId, context.getSpectators(), this::spectatorSnapshot);
         this.phase = GameStatus.GamePhase.WAITING;
     }
     
     /**
      * Añade un jugador a la sesión
      */
-    public synchronized boolean addPlayer(Player player) {
+    public boolean addPlayer(Player player) {
+        try {
+            return addPlayerLocked(player);
+        } finally {
+            wakeWaiters();
+        }
+    }
+    
+    private synchronized boolean addPlayerLocked(Player player) {
+        if (closed) {
+            return false;
+        }
         if (player1 == null) {
             player1 = player;
+            recordJoin(player);
             notifyPlayer(player, "Esperando segundo jugador...");
+            stateChanged();
             return true;
         } else if (player2 == null) {
             player2 = player;
             phase = GameStatus.GamePhase.PLACING_SHIPS;
+            recordJoin(player);
             
             // Notificar a ambos jugadores
-            notifyPlayer(player1, "Jugador 2 conectado: " + player2.getName());
-            notifyPlayer(player2, "Conectado contra: " + player1.getName());
-            notifyBothPlayers("¡Coloquen sus barcos!");
+            EventBatch events = new EventBatch(spectators);
+            PlayerJoined joined = new PlayerJoined(player2.getName());
+            events.add(player1, joined);
+            events.add(player2, new PlayerJoined(player1.getName()));
+            events.watch(joined);
+            events.flush(dispatcher);
             
+            stateChanged();
             return true;
         }
         return false; // Sesión llena
     }
     
     /**
-     * Coloca un barco para un jugador
+     * Coloca un barco para un jugador, validado con FleetRules contra los que
+     * ya tiene: solo tamaños que faltan en la flota y sin tocar a los demás
      */
-    public synchronized boolean placeShip(String playerId, Position start, Position end) {
+    public boolean placeShip(String playerId, Position start, Position end) {
+        try {
+            return placeShipLocked(playerId, start, end);
+        } finally {
+            wakeWaiters();
+        }
+    }
+    
+    private synchronized boolean placeShipLocked(String playerId, Position start, Position end) {
         Player player = getPlayer(playerId);
-        if (player == null || phase != GameStatus.GamePhase.PLACING_SHIPS) {
+        if (player == null || closed || phase != GameStatus.GamePhase.PLACING_SHIPS) {
             return false;
         }
         
         try {
+            ShipPlacement placement = between(start, end);
+            List<ShipPlacement> fleet = new ArrayList<>();
+            for (Ship ship : player.getBoard().getShips()) {
+                fleet.add(ship.toPlacement());
+            }
+            FleetRules.checkNextShip(fleet, placement);
             boolean placed = player.getBoard().placeShip(start, end);
             
             if (placed) {
+                recordShipPlaced(player, start, end);
                 notifyPlayer(player, "Barco colocado");
                 
                 // Verificar si ambos están listos para jugar
                 if (bothPlayersReady()) {
-                    startGame();
+                    EventBatch events = new EventBatch(spectators);
+                    startGame(events);
+                    events.flush(dispatcher);
                 }
+                stateChanged();
             }
             
             return placed;
@@ -73,11 +151,59 @@ public class GameSession {
         }
     }
     
+    /**
+     * Coloca la flota completa de un jugador, validada con las reglas de FleetRules
+     * La validación usa máscaras precalculadas y se hace fuera del lock de la sesión.
+     */
+    public boolean placeFleet(String playerId, List<ShipPlacement> fleet) {
+        try {
+            FleetRules.checkFleet(fleet);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Flota rechazada para " + playerId + ": " + e.getMessage());
+            recordFleet(playerId, fleet == null ? 0 : fleet.size(), false);
+            return false;
+        }
+        
+        synchronized (this) {
+            Player player = getPlayer(playerId);
+            if (player == null || closed || phase != GameStatus.GamePhase.PLACING_SHIPS
+                    || player.getBoard().getShipCount() > 0) {
+                recordFleet(playerId, fleet.size(), false);
+                return false;
+            }
+            
+            Board board = player.getBoard();
+            for (ShipPlacement placement : fleet) {
+                board.placeShip(placement.getOrigin(), placement.getEnd());
+                logged(journal.append(RecordType.SHIP_PLACED, number, player.getNumber(),
+                        placement.getOrigin().getIndex(), shape(placement.getSize(), placement.isHorizontal())));
+            }
+            eventLog.record(EventType.FLEET_PLACED, number, player.getNumber(), fleet.size(), 1);
+            
+            if (bothPlayersReady()) {
+                EventBatch events = new EventBatch(spectators);
+                startGame(events);
+                events.flush(dispatcher);
+            }
+            stateChanged();
+        }
+        wakeWaiters();
+        return true;
+    }
+    
     /**
      * Realiza un ataque
      */
-    public synchronized Board.AttackResult attack(String playerId, Position target) {
-        if (phase != GameStatus.GamePhase.PLAYING || !playerId.equals(currentTurn)) {
+    public Board.AttackResult attack(String playerId, Position target) {
+        try {
+            return attackLocked(playerId, target);
+        } finally {
+            wakeWaiters();
+        }
+    }
+    
+    private synchronized Board.AttackResult attackLocked(String playerId, Position target) {
+        if (closed || phase != GameStatus.GamePhase.PLAYING || !playerId.equals(currentTurn)) {
             return null; // No es tu turno
         }
         
@@ -89,36 +215,221 @@ public class GameSession {
         }
         
         Board.AttackResult result = defender.getBoard().receiveAttack(target);
+        eventLog.record(EventType.ATTACK, number, attacker.getNumber(), target.getIndex(), result.ordinal());
+        if (result != Board.AttackResult.ALREADY_ATTACKED) {
+            logged(journal.append(RecordType.ATTACK, number, attacker.getNumber(), target.getIndex(), result.ordinal()));
+        }
         
-        // Notificar resultado
-        notifyPlayer(attacker, "Atacaste " + target + ": " + result.getDescription());
-        notifyPlayer(defender, attacker.getName() + " atacó " + target + ": " + result.getDescription());
+        // Todos los eventos de la jugada viajan en un solo callback por jugador
+        EventBatch events = new EventBatch(spectators);
+        AttackResolved resolved = new AttackResolved(attacker.getName(), target, result, false);
+        events.add(attacker, new AttackResolved(attacker.getName(), target, result, true));
+        events.add(defender, resolved);
+        if (result != Board.AttackResult.ALREADY_ATTACKED) {
+            events.watch(resolved);
+        }
+        
+        if (result == Board.AttackResult.SUNK || result == Board.AttackResult.SUNK_AND_GAME_OVER) {
+            ShipPlacement sunk = defender.getBoard().getShipAt(target).toPlacement();
+            ShipSunk revealed = new ShipSunk(sunk, false);
+            events.add(attacker, revealed);
+            events.add(defender, new ShipSunk(sunk, true));
+            events.watch(revealed);
+        }
         
-        // Verificar victoria
         if (result == Board.AttackResult.SUNK_AND_GAME_OVER) {
+            // Verificar victoria
             phase = GameStatus.GamePhase.FINISHED;
-            notifyBothPlayers("¡" + attacker.getName() + " GANA!");
-            return result;
+            winnerName = attacker.getName();
+            eventLog.record(EventType.GAME_OVER, number, attacker.getNumber());
+            GameOver over = new GameOver(winnerName, false);
+            events.add(attacker, new GameOver(winnerName, true));
+            events.add(defender, over);
+            events.watch(over);
+        } else if (result == Board.AttackResult.MISS) {
+            // Cambiar turno solo si falló
+            switchTurn(events);
         }
         
-        // Cambiar turno solo si falló
-        if (result == Board.AttackResult.MISS) {
-            switchTurn();
+        if (result != Board.AttackResult.ALREADY_ATTACKED) {
+            stateChanged();
         }
-        
+        events.flush(dispatcher);
         return result;
     }
     
     /**
-     * Obtiene el estado del juego para un jugador
+     * Obtiene el estado del juego para un jugador, marcado con la versión actual
+     */
+    public synchronized GameStatus getGameStatus(String playerId) {
+        return statusFor(playerId).withVersion(version);
+    }
+    
+    /**
+     * Futuro que se completa con el estado en cuanto la versión difiera de knownVersion
+     * Si ya difiere se retorna completado; si no, queda registrado hasta el
+     * próximo cambio o hasta que se venza con {@link #expireWaiter}.
+     */
+    public synchronized CompletableFuture<GameStatus> awaitChange(String playerId, long knownVersion) {
+        if (version != knownVersion) {
+            return CompletableFuture.completedFuture(getGameStatus(playerId));
+        }
+        StatusWaiter waiter = new StatusWaiter(playerId);
+        waiters.add(waiter);
+        return waiter.future;
+    }
+    
+    /**
+     * Completa una espera vencida con el estado actual, sin cambio de versión
+     */
+    public void expireWaiter(CompletableFuture<GameStatus> future) {
+        GameStatus status = null;
+        synchronized (this) {
+            for (Iterator<StatusWaiter> it = waiters.iterator(); it.hasNext(); ) {
+                StatusWaiter waiter = it.next();
+                if (waiter.future == future) {
+                    it.remove();
+                    status = getGameStatus(waiter.playerId);
+                    break;
+                }
+            }
+        }
+        if (status != null) {
+            future.complete(status);
+        }
+    }
+    
+    /**
+     * Cierra la sesión: deja de aceptar jugadores y jugadas y despierta a
+     * quienes esperan un cambio de estado
+     * @return Jugadores que estaban en la sesión (vacío si ya estaba cerrada)
+     */
+    public List<Player> close() {
+        try {
+            return closeLocked();
+        } finally {
+            wakeWaiters();
+        }
+    }
+    
+    private synchronized List<Player> closeLocked() {
+        if (closed) {
+            return List.of();
+        }
+        closed = true;
+        logged(journal.append(RecordType.SESSION_CLOSED, number, 0, 0, 0));
+        stateChanged();
+        spectators.close();
+        return getPlayers();
+    }
+    
+    /**
+     * Suscribe un espectador; la primera trama que recibe es el estado actual
+     * @return ID del espectador, o null si la sesión está cerrada o llena
+     */
+    public synchronized String addSpectator(SpectatorCallback callback) {
+        return spectators.subscribe(callback);
+    }
+    
+    public synchronized boolean removeSpectator(String spectatorId) {
+        return spectators.unsubscribe(spectatorId);
+    }
+    
+    public int getSpectatorCount() {
+        return spectators.size();
+    }
+    
+    /**
+     * Copia del estado para una instantánea, tomada con el lock de la sesión
+     * @return El estado, o null si la sesión está cerrada o vacía
+     */
+    public synchronized SessionState capture() {
+        if (closed || player1 == null) {
+            return null;
+        }
+        Player current = currentTurn != null ? getPlayer(currentTurn) : null;
+        SessionState state = new SessionState(number, lastLsn, version, phase,
+                current != null ? current.getNumber() : 0, winnerName);
+        state.addPlayer(player1.getNumber(), player1.getName(), player1.getReattachToken(),
+                player1.getBoard().copy());
+        if (player2 != null) {
+            state.addPlayer(player2.getNumber(), player2.getName(), player2.getReattachToken(),
+                    player2.getBoard().copy());
+        }
+        return state;
+    }
+    
+    /**
+     * Reconstruye una sesión recuperada tras una caída
+     * Los jugadores quedan sin callback hasta que el cliente llame a reattach.
+     */
+    public static GameSession restore(SessionState state, ServerContext context) {
+        GameSession session = new GameSession(state.getNumber(), context);
+        SessionState.PlayerState first = state.getPlayer(0);
+        SessionState.PlayerState second = state.getPlayer(1);
+        session.player1 = new Player(first.getNumber(), first.getName(), first.getToken(), null, first.getBoard());
+        if (second != null) {
+            session.player2 = new Player(second.getNumber(), second.getName(), second.getToken(), null,
+                    second.getBoard());
+        }
+        session.phase = state.getPhase();
+        session.currentTurn = state.getTurnPlayer() != 0 ? "player_" + state.getTurnPlayer() : null;
+        session.winnerName = state.getWinnerName();
+        session.version = state.getVersion();
+        session.lastLsn = state.getLastLsn();
+        return session;
+    }
+    
+    /**
+     * Estado de la partida como eventos en vista neutral, para la instantánea
+     * de los espectadores: jugadores, disparos recibidos por cada tablero
+     * seguidos de sus barcos hundidos, y turno o ganador
      */
-    public GameStatus getGameStatus(String playerId) {
+    private List<GameEvent> spectatorSnapshot() {
+        List<GameEvent> events = new ArrayList<>();
+        if (player1 != null) {
+            events.add(new PlayerJoined(player1.getName()));
+        }
+        if (player2 != null) {
+            events.add(new PlayerJoined(player2.getName()));
+            addShots(events, player1, player2);
+            addShots(events, player2, player1);
+        }
+        if (phase == GameStatus.GamePhase.PLAYING) {
+            events.add(new TurnChanged(getPlayer(currentTurn).getName(), false));
+        } else if (phase == GameStatus.GamePhase.FINISHED) {
+            events.add(new GameOver(winnerName, false));
+        }
+        return events;
+    }
+    
+    private static void addShots(List<GameEvent> events, Player attacker, Player defender) {
+        Board board = defender.getBoard();
+        for (int index = 0; index < Board.CELLS; index++) {
+            Position target = Position.ofIndex(index);
+            if (board.isAttacked(target)) {
+                Board.AttackResult result = board.isHit(target) ? Board.AttackResult.HIT : Board.AttackResult.MISS;
+                events.add(new AttackResolved(attacker.getName(), target, result, false));
+            }
+        }
+        for (Ship ship : board.getShips()) {
+            if (ship.isSunk()) {
+                events.add(new ShipSunk(ship.toPlacement(), false));
+            }
+        }
+    }
+    
+    private GameStatus statusFor(String playerId) {
         String player1Name = player1 != null ? player1.getName() : null;
         String player2Name = player2 != null ? player2.getName() : null;
         Player requestingPlayer = getPlayer(playerId);
         
         int playersConnected = (player1 != null ? 1 : 0) + (player2 != null ? 1 : 0);
         
+        if (closed && phase != GameStatus.GamePhase.FINISHED) {
+            return GameStatus.waiting(0);
+        }
+        
         switch (phase) {
             case WAITING:
                 return GameStatus.waiting(playersConnected);
@@ -131,7 +442,7 @@ public class GameSession {
                 return GameStatus.playing(currentName, isMyTurn);
             case FINISHED:
                 // Determinar ganador
-                String winner = "Juego terminado";
+                String winner = winnerName != null ? winnerName : "Juego terminado";
                 return GameStatus.finished(winner);
             default:
                 return GameStatus.waiting(playersConnected);
@@ -151,39 +462,155 @@ public class GameSession {
         return null;
     }
     
-    private void startGame() {
+    private void startGame(EventBatch events) {
         phase = GameStatus.GamePhase.PLAYING;
         currentTurn = player1.getId(); // Player1 siempre empieza
-        notifyBothPlayers("¡Juego iniciado! " + player1.getName() + " ataca primero.");
+        announceTurn(events);
     }
     
-    private void switchTurn() {
+    private void switchTurn(EventBatch events) {
         currentTurn = currentTurn.equals(player1.getId()) ? player2.getId() : player1.getId();
+        announceTurn(events);
+    }
+    
+    private void announceTurn(EventBatch events) {
         Player current = getPlayer(currentTurn);
-        notifyBothPlayers("Turno de: " + current.getName());
+        logged(journal.append(RecordType.TURN_CHANGED, number, current.getNumber(), 0, 0));
+        String currentName = current.getName();
+        TurnChanged first = new TurnChanged(currentName, player1.getId().equals(currentTurn));
+        TurnChanged second = new TurnChanged(currentName, player2.getId().equals(currentTurn));
+        events.add(player1, first);
+        events.add(player2, second);
+        events.watch(first.isMyTurn() ? second : first);
+    }
+    
+    /**
+     * Incrementa la versión y prepara el estado de los clientes que esperan
+     * un cambio; se llama con el lock de la sesión tomado y los futuros se
+     * completan después en wakeWaiters
+     */
+    private void stateChanged() {
+        version++;
+        lastActivity = System.nanoTime();
+        if (waiters.isEmpty()) {
+            return;
+        }
+        for (StatusWaiter waiter : waiters) {
+            waiter.status = getGameStatus(waiter.playerId);
+            woken.add(waiter);
+        }
+        waiters.clear();
     }
     
+    /**
+     * Completa, sin el lock de la sesión, los futuros preparados por stateChanged
+     */
+    private void wakeWaiters() {
+        List<StatusWaiter> ready;
+        synchronized (this) {
+            if (woken.isEmpty()) {
+                return;
+            }
+            ready = woken;
+            woken = new ArrayList<>();
+        }
+        for (StatusWaiter waiter : ready) {
+            waiter.future.complete(waiter.status);
+        }
+    }
+    
+    /**
+     * Listos cuando ambos tienen la flota completa; cada barco ya se validó
+     * al colocarlo (placeFleet o placeShip)
+     */
     private boolean bothPlayersReady() {
-        // Simplificado: asumimos listos si ambos tienen al menos 1 barco
-        return player1 != null && player1.getBoard().getShipCount() > 0 &&
-               player2 != null && player2.getBoard().getShipCount() > 0;
+        return player1 != null && player1.getBoard().getShipCount() == FleetRules.fleetSize() &&
+               player2 != null && player2.getBoard().getShipCount() == FleetRules.fleetSize();
     }
     
-    private void notifyPlayer(Player player, String message) {
-        try {
-            player.getCallback().onGameEvent(message);
-        } catch (RemoteException e) {
-            LOGGER.warning("Error notificando a " + player.getName() + ": " + e.getMessage());
+    /**
+     * Colocación entre dos celdas de una misma fila o columna, en cualquier orden
+     * @throws IllegalArgumentException si las celdas no están alineadas
+     */
+    private static ShipPlacement between(Position start, Position end) {
+        int dx = Math.abs(end.getX() - start.getX());
+        int dy = Math.abs(end.getY() - start.getY());
+        if (dx != 0 && dy != 0) {
+            throw new IllegalArgumentException("Barco en diagonal: " + start + " - " + end);
         }
+        Position origin = start.getIndex() < end.getIndex() ? start : end;
+        return new ShipPlacement(origin, dx + dy + 1, dx > 0);
     }
     
-    private void notifyBothPlayers(String message) {
-        if (player1 != null) notifyPlayer(player1, message);
-        if (player2 != null) notifyPlayer(player2, message);
+    private void recordJoin(Player player) {
+        eventLog.record(EventType.PLAYER_JOINED, number, player.getNumber());
+        logged(journal.playerJoined(number, player.getNumber(), player.getName(), player.getReattachToken()));
     }
     
+    private void recordShipPlaced(Player player, Position start, Position end) {
+        int dx = Math.abs(end.getX() - start.getX());
+        int dy = Math.abs(end.getY() - start.getY());
+        int origin = Math.min(start.getIndex(), end.getIndex());
+        int shape = shape(dx + dy + 1, dy == 0 && dx > 0);
+        eventLog.record(EventType.SHIP_PLACED, number, player.getNumber(), origin, shape);
+        logged(journal.append(RecordType.SHIP_PLACED, number, player.getNumber(), origin, shape));
+    }
+    
+    private void logged(long lsn) {
+        if (lsn != 0) {
+            lastLsn = lsn;
+        }
+    }
+    
+    private static int shape(int size, boolean horizontal) {
+        return size << 1 | (horizontal ? 1 : 0);
+    }
+    
+    private synchronized void recordFleet(String playerId, int ships, boolean accepted) {
+        Player player = getPlayer(playerId);
+        eventLog.record(EventType.FLEET_PLACED, number, player != null ? player.getNumber() : 0,
+                ships, accepted ? 1 : 0);
+    }
+    
+    /**
+     * Encola la notificación; la entrega RMI ocurre fuera del lock de la sesión
+     */
+    private void notifyPlayer(Player player, String message) {
+        dispatcher.dispatch(player, callback -> callback.onGameEvent(message));
+    }
+    
+    
     // Getters simples
+    public long getNumber() { return number; }
     public String getSessionId() { return sessionId; }
     public boolean isFull() { return player1 != null && player2 != null; }
     public boolean isEmpty() { return player1 == null && player2 == null; }
+    public synchronized long getVersion() { return version; }
+    public synchronized boolean isClosed() { return closed; }
+    public synchronized boolean isFinished() { return phase == GameStatus.GamePhase.FINISHED; }
+    public synchronized GameStatus.GamePhase getPhase() { return phase; }
+    public long getLastActivity() { return lastActivity; }
+    
+    /**
+     * Jugadores de la sesión en orden de llegada
+     */
+    public synchronized List<Player> getPlayers() {
+        List<Player> members = new ArrayList<>(2);
+        if (player1 != null) members.add(player1);
+        if (player2 != null) members.add(player2);
+        return members;
+    }
+    
+    /**
+     * Cliente esperando un cambio de estado
+     */
+    private static final class StatusWaiter {
+        final String playerId;
+        final CompletableFuture<GameStatus> future = new CompletableFuture<>();
+        GameStatus status; // estado con el que se completará
+        
+        StatusWaiter(String playerId) {
+            this.playerId = playerId;
+        }
+    }
 }
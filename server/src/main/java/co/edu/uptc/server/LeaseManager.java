@@ -0,0 +1,146 @@
+package co.edu.uptc.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Concesiones (leases) de vida de los jugadores sobre una rueda de tiempo
+ *
+ * Renovar es solo actualizar la actividad del jugador (Player.touch), sin tocar
+ * la rueda. Un único hilo avanza la rueda tick a tick; al visitar una casilla
+ * revisa cada jugador: si renovó se reubica según su nuevo vencimiento
+ * (reubicación perezosa) y si no, su concesión venció. Así el costo es
+ * proporcional a los vencimientos y no hay un temporizador por jugador.
+ */
+class LeaseManager {
+    private static final Logger LOGGER = Logger.getLogger(LeaseManager.class.getName());
+    
+    private final long leaseNanos;
+    private final long tickNanos;
+    private final long tickMs;
+    private final int mask;
+    private final Predicate<Player> isLive;
+    private final Consumer<Player> onExpired;
+    
+    // Altas desde hilos RMI; el resto de la estructura solo la toca el hilo de la rueda
+    private final Queue<Player> incoming = new ConcurrentLinkedQueue<>();
+    private final List<List<Player>> wheel;
+    private final long origin = System.nanoTime();
+    private long currentTick;
+    private List<Player> spare = new ArrayList<>();
+    
+    private final LongAdder expired = new LongAdder();
+    
+    /**
+     * @param wheelSize Casillas de la rueda (se redondea a potencia de 2)
+     * @param isLive Indica si el jugador sigue registrado; los retirados se descartan
+     * @param onExpired Acción al vencer la concesión de un jugador vivo
+     */
+    LeaseManager(long leaseMs, long tickMs, int wheelSize,
+                 Predicate<Player> isLive, Consumer<Player> onExpired) {
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.leaseNanos = TimeUnit.MILLISECONDS.toNanos(leaseMs);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.tickMs = tickMs;
+        this.mask = size - 1;
+        this.isLive = isLive;
+        this.onExpired = onExpired;
+        this.wheel = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            wheel.add(new ArrayList<>());
+        }
+    }
+    
+    void start(ScheduledExecutorService scheduler) {
+        scheduler.scheduleAtFixedRate(this::tickSafely, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Inicia la concesión de un jugador recién conectado
+     */
+    void add(Player player) {
+        incoming.offer(player);
+    }
+    
+    /**
+     * Avanza la rueda hasta el instante actual, procesando las casillas vencidas
+     */
+    void tick() {
+        long now = System.nanoTime();
+        long nowTick = (now - origin) / tickNanos;
+        
+        Player player;
+        while ((player = incoming.poll()) != null) {
+            place(player, player.getLastActivity() + leaseNanos);
+        }
+        
+        while (currentTick <= nowTick) {
+            int slot = (int) (currentTick & mask);
+            List<Player> due = wheel.get(slot);
+            if (!due.isEmpty()) {
+                // Se cambia por una lista vacía para poder reubicar mientras se recorre
+                wheel.set(slot, spare);
+                for (Player candidate : due) {
+                    if (!isLive.test(candidate)) {
+                        continue;
+                    }
+                    long deadline = candidate.getLastActivity() + leaseNanos;
+                    if (deadline - now <= 0) {
+                        expire(candidate, now);
+                    } else {
+                        place(candidate, deadline);
+                    }
+                }
+                due.clear();
+                spare = due;
+            }
+            currentTick++;
+        }
+    }
+    
+    /**
+     * Vence la concesión de un jugador; si la acción falla se reintenta tras
+     * otra concesión, sin cortar el recorrido de la casilla
+     */
+    private void expire(Player player, long now) {
+        try {
+            onExpired.accept(player);
+            expired.increment();
+        } catch (RuntimeException e) {
+            LOGGER.warning("Error venciendo la concesión de " + player.getId() + ": " + e);
+            place(player, now + leaseNanos);
+        }
+    }
+    
+    /**
+     * Ubica al jugador en la casilla de su vencimiento; si queda más allá de
+     * una vuelta se ubica en la última casilla y se reubica al visitarla
+     */
+    private void place(Player player, long deadline) {
+        long tick = (deadline - origin + tickNanos - 1) / tickNanos;
+        tick = Math.max(tick, currentTick + 1);
+        tick = Math.min(tick, currentTick + mask);
+        wheel.get((int) (tick & mask)).add(player);
+    }
+    
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría las ejecuciones siguientes del scheduler
+            LOGGER.warning("Error revisando concesiones: " + e.getMessage());
+        }
+    }
+    
+    long getExpired() {
+        return expired.sum();
+    }
+}
@@ -0,0 +1,148 @@
+package co.edu.uptc.server;
+
+import co.edu.uptc.server.eventlog.EventType;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Emparejamiento concurrente de jugadores en cualquier cantidad de sesiones
+ *
+ * Las sesiones con un solo jugador esperan en una cola sin bloqueo. Cada
+ * jugador que llega toma (poll) una sesión abierta; como poll es atómico,
+ * solo un jugador puede reclamar cada asiento libre y no hace falta un lock
+ * global. Si no hay sesiones abiertas se crea una nueva y se encola, siempre
+ * que no se supere el límite de sesiones vivas del servidor.
+ *
+ * Solo la creación se serializa (creationLock): quien va a crear revisa la
+ * cola otra vez con el lock tomado, así dos jugadores que llegan a la vez a
+ * una cola vacía no quedan cada uno solo en su propia sesión.
+ */
+public class Matchmaker {
+    private static final Logger LOGGER = Logger.getLogger(Matchmaker.class.getName());
+    
+    private final SessionRegistry registry;
+    private final ServerContext context;
+    private final Queue<GameSession> openSessions = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sessionCounter = new AtomicLong(1);
+    private final Object creationLock = new Object();
+    private final int maxSessions;
+    
+    public Matchmaker(SessionRegistry registry, ServerContext context) {
+        this.registry = registry;
+        this.context = context;
+        this.maxSessions = ServerConfig.maxSessions();
+    }
+    
+    /**
+     * Asigna el jugador a una sesión: completa una abierta o crea una nueva
+     * @return Sesión en la que quedó el jugador, o null si el servidor está lleno
+     */
+    public GameSession assign(Player player) {
+        GameSession open = joinOpen(player);
+        if (open != null) {
+            return open;
+        }
+        
+        synchronized (creationLock) {
+            // Otro jugador pudo crear una sesión entre el primer intento y el lock
+            open = joinOpen(player);
+            if (open != null) {
+                return open;
+            }
+            GameSession session = new GameSession(sessionCounter.getAndIncrement(), context);
+            if (!registry.tryRegister(session, maxSessions)) {
+                LOGGER.warning("Límite de sesiones alcanzado (" + maxSessions + ")");
+                return null;
+            }
+            context.getEventLog().record(EventType.SESSION_CREATED, session.getNumber(), 0);
+            session.addPlayer(player);
+            openSessions.offer(session);
+            return session;
+        }
+    }
+    
+    /**
+     * Completa la primera sesión abierta que acepte al jugador
+     * @return La sesión, o null si no quedan sesiones abiertas
+     */
+    private GameSession joinOpen(Player player) {
+        GameSession open;
+        while ((open = openSessions.poll()) != null) {
+            if (open.addPlayer(player)) {
+                return open;
+            }
+            // La sesión dejó de aceptar jugadores (llena o cerrada): se descarta
+        }
+        return null;
+    }
+    
+    /**
+     * Asigna el jugador a la sesión numerada por el lobby (modo shards)
+     * @param create true para crear la sesión si no existe; false si debe existir
+     * @return Sesión en la que quedó el jugador, o null si no existe, ya no
+     *         acepta jugadores o el servidor está lleno
+     */
+    public GameSession assignTo(long number, boolean create, Player player) {
+        GameSession session = registry.get("session_" + number);
+        if (session == null && create) {
+            advanceSessionCounter(number + 1);
+            GameSession created = new GameSession(number, context);
+            if (!registry.tryRegister(created, maxSessions)) {
+                LOGGER.warning("Límite de sesiones alcanzado (" + maxSessions + ")");
+                return null;
+            }
+            session = registry.get(created.getSessionId());
+            if (session == created) {
+                context.getEventLog().record(EventType.SESSION_CREATED, number, 0);
+            }
+        }
+        return session != null && session.addPlayer(player) ? session : null;
+    }
+    
+    /**
+     * Vuelve a ofrecer una sesión restaurada que esperaba un segundo jugador
+     */
+    public void reopen(GameSession session) {
+        openSessions.offer(session);
+    }
+    
+    /**
+     * Lleva el contador de sesiones al menos hasta next, para no repetir
+     * números de sesiones anteriores a una caída
+     */
+    public void advanceSessionCounter(long next) {
+        sessionCounter.accumulateAndGet(next, Math::max);
+    }
+    
+    /**
+     * Número que recibirá la próxima sesión
+     */
+    public long peekNextSession() {
+        return sessionCounter.get();
+    }
+    
+    /**
+     * Retira una sesión cerrada de la cola de espera
+     */
+    public void withdraw(GameSession session) {
+        openSessions.remove(session);
+    }
+    
+    /**
+     * Retira de la cola una sesión que esperaba oponente para completarla
+     * por fuera del emparejamiento (oponente IA)
+     * @return true si la sesión estaba en la cola
+     */
+    public boolean claim(GameSession session) {
+        return openSessions.remove(session);
+    }
+    
+    /**
+     * Sesiones esperando un segundo jugador
+     */
+    public int waitingCount() {
+        return openSessions.size();
+    }
+}
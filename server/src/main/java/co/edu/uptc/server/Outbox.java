@@ -0,0 +1,82 @@
+package co.edu.uptc.server;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cola de salida ordenada y acotada de un jugador
+ * A lo sumo un hilo del dispatcher la drena a la vez, lo que preserva el orden.
+ * Tras un fallo de entrega la cola se vacía y se suspende un tiempo, para
+ * que un cliente caído no ocupe un hilo con cada evento pendiente.
+ */
+final class Outbox {
+    
+    static final class Envelope {
+        final CallbackTask task;
+        final long enqueuedAt;
+        
+        Envelope(CallbackTask task, long enqueuedAt) {
+            this.task = task;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+    
+    private final ArrayBlockingQueue<Envelope> queue;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile long suspendedUntil;
+    private volatile boolean suspended;
+    
+    Outbox(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+    
+    boolean offer(Envelope envelope) {
+        return queue.offer(envelope);
+    }
+    
+    Envelope poll() {
+        return queue.poll();
+    }
+    
+    boolean isEmpty() {
+        return queue.isEmpty();
+    }
+    
+    int depth() {
+        return queue.size();
+    }
+    
+    /**
+     * Descarta los eventos pendientes y rechaza los nuevos hasta resumeAt (nanoTime)
+     * @return Eventos descartados
+     */
+    int suspend(long resumeAt) {
+        suspendedUntil = resumeAt;
+        suspended = true;
+        int discarded = 0;
+        while (queue.poll() != null) {
+            discarded++;
+        }
+        return discarded;
+    }
+    
+    boolean isSuspended(long now) {
+        if (suspended && now - suspendedUntil >= 0) {
+            suspended = false;
+        }
+        return suspended;
+    }
+    
+    void resume() {
+        suspended = false;
+    }
+    
+    /** Intenta tomar el derecho exclusivo de drenar la cola */
+    boolean tryClaim() {
+        return draining.compareAndSet(false, true);
+    }
+    
+    void release() {
+        draining.set(false);
+    }
+}
@@ -2,32 +2,108 @@ package co.edu.uptc.server;
 
 import co.edu.uptc.shared.interfaces.GameCallback;
 import co.edu.uptc.shared.model.Board;
+import java.security.SecureRandom;
 
 /**
  * Jugador simple en el servidor RMI
  * Mantiene información básica para la comunicación distribuida
  */
 public class Player {
+    private static final SecureRandom TOKENS = new SecureRandom();
+    
+    private final int number;
     private final String id;
+    private final long reattachToken; // secreto para retomar la partida; nunca 0
     private final String name;
-    private final GameCallback callback;
+    private volatile GameCallback callback; // null mientras un jugador restaurado no se reconecta
     private final Board board;
+    private final Outbox outbox;
     private boolean ready;
+    private volatile long lastActivity;
+    
+    /**
+     * @param number Número único del jugador; el ID es "player_" + número
+     */
+    public Player(int number, String name, GameCallback callback) {
+        this(number, name, newToken(), callback, new Board());
+    }
     
-    public Player(String id, String name, GameCallback callback) {
-        this.id = id;
+    /**
+     * Jugador con un tablero existente (sesión restaurada tras una caída)
+     * @param reattachToken Token guardado en el journal o la instantánea (0 si no se conoce)
+     */
+    Player(int number, String name, long reattachToken, GameCallback callback, Board board) {
+        this.number = number;
+        this.id = "player_" + number;
+        this.reattachToken = reattachToken;
         this.name = name;
         this.callback = callback;
-        this.board = new Board();
+        this.board = board;
+        this.outbox = new Outbox(ServerConfig.callbackQueueCapacity());
         this.ready = false;
+        this.lastActivity = System.nanoTime();
     }
     
     // Getters simples
+    public int getNumber() { return number; }
     public String getId() { return id; }
     public String getName() { return name; }
     public GameCallback getCallback() { return callback; }
     public Board getBoard() { return board; }
     public boolean isReady() { return ready; }
+    Outbox getOutbox() { return outbox; }
+    public long getLastActivity() { return lastActivity; }
+    public long getReattachToken() { return reattachToken; }
+    
+    /**
+     * Token de reconexión como texto: 16 dígitos hexadecimales
+     */
+    public String getReattachTokenText() {
+        return String.format("%016x", reattachToken);
+    }
+    
+    /**
+     * Verifica el token que presenta un cliente en reattach; un jugador sin
+     * token conocido (0) no puede retomarse
+     */
+    public boolean matchesToken(String token) {
+        if (reattachToken == 0 || token == null || token.length() != 16) {
+            return false;
+        }
+        try {
+            return Long.parseUnsignedLong(token, 16) == reattachToken;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+    
+    private static long newToken() {
+        long token;
+        do {
+            token = TOKENS.nextLong();
+        } while (token == 0);
+        return token;
+    }
+    
+    /**
+     * Registra actividad del cliente (System.nanoTime)
+     */
+    public void touch() { lastActivity = System.nanoTime(); }
+    
+    /**
+     * Extiende la concesión actual en el plazo indicado, p. ej. para que un
+     * jugador restaurado alcance a reconectarse
+     */
+    public void extendLease(long extraNanos) { lastActivity = System.nanoTime() + extraNanos; }
+    
+    /**
+     * Cambia el callback por el de un cliente que se reconectó y reanuda su
+     * cola si estaba suspendida por fallos del callback anterior
+     */
+    public void reattach(GameCallback callback) {
+        this.callback = callback;
+        outbox.resume();
+    }
     
     // Setters simples
     public void setReady(boolean ready) { this.ready = ready; }
@@ -0,0 +1,279 @@
+package co.edu.uptc.server;
+
+import co.edu.uptc.shared.nio.NioProtocol;
+
+/**
+ * Parámetros de configuración del servidor, leídos de propiedades del sistema
+ * Ejemplo: java -Dbattleship.callback.threads=8 ... ServerMain
+ */
+public final class ServerConfig {
+    
+    private ServerConfig() {
+    }
+    
+    /** Hilos que entregan callbacks a los clientes */
+    public static int callbackThreads() {
+        return Integer.getInteger("battleship.callback.threads",
+                Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+    
+    /**
+     * Duración máxima de un callback RMI (conexión y respuesta) y pausa de las
+     * entregas a un cliente tras un fallo; ver ServerMain.limitRmiCalls
+     */
+    public static long callbackTimeoutMs() {
+        return Long.getLong("battleship.callback.timeoutMs", 5000);
+    }
+    
+    /** Eventos pendientes máximos por jugador antes de descartar */
+    public static int callbackQueueCapacity() {
+        return Integer.getInteger("battleship.callback.queueCapacity", 256);
+    }
+    
+    /** Espera máxima de una consulta de estado long-poll, en milisegundos */
+    public static long statusMaxWaitMs() {
+        return Long.getLong("battleship.status.maxWaitMs", 30000);
+    }
+    
+    /** Long-polls RMI que pueden esperar a la vez; cada uno retiene un hilo RMI, los demás responden sin esperar */
+    public static int statusMaxRmiWaiters() {
+        return Integer.getInteger("battleship.status.maxRmiWaiters", 256);
+    }
+    
+    /** Sesiones vivas máximas; al superarlas joinGame rechaza nuevos jugadores */
+    public static int maxSessions() {
+        return Integer.getInteger("battleship.maxSessions", 10000);
+    }
+    
+    /** Duración de la concesión de vida de un jugador; se renueva con cada invocación */
+    public static long leaseMs() {
+        return Long.getLong("battleship.leaseMs", 10000);
+    }
+    
+    /** Resolución de la rueda de tiempo que vence las concesiones */
+    public static long leaseTickMs() {
+        return Long.getLong("battleship.leaseTickMs", 250);
+    }
+    
+    /** Inactividad tras la que se cierra una sesión sin jugadas */
+    public static long sessionIdleMs() {
+        return Long.getLong("battleship.sessionIdleMs", 600000);
+    }
+    
+    /** Tiempo que se conserva una sesión terminada antes de desalojarla */
+    public static long finishedSessionTtlMs() {
+        return Long.getLong("battleship.finishedSessionTtlMs", 60000);
+    }
+    
+    /** Activa el log binario de eventos del juego */
+    public static boolean eventLogEnabled() {
+        return Boolean.parseBoolean(System.getProperty("battleship.eventlog.enabled", "true"));
+    }
+    
+    /** Directorio de los archivos rotativos del log de eventos */
+    public static String eventLogDir() {
+        return System.getProperty("battleship.eventlog.dir", perShard("logs"));
+    }
+    
+    /** Registros del buffer circular del log de eventos */
+    public static int eventLogCapacity() {
+        return Integer.getInteger("battleship.eventlog.capacity", 1 << 16);
+    }
+    
+    /** Tamaño máximo de cada archivo del log de eventos */
+    public static long eventLogMaxFileBytes() {
+        return Long.getLong("battleship.eventlog.maxFileBytes", 16L << 20);
+    }
+    
+    /** Archivos del log de eventos que se conservan */
+    public static int eventLogMaxFiles() {
+        return Integer.getInteger("battleship.eventlog.maxFiles", 8);
+    }
+    
+    /** Activa el journal de partidas (necesario para recuperarlas tras una caída) */
+    public static boolean journalEnabled() {
+        return Boolean.parseBoolean(System.getProperty("battleship.journal.enabled", "true"));
+    }
+    
+    /** Directorio de los segmentos del journal */
+    public static String journalDir() {
+        return System.getProperty("battleship.journal.dir", perShard("journal"));
+    }
+    
+    /** Tamaño de cada segmento mapeado del journal */
+    public static int journalSegmentBytes() {
+        return Integer.getInteger("battleship.journal.segmentBytes", 16 << 20);
+    }
+    
+    /** Espera máxima entre fsync del journal (commit por grupos) */
+    public static long journalSyncIntervalMs() {
+        return Long.getLong("battleship.journal.syncIntervalMs", 20);
+    }
+    
+    /** Registros que adelantan el fsync del journal (0 = solo por intervalo) */
+    public static int journalSyncBatch() {
+        return Integer.getInteger("battleship.journal.syncBatch", 1024);
+    }
+    
+    /** Intervalo entre instantáneas de las sesiones vivas (0 = solo al detener el servidor) */
+    public static long snapshotIntervalMs() {
+        return Long.getLong("battleship.snapshot.intervalMs", 10000);
+    }
+    
+    /** Instantáneas que se conservan; el journal se depura hasta la más antigua */
+    public static int snapshotsKept() {
+        return Integer.getInteger("battleship.snapshot.keep", 2);
+    }
+    
+    /** Plazo extra de la concesión de los jugadores restaurados para que vuelvan a conectarse */
+    public static long recoveryGraceMs() {
+        return Long.getLong("battleship.recovery.graceMs", 60000);
+    }
+    
+    /**
+     * Nombre del shard (modo shards); sin él el servidor es independiente y
+     * publica su propio registro RMI
+     */
+    public static String shardName() {
+        return System.getProperty("battleship.shard.name");
+    }
+    
+    /** Host del registro RMI donde está publicado el lobby */
+    public static String lobbyHost() {
+        return System.getProperty("battleship.lobby.host", "localhost");
+    }
+    
+    /** Puerto del registro RMI del lobby */
+    public static int lobbyPort() {
+        return Integer.getInteger("battleship.lobby.port", 1100);
+    }
+    
+    /** Duración máxima de una llamada del lobby a un shard (conexión y respuesta) */
+    public static long lobbyCallTimeoutMs() {
+        return Long.getLong("battleship.lobby.callTimeoutMs", 5000);
+    }
+    
+    /** Intervalo entre reportes de carga de un shard; sin reportes por 3 intervalos sale del anillo */
+    public static long shardReportMs() {
+        return Long.getLong("battleship.shard.reportMs", 1000);
+    }
+    
+    /** Puntos virtuales de cada shard en el anillo de hashing consistente */
+    public static int lobbyVirtualNodes() {
+        return Integer.getInteger("battleship.lobby.virtualNodes", 128);
+    }
+    
+    /** Ocupación máxima de un shard relativa al promedio antes de pasar al siguiente del anillo */
+    public static double lobbyLoadFactor() {
+        return Double.parseDouble(System.getProperty("battleship.lobby.loadFactor", "1.25"));
+    }
+    
+    /** Directorio por defecto, separado por shard para varios procesos en un mismo host */
+    private static String perShard(String dir) {
+        String shard = shardName();
+        return shard != null ? dir + "/" + shard : dir;
+    }
+    
+    /**
+     * Transportes que publica el servidor independiente: rmi, nio o ambos
+     * separados por coma (los shards usan solo RMI)
+     */
+    public static String transport() {
+        return System.getProperty("battleship.transport", "rmi");
+    }
+    
+    /** Puerto del servidor NIO */
+    public static int nioPort() {
+        return Integer.getInteger("battleship.nio.port", NioProtocol.DEFAULT_PORT);
+    }
+    
+    /** Hilos que entregan las tramas a los espectadores */
+    public static int spectatorThreads() {
+        return Integer.getInteger("battleship.spectator.threads", 2);
+    }
+    
+    /** Tramas pendientes por espectador antes de resumirlas en una instantánea */
+    public static int spectatorQueueFrames() {
+        return Integer.getInteger("battleship.spectator.queueFrames", 64);
+    }
+    
+    /** Espectadores máximos por sesión */
+    public static int maxSpectatorsPerSession() {
+        return Integer.getInteger("battleship.spectator.maxPerSession", 1000);
+    }
+    
+    /** Ofrece la IA como oponente a quien espera demasiado (solo sin shards) */
+    public static boolean aiEnabled() {
+        return Boolean.parseBoolean(System.getProperty("battleship.ai.enabled", "true"));
+    }
+    
+    /** Espera de un jugador solo antes de que la IA ocupe el puesto del oponente */
+    public static long aiWaitMs() {
+        return Long.getLong("battleship.ai.waitMs", 20000);
+    }
+    
+    /** Pausa media de la IA antes de cada disparo */
+    public static long aiThinkMs() {
+        return Long.getLong("battleship.ai.thinkMs", 700);
+    }
+    
+    /** Hilos compartidos por todas las IA */
+    public static int aiThreads() {
+        return Integer.getInteger("battleship.ai.threads", 2);
+    }
+    
+    /** Dificultad de la IA: "normal" (densidad) o "hard" (Monte Carlo) */
+    public static String aiLevel() {
+        return System.getProperty("battleship.ai.level", "normal");
+    }
+    
+    /** Tiempo máximo de muestreo por disparo de la IA difícil */
+    public static long aiBudgetMs() {
+        return Long.getLong("battleship.ai.budgetMs", 20);
+    }
+    
+    /** Muestras máximas por disparo de la IA difícil */
+    public static int aiSamples() {
+        return Integer.getInteger("battleship.ai.samples", 50000);
+    }
+    
+    /** Hilos del muestreo Monte Carlo, compartidos por todas las IA difíciles */
+    public static int aiSamplerThreads() {
+        return Integer.getInteger("battleship.ai.samplerThreads", Runtime.getRuntime().availableProcessors());
+    }
+    
+    /** Resuelve de forma exacta el final de partida cuando quedan pocas flotas posibles */
+    public static boolean aiEndgame() {
+        return Boolean.parseBoolean(System.getProperty("battleship.ai.endgame", "true"));
+    }
+    
+    /** Tiempo máximo de la búsqueda exacta por disparo; si se agota se usa el selector normal */
+    public static long aiEndgameBudgetMs() {
+        return Long.getLong("battleship.ai.endgameBudgetMs", 50);
+    }
+    
+    /** Barcos a flote máximos para intentar la búsqueda exacta */
+    public static int aiEndgameMaxShips() {
+        return Integer.getInteger("battleship.ai.endgameMaxShips", 2);
+    }
+    
+    /** Colocaciones compatibles máximas para la búsqueda exacta (hasta 64; con más de 14 rara vez cabe en el presupuesto) */
+    public static int aiEndgameMaxCandidates() {
+        return Integer.getInteger("battleship.ai.endgameMaxCandidates", 14);
+    }
+    
+    /** Colocaciones a partir de las cuales la raíz de la búsqueda se reparte en el pool */
+    public static int aiEndgameParallelThreshold() {
+        return Integer.getInteger("battleship.ai.endgameParallelThreshold", 12);
+    }
+    
+    /** Intervalo para registrar las estadísticas del servidor en el log (0 = nunca) */
+    public static long statsLogIntervalMs() {
+        return Long.getLong("battleship.statsLogIntervalMs", 60000);
+    }
+    
+    /** Intervalo entre recorridos del desalojador de sesiones */
+    public static long reaperIntervalMs() {
+        return Long.getLong("battleship.reaperIntervalMs", 5000);
+    }
+}
@@ -0,0 +1,76 @@
+package co.edu.uptc.server;
+
+import co.edu.uptc.server.eventlog.EventLog;
+import co.edu.uptc.server.journal.Journal;
+import co.edu.uptc.server.spectator.SpectatorFanout;
+import java.nio.file.Path;
+
+/**
+ * Servicios compartidos por las sesiones y componentes del servidor
+ * Se crea una vez por servidor y se pasa a quien lo necesite.
+ */
+public class ServerContext {
+    private final CallbackDispatcher dispatcher;
+    private final EventLog eventLog;
+    private final Journal journal;
+    private final SpectatorFanout spectators;
+    
+    public ServerContext(CallbackDispatcher dispatcher, EventLog eventLog) {
+        this(dispatcher, eventLog, Journal.disabled());
+    }
+    
+    public ServerContext(CallbackDispatcher dispatcher, EventLog eventLog, Journal journal) {
+        this(dispatcher, eventLog, journal, new SpectatorFanout(ServerConfig.spectatorThreads(),
+                ServerConfig.spectatorQueueFrames(), ServerConfig.maxSpectatorsPerSession()));
+    }
+    
+    public ServerContext(CallbackDispatcher dispatcher, EventLog eventLog, Journal journal,
+            SpectatorFanout spectators) {
+        this.dispatcher = dispatcher;
+        this.eventLog = eventLog;
+        this.journal = journal;
+        this.spectators = spectators;
+    }
+    
+    /**
+     * Contexto configurado con las propiedades del sistema (ver ServerConfig)
+     */
+    public static ServerContext fromConfig() {
+        CallbackDispatcher dispatcher = new CallbackDispatcher(ServerConfig.callbackThreads());
+        EventLog eventLog = ServerConfig.eventLogEnabled()
+                ? EventLog.open(Path.of(ServerConfig.eventLogDir()), ServerConfig.eventLogCapacity(),
+                        ServerConfig.eventLogMaxFileBytes(), ServerConfig.eventLogMaxFiles())
+                : EventLog.disabled();
+        Journal journal = ServerConfig.journalEnabled()
+                ? Journal.open(Path.of(ServerConfig.journalDir()), ServerConfig.journalSegmentBytes(),
+                        ServerConfig.journalSyncIntervalMs(), ServerConfig.journalSyncBatch())
+                : Journal.disabled();
+        return new ServerContext(dispatcher, eventLog, journal);
+    }
+    
+    public CallbackDispatcher getDispatcher() {
+        return dispatcher;
+    }
+    
+    public EventLog getEventLog() {
+        return eventLog;
+    }
+    
+    public Journal getJournal() {
+        return journal;
+    }
+    
+    public SpectatorFanout getSpectators() {
+        return spectators;
+    }
+    
+    /**
+     * Detiene la entrega de callbacks y tramas de espectadores, vacía el log de eventos y sincroniza el journal
+     */
+    public void shutdown() {
+        dispatcher.shutdown();
+        spectators.shutdown();
+        eventLog.close();
+        journal.close();
+    }
+}
@@ -1,7 +1,19 @@
 package co.edu.uptc.server;
 
+import co.edu.uptc.server.nio.NioGameServer;
+import co.edu.uptc.server.shard.ShardReporter;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
 import java.rmi.registry.LocateRegistry;
+import java.rmi.server.RMISocketFactory;
 import java.rmi.registry.Registry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 /**
@@ -15,19 +27,44 @@ public class ServerMain {
     
     public static void main(String[] args) {
         try {
+            limitRmiCalls((int) ServerConfig.callbackTimeoutMs());
             System.out.println("🚀 Iniciando Servidor de Batalla Naval Distribuido...\n");
             
             // Crear e inicializar el servicio RMI
             GameServiceImpl gameService = new GameServiceImpl();
             System.out.println("✅ Servicio de juego creado");
             
-            // Crear registro RMI - Componente clave de sistemas distribuidos
-            Registry registry = LocateRegistry.createRegistry(RMI_PORT);
-            System.out.println("✅ Registro RMI creado en puerto " + RMI_PORT);
+            // Modo shards: el lobby entrega este servidor a los clientes, sin registro propio
+            String shardName = ServerConfig.shardName();
+            if (shardName != null) {
+                startShard(shardName, gameService);
+                return;
+            }
             
-            // Publicar el servicio en el registro - Permite lookup remoto
-            registry.bind(SERVICE_NAME, gameService);
-            System.out.println("✅ Servicio publicado como '" + SERVICE_NAME + "'");
+            List<String> transports = Arrays.asList(ServerConfig.transport().split(","));
+            if (transports.contains("rmi")) {
+                // Crear registro RMI - Componente clave de sistemas distribuidos
+                Registry registry = LocateRegistry.createRegistry(RMI_PORT);
+                System.out.println("✅ Registro RMI creado en puerto " + RMI_PORT);
+                
+                // Publicar el servicio en el registro - Permite lookup remoto
+                registry.bind(SERVICE_NAME, gameService);
+                System.out.println("✅ Servicio publicado como '" + SERVICE_NAME + "'");
+            }
+            
+            // Transporte binario alternativo: tramas sobre una sola conexión por cliente
+            NioGameServer nioServer = null;
+            if (transports.contains("nio")) {
+                nioServer = new NioGameServer(gameService, ServerConfig.nioPort());
+                nioServer.start();
+                System.out.println("✅ Servidor NIO escuchando en puerto " + nioServer.getPort());
+            }
+            NioGameServer nio = nioServer;
+            
+            // Publicar métricas como MBeans de plataforma (jconsole, VisualVM)
+            gameService.getMetrics().registerMBeans();
+            System.out.println("✅ Métricas JMX publicadas en co.edu.uptc.battleship");
+            ScheduledExecutorService statsLog = startStatsLog(gameService);
             
             // Mostrar información del servidor distribuido
             System.out.println("\n╔═══════════════════════════════════════════════════════╗");
@@ -35,7 +72,7 @@ public class ServerMain {
             System.out.println("╠═══════════════════════════════════════════════════════╣");
             System.out.println("║ 🌐 Puerto RMI: " + RMI_PORT + "                                   ║");
             System.out.println("║ 📡 Servicio: " + SERVICE_NAME + "                        ║");
-            System.out.println("║ 🎮 Capacidad: 2 jugadores simultáneos               ║");
+            System.out.println("║ 🎮 Capacidad: múltiples partidas simultáneas        ║");
             System.out.println("║ 📊 Estado: Esperando conexiones de clientes...       ║");
             System.out.println("╚═══════════════════════════════════════════════════════╝");
             
@@ -49,6 +86,15 @@ public class ServerMain {
             // Configurar shutdown hook para limpieza
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 System.out.println("\n🛑 Deteniendo servidor distribuido...");
+                if (statsLog != null) {
+                    statsLog.shutdownNow();
+                }
+                if (nio != null) {
+                    nio.shutdown();
+                }
+                LOGGER.info(gameService.getServerStats());
+                gameService.getMetrics().unregisterMBeans();
+                gameService.shutdown();
                 LOGGER.info("Servidor RMI detenido correctamente");
             }));
             
@@ -64,4 +110,72 @@ public class ServerMain {
             System.exit(1);
         }
     }
+    
+    /**
+     * Limita las llamadas RMI salientes (callbacks a los clientes, reportes al
+     * lobby, llamadas del lobby a los shards) a timeoutMs para conectar y otro
+     * tanto para responder, así un par caído no retiene un hilo indefinidamente.
+     * Debe llamarse antes de exportar objetos RMI; un
+     * -Dsun.rmi.transport.tcp.responseTimeout explícito tiene prioridad.
+     */
+    public static void limitRmiCalls(int timeoutMs) throws IOException {
+        if (System.getProperty("sun.rmi.transport.tcp.responseTimeout") == null) {
+            System.setProperty("sun.rmi.transport.tcp.responseTimeout", String.valueOf(timeoutMs));
+        }
+        RMISocketFactory.setSocketFactory(new RMISocketFactory() {
+            @Override
+            public Socket createSocket(String host, int port) throws IOException {
+                Socket socket = new Socket();
+                socket.connect(new InetSocketAddress(host, port), timeoutMs);
+                return socket;
+            }
+            
+            @Override
+            public ServerSocket createServerSocket(int port) throws IOException {
+                return new ServerSocket(port);
+            }
+        });
+    }
+    
+    /**
+     * Inicia el servidor como shard: reporta su carga al lobby, que le envía jugadores
+     */
+    private static void startShard(String shardName, GameServiceImpl gameService) throws InterruptedException {
+        gameService.getMetrics().registerMBeans();
+        ShardReporter reporter = new ShardReporter(shardName, gameService);
+        reporter.start();
+        System.out.println("✅ Shard '" + shardName + "' reportando al lobby en "
+                + ServerConfig.lobbyHost() + ":" + ServerConfig.lobbyPort());
+        ScheduledExecutorService statsLog = startStatsLog(gameService);
+        
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            reporter.shutdown();
+            if (statsLog != null) {
+                statsLog.shutdownNow();
+            }
+            LOGGER.info(gameService.getServerStats());
+            gameService.getMetrics().unregisterMBeans();
+            gameService.shutdown();
+            LOGGER.info("Shard " + shardName + " detenido correctamente");
+        }));
+        Thread.currentThread().join();
+    }
+    
+    /**
+     * Registra periódicamente las estadísticas del servidor en el log
+     */
+    private static ScheduledExecutorService startStatsLog(GameServiceImpl gameService) {
+        long interval = ServerConfig.statsLogIntervalMs();
+        if (interval <= 0) {
+            return null;
+        }
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> LOGGER.info(gameService.getServerStats()),
+                interval, interval, TimeUnit.MILLISECONDS);
+        return scheduler;
+    }
 }
@@ -0,0 +1,185 @@
+package co.edu.uptc.server;
+
+import co.edu.uptc.server.eventlog.EventLog;
+import co.edu.uptc.server.eventlog.EventType;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Ciclo de vida de jugadores y sesiones: desconexión, cierre y desalojo
+ *
+ * Cada invocación remota (o heartbeat) renueva la concesión del jugador y cada
+ * cambio de estado la actividad de su sesión. Un único hilo programado avanza
+ * la rueda de concesiones (LeaseManager) y recorre las sesiones para desalojar
+ * las inactivas o terminadas, de modo que un cliente que se cae sin llamar a
+ * disconnectPlayer no deja su Player, tablero y stub de callback retenidos. Al cerrar una sesión por la salida de un
+ * jugador, el oponente recibe onOpponentDisconnected vía el dispatcher.
+ */
+public class SessionLifecycle {
+    private static final Logger LOGGER = Logger.getLogger(SessionLifecycle.class.getName());
+    
+    private final Map<String, Player> players;
+    private final Map<String, GameSession> playerToSession;
+    private final SessionRegistry registry;
+    private final Matchmaker matchmaker;
+    private final CallbackDispatcher dispatcher;
+    private final EventLog eventLog;
+    private final ScheduledExecutorService scheduler;
+    private final LeaseManager leases;
+    
+    private final long sessionIdleNanos;
+    private final long finishedTtlNanos;
+    
+    private final LongAdder evictedPlayers = new LongAdder();
+    private final LongAdder closedSessions = new LongAdder();
+    
+    public SessionLifecycle(Map<String, Player> players, Map<String, GameSession> playerToSession,
+                            SessionRegistry registry, Matchmaker matchmaker, ServerContext context) {
+        this.players = players;
+        this.playerToSession = playerToSession;
+        this.registry = registry;
+        this.matchmaker = matchmaker;
+        this.dispatcher = context.getDispatcher();
+        this.eventLog = context.getEventLog();
+        this.sessionIdleNanos = TimeUnit.MILLISECONDS.toNanos(ServerConfig.sessionIdleMs());
+        this.finishedTtlNanos = TimeUnit.MILLISECONDS.toNanos(ServerConfig.finishedSessionTtlMs());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long leaseMs = ServerConfig.leaseMs();
+        long tickMs = ServerConfig.leaseTickMs();
+        this.leases = new LeaseManager(leaseMs, tickMs, (int) (2 * leaseMs / tickMs),
+                player -> players.get(player.getId()) == player, this::expire);
+    }
+    
+    /**
+     * Programa la rueda de concesiones y el recorrido periódico de sesiones
+     */
+    public void start() {
+        leases.start(scheduler);
+        long interval = ServerConfig.reaperIntervalMs();
+        scheduler.scheduleWithFixedDelay(this::reapSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+    
+    /**
+     * Registra un jugador recién conectado e inicia su concesión
+     */
+    public void register(Player player) {
+        players.put(player.getId(), player);
+        leases.add(player);
+    }
+    
+    /**
+     * Renueva la concesión de un jugador
+     * @return false si el jugador ya no está conectado
+     */
+    public boolean touch(String playerId) {
+        Player player = players.get(playerId);
+        if (player != null) {
+            player.touch();
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Retira al jugador del servidor y cierra su sesión, avisando al oponente
+     * @return false si el jugador no estaba conectado
+     */
+    public boolean disconnect(String playerId) {
+        Player player = players.remove(playerId);
+        if (player == null) {
+            return false;
+        }
+        GameSession session = playerToSession.remove(playerId);
+        eventLog.record(EventType.PLAYER_DISCONNECTED, session != null ? session.getNumber() : 0, player.getNumber());
+        if (session != null) {
+            closeSession(session, player, null);
+        }
+        return true;
+    }
+    
+    /**
+     * Cierra la sesión y la retira del registro y de la cola de espera
+     * @param leaving Jugador que abandonó (su oponente recibe onOpponentDisconnected), o null
+     * @param reason Mensaje para los jugadores restantes, o null para cerrar en silencio
+     */
+    void closeSession(GameSession session, Player leaving, String reason) {
+        List<Player> members = session.close();
+        registry.remove(session);
+        matchmaker.withdraw(session);
+        closedSessions.increment();
+        int cause = leaving != null ? EventLog.CLOSE_ABANDONED
+                : reason != null ? EventLog.CLOSE_IDLE : EventLog.CLOSE_FINISHED;
+        eventLog.record(EventType.SESSION_CLOSED, session.getNumber(), 0, cause, 0);
+        
+        for (Player member : members) {
+            if (member == leaving) {
+                continue;
+            }
+            // El jugador sigue conectado, pero ya no retiene la sesión cerrada
+            playerToSession.remove(member.getId(), session);
+            if (leaving != null) {
+                dispatcher.dispatch(member, callback -> callback.onOpponentDisconnected());
+            } else if (reason != null) {
+                dispatcher.dispatch(member, callback -> callback.onGameEvent(reason));
+            }
+        }
+    }
+    
+    /**
+     * Concesión vencida: el jugador se da por caído
+     */
+    private void expire(Player player) {
+        eventLog.record(EventType.LEASE_EXPIRED, 0, player.getNumber());
+        if (disconnect(player.getId())) {
+            evictedPlayers.increment();
+        }
+    }
+    
+    /**
+     * Desaloja sesiones inactivas o terminadas
+     */
+    void reap() {
+        long now = System.nanoTime();
+        
+        for (GameSession session : registry.sessions()) {
+            long idle = now - session.getLastActivity();
+            if (session.isFinished()) {
+                if (idle > finishedTtlNanos) {
+                    closeSession(session, null, null);
+                }
+            } else if (idle > sessionIdleNanos) {
+                closeSession(session, null, "Sesión cerrada por inactividad");
+            }
+        }
+    }
+    
+    private void reapSafely() {
+        try {
+            reap();
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría las ejecuciones siguientes del scheduler
+            LOGGER.warning("Error desalojando sesiones: " + e.getMessage());
+        }
+    }
+    
+    public long getEvictedPlayers() {
+        return evictedPlayers.sum();
+    }
+    
+    public long getClosedSessions() {
+        return closedSessions.sum();
+    }
+}
@@ -0,0 +1,60 @@
+package co.edu.uptc.server;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registro concurrente de las sesiones de juego activas, indexadas por ID
+ * Lleva un contador exacto de sesiones vivas para aplicar el límite del servidor.
+ */
+public class SessionRegistry {
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger live = new AtomicInteger();
+    
+    public void register(GameSession session) {
+        if (sessions.put(session.getSessionId(), session) == null) {
+            live.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Registra la sesión solo si no se supera el máximo de sesiones vivas
+     * @return false si el servidor está lleno
+     */
+    public boolean tryRegister(GameSession session, int maxSessions) {
+        if (live.incrementAndGet() > maxSessions) {
+            live.decrementAndGet();
+            return false;
+        }
+        if (sessions.putIfAbsent(session.getSessionId(), session) != null) {
+            live.decrementAndGet();
+        }
+        return true;
+    }
+    
+    public GameSession get(String sessionId) {
+        return sessions.get(sessionId);
+    }
+    
+    public boolean remove(GameSession session) {
+        if (sessions.remove(session.getSessionId(), session)) {
+            live.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+    
+    public int size() {
+        return live.get();
+    }
+    
+    /**
+     * Vista de solo lectura; la iteración es débilmente consistente
+     */
+    public Collection<GameSession> sessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+}
@@ -0,0 +1,134 @@
+package co.edu.uptc.server.ai;
+
+import co.edu.uptc.server.GameSession;
+import co.edu.uptc.server.ServerConfig;
+import co.edu.uptc.shared.interfaces.GameCallback;
+import co.edu.uptc.shared.interfaces.GameService;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Empareja con la IA a los jugadores que esperan demasiado un oponente
+ *
+ * Cada sesión nueva con un solo jugador se revisa pasado el plazo de espera;
+ * si sigue sin oponente la IA ocupa el segundo puesto. Las IA juegan en un
+ * scheduler pequeño y compartido: un turno cuesta microsegundos de CPU y el
+ * resto es la pausa de "pensar". En el nivel difícil cada disparo muestrea
+ * además en un ForkJoinPool compartido, dentro del presupuesto de tiempo.
+ * Con el final exacto activo, en cualquier nivel, los últimos barcos se
+ * buscan con EndgameSolver en ese mismo pool.
+ */
+public final class AiOpponents {
+    private static final Logger LOGGER = Logger.getLogger(AiOpponents.class.getName());
+    
+    /**
+     * Sienta un jugador en una sesión que espera oponente
+     */
+    @FunctionalInterface
+    public interface Seat {
+        /**
+         * @return ID del jugador sentado, o null si la sesión ya no lo acepta
+         */
+        String seat(GameSession session, GameCallback callback);
+    }
+    
+    private final GameService service;
+    private final Seat seat;
+    private final ScheduledExecutorService scheduler;
+    private final long waitMs;
+    private final long thinkMs;
+    private final long heartbeatMs;
+    private final boolean hard;
+    private final boolean endgame;
+    // Muestreo Monte Carlo y final exacto (null si no se usa ninguno)
+    private final ForkJoinPool samplers;
+    private final LongAdder seated = new LongAdder();
+    
+    public AiOpponents(GameService service, Seat seat) {
+        this(service, seat, ServerConfig.aiThreads(), ServerConfig.aiWaitMs(), ServerConfig.aiThinkMs(),
+                "hard".equalsIgnoreCase(ServerConfig.aiLevel()), ServerConfig.aiEndgame());
+    }
+    
+    public AiOpponents(GameService service, Seat seat, int threads, long waitMs, long thinkMs, boolean hard,
+                       boolean endgame) {
+        this.service = service;
+        this.seat = seat;
+        this.waitMs = waitMs;
+        this.thinkMs = thinkMs;
+        this.hard = hard;
+        this.endgame = endgame;
+        this.samplers = hard || endgame ? samplerPool(ServerConfig.aiSamplerThreads()) : null;
+        this.heartbeatMs = Math.max(1, ServerConfig.leaseMs() / 3);
+        AtomicInteger counter = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ai-players-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Pool del muestreo Monte Carlo y del final exacto con hilos "ai-sampler-N"
+     */
+    public static ForkJoinPool samplerPool(int parallelism) {
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("ai-sampler-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+    
+    /**
+     * Programa la revisión de una sesión que acaba de quedar esperando oponente
+     */
+    public void offer(GameSession session) {
+        scheduler.schedule(() -> challenge(session), waitMs, TimeUnit.MILLISECONDS);
+    }
+    
+    private void challenge(GameSession session) {
+        if (session.isFull() || session.isClosed()) {
+            return;
+        }
+        Random random = new Random();
+        ShotSelector targeter = hard
+                ? new MonteCarloTargeter(samplers, TimeUnit.MILLISECONDS.toNanos(ServerConfig.aiBudgetMs()),
+                        ServerConfig.aiSamples(), random)
+                : new DensityTargeter(random);
+        if (endgame) {
+            EndgameSolver solver = new EndgameSolver(samplers,
+                    TimeUnit.MILLISECONDS.toNanos(ServerConfig.aiEndgameBudgetMs()),
+                    ServerConfig.aiEndgameMaxShips(), ServerConfig.aiEndgameMaxCandidates(),
+                    ServerConfig.aiEndgameParallelThreshold());
+            targeter = new EndgameTargeter(targeter, solver, random);
+        }
+        AiPlayer ai = new AiPlayer(service, scheduler, thinkMs, random, targeter);
+        String playerId = seat.seat(session, ai);
+        if (playerId == null) {
+            return;
+        }
+        ai.begin(playerId, session, heartbeatMs);
+        seated.increment();
+        LOGGER.info("IA sentada en " + session.getSessionId() + " como " + playerId);
+    }
+    
+    /**
+     * Partidas en las que la IA ocupó el puesto del oponente
+     */
+    public long getSeated() {
+        return seated.sum();
+    }
+    
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if (samplers != null) {
+            samplers.shutdownNow();
+        }
+    }
+}
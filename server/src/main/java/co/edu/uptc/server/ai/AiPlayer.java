@@ -0,0 +1,205 @@
+package co.edu.uptc.server.ai;
+
+import co.edu.uptc.server.GameSession;
+import co.edu.uptc.shared.event.GameEvent;
+import co.edu.uptc.shared.event.ShipSunk;
+import co.edu.uptc.shared.event.TurnChanged;
+import co.edu.uptc.shared.interfaces.GameCallback;
+import co.edu.uptc.shared.interfaces.GameService;
+import co.edu.uptc.shared.model.FleetRules;
+import co.edu.uptc.shared.model.Position;
+import java.rmi.RemoteException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Oponente automático dentro del servidor
+ *
+ * Juega con la misma API que un cliente (GameService) y recibe los eventos
+ * como su GameCallback, entregados por el CallbackDispatcher. Las acciones
+ * corren en el scheduler de AiOpponents y el estado se protege con el
+ * monitor del objeto. Renueva su concesión mientras la sesión exista y se
+ * retira cuando la sesión se cierra.
+ */
+final class AiPlayer implements GameCallback {
+    private static final Logger LOGGER = Logger.getLogger(AiPlayer.class.getName());
+    
+    private final GameService service;
+    private final ScheduledExecutorService scheduler;
+    private final long thinkMs;
+    private final Random random;
+    private final ShotSelector targeter;
+    
+    private String playerId;
+    private GameSession session;
+    private ScheduledFuture<?> heartbeat;
+    private boolean opponentWaiting;
+    private boolean myTurn;
+    private boolean shotPending;
+    private boolean over;
+    // Un SUNK se aplica al recibir su ShipSunk, que trae la colocación del barco
+    private int sinksReported;
+    private int sinksKnown;
+    
+    AiPlayer(GameService service, ScheduledExecutorService scheduler, long thinkMs, Random random,
+             ShotSelector targeter) {
+        this.service = service;
+        this.scheduler = scheduler;
+        this.thinkMs = thinkMs;
+        this.random = random;
+        this.targeter = targeter;
+    }
+    
+    /**
+     * El jugador quedó sentado en la sesión; los eventos pudieron llegar antes
+     */
+    synchronized void begin(String id, GameSession seated, long heartbeatMs) {
+        playerId = id;
+        session = seated;
+        heartbeat = scheduler.scheduleWithFixedDelay(this::keepAlive, heartbeatMs, heartbeatMs,
+                TimeUnit.MILLISECONDS);
+        if (opponentWaiting) {
+            scheduler.execute(this::placeFleet);
+        }
+        maybeShoot();
+    }
+    
+    private void placeFleet() {
+        try {
+            if (!service.placeFleet(playerId, FleetRules.randomFleet(random))) {
+                LOGGER.warning("Flota de la IA rechazada en " + session.getSessionId());
+            }
+        } catch (RemoteException e) {
+            LOGGER.warning("Error colocando la flota de la IA: " + e.getMessage());
+        }
+    }
+    
+    private void maybeShoot() {
+        if (playerId != null && myTurn && !shotPending && !over && sinksKnown >= sinksReported) {
+            shotPending = true;
+            scheduler.schedule(this::shoot, thinkMs / 2 + (long) (random.nextDouble() * thinkMs),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    private synchronized void shoot() {
+        shotPending = false;
+        if (over || !myTurn) {
+            return;
+        }
+        int cell = targeter.nextShot();
+        if (cell < 0) {
+            return;
+        }
+        String result;
+        try {
+            result = service.attack(playerId, Position.ofIndex(cell));
+        } catch (RemoteException e) {
+            LOGGER.warning("Error en el disparo de la IA: " + e.getMessage());
+            return;
+        }
+        switch (result) {
+            case "HIT":
+                targeter.hit(cell);
+                break;
+            case "SUNK":
+                targeter.hit(cell);
+                sinksReported++;
+                break;
+            case "MISS":
+                targeter.miss(cell);
+                myTurn = false;
+                break;
+            case "SUNK_AND_GAME_OVER":
+                over = true;
+                break;
+            default:
+                // NOT_YOUR_TURN o error: se espera el próximo TurnChanged
+                myTurn = false;
+        }
+        maybeShoot();
+    }
+    
+    /**
+     * Heartbeat como el de un cliente; al cerrarse la sesión (terminada y
+     * desalojada, o abandonada por el humano) la IA se desconecta
+     */
+    private void keepAlive() {
+        String id;
+        synchronized (this) {
+            id = playerId;
+        }
+        try {
+            if (session.isClosed()) {
+                heartbeat.cancel(false);
+                service.disconnectPlayer(id);
+            } else if (!service.heartbeat(id)) {
+                heartbeat.cancel(false);
+            }
+        } catch (RemoteException e) {
+            LOGGER.fine("Heartbeat de la IA: " + e.getMessage());
+        }
+    }
+    
+    // === GameCallback (hilos del CallbackDispatcher) ===
+    
+    @Override
+    public synchronized void onGameEvents(List<GameEvent> events) {
+        for (GameEvent event : events) {
+            switch (event.getType()) {
+                case PLAYER_JOINED:
+                    if (playerId == null) {
+                        opponentWaiting = true;
+                    } else {
+                        scheduler.execute(this::placeFleet);
+                    }
+                    break;
+                case TURN_CHANGED:
+                    myTurn = ((TurnChanged) event).isMyTurn();
+                    break;
+                case SHIP_SUNK: {
+                    ShipSunk sunk = (ShipSunk) event;
+                    if (!sunk.isMine()) {
+                        targeter.sunk(sunk.getShip());
+                        sinksKnown++;
+                    }
+                    break;
+                }
+                case GAME_OVER:
+                    over = true;
+                    break;
+                default:
+                    // ATTACK_RESOLVED: lo propio ya se aplicó con el resultado del disparo
+                    break;
+            }
+        }
+        maybeShoot();
+    }
+    
+    @Override
+    public void onGameEvent(String message) {
+    }
+    
+    @Override
+    public void onPlayerJoined(String playerName) {
+    }
+    
+    @Override
+    public synchronized void onTurnChanged(boolean isMyTurn, String currentPlayerName) {
+        myTurn = isMyTurn;
+        maybeShoot();
+    }
+    
+    @Override
+    public void onGameEnded(String winner) {
+    }
+    
+    @Override
+    public synchronized void onOpponentDisconnected() {
+        over = true;
+    }
+}
@@ -0,0 +1,63 @@
+package co.edu.uptc.server.ai;
+
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.PlacementMasks;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Selector de disparos por densidad de probabilidad (caza y remate), el
+ * nivel normal de la IA
+ *
+ * Para cada barco a flote se recorren sus colocaciones precalculadas
+ * (PlacementMasks) y las que no tocan celdas bloqueadas suman 1 en cada
+ * celda libre que cubren. En modo
+ * remate (hay impactos sin hundir) solo cuentan las que cubren un impacto,
+ * con más peso cuantos más cubren. Se dispara a la celda con más cuenta.
+ *
+ * Un disparo cuesta unos cientos de colocaciones con operaciones de bits,
+ * sin asignar memoria: microsegundos.
+ */
+public final class DensityTargeter extends ShotSelector {
+    private final double[] density = new double[Board.CELLS];
+    
+    public DensityTargeter(Random random) {
+        super(random);
+    }
+    
+    @Override
+    public int nextShot() {
+        Arrays.fill(density, 0);
+        boolean targeting = (hitLo | hitHi) != 0;
+        for (int size = 1; size < afloat.length; size++) {
+            if (afloat[size] > 0) {
+                accumulate(size, afloat[size], targeting);
+            }
+        }
+        return best(density);
+    }
+    
+    private void accumulate(int size, int ships, boolean targeting) {
+        for (int idx : PlacementMasks.placementsOfSize(size)) {
+            long maskLo = PlacementMasks.maskLo(idx);
+            long maskHi = PlacementMasks.maskHi(idx);
+            if ((maskLo & blockedLo) != 0 || (maskHi & blockedHi) != 0) {
+                continue;
+            }
+            int weight = ships;
+            if (targeting) {
+                int covered = Long.bitCount(maskLo & hitLo) + Long.bitCount(maskHi & hitHi);
+                if (covered == 0) {
+                    continue;
+                }
+                weight *= covered * covered;
+            }
+            for (long bits = maskLo & ~shotLo; bits != 0; bits &= bits - 1) {
+                density[Long.numberOfTrailingZeros(bits)] += weight;
+            }
+            for (long bits = maskHi & ~shotHi; bits != 0; bits &= bits - 1) {
+                density[64 + Long.numberOfTrailingZeros(bits)] += weight;
+            }
+        }
+    }
+}
@@ -0,0 +1,564 @@
+package co.edu.uptc.server.ai;
+
+import co.edu.uptc.shared.model.PlacementMasks;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Resolución exacta del final de partida, con pocos barcos rivales a flote
+ *
+ * Enumera todas las colocaciones de los barcos a flote compatibles con lo
+ * observado (las mismas reglas que el Monte Carlo, sin muestrear) y elige el
+ * disparo que minimiza el número esperado de disparos hasta hundirlos todos,
+ * con todas las colocaciones igual de probables. Cada disparo reparte las
+ * candidatas según lo que respondería el servidor: agua, tocado, o hundido
+ * (que revela la colocación del barco).
+ *
+ * El estado de la búsqueda es el conjunto de candidatas (un bit por
+ * candidata, hasta 64) más los disparos dentro de las celdas que cubren; los
+ * valores se memorizan por estado. Podas exactas:
+ * - los barcos de igual tamaño se enumeran en un solo orden (no se repiten
+ *   colocaciones simétricas),
+ * - una celda que cubren todas las candidatas se dispara sin explorar otras
+ *   (hay que dispararla de todos modos y su respuesta solo aporta),
+ * - cada candidata necesita al menos sus celdas sin disparar, cota inferior
+ *   con la que se descarta un disparo que ya no puede mejorar al mejor.
+ *
+ * Si hay más candidatas que el umbral, los disparos de la raíz se evalúan en
+ * paralelo en el ForkJoinPool. Si la búsqueda no termina dentro del
+ * presupuesto de tiempo se abandona y el llamador usa su heurística.
+ */
+public final class EndgameSolver {
+    
+    /** Máximo absoluto de candidatas: el conjunto cabe en un long */
+    public static final int MAX_CANDIDATES = 64;
+    
+    private final ForkJoinPool pool;
+    private final long budgetNanos;
+    private final int maxShips;
+    private final int maxCandidates;
+    private final int parallelThreshold;
+    // Búsqueda de la partida en curso; un solver atiende a un solo jugador
+    private Search search;
+    // Tras agotar el tiempo con n candidatas solo se reintenta con menos de 2n/3
+    private int retryBelow = Integer.MAX_VALUE;
+    private volatile int lastCandidates;
+    private volatile int lastStates;
+    
+    /**
+     * @param pool Hilos para la raíz con muchas candidatas, o null para resolver en el hilo actual
+     * @param budgetNanos Tiempo máximo por disparo antes de abandonar
+     * @param maxShips Barcos a flote máximos para intentar resolver
+     * @param maxCandidates Candidatas máximas (hasta {@link #MAX_CANDIDATES})
+     * @param parallelThreshold Candidatas desde las que la raíz se reparte en el pool
+     */
+    public EndgameSolver(ForkJoinPool pool, long budgetNanos, int maxShips, int maxCandidates,
+                         int parallelThreshold) {
+        this.pool = pool;
+        this.budgetNanos = budgetNanos;
+        this.maxShips = maxShips;
+        this.maxCandidates = Math.min(maxCandidates, MAX_CANDIDATES);
+        this.parallelThreshold = parallelThreshold;
+    }
+    
+    /**
+     * Mejor disparo para el conocimiento actual
+     * @return Celda del disparo, o -1 si quedan demasiados barcos o
+     *         candidatas, o si se agotó el tiempo
+     */
+    public int solve(ShotSelector known) {
+        int ships = 0;
+        for (int n : known.afloat) {
+            ships += n;
+        }
+        if (ships == 0 || ships > maxShips) {
+            return -1;
+        }
+        // La búsqueda anterior sigue valiendo: sus candidatas compatibles con lo
+        // observado desde entonces y su memoria (solo guarda valores exactos)
+        long set = 0L;
+        if (search != null) {
+            set = search.consistent(known);
+        }
+        if (set == 0L) {
+            search = enumerate(known, ships);
+            if (search == null) {
+                return -1;
+            }
+            set = search.count == 64 ? -1L : (1L << search.count) - 1;
+        }
+        int candidates = Long.bitCount(set);
+        if (candidates >= retryBelow) {
+            // No terminó con tantas candidatas; se espera a que queden menos
+            return -1;
+        }
+        search.aborted = false;
+        search.deadline = System.nanoTime() + budgetNanos;
+        int cell;
+        if (pool != null && candidates > parallelThreshold) {
+            cell = pool.invoke(new RootTask(search, set, known.shotLo, known.shotHi));
+        } else {
+            cell = search.bestCell(set, known.shotLo, known.shotHi);
+        }
+        lastCandidates = candidates;
+        lastStates = search.memo.size();
+        if (search.aborted) {
+            retryBelow = candidates * 2 / 3;
+            return -1;
+        }
+        return cell;
+    }
+    
+    /** Candidatas del último intento resuelto */
+    public int getLastCandidates() {
+        return lastCandidates;
+    }
+    
+    /** Estados memorizados en el último intento resuelto */
+    public int getLastStates() {
+        return lastStates;
+    }
+    
+    /**
+     * Enumera las colocaciones compatibles de los barcos a flote
+     * @return La búsqueda con sus candidatas, o null si hay demasiadas o ninguna
+     */
+    private Search enumerate(ShotSelector known, int ships) {
+        int[] sizes = new int[ships];
+        int i = 0;
+        for (int size = known.afloat.length - 1; size > 0; size--) {
+            for (int n = 0; n < known.afloat[size]; n++) {
+                sizes[i++] = size;
+            }
+        }
+        Search search = new Search(ships, maxCandidates, known.sunkLo, known.sunkHi);
+        int[] chosen = new int[ships];
+        if (!place(search, sizes, chosen, 0, known.blockedLo, known.blockedHi, 0L, 0L,
+                known.hitLo, known.hitHi)) {
+            return null;
+        }
+        return search.count == 0 ? null : search;
+    }
+    
+    /**
+     * Coloca el barco depth y los siguientes
+     * @return false si se superó el máximo de candidatas
+     */
+    private boolean place(Search search, int[] sizes, int[] chosen, int depth, long forbidLo, long forbidHi,
+                          long occLo, long occHi, long hitLo, long hitHi) {
+        if (depth == sizes.length) {
+            if ((hitLo & ~occLo) != 0 || (hitHi & ~occHi) != 0) {
+                return true;
+            }
+            return search.add(chosen, occLo, occHi);
+        }
+        int size = sizes[depth];
+        int[] placements = PlacementMasks.placementsOfSize(size);
+        // Simetría: entre barcos del mismo tamaño solo el orden creciente de colocación
+        int from = 0;
+        if (depth > 0 && sizes[depth - 1] == size) {
+            from = Arrays.binarySearch(placements, chosen[depth - 1]) + 1;
+        }
+        for (int p = from; p < placements.length; p++) {
+            int idx = placements[p];
+            long maskLo = PlacementMasks.maskLo(idx);
+            long maskHi = PlacementMasks.maskHi(idx);
+            if ((maskLo & forbidLo) != 0 || (maskHi & forbidHi) != 0) {
+                continue;
+            }
+            if ((maskLo & ~hitLo) == 0 && (maskHi & ~hitHi) == 0) {
+                // Con todas sus celdas tocadas el servidor lo habría informado hundido
+                continue;
+            }
+            chosen[depth] = idx;
+            if (!place(search, sizes, chosen, depth + 1,
+                    forbidLo | PlacementMasks.haloLo(idx), forbidHi | PlacementMasks.haloHi(idx),
+                    occLo | maskLo, occHi | maskHi, hitLo, hitHi)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Candidatas y memoria de una resolución
+     */
+    private static final class Search {
+        final int ships;
+        final int limit;
+        // Celdas de los barcos ya hundidos al enumerar
+        final long sunkLo;
+        final long sunkHi;
+        final long[] occLo;
+        final long[] occHi;
+        // Colocaciones de cada candidata, ships por candidata
+        final int[] placements;
+        int count;
+        long deadline;
+        volatile boolean aborted;
+        final Map<Key, Double> memo = new ConcurrentHashMap<>();
+        
+        Search(int ships, int limit, long sunkLo, long sunkHi) {
+            this.ships = ships;
+            this.limit = limit;
+            this.sunkLo = sunkLo;
+            this.sunkHi = sunkHi;
+            this.occLo = new long[limit];
+            this.occHi = new long[limit];
+            this.placements = new int[limit * ships];
+        }
+        
+        boolean add(int[] chosen, long lo, long hi) {
+            if (count == limit) {
+                return false;
+            }
+            occLo[count] = lo;
+            occHi[count] = hi;
+            System.arraycopy(chosen, 0, placements, count * ships, ships);
+            count++;
+            return true;
+        }
+        
+        /**
+         * Candidatas que siguen siendo compatibles con lo observado: sin agua
+         * en sus celdas, cubren los impactos pendientes, sus barcos hundidos
+         * ocupan exactamente las celdas hundidas desde la enumeración y ningún
+         * otro barco tiene todas sus celdas disparadas
+         */
+        long consistent(ShotSelector known) {
+            long newSunkLo = known.sunkLo & ~sunkLo;
+            long newSunkHi = known.sunkHi & ~sunkHi;
+            long waterLo = known.shotLo & ~known.hitLo & ~known.sunkLo;
+            long waterHi = known.shotHi & ~known.hitHi & ~known.sunkHi;
+            long set = 0L;
+            for (int k = 0; k < count; k++) {
+                if ((occLo[k] & waterLo) != 0 || (occHi[k] & waterHi) != 0
+                        || (known.hitLo & ~occLo[k]) != 0 || (known.hitHi & ~occHi[k]) != 0) {
+                    continue;
+                }
+                long shipsSunkLo = 0L, shipsSunkHi = 0L;
+                boolean afloatShot = false;
+                for (int s = 0; s < ships && !afloatShot; s++) {
+                    int idx = placements[k * ships + s];
+                    long lo = PlacementMasks.maskLo(idx);
+                    long hi = PlacementMasks.maskHi(idx);
+                    if ((lo & ~newSunkLo) == 0 && (hi & ~newSunkHi) == 0) {
+                        shipsSunkLo |= lo;
+                        shipsSunkHi |= hi;
+                    } else {
+                        afloatShot = (lo & ~known.shotLo) == 0 && (hi & ~known.shotHi) == 0;
+                    }
+                }
+                if (!afloatShot && shipsSunkLo == newSunkLo && shipsSunkHi == newSunkHi) {
+                    set |= 1L << k;
+                }
+            }
+            return set;
+        }
+        
+        /**
+         * Celda con menor esperanza en el estado (set, disparos)
+         */
+        int bestCell(long set, long shotLo, long shotHi) {
+            int[] best = new int[1];
+            value(set, shotLo, shotHi, best);
+            return best[0];
+        }
+        
+        /**
+         * Esperanza de disparos restantes con juego óptimo
+         * @param bestOut Si no es null recibe la celda óptima
+         */
+        double value(long set, long shotLo, long shotHi, int[] bestOut) {
+            if (aborted) {
+                return 0;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                aborted = true;
+                return 0;
+            }
+            long unionLo = 0L, unionHi = 0L;
+            long cellsLo = 0L, cellsHi = 0L;
+            long commonLo = -1L, commonHi = -1L;
+            int n = 0;
+            long need = 0;
+            for (long bits = set; bits != 0; bits &= bits - 1) {
+                int k = Long.numberOfTrailingZeros(bits);
+                cellsLo |= occLo[k];
+                cellsHi |= occHi[k];
+                long lo = occLo[k] & ~shotLo;
+                long hi = occHi[k] & ~shotHi;
+                unionLo |= lo;
+                unionHi |= hi;
+                commonLo &= lo;
+                commonHi &= hi;
+                need += Long.bitCount(lo) + Long.bitCount(hi);
+                n++;
+            }
+            if ((unionLo | unionHi) == 0) {
+                return 0;
+            }
+            Key key = null;
+            if (bestOut == null) {
+                // Los disparos fuera de las celdas de las candidatas no cambian nada
+                key = new Key(set, shotLo & cellsLo, shotHi & cellsHi);
+                Double known = memo.get(key);
+                if (known != null) {
+                    return known;
+                }
+            }
+            
+            double best = Double.POSITIVE_INFINITY;
+            int bestCell = -1;
+            if ((commonLo | commonHi) != 0) {
+                // Celda que cubren todas: se dispara ya
+                int cell = commonLo != 0 ? Long.numberOfTrailingZeros(commonLo)
+                        : 64 + Long.numberOfTrailingZeros(commonHi);
+                best = expected(set, n, cell, shotLo, shotHi, Double.POSITIVE_INFINITY);
+                bestCell = cell;
+            } else {
+                double lower = (double) need / n;
+                for (int cell : order(set, unionLo, unionHi)) {
+                    double value = expected(set, n, cell, shotLo, shotHi, best);
+                    if (value < best) {
+                        best = value;
+                        bestCell = cell;
+                        if (best <= lower + 1e-9) {
+                            // Alcanza la cota: ningún otro disparo puede ser mejor
+                            break;
+                        }
+                    }
+                }
+            }
+            if (aborted) {
+                return 0;
+            }
+            if (bestOut != null) {
+                bestOut[0] = bestCell;
+            } else {
+                memo.put(key, best);
+            }
+            return best;
+        }
+        
+        /**
+         * Celdas a explorar, primero las que cubren más candidatas
+         */
+        private int[] order(long set, long unionLo, long unionHi) {
+            int cells = Long.bitCount(unionLo) + Long.bitCount(unionHi);
+            long[] ranked = new long[cells];
+            int i = 0;
+            for (int half = 0; half < 2; half++) {
+                for (long bits = half == 0 ? unionLo : unionHi; bits != 0; bits &= bits - 1) {
+                    int cell = half * 64 + Long.numberOfTrailingZeros(bits);
+                    int covering = 0;
+                    for (long s = set; s != 0; s &= s - 1) {
+                        int k = Long.numberOfTrailingZeros(s);
+                        if (covers(k, cell)) {
+                            covering++;
+                        }
+                    }
+                    // Más cobertura primero; a igual cobertura, celda menor (resultado determinista)
+                    ranked[i++] = ((long) (MAX_CANDIDATES - covering) << 8) | cell;
+                }
+            }
+            Arrays.sort(ranked);
+            int[] order = new int[cells];
+            for (int j = 0; j < cells; j++) {
+                order[j] = (int) (ranked[j] & 0xFF);
+            }
+            return order;
+        }
+        
+        /**
+         * Esperanza al disparar a cell; deja de calcular al superar bound
+         */
+        double expected(long set, int n, int cell, long shotLo, long shotHi, double bound) {
+            long nextLo = cell < 64 ? shotLo | 1L << cell : shotLo;
+            long nextHi = cell < 64 ? shotHi : shotHi | 1L << (cell - 64);
+            
+            // Respuestas posibles: agua, tocado, hundido por colocación (o fin de partida)
+            long miss = 0L, hit = 0L;
+            long[] sunkSets = null;
+            int[] sunkIds = null;
+            int sunkGroups = 0;
+            for (long bits = set; bits != 0; bits &= bits - 1) {
+                int k = Long.numberOfTrailingZeros(bits);
+                long bit = 1L << k;
+                if (!covers(k, cell)) {
+                    miss |= bit;
+                    continue;
+                }
+                if ((occLo[k] & ~nextLo) == 0 && (occHi[k] & ~nextHi) == 0) {
+                    // Fin de partida: no quedan disparos
+                    continue;
+                }
+                int ship = shipAt(k, cell);
+                if ((PlacementMasks.maskLo(ship) & ~nextLo) != 0 || (PlacementMasks.maskHi(ship) & ~nextHi) != 0) {
+                    hit |= bit;
+                    continue;
+                }
+                if (sunkSets == null) {
+                    sunkSets = new long[n];
+                    sunkIds = new int[n];
+                }
+                int g = 0;
+                while (g < sunkGroups && sunkIds[g] != ship) {
+                    g++;
+                }
+                if (g == sunkGroups) {
+                    sunkIds[sunkGroups++] = ship;
+                }
+                sunkSets[g] |= bit;
+            }
+            
+            // Si ni la cota inferior de las respuestas mejora al mejor disparo, se descarta
+            double total = 1;
+            double pending = need(miss, nextLo, nextHi) + need(hit, nextLo, nextHi);
+            for (int g = 0; g < sunkGroups; g++) {
+                pending += need(sunkSets[g], nextLo, nextHi);
+            }
+            if (total + pending / n >= bound) {
+                return Double.POSITIVE_INFINITY;
+            }
+            total += branch(miss, nextLo, nextHi, n);
+            total += branch(hit, nextLo, nextHi, n);
+            for (int g = 0; g < sunkGroups; g++) {
+                total += branch(sunkSets[g], nextLo, nextHi, n);
+            }
+            return total;
+        }
+        
+        private double branch(long subset, long shotLo, long shotHi, int n) {
+            if (subset == 0) {
+                return 0;
+            }
+            return Long.bitCount(subset) * value(subset, shotLo, shotHi, null) / n;
+        }
+        
+        /**
+         * Celdas sin disparar de las candidatas del subconjunto: cada una
+         * necesita al menos esos disparos (cota inferior por su tamaño)
+         */
+        private long need(long subset, long shotLo, long shotHi) {
+            long need = 0;
+            for (long bits = subset; bits != 0; bits &= bits - 1) {
+                int k = Long.numberOfTrailingZeros(bits);
+                need += Long.bitCount(occLo[k] & ~shotLo) + Long.bitCount(occHi[k] & ~shotHi);
+            }
+            return need;
+        }
+        
+        boolean covers(int k, int cell) {
+            return cell < 64 ? (occLo[k] & 1L << cell) != 0 : (occHi[k] & 1L << (cell - 64)) != 0;
+        }
+        
+        /**
+         * Colocación de la candidata k que ocupa la celda
+         */
+        int shipAt(int k, int cell) {
+            for (int s = 0; s < ships; s++) {
+                int idx = placements[k * ships + s];
+                long mask = cell < 64 ? PlacementMasks.maskLo(idx) & 1L << cell
+                        : PlacementMasks.maskHi(idx) & 1L << (cell - 64);
+                if (mask != 0) {
+                    return idx;
+                }
+            }
+            throw new IllegalStateException("La candidata " + k + " no cubre la celda " + cell);
+        }
+    }
+    
+    /**
+     * Raíz repartida: una tarea por disparo posible, se elige el de menor esperanza
+     */
+    private static final class RootTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+        
+        private final Search search;
+        private final long set;
+        private final long shotLo;
+        private final long shotHi;
+        
+        RootTask(Search search, long set, long shotLo, long shotHi) {
+            this.search = search;
+            this.set = set;
+            this.shotLo = shotLo;
+            this.shotHi = shotHi;
+        }
+        
+        @Override
+        protected Integer compute() {
+            long unionLo = 0L, unionHi = 0L;
+            long commonLo = -1L, commonHi = -1L;
+            for (long bits = set; bits != 0; bits &= bits - 1) {
+                int k = Long.numberOfTrailingZeros(bits);
+                unionLo |= search.occLo[k] & ~shotLo;
+                unionHi |= search.occHi[k] & ~shotHi;
+                commonLo &= search.occLo[k] & ~shotLo;
+                commonHi &= search.occHi[k] & ~shotHi;
+            }
+            if ((commonLo | commonHi) != 0) {
+                return commonLo != 0 ? Long.numberOfTrailingZeros(commonLo) : 64 + Long.numberOfTrailingZeros(commonHi);
+            }
+            int[] cells = search.order(set, unionLo, unionHi);
+            List<RecursiveTask<Double>> tasks = new ArrayList<>(cells.length);
+            for (int cell : cells) {
+                tasks.add(new RecursiveTask<Double>() {
+                    @Override
+                    protected Double compute() {
+                        return search.expected(set, Long.bitCount(set), cell, shotLo, shotHi,
+                                Double.POSITIVE_INFINITY);
+                    }
+                });
+            }
+            ForkJoinTask.invokeAll(tasks);
+            int best = -1;
+            double bestValue = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < cells.length; i++) {
+                double value = tasks.get(i).join();
+                if (value < bestValue) {
+                    bestValue = value;
+                    best = cells[i];
+                }
+            }
+            return best;
+        }
+    }
+    
+    /**
+     * Estado memorizado: candidatas vivas y disparos dentro de sus celdas
+     */
+    private static final class Key {
+        private final long set;
+        private final long shotLo;
+        private final long shotHi;
+        
+        Key(long set, long shotLo, long shotHi) {
+            this.set = set;
+            this.shotLo = shotLo;
+            this.shotHi = shotHi;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return set == other.set && shotLo == other.shotLo && shotHi == other.shotHi;
+        }
+        
+        @Override
+        public int hashCode() {
+            long h = set * 0x9E3779B97F4A7C15L + shotLo * 0xBF58476D1CE4E5B9L + shotHi;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package co.edu.uptc.server.ai;
+
+import co.edu.uptc.shared.model.ShipPlacement;
+import java.util.Random;
+
+/**
+ * Selector que cambia a la resolución exacta en el final de partida
+ * Mientras el EndgameSolver no pueda resolver (muchos barcos o candidatas,
+ * o sin tiempo) dispara con el selector de base.
+ */
+public final class EndgameTargeter extends ShotSelector {
+    private final ShotSelector base;
+    private final EndgameSolver solver;
+    private int solvedShots;
+    
+    public EndgameTargeter(ShotSelector base, EndgameSolver solver, Random random) {
+        super(random);
+        this.base = base;
+        this.solver = solver;
+    }
+    
+    @Override
+    public void miss(int cell) {
+        super.miss(cell);
+        base.miss(cell);
+    }
+    
+    @Override
+    public void hit(int cell) {
+        super.hit(cell);
+        base.hit(cell);
+    }
+    
+    @Override
+    public void sunk(ShipPlacement ship) {
+        super.sunk(ship);
+        base.sunk(ship);
+    }
+    
+    @Override
+    public int nextShot() {
+        int cell = solver.solve(this);
+        if (cell >= 0) {
+            solvedShots++;
+            return cell;
+        }
+        return base.nextShot();
+    }
+    
+    /**
+     * Disparos elegidos por la resolución exacta
+     */
+    public int getSolvedShots() {
+        return solvedShots;
+    }
+}
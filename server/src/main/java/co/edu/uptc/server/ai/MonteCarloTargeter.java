@@ -0,0 +1,251 @@
+package co.edu.uptc.server.ai;
+
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.PlacementMasks;
+import co.edu.uptc.shared.model.ShipPlacement;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Selector de disparos por Monte Carlo, el nivel difícil de la IA
+ *
+ * Genera flotas completas al azar compatibles con lo observado: los barcos a
+ * flote no tocan celdas bloqueadas ni se tocan entre sí y cubren todos los
+ * impactos sin hundir. Se dispara a la celda libre ocupada en más muestras.
+ * A diferencia de la densidad, cada muestra respeta la regla de barcos no
+ * pegados entre todos los barcos a la vez.
+ *
+ * El muestreo se reparte en el ForkJoinPool: una tarea por hilo, cada una
+ * con su generador (ThreadLocalRandom) y su arreglo de cuentas, que se suman
+ * al final. Cada tarea muestrea hasta agotar su parte de maxSamples o el
+ * presupuesto de tiempo, lo que ocurra primero. Si ninguna muestra resulta
+ * compatible se usa el selector por densidad.
+ */
+public final class MonteCarloTargeter extends ShotSelector {
+    
+    private final ForkJoinPool pool;
+    private final long budgetNanos;
+    private final int maxSamples;
+    private final DensityTargeter fallback;
+    private int lastSamples;
+    
+    /**
+     * @param pool Hilos del muestreo, compartidos entre todas las IA
+     * @param budgetNanos Tiempo máximo de muestreo por disparo
+     * @param maxSamples Muestras máximas por disparo
+     * @param random Desempate entre celdas; el muestreo usa ThreadLocalRandom
+     */
+    public MonteCarloTargeter(ForkJoinPool pool, long budgetNanos, int maxSamples, Random random) {
+        super(random);
+        this.pool = pool;
+        this.budgetNanos = budgetNanos;
+        this.maxSamples = maxSamples;
+        this.fallback = new DensityTargeter(random);
+    }
+    
+    @Override
+    public void miss(int cell) {
+        super.miss(cell);
+        fallback.miss(cell);
+    }
+    
+    @Override
+    public void hit(int cell) {
+        super.hit(cell);
+        fallback.hit(cell);
+    }
+    
+    @Override
+    public void sunk(ShipPlacement ship) {
+        super.sunk(ship);
+        fallback.sunk(ship);
+    }
+    
+    @Override
+    public int nextShot() {
+        int[] ships = afloatShips();
+        if (ships.length == 0) {
+            return best(new double[Board.CELLS]);
+        }
+        int workers = pool.getParallelism();
+        long deadline = System.nanoTime() + budgetNanos;
+        Sampler root = new Sampler(this, ships, deadline, maxSamples, workers);
+        double[] counts = pool.invoke(root);
+        lastSamples = (int) counts[Board.CELLS];
+        return lastSamples > 0 ? best(counts) : fallback.nextShot();
+    }
+    
+    /**
+     * Muestras compatibles en el último disparo
+     */
+    public int getLastSamples() {
+        return lastSamples;
+    }
+    
+    /**
+     * Tamaños de los barcos a flote, de mayor a menor: los grandes son los
+     * que más fallan al final y así se descarta antes
+     */
+    private int[] afloatShips() {
+        int count = 0;
+        for (int n : afloat) {
+            count += n;
+        }
+        int[] ships = new int[count];
+        int i = 0;
+        for (int size = afloat.length - 1; size > 0; size--) {
+            for (int n = 0; n < afloat[size]; n++) {
+                ships[i++] = size;
+            }
+        }
+        return ships;
+    }
+    
+    /**
+     * Tarea de muestreo; la raíz se parte en una hoja por hilo
+     * Retorna las cuentas por celda y, en la posición CELLS, las muestras
+     * compatibles.
+     */
+    private static final class Sampler extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+        
+        // Copia del conocimiento al crear la tarea; las hojas no tocan el selector
+        private final long shotLo, shotHi, hitLo, hitHi, blockedLo, blockedHi;
+        private final int[] ships;
+        private final long deadline;
+        private final int samples;
+        private final int split;
+        
+        Sampler(MonteCarloTargeter owner, int[] ships, long deadline, int samples, int split) {
+            this(owner.shotLo, owner.shotHi, owner.hitLo, owner.hitHi, owner.blockedLo, owner.blockedHi,
+                    ships, deadline, samples, split);
+        }
+        
+        private Sampler(long shotLo, long shotHi, long hitLo, long hitHi, long blockedLo, long blockedHi,
+                        int[] ships, long deadline, int samples, int split) {
+            this.shotLo = shotLo;
+            this.shotHi = shotHi;
+            this.hitLo = hitLo;
+            this.hitHi = hitHi;
+            this.blockedLo = blockedLo;
+            this.blockedHi = blockedHi;
+            this.ships = ships;
+            this.deadline = deadline;
+            this.samples = samples;
+            this.split = split;
+        }
+        
+        private Sampler child(int childSamples, int childSplit) {
+            return new Sampler(shotLo, shotHi, hitLo, hitHi, blockedLo, blockedHi,
+                    ships, deadline, childSamples, childSplit);
+        }
+        
+        @Override
+        protected double[] compute() {
+            if (split <= 1) {
+                return sample();
+            }
+            int half = split / 2;
+            int leftSamples = (int) ((long) samples * half / split);
+            Sampler left = child(leftSamples, half);
+            left.fork();
+            double[] counts = child(samples - leftSamples, split - half).compute();
+            double[] other = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other[i];
+            }
+            return counts;
+        }
+        
+        private double[] sample() {
+            double[] counts = new double[Board.CELLS + 1];
+            int[] candidates = new int[2 * Board.CELLS * ships.length];
+            int[] left = new int[ships.length];
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int accepted = 0;
+            for (int n = 0; n < samples; n++) {
+                // El reloj se consulta cada pocas muestras
+                if ((n & 15) == 0 && System.nanoTime() - deadline > 0) {
+                    break;
+                }
+                long occLo = 0L, occHi = 0L;
+                long forbidLo = blockedLo, forbidHi = blockedHi;
+                long needLo = hitLo, needHi = hitHi;
+                System.arraycopy(ships, 0, left, 0, ships.length);
+                int remaining = ships.length;
+                boolean valid = true;
+                double weight = 1.0;
+                while (remaining > 0) {
+                    int count = 0;
+                    int orderings = 1;
+                    if ((needLo | needHi) != 0) {
+                        // Remate: un barco cualquiera de los que faltan debe cubrir el primer impacto sin cubrir
+                        long needMaskLo = needLo != 0 ? Long.lowestOneBit(needLo) : 0L;
+                        long needMaskHi = needLo != 0 ? 0L : Long.lowestOneBit(needHi);
+                        for (int s = 0; s < remaining; s++) {
+                            if (s > 0 && left[s] == left[s - 1]) {
+                                continue;
+                            }
+                            for (int idx : PlacementMasks.placementsOfSize(left[s])) {
+                                long maskLo = PlacementMasks.maskLo(idx);
+                                long maskHi = PlacementMasks.maskHi(idx);
+                                if ((maskLo & needMaskLo) == 0 && (maskHi & needMaskHi) == 0) {
+                                    continue;
+                                }
+                                if ((maskLo & forbidLo) == 0 && (maskHi & forbidHi) == 0) {
+                                    candidates[count++] = idx;
+                                }
+                            }
+                        }
+                    } else {
+                        // Los barcos iguales salen en cualquier orden; el remate los toma como uno solo
+                        while (orderings < remaining && left[orderings] == left[0]) {
+                            orderings++;
+                        }
+                        for (int idx : PlacementMasks.placementsOfSize(left[0])) {
+                            if ((PlacementMasks.maskLo(idx) & forbidLo) == 0
+                                    && (PlacementMasks.maskHi(idx) & forbidHi) == 0) {
+                                candidates[count++] = idx;
+                            }
+                        }
+                    }
+                    if (count == 0) {
+                        valid = false;
+                        break;
+                    }
+                    weight *= (double) count / orderings;
+                    int chosen = candidates[random.nextInt(count)];
+                    occLo |= PlacementMasks.maskLo(chosen);
+                    occHi |= PlacementMasks.maskHi(chosen);
+                    forbidLo |= PlacementMasks.haloLo(chosen);
+                    forbidHi |= PlacementMasks.haloHi(chosen);
+                    needLo &= ~PlacementMasks.maskLo(chosen);
+                    needHi &= ~PlacementMasks.maskHi(chosen);
+                    
+                    // Quitar el tamaño colocado manteniendo el orden de mayor a menor
+                    int size = PlacementMasks.sizeOf(chosen);
+                    int slot = 0;
+                    while (left[slot] != size) {
+                        slot++;
+                    }
+                    System.arraycopy(left, slot + 1, left, slot, remaining - slot - 1);
+                    remaining--;
+                }
+                if (!valid || (needLo | needHi) != 0) {
+                    continue;
+                }
+                accepted++;
+                for (long bits = occLo & ~shotLo; bits != 0; bits &= bits - 1) {
+                    counts[Long.numberOfTrailingZeros(bits)] += weight;
+                }
+                for (long bits = occHi & ~shotHi; bits != 0; bits &= bits - 1) {
+                    counts[64 + Long.numberOfTrailingZeros(bits)] += weight;
+                }
+            }
+            counts[Board.CELLS] = accepted;
+            return counts;
+        }
+    }
+}
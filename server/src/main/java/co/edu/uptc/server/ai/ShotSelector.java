@@ -0,0 +1,105 @@
+package co.edu.uptc.server.ai;
+
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.FleetRules;
+import co.edu.uptc.shared.model.PlacementMasks;
+import co.edu.uptc.shared.model.ShipPlacement;
+import java.util.Random;
+
+/**
+ * Lo que la IA sabe del tablero rival y elige dónde disparar
+ *
+ * El conocimiento son bitboards lo/hi con el mismo índice de celda que
+ * Board: celdas disparadas, impactos en barcos aún a flote, celdas de los
+ * hundidos y celdas bloqueadas (agua y halo de los hundidos, donde no puede
+ * haber otro barco), más los barcos a flote por tamaño. Cada nivel de dificultad
+ * decide el disparo a partir de ellos.
+ */
+public abstract class ShotSelector {
+    protected long shotLo, shotHi;
+    protected long hitLo, hitHi;
+    protected long blockedLo, blockedHi;
+    // Celdas de los barcos hundidos
+    protected long sunkLo, sunkHi;
+    // Barcos a flote por tamaño
+    protected final int[] afloat = new int[PlacementMasks.MAX_SIZE + 1];
+    protected final Random random;
+    
+    protected ShotSelector(Random random) {
+        this.random = random;
+        for (int size : FleetRules.standardFleet()) {
+            afloat[size]++;
+        }
+    }
+    
+    public void miss(int cell) {
+        if (cell < 64) {
+            shotLo |= 1L << cell;
+            blockedLo |= 1L << cell;
+        } else {
+            shotHi |= 1L << (cell - 64);
+            blockedHi |= 1L << (cell - 64);
+        }
+    }
+    
+    public void hit(int cell) {
+        if (cell < 64) {
+            shotLo |= 1L << cell;
+            hitLo |= 1L << cell;
+        } else {
+            shotHi |= 1L << (cell - 64);
+            hitHi |= 1L << (cell - 64);
+        }
+    }
+    
+    /**
+     * Barco rival hundido: sus celdas y su halo quedan bloqueados
+     */
+    public void sunk(ShipPlacement ship) {
+        int idx = PlacementMasks.index(ship);
+        hitLo &= ~PlacementMasks.maskLo(idx);
+        hitHi &= ~PlacementMasks.maskHi(idx);
+        shotLo |= PlacementMasks.maskLo(idx);
+        shotHi |= PlacementMasks.maskHi(idx);
+        sunkLo |= PlacementMasks.maskLo(idx);
+        sunkHi |= PlacementMasks.maskHi(idx);
+        blockedLo |= PlacementMasks.haloLo(idx);
+        blockedHi |= PlacementMasks.haloHi(idx);
+        if (afloat[ship.getSize()] > 0) {
+            afloat[ship.getSize()]--;
+        }
+    }
+    
+    /**
+     * Celda del próximo disparo (índice y*10 + x)
+     * @return -1 si no queda ninguna celda por disparar
+     */
+    public abstract int nextShot();
+    
+    /**
+     * Celda libre con más puntaje; empates al azar (muestreo de reservorio)
+     * @return -1 si no queda ninguna celda libre
+     */
+    protected final int best(double[] score) {
+        long freeLo = ~(shotLo | blockedLo);
+        long freeHi = ~(shotHi | blockedHi) & ((1L << (Board.CELLS - 64)) - 1);
+        int best = -1;
+        double bestScore = -1;
+        int ties = 0;
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            boolean free = cell < 64 ? (freeLo & 1L << cell) != 0 : (freeHi & 1L << (cell - 64)) != 0;
+            if (!free) {
+                continue;
+            }
+            double value = score[cell];
+            if (value > bestScore) {
+                best = cell;
+                bestScore = value;
+                ties = 1;
+            } else if (value == bestScore && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,229 @@
+package co.edu.uptc.server.eventlog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Log estructurado de eventos del juego: registros binarios de tamaño fijo
+ * en un buffer circular preasignado, escritos a disco por un hilo de fondo
+ *
+ * Registrar no construye strings ni crea objetos: el productor reclama una
+ * secuencia con CAS sobre un AtomicLong (al estilo Disruptor), escribe los
+ * campos en su casilla y la publica. El hilo escritor copia las casillas
+ * publicadas en orden a un RotatingFileSink. Si el buffer se llena el
+ * registro se descarta (nunca se bloquea la petición) y el escritor deja
+ * constancia con un registro RECORDS_DROPPED.
+ *
+ * Formato de cada registro (32 bytes, big-endian):
+ * <pre>
+ *  0  long  instante (ms desde epoch)
+ *  8  byte  tipo ({@link EventType#getCode()})
+ *  9  byte  reservado
+ * 10  short reservado
+ * 12  int   jugador (número, 0 si no aplica)
+ * 16  long  sesión (número, 0 si no aplica)
+ * 24  int   argumento a
+ * 28  int   argumento b
+ * </pre>
+ */
+public class EventLog implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(EventLog.class.getName());
+    
+    public static final int RECORD_SIZE = 32;
+    
+    // Motivos de SESSION_CLOSED
+    public static final int CLOSE_ABANDONED = 0;
+    public static final int CLOSE_IDLE = 1;
+    public static final int CLOSE_FINISHED = 2;
+    
+    private static final int WRITE_BATCH = 1024;
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+    
+    private final boolean enabled;
+    private final int mask;
+    private final ByteBuffer ring;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+    
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    
+    private final RotatingFileSink sink;
+    private final Thread writer;
+    private volatile boolean running;
+    
+    private static final EventLog DISABLED = new EventLog();
+    
+    /**
+     * Log inactivo: record() retorna de inmediato
+     */
+    public static EventLog disabled() {
+        return DISABLED;
+    }
+    
+    private EventLog() {
+        this.enabled = false;
+        this.mask = 0;
+        this.ring = null;
+        this.published = null;
+        this.sink = null;
+        this.writer = null;
+    }
+    
+    /**
+     * @param capacity Registros en el buffer (se redondea a potencia de 2)
+     */
+    public EventLog(int capacity, RotatingFileSink sink) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.enabled = true;
+        this.mask = size - 1;
+        this.ring = ByteBuffer.allocateDirect(size * RECORD_SIZE).order(ByteOrder.BIG_ENDIAN);
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        this.sink = sink;
+        this.running = true;
+        this.writer = new Thread(this::writeLoop, "event-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+    
+    /**
+     * Abre el log sobre archivos rotativos en el directorio indicado
+     * Si el directorio no se puede usar se retorna un log inactivo.
+     */
+    public static EventLog open(Path dir, int capacity, long maxFileBytes, int maxFiles) {
+        try {
+            return new EventLog(capacity, new RotatingFileSink(dir, "events", maxFileBytes, maxFiles));
+        } catch (IOException e) {
+            LOGGER.warning("No se pudo abrir el log de eventos en " + dir + ": " + e.getMessage());
+            return disabled();
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Registra un evento; no bloquea ni crea objetos
+     * @return false si el log está inactivo o el buffer lleno
+     */
+    public boolean record(EventType type, long session, int player, int a, int b) {
+        if (!enabled) {
+            return false;
+        }
+        long seq;
+        do {
+            seq = claimed.get();
+            if (seq - consumed > mask) {
+                dropped.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(seq, seq + 1));
+        
+        int slot = (int) (seq & mask);
+        int offset = slot * RECORD_SIZE;
+        ring.putLong(offset, System.currentTimeMillis());
+        ring.putInt(offset + 8, type.getCode() << 24);
+        ring.putInt(offset + 12, player);
+        ring.putLong(offset + 16, session);
+        ring.putInt(offset + 24, a);
+        ring.putInt(offset + 28, b);
+        published.lazySet(slot, seq);
+        return true;
+    }
+    
+    public boolean record(EventType type, long session, int player) {
+        return record(type, session, player, 0, 0);
+    }
+    
+    private void writeLoop() {
+        ByteBuffer batch = ByteBuffer.allocateDirect((WRITE_BATCH + 1) * RECORD_SIZE).order(ByteOrder.BIG_ENDIAN);
+        long reportedDrops = 0;
+        
+        while (running || consumed != claimed.get()) {
+            batch.clear();
+            long next = consumed;
+            int count = 0;
+            while (count < WRITE_BATCH) {
+                int slot = (int) (next & mask);
+                if (published.get(slot) != next) {
+                    break;
+                }
+                int offset = slot * RECORD_SIZE;
+                for (int i = 0; i < RECORD_SIZE; i += 8) {
+                    batch.putLong(ring.getLong(offset + i));
+                }
+                next++;
+                count++;
+            }
+            // Libera las casillas copiadas para los productores
+            consumed = next;
+            
+            long drops = dropped.sum();
+            if (drops != reportedDrops) {
+                writeDropRecord(batch, drops - reportedDrops);
+                reportedDrops = drops;
+                count++;
+            }
+            
+            if (count == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            batch.flip();
+            try {
+                sink.write(batch);
+                written.add(count);
+            } catch (IOException e) {
+                LOGGER.warning("Error escribiendo log de eventos: " + e.getMessage());
+            }
+        }
+    }
+    
+    private static void writeDropRecord(ByteBuffer batch, long count) {
+        batch.putLong(System.currentTimeMillis());
+        batch.putInt(EventType.RECORDS_DROPPED.getCode() << 24);
+        batch.putInt(0);
+        batch.putLong(0);
+        batch.putInt((int) Math.min(Integer.MAX_VALUE, count));
+        batch.putInt(0);
+    }
+    
+    /**
+     * Detiene el escritor tras vaciar el buffer y cierra el archivo
+     */
+    @Override
+    public void close() {
+        if (!enabled || !running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(2000);
+            sink.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LOGGER.warning("Error cerrando log de eventos: " + e.getMessage());
+        }
+    }
+    
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+    
+    public long getWrittenCount() {
+        return written.sum();
+    }
+}
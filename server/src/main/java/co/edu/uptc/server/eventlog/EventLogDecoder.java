@@ -0,0 +1,96 @@
+package co.edu.uptc.server.eventlog;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Herramienta que convierte el log binario de eventos en texto legible
+ *
+ * Uso: java -cp server.jar co.edu.uptc.server.eventlog.EventLogDecoder [directorio|archivo...]
+ * Sin argumentos lee el directorio "logs". Los archivos se recorren del más
+ * antiguo al más reciente.
+ */
+public final class EventLogDecoder {
+    
+    private EventLogDecoder() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        List<Path> files = new ArrayList<>();
+        String[] targets = args.length == 0 ? new String[] {"logs"} : args;
+        for (String target : targets) {
+            Path path = Path.of(target);
+            if (Files.isDirectory(path)) {
+                files.addAll(RotatingFileSink.listFiles(path, "events"));
+            } else {
+                files.add(path);
+            }
+        }
+        for (Path file : files) {
+            decode(file, System.out);
+        }
+    }
+    
+    /**
+     * Escribe una línea por registro del archivo
+     * @return Registros decodificados
+     */
+    public static int decode(Path file, PrintStream out) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (data.remaining() < RotatingFileSink.HEADER_SIZE || data.getInt() != RotatingFileSink.MAGIC) {
+            throw new IOException("No es un log de eventos: " + file);
+        }
+        short version = data.getShort();
+        int recordSize = data.getShort();
+        long created = data.getLong();
+        if (version != RotatingFileSink.VERSION || recordSize != EventLog.RECORD_SIZE) {
+            throw new IOException("Versión de log no soportada en " + file + ": v" + version);
+        }
+        out.println("# " + file + " (creado " + Instant.ofEpochMilli(created) + ")");
+        
+        int count = 0;
+        while (data.remaining() >= recordSize) {
+            out.println(format(data));
+            count++;
+        }
+        return count;
+    }
+    
+    /**
+     * Lee un registro desde la posición actual del buffer
+     */
+    static String format(ByteBuffer data) {
+        long timestamp = data.getLong();
+        int code = data.get() & 0xFF;
+        data.get();
+        data.getShort();
+        int player = data.getInt();
+        long session = data.getLong();
+        int a = data.getInt();
+        int b = data.getInt();
+        
+        EventType type = EventType.fromCode(code);
+        StringBuilder line = new StringBuilder(96);
+        line.append(Instant.ofEpochMilli(timestamp)).append(' ')
+            .append(type != null ? type.name() : "DESCONOCIDO(" + code + ")");
+        if (session != 0) {
+            line.append(" sesion=").append(session);
+        }
+        if (player != 0) {
+            line.append(" jugador=").append(player);
+        }
+        if (type != null) {
+            String args = type.describeArgs(a, b);
+            if (!args.isEmpty()) {
+                line.append(' ').append(args);
+            }
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,78 @@
+package co.edu.uptc.server.eventlog;
+
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.Position;
+
+/**
+ * Tipos de registro del log de eventos y cómo se leen sus argumentos a y b
+ * El código es el byte que se escribe en disco: no reordenar ni reutilizar.
+ */
+public enum EventType {
+    SESSION_CREATED(1),
+    PLAYER_JOINED(2),
+    JOIN_REJECTED(3),
+    SHIP_PLACED(4),
+    FLEET_PLACED(5),
+    ATTACK(6),
+    GAME_OVER(7),
+    PLAYER_DISCONNECTED(8),
+    LEASE_EXPIRED(9),
+    SESSION_CLOSED(10),
+    RECORDS_DROPPED(11),
+    SESSION_RESTORED(12),
+    PLAYER_REATTACHED(13);
+    
+    private static final EventType[] BY_CODE = new EventType[16];
+    
+    static {
+        for (EventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+    
+    private final int code;
+    
+    EventType(int code) {
+        this.code = code;
+    }
+    
+    public int getCode() {
+        return code;
+    }
+    
+    public static EventType fromCode(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+    
+    /**
+     * Texto legible de los argumentos, usado por el decodificador
+     */
+    String describeArgs(int a, int b) {
+        switch (this) {
+            case SHIP_PLACED:
+                return "origen=" + cell(a) + " tamaño=" + (b >> 1) + ((b & 1) != 0 ? " H" : " V");
+            case FLEET_PLACED:
+                return "barcos=" + a + (b != 0 ? " aceptada" : " rechazada");
+            case ATTACK:
+                return "objetivo=" + cell(a) + " resultado=" + result(b);
+            case SESSION_CLOSED:
+                return "motivo=" + (a == 0 ? "abandono" : a == 1 ? "inactividad" : "terminada");
+            case RECORDS_DROPPED:
+                return "descartados=" + a;
+            case SESSION_RESTORED:
+                return "jugadores=" + a;
+            default:
+                return "";
+        }
+    }
+    
+    // Un archivo dañado no debe detener el decodificador
+    private static String cell(int index) {
+        return index >= 0 && index < Board.CELLS ? Position.ofIndex(index).toString() : "#" + index;
+    }
+    
+    private static String result(int ordinal) {
+        Board.AttackResult[] results = Board.AttackResult.values();
+        return ordinal >= 0 && ordinal < results.length ? results[ordinal].name() : "#" + ordinal;
+    }
+}
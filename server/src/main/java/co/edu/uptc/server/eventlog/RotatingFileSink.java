@@ -0,0 +1,114 @@
+package co.edu.uptc.server.eventlog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Archivos binarios rotativos: prefijo-00001.bin, prefijo-00002.bin, ...
+ * Al superar el tamaño máximo se abre el siguiente y se borran los más
+ * antiguos por encima del máximo de archivos. Solo lo usa el hilo escritor.
+ *
+ * Cada archivo empieza con una cabecera de 16 bytes: "BSEV", versión (short),
+ * tamaño de registro (short) y el instante de creación (long, ms).
+ */
+public class RotatingFileSink implements AutoCloseable {
+    public static final int MAGIC = 0x42534556; // "BSEV"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    
+    private final Path dir;
+    private final String prefix;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    
+    private FileChannel channel;
+    private long fileBytes;
+    private int fileNumber;
+    
+    public RotatingFileSink(Path dir, String prefix, long maxFileBytes, int maxFiles) throws IOException {
+        this.dir = dir;
+        this.prefix = prefix;
+        this.maxFileBytes = Math.max(HEADER_SIZE + EventLog.RECORD_SIZE, maxFileBytes);
+        this.maxFiles = Math.max(1, maxFiles);
+        Files.createDirectories(dir);
+        List<Path> existing = listFiles(dir, prefix);
+        this.fileNumber = existing.isEmpty() ? 0 : numberOf(existing.get(existing.size() - 1), prefix);
+        openNext();
+    }
+    
+    /**
+     * Escribe registros completos; rota antes si no caben en el archivo actual
+     */
+    public void write(ByteBuffer records) throws IOException {
+        if (fileBytes + records.remaining() > maxFileBytes) {
+            openNext();
+        }
+        while (records.hasRemaining()) {
+            fileBytes += channel.write(records);
+        }
+    }
+    
+    private void openNext() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        fileNumber++;
+        Path file = dir.resolve(String.format("%s-%05d.bin", prefix, fileNumber));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putShort(VERSION).putShort((short) EventLog.RECORD_SIZE)
+                .putLong(System.currentTimeMillis()).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        fileBytes = HEADER_SIZE;
+        deleteOldFiles();
+    }
+    
+    private void deleteOldFiles() throws IOException {
+        List<Path> files = listFiles(dir, prefix);
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+    
+    /**
+     * Archivos del log ordenados del más antiguo al más reciente
+     */
+    public static List<Path> listFiles(Path dir, String prefix) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, prefix + "-*.bin")) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+    
+    private static int numberOf(Path file, String prefix) {
+        String name = file.getFileName().toString();
+        try {
+            return Integer.parseInt(name.substring(prefix.length() + 1, name.length() - 4));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package co.edu.uptc.server.journal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Journal de solo anexado con cada comando aceptado por las sesiones, para
+ * poder reconstruir las partidas en curso tras una caída del servidor
+ *
+ * Los registros son de tamaño fijo y se escriben directamente en segmentos
+ * mapeados en memoria (journal-NNNNNNNN.seg). El productor reclama un LSN con
+ * un getAndIncrement, que también fija su casilla, y copia los campos: no hay
+ * locks, syscalls ni asignaciones en el camino de la jugada. El hilo
+ * journal-sync hace el fsync por grupos (cada syncIntervalMs o cada syncBatch
+ * registros, lo que ocurra primero), prepara el siguiente segmento antes de
+ * que se necesite y cierra los que ya se llenaron.
+ *
+ * Formato de cada registro (64 bytes, big-endian):
+ * <pre>
+ *  0  long  LSN (desde 1, creciente en todo el journal)
+ *  8  long  sesión (número)
+ * 16  int   jugador (número)
+ * 20  byte  tipo ({@link RecordType#getCode()})
+ * 21  byte  bytes del nombre
+ * 22  short reservado
+ * 24  int   argumento a (PLAYER_JOINED: 32 bits altos del token de reconexión)
+ * 28  int   argumento b (PLAYER_JOINED: 32 bits bajos del token de reconexión)
+ * 32  28 B  nombre UTF-8 (solo PLAYER_JOINED, truncado)
+ * 60  int   suma de verificación del registro
+ * </pre>
+ * La casilla 0 de cada segmento es la cabecera: "BSJR", versión (short),
+ * tamaño de registro (short), LSN base (long) e instante de creación (long).
+ */
+public class Journal implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(Journal.class.getName());
+    
+    public static final int RECORD_SIZE = 64;
+    public static final int MAGIC = 0x42534A52; // "BSJR"
+    public static final short VERSION = 1;
+    static final int NAME_BYTES = 28;
+    static final String PREFIX = "journal";
+    
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+    
+    private final boolean enabled;
+    private final Path dir;
+    private final int recordsPerSegment;
+    private final int segmentShift;
+    private final long baseLsn;
+    private final int firstFileNumber;
+    private final AtomicLong nextLsn;
+    private final Map<Integer, JournalSegment> segments = new ConcurrentHashMap<>();
+    private volatile JournalSegment current;
+    
+    private final long syncIntervalNanos;
+    private final long syncMask;
+    private final Thread syncer;
+    private volatile boolean running;
+    private volatile boolean failed;
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    
+    private static final Journal DISABLED = new Journal();
+    
+    /**
+     * Journal inactivo: los append retornan de inmediato
+     */
+    public static Journal disabled() {
+        return DISABLED;
+    }
+    
+    private Journal() {
+        this.enabled = false;
+        this.dir = null;
+        this.recordsPerSegment = 0;
+        this.segmentShift = 0;
+        this.baseLsn = 0;
+        this.firstFileNumber = 0;
+        this.nextLsn = new AtomicLong();
+        this.syncIntervalNanos = 0;
+        this.syncMask = -1;
+        this.syncer = null;
+    }
+    
+    private Journal(Path dir, int segmentBytes, long syncIntervalMs, int syncBatch) throws IOException {
+        Files.createDirectories(dir);
+        List<Path> existing = JournalReader.listSegments(dir);
+        long lastLsn = JournalReader.lastLsn(existing);
+        
+        this.enabled = true;
+        this.dir = dir;
+        // Potencias de 2: casilla y segmento salen de un desplazamiento y una máscara
+        this.recordsPerSegment = Integer.highestOneBit(Math.max(2, segmentBytes / RECORD_SIZE));
+        this.segmentShift = Integer.numberOfTrailingZeros(recordsPerSegment);
+        // Nunca se reescribe un segmento existente: se continúa en uno nuevo
+        this.baseLsn = lastLsn + 1;
+        this.firstFileNumber = existing.isEmpty() ? 1 : JournalReader.numberOf(existing.get(existing.size() - 1)) + 1;
+        this.nextLsn = new AtomicLong(baseLsn);
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, syncIntervalMs));
+        this.syncMask = syncBatch > 0 ? Long.highestOneBit(syncBatch * 2L - 1) - 1 : -1;
+        this.current = segment(0);
+        
+        this.running = true;
+        this.syncer = new Thread(this::syncLoop, "journal-sync");
+        this.syncer.setDaemon(true);
+        this.syncer.start();
+    }
+    
+    /**
+     * Abre el journal en el directorio indicado, a continuación de lo ya escrito
+     * Si el directorio no se puede usar se retorna un journal inactivo.
+     * @param syncIntervalMs Espera máxima entre fsync
+     * @param segmentBytes Tamaño aproximado de cada segmento (se redondea a potencia de 2 registros)
+     * @param syncBatch Registros que adelantan el fsync (potencia de 2; 0 = solo por tiempo)
+     */
+    public static Journal open(Path dir, int segmentBytes, long syncIntervalMs, int syncBatch) {
+        try {
+            return new Journal(dir, segmentBytes, syncIntervalMs, syncBatch);
+        } catch (IOException e) {
+            LOGGER.warning("No se pudo abrir el journal en " + dir + ": " + e.getMessage());
+            return disabled();
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Anexa un registro sin nombre
+     * @return LSN asignado, o 0 si el journal está inactivo o cerrado
+     */
+    public long append(RecordType type, long session, int player, int a, int b) {
+        return append(type, session, player, a, b, null);
+    }
+    
+    /**
+     * Anexa la entrada de un jugador; el nombre se trunca a 28 bytes UTF-8
+     * @param token Token de reconexión del jugador, repartido en a y b
+     */
+    public long playerJoined(long session, int player, String name, long token) {
+        if (!enabled) {
+            return 0;
+        }
+        return append(RecordType.PLAYER_JOINED, session, player, (int) (token >>> 32), (int) token,
+                encodeName(name));
+    }
+    
+    private long append(RecordType type, long session, int player, int a, int b, byte[] name) {
+        if (!enabled || !running) {
+            return 0;
+        }
+        if (failed) {
+            dropped.increment();
+            return 0;
+        }
+        long lsn = nextLsn.getAndIncrement();
+        long position = lsn - baseLsn;
+        int index = (int) (position >>> segmentShift);
+        int slot = (int) position & (recordsPerSegment - 1);
+        
+        JournalSegment segment = current;
+        if (segment.index != index) {
+            segment = segmentOrNull(index);
+            if (segment == null) {
+                if (running) {
+                    fail();
+                }
+                return 0;
+            }
+        }
+        int meta = type.getCode() << 24 | (name != null ? name.length : 0) << 16;
+        segment.write(slot, lsn, session, player, meta, a, b, name,
+                checksum(lsn, session, player, meta, a, b, name));
+                
+        if ((position & syncMask) == syncMask) {
+            LockSupport.unpark(syncer);
+        }
+        return lsn;
+    }
+    
+    /**
+     * Deja de anexar tras perder un registro: con un LSN sin escribir el
+     * journal ya no puede reconstruir las sesiones más allá de ese punto
+     */
+    private void fail() {
+        dropped.increment();
+        if (!failed) {
+            failed = true;
+            LOGGER.severe("Journal desactivado: las jugadas siguientes solo quedan en las instantáneas");
+        }
+    }
+    
+    private JournalSegment segmentOrNull(int index) {
+        try {
+            return segment(index);
+        } catch (IOException e) {
+            if (running) {
+                LOGGER.severe("No se pudo crear el segmento del journal: " + e.getMessage());
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * Segmento de la posición indicada; lo crea si aún no existe
+     * Solo bloquea cuando un productor alcanza un segmento que journal-sync no
+     * preparó a tiempo.
+     */
+    private synchronized JournalSegment segment(int index) throws IOException {
+        if (!running && current != null) {
+            throw new IOException("Journal cerrado");
+        }
+        JournalSegment segment = segments.get(index);
+        if (segment == null) {
+            Path file = dir.resolve(String.format("%s-%08d.seg", PREFIX, firstFileNumber + index));
+            segment = new JournalSegment(file, index, baseLsn + (long) index * recordsPerSegment,
+                    recordsPerSegment);
+            segments.put(index, segment);
+        }
+        if (current == null || index > current.index) {
+            current = segment;
+        }
+        return segment;
+    }
+    
+    private void syncLoop() {
+        while (running) {
+            LockSupport.parkNanos(this, syncIntervalNanos);
+            sync();
+            prepareNext();
+        }
+        sync();
+    }
+    
+    /**
+     * fsync por grupos: fuerza los segmentos abiertos y cierra los ya llenos
+     */
+    private void sync() {
+        int currentIndex = current.index;
+        for (JournalSegment segment : segments.values()) {
+            try {
+                if (segment.index < currentIndex && segment.isComplete()) {
+                    segment.close();
+                    segments.remove(segment.index);
+                } else {
+                    segment.force();
+                }
+            } catch (IOException e) {
+                LOGGER.warning("Error sincronizando el journal: " + e.getMessage());
+            }
+        }
+        syncs.increment();
+    }
+    
+    /**
+     * Crea el siguiente segmento cuando el actual pasa de la mitad
+     */
+    private void prepareNext() {
+        JournalSegment segment = current;
+        if (!failed && segment.getWritten() > recordsPerSegment / 2 && !segments.containsKey(segment.index + 1)) {
+            segmentOrNull(segment.index + 1);
+        }
+    }
+    
+    /**
+     * Detiene journal-sync tras un último fsync y cierra los segmentos
+     * Los append posteriores retornan 0 sin escribir.
+     */
+    @Override
+    public void close() {
+        if (!enabled || !running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(syncer);
+        try {
+            syncer.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            for (JournalSegment segment : segments.values()) {
+                try {
+                    segment.close();
+                } catch (IOException e) {
+                    LOGGER.warning("Error cerrando el journal: " + e.getMessage());
+                }
+            }
+            segments.clear();
+        }
+    }
+    
+    /**
+     * LSN que recibirá el próximo registro; todo lo anexado antes es menor
+     */
+    public long nextLsn() {
+        return nextLsn.get();
+    }
+    
+    /**
+     * Borra los segmentos cuyos registros son todos anteriores al LSN dado
+     * (ya cubiertos por una instantánea). Nunca borra el último segmento ni
+     * uno abierto.
+     * @return Segmentos borrados
+     */
+    public int deleteSegmentsBefore(long lsn) {
+        if (!enabled) {
+            return 0;
+        }
+        int deleted = 0;
+        try {
+            List<Path> files = JournalReader.listSegments(dir);
+            for (int i = 0; i < files.size() - 1; i++) {
+                Path file = files.get(i);
+                if (JournalReader.baseLsn(files.get(i + 1)) > lsn) {
+                    break;
+                }
+                if (!isOpen(file) && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warning("Error depurando segmentos del journal: " + e.getMessage());
+        }
+        return deleted;
+    }
+    
+    private boolean isOpen(Path file) {
+        for (JournalSegment segment : segments.values()) {
+            if (segment.file.equals(file)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public long getAppendedCount() {
+        return enabled ? nextLsn.get() - baseLsn : 0;
+    }
+    
+    public long getSyncCount() {
+        return syncs.sum();
+    }
+    
+    /**
+     * Registros descartados porque el journal se desactivó tras un error
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+    
+    public boolean isFailed() {
+        return failed;
+    }
+    
+    public Path getDirectory() {
+        return dir;
+    }
+    
+    static byte[] encodeName(String name) {
+        byte[] bytes = name != null ? name.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (bytes.length <= NAME_BYTES) {
+            return bytes;
+        }
+        // Corta sin partir un carácter multibyte
+        int length = NAME_BYTES;
+        while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        byte[] truncated = new byte[length];
+        System.arraycopy(bytes, 0, truncated, 0, length);
+        return truncated;
+    }
+    
+    /**
+     * Suma de verificación de los campos de un registro; descarta casillas a
+     * medio escribir al leer tras una caída
+     */
+    static int checksum(long lsn, long session, int player, int meta, int a, int b, byte[] name) {
+        long h = lsn * MIX;
+        h = (h ^ session) * MIX;
+        h = (h ^ ((long) player << 32 | (meta & 0xFFFFFFFFL))) * MIX;
+        h = (h ^ ((long) a << 32 | (b & 0xFFFFFFFFL))) * MIX;
+        if (name != null) {
+            for (byte value : name) {
+                h = (h ^ (value & 0xFF)) * MIX;
+            }
+        }
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,159 @@
+package co.edu.uptc.server.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Lectura secuencial de los segmentos del journal
+ *
+ * Las casillas vacías o con suma de verificación inválida (escrituras que no
+ * llegaron a disco antes de una caída) se saltan. Los registros se entregan
+ * en orden de LSN.
+ */
+public final class JournalReader {
+    private static final Logger LOGGER = Logger.getLogger(JournalReader.class.getName());
+    
+    private JournalReader() {
+    }
+    
+    /**
+     * Entrega cada registro válido del journal
+     * @return Último LSN leído, o 0 si no hay registros
+     */
+    public static long read(Path dir, Consumer<JournalRecord> consumer) throws IOException {
+        return read(dir, 0, consumer);
+    }
+    
+    /**
+     * Entrega los registros con LSN mayor o igual a fromLsn, sin abrir los
+     * segmentos que terminan antes
+     * @return Último LSN leído, o 0 si no hay registros
+     */
+    public static long read(Path dir, long fromLsn, Consumer<JournalRecord> consumer) throws IOException {
+        List<Path> files = listSegments(dir);
+        long last = 0;
+        for (int i = 0; i < files.size(); i++) {
+            if (i + 1 < files.size() && baseLsn(files.get(i + 1)) <= fromLsn) {
+                continue;
+            }
+            last = Math.max(last, readSegment(files.get(i), fromLsn, consumer));
+        }
+        return last;
+    }
+    
+    /**
+     * Último LSN usado, buscando desde el segmento más reciente
+     * Un segmento vacío cuenta como usado hasta su LSN base - 1, para que el
+     * journal reabierto nunca repita LSN aunque se hayan depurado los anteriores.
+     */
+    static long lastLsn(List<Path> files) throws IOException {
+        long[] last = new long[1];
+        for (int i = files.size() - 1; i >= 0 && last[0] == 0; i--) {
+            readSegment(files.get(i), 0, record -> last[0] = record.getLsn());
+            last[0] = Math.max(last[0], baseLsn(files.get(i)) - 1);
+        }
+        return last[0];
+    }
+    
+    /**
+     * LSN base de un segmento, leído de su cabecera (0 si no es válida)
+     */
+    static long baseLsn(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(16);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // leer la cabecera completa
+            }
+            header.flip();
+            if (header.remaining() < 16 || header.getInt(0) != Journal.MAGIC) {
+                return 0;
+            }
+            return header.getLong(8);
+        }
+    }
+    
+    private static long readSegment(Path file, long fromLsn, Consumer<JournalRecord> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < Journal.RECORD_SIZE) {
+                return 0;
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            data.order(ByteOrder.BIG_ENDIAN);
+            if (data.getInt(0) != Journal.MAGIC || data.getShort(4) != Journal.VERSION
+                    || data.getShort(6) != Journal.RECORD_SIZE) {
+                LOGGER.warning("Segmento de journal no reconocido: " + file);
+                return 0;
+            }
+            
+            long last = 0;
+            for (int base = Journal.RECORD_SIZE; base + Journal.RECORD_SIZE <= size; base += Journal.RECORD_SIZE) {
+                long lsn = data.getLong(base);
+                if (lsn == 0 || lsn < fromLsn) {
+                    continue;
+                }
+                long session = data.getLong(base + 8);
+                int player = data.getInt(base + 16);
+                int meta = data.getInt(base + 20);
+                int a = data.getInt(base + 24);
+                int b = data.getInt(base + 28);
+                int nameLength = Math.min(Journal.NAME_BYTES, (meta >>> 16) & 0xFF);
+                byte[] name = null;
+                if (nameLength > 0) {
+                    name = new byte[nameLength];
+                    for (int i = 0; i < nameLength; i++) {
+                        name[i] = data.get(base + 32 + i);
+                    }
+                }
+                RecordType type = RecordType.fromCode(meta >>> 24);
+                if (type == null || data.getInt(base + 60) != Journal.checksum(lsn, session, player, meta, a, b, name)) {
+                    continue;
+                }
+                String text = type != RecordType.PLAYER_JOINED ? null
+                        : name != null ? new String(name, StandardCharsets.UTF_8) : "";
+                consumer.accept(new JournalRecord(lsn, session, player, type, a, b, text));
+                last = lsn;
+            }
+            return last;
+        }
+    }
+    
+    /**
+     * Segmentos del journal ordenados del más antiguo al más reciente
+     */
+    public static List<Path> listSegments(Path dir) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, Journal.PREFIX + "-*.seg")) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+    
+    static int numberOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Integer.parseInt(name.substring(Journal.PREFIX.length() + 1, name.length() - 4));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
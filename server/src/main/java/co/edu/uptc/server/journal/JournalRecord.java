@@ -0,0 +1,39 @@
+package co.edu.uptc.server.journal;
+
+/**
+ * Registro del journal ya decodificado, tal como lo entrega JournalReader
+ */
+public final class JournalRecord {
+    private final long lsn;
+    private final long session;
+    private final int player;
+    private final RecordType type;
+    private final int a;
+    private final int b;
+    private final String name;
+    
+    JournalRecord(long lsn, long session, int player, RecordType type, int a, int b, String name) {
+        this.lsn = lsn;
+        this.session = session;
+        this.player = player;
+        this.type = type;
+        this.a = a;
+        this.b = b;
+        this.name = name;
+    }
+    
+    // Getters simples
+    public long getLsn() { return lsn; }
+    public long getSession() { return session; }
+    public int getPlayer() { return player; }
+    public RecordType getType() { return type; }
+    public int getA() { return a; }
+    public int getB() { return b; }
+    public String getName() { return name; }
+    
+    @Override
+    public String toString() {
+        return "#" + lsn + " " + type + " sesion=" + session + " jugador=" + player
+                + " a=" + a + " b=" + b + (name != null ? " nombre=" + name : "");
+    }
+}
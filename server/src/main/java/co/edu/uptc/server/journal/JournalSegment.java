@@ -0,0 +1,89 @@
+package co.edu.uptc.server.journal;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Archivo de segmento del journal mapeado en memoria
+ *
+ * La primera casilla es la cabecera; los registros ocupan las siguientes en
+ * orden de LSN. Varios hilos escriben a la vez en casillas distintas con
+ * escrituras absolutas, sin mover la posición del buffer.
+ */
+final class JournalSegment {
+    private static final int PAGE_SIZE = 4096;
+    
+    final Path file;
+    final int index;
+    final long baseLsn;
+    private final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final AtomicInteger written = new AtomicInteger();
+    
+    /**
+     * Crea el archivo, escribe la cabecera y toca cada página para que los
+     * fallos de página ocurran aquí y no en el primer append
+     */
+    JournalSegment(Path file, int index, long baseLsn, int capacity) throws IOException {
+        this.file = file;
+        this.index = index;
+        this.baseLsn = baseLsn;
+        this.capacity = capacity;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long size = (long) (capacity + 1) * Journal.RECORD_SIZE;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        for (int offset = PAGE_SIZE; offset < size; offset += PAGE_SIZE) {
+            buffer.put(offset, (byte) 0);
+        }
+        buffer.putInt(0, Journal.MAGIC);
+        buffer.putShort(4, Journal.VERSION);
+        buffer.putShort(6, (short) Journal.RECORD_SIZE);
+        buffer.putLong(8, baseLsn);
+        buffer.putLong(16, System.currentTimeMillis());
+    }
+    
+    void write(int slot, long lsn, long session, int player, int meta, int a, int b,
+               byte[] name, int checksum) {
+        int offset = (slot + 1) * Journal.RECORD_SIZE;
+        buffer.putLong(offset, lsn);
+        buffer.putLong(offset + 8, session);
+        // Pares de int en un solo long: mismo formato big-endian, menos escrituras
+        buffer.putLong(offset + 16, (long) player << 32 | (meta & 0xFFFFFFFFL));
+        buffer.putLong(offset + 24, (long) a << 32 | (b & 0xFFFFFFFFL));
+        if (name != null) {
+            for (int i = 0; i < name.length; i++) {
+                buffer.put(offset + 32 + i, name[i]);
+            }
+        }
+        buffer.putInt(offset + 60, checksum);
+        written.incrementAndGet();
+    }
+    
+    /**
+     * Todas las casillas fueron escritas: ningún productor volverá a tocarlo
+     */
+    boolean isComplete() {
+        return written.get() == capacity;
+    }
+    
+    int getWritten() {
+        return written.get();
+    }
+    
+    void force() {
+        buffer.force();
+    }
+    
+    void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
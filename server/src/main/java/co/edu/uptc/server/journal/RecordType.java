@@ -0,0 +1,43 @@
+package co.edu.uptc.server.journal;
+
+/**
+ * Tipos de registro del journal de partidas
+ * El código se guarda en un byte; no se deben reutilizar códigos retirados.
+ */
+public enum RecordType {
+    /** Jugador entra a la sesión (a, b = token de reconexión, nombre en la carga útil) */
+    PLAYER_JOINED(1),
+    /** Barco colocado (a = celda de origen, b = tamaño << 1 | horizontal) */
+    SHIP_PLACED(2),
+    /** Ataque aceptado (a = celda objetivo, b = ordinal de AttackResult) */
+    ATTACK(3),
+    /** Turno asignado al jugador del registro */
+    TURN_CHANGED(4),
+    /** Sesión cerrada; no se vuelve a reconstruir */
+    SESSION_CLOSED(5);
+    
+    private static final RecordType[] BY_CODE = new RecordType[8];
+    
+    static {
+        for (RecordType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+    
+    private final int code;
+    
+    RecordType(int code) {
+        this.code = code;
+    }
+    
+    public int getCode() {
+        return code;
+    }
+    
+    /**
+     * @return El tipo, o null si el código no es conocido
+     */
+    public static RecordType fromCode(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
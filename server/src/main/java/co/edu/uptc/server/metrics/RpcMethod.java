@@ -0,0 +1,29 @@
+package co.edu.uptc.server.metrics;
+
+/**
+ * Métodos remotos instrumentados de GameService y SpectatorService
+ */
+public enum RpcMethod {
+    JOIN_GAME("joinGame"),
+    JOIN_SESSION("joinSession"),
+    PLACE_SHIP("placeShip"),
+    PLACE_FLEET("placeFleet"),
+    ATTACK("attack"),
+    GET_GAME_STATUS("getGameStatus"),
+    GET_GAME_STATUS_SINCE("getGameStatusSince"),
+    HEARTBEAT("heartbeat"),
+    DISCONNECT_PLAYER("disconnectPlayer"),
+    REATTACH("reattach"),
+    SPECTATE("spectate"),
+    STOP_SPECTATING("stopSpectating");
+    
+    private final String methodName;
+    
+    RpcMethod(String methodName) {
+        this.methodName = methodName;
+    }
+    
+    public String getMethodName() {
+        return methodName;
+    }
+}
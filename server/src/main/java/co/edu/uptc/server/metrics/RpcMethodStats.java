@@ -0,0 +1,73 @@
+package co.edu.uptc.server.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores y latencias de un método remoto
+ * Registrar no toma locks ni crea objetos.
+ */
+public class RpcMethodStats implements RpcMethodStatsMXBean {
+    private final RpcMethod method;
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    
+    public RpcMethodStats(RpcMethod method) {
+        this.method = method;
+    }
+    
+    /**
+     * Registra una llamada terminada
+     * @param startNanos Instante de inicio (System.nanoTime)
+     */
+    public void record(long startNanos) {
+        latency.record(System.nanoTime() - startNanos);
+    }
+    
+    public void error() {
+        errors.increment();
+    }
+    
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+    
+    @Override
+    public String getMethod() {
+        return method.getMethodName();
+    }
+    
+    @Override
+    public long getCalls() {
+        return latency.getCount();
+    }
+    
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+    
+    @Override
+    public double getMeanMicros() {
+        return latency.getMeanNanos() / 1000.0;
+    }
+    
+    @Override
+    public double getP50Micros() {
+        return latency.percentileNanos(50) / 1000.0;
+    }
+    
+    @Override
+    public double getP99Micros() {
+        return latency.percentileNanos(99) / 1000.0;
+    }
+    
+    @Override
+    public double getP999Micros() {
+        return latency.percentileNanos(99.9) / 1000.0;
+    }
+    
+    @Override
+    public double getMaxMicros() {
+        return latency.getMaxNanos() / 1000.0;
+    }
+}
@@ -0,0 +1,23 @@
+package co.edu.uptc.server.metrics;
+
+/**
+ * Métricas JMX de un método remoto: llamadas, errores y latencia en microsegundos
+ */
+public interface RpcMethodStatsMXBean {
+    
+    String getMethod();
+    
+    long getCalls();
+    
+    long getErrors();
+    
+    double getMeanMicros();
+    
+    double getP50Micros();
+    
+    double getP99Micros();
+    
+    double getP999Micros();
+    
+    double getMaxMicros();
+}
@@ -0,0 +1,249 @@
+package co.edu.uptc.server.metrics;
+
+import co.edu.uptc.server.CallbackDispatcher;
+import co.edu.uptc.server.GameSession;
+import co.edu.uptc.server.SessionRegistry;
+import co.edu.uptc.server.journal.Journal;
+import co.edu.uptc.server.spectator.SpectatorFanout;
+import co.edu.uptc.shared.model.GameStatus;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Capa de instrumentación del servidor, publicada como MBeans de plataforma
+ *
+ * El camino de registro (llamadas, errores, jugadas) usa LongAdder e
+ * histogramas de casillas fijas: sin locks ni asignaciones. Los valores
+ * derivados (percentiles, sesiones por fase, tasa de jugadas) se calculan
+ * solo cuando se leen.
+ */
+public class ServerMetrics implements ServerMetricsMXBean {
+    private static final Logger LOGGER = Logger.getLogger(ServerMetrics.class.getName());
+    private static final String DOMAIN = "co.edu.uptc.battleship";
+    
+    private final SessionRegistry registry;
+    private final CallbackDispatcher dispatcher;
+    private final SpectatorFanout spectators;
+    private final Journal journal;
+    private final IntSupplier connectedPlayers;
+    private final RpcMethodStats[] methods;
+    private final LongAdder moves = new LongAdder();
+    private final List<ObjectName> registered = new ArrayList<>();
+    
+    // Muestreo de la tasa de jugadas (solo en lectura)
+    private long lastSampleNanos = System.nanoTime();
+    private long lastSampleMoves;
+    private double lastRate;
+    
+    public ServerMetrics(SessionRegistry registry, CallbackDispatcher dispatcher, SpectatorFanout spectators,
+            Journal journal, IntSupplier connectedPlayers) {
+        this.registry = registry;
+        this.dispatcher = dispatcher;
+        this.spectators = spectators;
+        this.journal = journal;
+        this.connectedPlayers = connectedPlayers;
+        this.methods = new RpcMethodStats[RpcMethod.values().length];
+        for (RpcMethod method : RpcMethod.values()) {
+            methods[method.ordinal()] = new RpcMethodStats(method);
+        }
+    }
+    
+    // === Registro (camino caliente) ===
+    
+    public RpcMethodStats method(RpcMethod method) {
+        return methods[method.ordinal()];
+    }
+    
+    public void recordCall(RpcMethod method, long startNanos) {
+        methods[method.ordinal()].record(startNanos);
+    }
+    
+    public void recordError(RpcMethod method) {
+        methods[method.ordinal()].error();
+    }
+    
+    public void recordMove() {
+        moves.increment();
+    }
+    
+    // === Publicación JMX ===
+    
+    /**
+     * Registra el MBean del servidor y uno por método remoto
+     */
+    public synchronized void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            register(server, new ObjectName(DOMAIN + ":type=Server"), this);
+            for (RpcMethodStats stats : methods) {
+                register(server, new ObjectName(DOMAIN + ":type=RpcMethod,name=" + stats.getMethod()), stats);
+            }
+        } catch (JMException e) {
+            LOGGER.warning("No se pudieron publicar las métricas JMX: " + e.getMessage());
+        }
+    }
+    
+    public synchronized void unregisterMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException e) {
+                LOGGER.fine("MBean ya retirado: " + name);
+            }
+        }
+        registered.clear();
+    }
+    
+    private void register(MBeanServer server, ObjectName name, Object bean) throws JMException {
+        server.registerMBean(bean, name);
+        registered.add(name);
+    }
+    
+    // === Lectura ===
+    
+    @Override
+    public int getConnectedPlayers() {
+        return connectedPlayers.getAsInt();
+    }
+    
+    @Override
+    public int getActiveSessions() {
+        return registry.size();
+    }
+    
+    @Override
+    public int getSessionsWaiting() {
+        return countSessions(GameStatus.GamePhase.WAITING);
+    }
+    
+    @Override
+    public int getSessionsPlacingShips() {
+        return countSessions(GameStatus.GamePhase.PLACING_SHIPS);
+    }
+    
+    @Override
+    public int getSessionsPlaying() {
+        return countSessions(GameStatus.GamePhase.PLAYING);
+    }
+    
+    @Override
+    public int getSessionsFinished() {
+        return countSessions(GameStatus.GamePhase.FINISHED);
+    }
+    
+    private int countSessions(GameStatus.GamePhase phase) {
+        int count = 0;
+        for (GameSession session : registry.sessions()) {
+            if (session.getPhase() == phase) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    @Override
+    public long getMovesTotal() {
+        return moves.sum();
+    }
+    
+    @Override
+    public synchronized double getMovesPerSecond() {
+        long now = System.nanoTime();
+        long elapsed = now - lastSampleNanos;
+        if (elapsed >= 1_000_000_000L) {
+            long total = moves.sum();
+            lastRate = (total - lastSampleMoves) * 1e9 / elapsed;
+            lastSampleMoves = total;
+            lastSampleNanos = now;
+        }
+        return lastRate;
+    }
+    
+    @Override
+    public long getCallbacksDelivered() {
+        return dispatcher.getDeliveredCount();
+    }
+    
+    @Override
+    public long getCallbacksFailed() {
+        return dispatcher.getFailedCount();
+    }
+    
+    @Override
+    public long getCallbacksDropped() {
+        return dispatcher.getDroppedCount();
+    }
+    
+    @Override
+    public long getCallbackQueueDepth() {
+        return dispatcher.getQueueDepth();
+    }
+    
+    @Override
+    public double getCallbackLatencyP50Micros() {
+        return dispatcher.getLatencyHistogram().percentileNanos(50) / 1000.0;
+    }
+    
+    @Override
+    public double getCallbackLatencyP99Micros() {
+        return dispatcher.getLatencyHistogram().percentileNanos(99) / 1000.0;
+    }
+    
+    @Override
+    public double getCallbackLatencyP999Micros() {
+        return dispatcher.getLatencyHistogram().percentileNanos(99.9) / 1000.0;
+    }
+    
+    @Override
+    public double getCallbackLatencyMaxMicros() {
+        return dispatcher.getMaxLatencyMicros();
+    }
+    
+    @Override
+    public int getSpectators() {
+        int count = 0;
+        for (GameSession session : registry.sessions()) {
+            count += session.getSpectatorCount();
+        }
+        return count;
+    }
+    
+    @Override
+    public long getSpectatorFramesPublished() {
+        return spectators.getPublishedCount();
+    }
+    
+    @Override
+    public long getSpectatorFramesDelivered() {
+        return spectators.getDeliveredCount();
+    }
+    
+    @Override
+    public long getSpectatorsConflated() {
+        return spectators.getConflatedCount();
+    }
+    
+    @Override
+    public long getSpectatorsRemoved() {
+        return spectators.getRemovedCount();
+    }
+    
+    @Override
+    public long getJournalRecords() {
+        return journal.getAppendedCount();
+    }
+    
+    @Override
+    public long getJournalRecordsDropped() {
+        return journal.getDroppedCount();
+    }
+}
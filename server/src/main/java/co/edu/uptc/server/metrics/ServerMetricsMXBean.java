@@ -0,0 +1,57 @@
+package co.edu.uptc.server.metrics;
+
+/**
+ * Métricas JMX globales del servidor: sesiones por fase, jugadas, callbacks, espectadores y journal
+ */
+public interface ServerMetricsMXBean {
+    
+    int getConnectedPlayers();
+    
+    int getActiveSessions();
+    
+    int getSessionsWaiting();
+    
+    int getSessionsPlacingShips();
+    
+    int getSessionsPlaying();
+    
+    int getSessionsFinished();
+    
+    long getMovesTotal();
+    
+    /** Jugadas por segundo desde la lectura anterior (ventana mínima de 1 s) */
+    double getMovesPerSecond();
+    
+    long getCallbacksDelivered();
+    
+    long getCallbacksFailed();
+    
+    long getCallbacksDropped();
+    
+    long getCallbackQueueDepth();
+    
+    double getCallbackLatencyP50Micros();
+    
+    double getCallbackLatencyP99Micros();
+    
+    double getCallbackLatencyP999Micros();
+    
+    double getCallbackLatencyMaxMicros();
+    
+    int getSpectators();
+    
+    /** Tramas codificadas para espectadores: una por jugada observada */
+    long getSpectatorFramesPublished();
+    
+    long getSpectatorFramesDelivered();
+    
+    /** Veces que un espectador lento recibió una instantánea en lugar de sus tramas pendientes */
+    long getSpectatorsConflated();
+    
+    long getSpectatorsRemoved();
+    
+    long getJournalRecords();
+    
+    /** Registros perdidos tras desactivarse el journal por un error; distinto de 0 requiere atención */
+    long getJournalRecordsDropped();
+}
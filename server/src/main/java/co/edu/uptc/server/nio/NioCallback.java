@@ -0,0 +1,87 @@
+package co.edu.uptc.server.nio;
+
+import co.edu.uptc.shared.event.EventCodec;
+import co.edu.uptc.shared.event.GameEvent;
+import co.edu.uptc.shared.interfaces.GameCallback;
+import co.edu.uptc.shared.model.WireFormat;
+import co.edu.uptc.shared.nio.FrameWriter;
+import co.edu.uptc.shared.nio.NioProtocol;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.rmi.ConnectException;
+import java.rmi.RemoteException;
+import java.util.List;
+
+/**
+ * Callback de un jugador conectado por NIO: cada notificación es una trama
+ * en la misma conexión, con el ID de la petición que lo registró
+ */
+final class NioCallback implements GameCallback {
+    private final NioConnection connection;
+    private final int id;
+    
+    NioCallback(NioConnection connection, int id) {
+        this.connection = connection;
+        this.id = id;
+    }
+    
+    @Override
+    public void onGameEvent(String message) throws RemoteException {
+        send(NioProtocol.ON_GAME_EVENT, out -> WireFormat.writeNullableString(out, message));
+    }
+    
+    @Override
+    public void onGameEvents(List<GameEvent> events) throws RemoteException {
+        send(NioProtocol.ON_GAME_EVENTS, out -> EventCodec.write(out, events));
+    }
+    
+    @Override
+    public void onPlayerJoined(String playerName) throws RemoteException {
+        send(NioProtocol.ON_PLAYER_JOINED, out -> WireFormat.writeNullableString(out, playerName));
+    }
+    
+    @Override
+    public void onTurnChanged(boolean isMyTurn, String currentPlayerName) throws RemoteException {
+        send(NioProtocol.ON_TURN_CHANGED, out -> {
+            out.writeBoolean(isMyTurn);
+            WireFormat.writeNullableString(out, currentPlayerName);
+        });
+    }
+    
+    @Override
+    public void onGameEnded(String winner) throws RemoteException {
+        send(NioProtocol.ON_GAME_ENDED, out -> WireFormat.writeNullableString(out, winner));
+    }
+    
+    @Override
+    public void onOpponentDisconnected() throws RemoteException {
+        send(NioProtocol.ON_OPPONENT_DISCONNECTED, out -> { });
+    }
+    
+    /**
+     * Una conexión cerrada se reporta como en RMI, para que el despachador
+     * cuente el fallo
+     */
+    private void send(int opcode, Arguments arguments) throws RemoteException {
+        ByteBuffer frame;
+        try {
+            FrameWriter writer = new FrameWriter(opcode, id);
+            arguments.write(writer);
+            frame = writer.toBuffer();
+        } catch (IOException e) {
+            throw new RemoteException("Error codificando la notificación", e);
+        }
+        if (!connection.send(frame)) {
+            throw new ConnectException("Conexión NIO cerrada o saturada");
+        }
+    }
+    
+    /**
+     * Escritura de los argumentos de una notificación
+     */
+    @FunctionalInterface
+    private interface Arguments {
+        void write(DataOutput out) throws IOException;
+    }
+}
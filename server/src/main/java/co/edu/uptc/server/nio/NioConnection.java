@@ -0,0 +1,151 @@
+package co.edu.uptc.server.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conexión de un cliente NIO: buffer de lectura y cola de tramas salientes
+ * Solo el hilo del lazo lee y escribe el socket; otros hilos solo encolan.
+ * Encolar es sincronizado para que las dos partes de una trama compartida
+ * (cabecera propia y cuerpo común) queden seguidas en la cola.
+ */
+final class NioConnection {
+    /** Bytes pendientes de escribir a partir de los cuales se rechazan tramas nuevas */
+    private static final long MAX_PENDING_BYTES = 1 << 20;
+    private static final int GATHER = 64;
+    
+    final SocketChannel channel;
+    SelectionKey key;
+    ByteBuffer input = ByteBuffer.allocate(8 * 1024);
+    
+    private final NioGameServer server;
+    private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+    private final ArrayDeque<ByteBuffer> writing = new ArrayDeque<>();
+    private final ByteBuffer[] gather = new ByteBuffer[GATHER];
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+    private volatile boolean aborted;
+    
+    NioConnection(NioGameServer server, SocketChannel channel) {
+        this.server = server;
+        this.channel = channel;
+    }
+    
+    /**
+     * Encola una trama para el lazo
+     * @return false si la conexión está cerrada o el cliente no consume lo que ya se le envió
+     */
+    synchronized boolean enqueue(ByteBuffer frame) {
+        if (closed || pendingBytes.get() > MAX_PENDING_BYTES) {
+            return false;
+        }
+        pendingBytes.addAndGet(frame.remaining());
+        outbound.offer(frame);
+        return true;
+    }
+    
+    /**
+     * Encola una trama en dos partes; body puede ser una vista de bytes compartidos
+     */
+    synchronized boolean enqueue(ByteBuffer header, ByteBuffer body) {
+        if (closed || pendingBytes.get() > MAX_PENDING_BYTES) {
+            return false;
+        }
+        pendingBytes.addAndGet(header.remaining() + body.remaining());
+        outbound.offer(header);
+        outbound.offer(body);
+        return true;
+    }
+    
+    /**
+     * Envía una trama desde cualquier hilo (callbacks)
+     */
+    boolean send(ByteBuffer frame) {
+        return server.send(this, frame);
+    }
+    
+    boolean send(ByteBuffer header, ByteBuffer body) {
+        return server.send(this, header, body);
+    }
+    
+    /**
+     * Marca la conexión como pendiente de escritura
+     * @return true si no lo estaba (hay que avisar al lazo)
+     */
+    boolean schedule() {
+        return scheduled.compareAndSet(false, true);
+    }
+    
+    void clearScheduled() {
+        scheduled.set(false);
+    }
+    
+    /**
+     * Escribe lo encolado con escrituras agrupadas (gathering) hasta vaciar la
+     * cola o llenar el buffer del socket
+     * @return true si no quedó nada pendiente
+     */
+    boolean flush() throws IOException {
+        ByteBuffer frame;
+        while ((frame = outbound.poll()) != null) {
+            writing.add(frame);
+        }
+        while (!writing.isEmpty()) {
+            int count = 0;
+            for (ByteBuffer buffer : writing) {
+                gather[count++] = buffer;
+                if (count == GATHER) {
+                    break;
+                }
+            }
+            long written = channel.write(gather, 0, count);
+            pendingBytes.addAndGet(-written);
+            while (!writing.isEmpty() && !writing.peek().hasRemaining()) {
+                writing.poll();
+            }
+            if (!writing.isEmpty() && written == 0) {
+                break;
+            }
+        }
+        Arrays.fill(gather, null);
+        return writing.isEmpty();
+    }
+    
+    boolean isOpen() {
+        return !closed;
+    }
+    
+    /**
+     * Pide al lazo que cierre la conexión (desde otro hilo)
+     */
+    void abort() {
+        aborted = true;
+    }
+    
+    boolean isAborted() {
+        return aborted;
+    }
+    
+    void close() {
+        closed = true;
+        if (key != null) {
+            key.cancel();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Ya se está descartando la conexión
+        }
+        outbound.clear();
+        writing.clear();
+    }
+}
@@ -0,0 +1,369 @@
+package co.edu.uptc.server.nio;
+
+import co.edu.uptc.server.GameServiceImpl;
+import co.edu.uptc.shared.model.GameStatus;
+import co.edu.uptc.shared.model.WireFormat;
+import co.edu.uptc.shared.nio.FrameWriter;
+import co.edu.uptc.shared.nio.NioProtocol;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.rmi.RemoteException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Logger;
+
+/**
+ * Servidor del transporte NIO: un solo hilo (nio-event-loop) con un selector
+ * atiende todas las conexiones
+ *
+ * Cada trama se decodifica e invoca directamente a GameServiceImpl en el hilo
+ * del lazo; sus métodos no bloquean, salvo el long-poll, que se atiende con el
+ * futuro de getGameStatusSinceAsync y responde cuando se completa. Los
+ * callbacks llegan desde los hilos de CallbackDispatcher como tramas que se
+ * encolan en la conexión del jugador; el lazo las escribe agrupadas. No hay
+ * serialización Java, exportación de objetos ni DGC.
+ */
+public class NioGameServer {
+    private static final Logger LOGGER = Logger.getLogger(NioGameServer.class.getName());
+    
+    private final GameServiceImpl service;
+    private final int port;
+    private final Set<NioConnection> connections = ConcurrentHashMap.newKeySet();
+    private final Queue<NioConnection> ready = new ConcurrentLinkedQueue<>();
+    private Selector selector;
+    private ServerSocketChannel server;
+    private Thread loop;
+    private volatile boolean running;
+    
+    public NioGameServer(GameServiceImpl service, int port) {
+        this.service = service;
+        this.port = port;
+    }
+    
+    /**
+     * Abre el puerto e inicia el hilo del lazo de eventos
+     */
+    public void start() throws IOException {
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        loop = new Thread(this::run, "nio-event-loop");
+        loop.setDaemon(true);
+        loop.start();
+        LOGGER.info("Servidor NIO escuchando en el puerto " + getPort());
+    }
+    
+    private void run() {
+        while (running) {
+            try {
+                selector.select();
+                // Tramas encoladas desde otros hilos (callbacks y long-polls)
+                NioConnection connection;
+                while ((connection = ready.poll()) != null) {
+                    connection.clearScheduled();
+                    if (connection.isAborted()) {
+                        close(connection);
+                    } else {
+                        flush(connection);
+                    }
+                }
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        NioConnection target = (NioConnection) key.attachment();
+                        if (key.isReadable()) {
+                            read(target);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            flush(target);
+                        }
+                    }
+                }
+                selector.selectedKeys().clear();
+            } catch (IOException | RuntimeException e) {
+                // Un error aquí no debe detener el servidor completo
+                LOGGER.warning("Error en el lazo de eventos NIO: " + e);
+            }
+        }
+        for (NioConnection connection : connections) {
+            close(connection);
+        }
+    }
+    
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        NioConnection connection = new NioConnection(this, channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        connections.add(connection);
+    }
+    
+    private void read(NioConnection connection) {
+        ByteBuffer buffer = connection.input;
+        try {
+            if (connection.channel.read(buffer) < 0) {
+                close(connection);
+                return;
+            }
+            buffer.flip();
+            int needed = 0;
+            while (buffer.remaining() >= 4 && connection.isOpen()) {
+                int length = buffer.getInt(buffer.position());
+                if (length <= 0 || length > NioProtocol.MAX_FRAME) {
+                    throw new IOException("Trama inválida de " + length + " bytes");
+                }
+                if (buffer.remaining() < 4 + length) {
+                    needed = 4 + length;
+                    break;
+                }
+                int start = buffer.position() + 4;
+                ByteBuffer frame = buffer.duplicate();
+                frame.limit(start + length).position(start);
+                buffer.position(start + length);
+                dispatch(connection, NioProtocol.body(frame));
+            }
+            buffer.compact();
+            if (needed > buffer.capacity()) {
+                connection.input = ByteBuffer.allocate(needed).put(buffer.flip());
+            }
+        } catch (IOException e) {
+            LOGGER.fine("Conexión NIO descartada: " + e.getMessage());
+            close(connection);
+            return;
+        } catch (RuntimeException e) {
+            // Un fallo de una conexión solo la cierra a ella, no al lazo
+            LOGGER.warning("Error atendiendo una conexión NIO, se cierra: " + e);
+            close(connection);
+            return;
+        }
+        // Las respuestas de todas las tramas leídas salen en una sola escritura
+        flush(connection);
+    }
+    
+    /**
+     * Decodifica una petición e invoca el servicio
+     * @throws IOException Si la trama está mal formada
+     */
+    private void dispatch(NioConnection connection, DataInputStream in) throws IOException {
+        int opcode = in.readUnsignedByte();
+        int id = WireFormat.readVarInt(in);
+        FrameWriter reply = new FrameWriter(NioProtocol.RESULT, id);
+        try {
+            switch (opcode) {
+                case NioProtocol.JOIN_GAME: {
+                    String name = WireFormat.readNullableString(in);
+                    String result = service.joinGame(name, new NioCallback(connection, id));
+                    WireFormat.writeNullableString(reply, result);
+                    break;
+                }
+                case NioProtocol.PLACE_SHIP: {
+                    String playerId = WireFormat.readNullableString(in);
+                    reply.writeBoolean(service.placeShip(playerId,
+                            NioProtocol.readPosition(in), NioProtocol.readPosition(in)));
+                    break;
+                }
+                case NioProtocol.PLACE_FLEET: {
+                    String playerId = WireFormat.readNullableString(in);
+                    reply.writeBoolean(service.placeFleet(playerId, NioProtocol.readFleet(in)));
+                    break;
+                }
+                case NioProtocol.ATTACK: {
+                    String playerId = WireFormat.readNullableString(in);
+                    WireFormat.writeNullableString(reply, service.attack(playerId, NioProtocol.readPosition(in)));
+                    break;
+                }
+                case NioProtocol.GET_GAME_STATUS:
+                    service.getGameStatus(WireFormat.readNullableString(in)).write(reply);
+                    break;
+                case NioProtocol.GET_GAME_STATUS_SINCE: {
+                    String playerId = WireFormat.readNullableString(in);
+                    long knownVersion = in.readLong();
+                    long timeoutMs = WireFormat.readVarLong(in);
+                    // Sin hilo en espera: la respuesta sale cuando el futuro se completa
+                    service.getGameStatusSinceAsync(playerId, knownVersion, timeoutMs)
+                            .whenComplete((status, error) -> replyStatus(connection, id, status, error));
+                    return;
+                }
+                case NioProtocol.HEARTBEAT:
+                    reply.writeBoolean(service.heartbeat(WireFormat.readNullableString(in)));
+                    break;
+                case NioProtocol.REATTACH: {
+                    String playerId = WireFormat.readNullableString(in);
+                    String token = WireFormat.readNullableString(in);
+                    WireFormat.writeNullableString(reply,
+                            service.reattach(playerId, token, new NioCallback(connection, id)));
+                    break;
+                }
+                case NioProtocol.SET_PLAYER_READY:
+                    reply.writeBoolean(service.setPlayerReady(WireFormat.readNullableString(in)));
+                    break;
+                case NioProtocol.DISCONNECT_PLAYER:
+                    service.disconnectPlayer(WireFormat.readNullableString(in));
+                    break;
+                case NioProtocol.SPECTATE: {
+                    String sessionId = WireFormat.readNullableString(in);
+                    WireFormat.writeNullableString(reply,
+                            service.spectate(sessionId, new NioSpectatorCallback(connection, id)));
+                    break;
+                }
+                case NioProtocol.STOP_SPECTATING:
+                    service.stopSpectating(WireFormat.readNullableString(in));
+                    break;
+                default:
+                    throw new IOException("Código de operación desconocido: " + opcode);
+            }
+            reply(connection, reply.toBuffer());
+        } catch (RemoteException | RuntimeException e) {
+            reply(connection, failure(id, e));
+        }
+    }
+    
+    /**
+     * Encola la respuesta de una petición; si la conexión la rechaza (cola
+     * llena) se cierra, porque el cliente esperaría ese ID para siempre
+     */
+    private void reply(NioConnection connection, ByteBuffer frame) {
+        if (send(connection, frame) || !connection.isOpen()) {
+            return;
+        }
+        LOGGER.warning("Cliente NIO sin leer sus respuestas, se cierra la conexión");
+        if (Thread.currentThread() == loop) {
+            close(connection);
+        } else {
+            connection.abort();
+            if (connection.schedule()) {
+                ready.offer(connection);
+                selector.wakeup();
+            }
+        }
+    }
+    
+    private void replyStatus(NioConnection connection, int id, GameStatus status, Throwable error) {
+        try {
+            ByteBuffer frame;
+            if (error != null) {
+                frame = failure(id, error);
+            } else {
+                FrameWriter reply = new FrameWriter(NioProtocol.RESULT, id);
+                status.write(reply);
+                frame = reply.toBuffer();
+            }
+            reply(connection, frame);
+        } catch (IOException e) {
+            LOGGER.warning("Error respondiendo el estado: " + e.getMessage());
+        }
+    }
+    
+    private static ByteBuffer failure(int id, Throwable error) throws IOException {
+        FrameWriter frame = new FrameWriter(NioProtocol.FAILURE, id);
+        frame.writeUTF(String.valueOf(error.getMessage()));
+        return frame.toBuffer();
+    }
+    
+    /**
+     * Encola una trama desde cualquier hilo y despierta al lazo para escribirla
+     * @return false si la conexión ya está cerrada
+     */
+    boolean send(NioConnection connection, ByteBuffer frame) {
+        if (!connection.enqueue(frame)) {
+            return false;
+        }
+        wake(connection);
+        return true;
+    }
+    
+    /**
+     * Como {@link #send(NioConnection, ByteBuffer)} para una trama en dos partes
+     */
+    boolean send(NioConnection connection, ByteBuffer header, ByteBuffer body) {
+        if (!connection.enqueue(header, body)) {
+            return false;
+        }
+        wake(connection);
+        return true;
+    }
+    
+    private void wake(NioConnection connection) {
+        if (Thread.currentThread() != loop && connection.schedule()) {
+            ready.offer(connection);
+            selector.wakeup();
+        }
+    }
+    
+    private void flush(NioConnection connection) {
+        try {
+            if (connection.flush()) {
+                connection.key.interestOps(SelectionKey.OP_READ);
+            } else if (connection.isOpen()) {
+                // El socket no aceptó todo: se espera a que vuelva a poder escribir
+                connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        } catch (IOException e) {
+            LOGGER.fine("Conexión NIO descartada: " + e.getMessage());
+            close(connection);
+        } catch (RuntimeException e) {
+            LOGGER.warning("Error escribiendo a una conexión NIO, se cierra: " + e);
+            close(connection);
+        }
+    }
+    
+    private void close(NioConnection connection) {
+        connections.remove(connection);
+        connection.close();
+    }
+    
+    /**
+     * Detiene el lazo y cierra el puerto y las conexiones
+     */
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join(2000);
+            server.close();
+            selector.close();
+        } catch (IOException e) {
+            LOGGER.warning("Error cerrando el servidor NIO: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Puerto en uso (útil si se abrió con el puerto 0)
+     */
+    public int getPort() {
+        try {
+            return ((InetSocketAddress) server.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            return port;
+        }
+    }
+    
+    public int getConnectionCount() {
+        return connections.size();
+    }
+}
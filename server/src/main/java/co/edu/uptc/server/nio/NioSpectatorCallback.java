@@ -0,0 +1,37 @@
+package co.edu.uptc.server.nio;
+
+import co.edu.uptc.shared.interfaces.SpectatorCallback;
+import co.edu.uptc.shared.nio.FrameWriter;
+import co.edu.uptc.shared.nio.NioProtocol;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.rmi.ConnectException;
+import java.rmi.RemoteException;
+
+/**
+ * Callback de un espectador conectado por NIO
+ * Solo la cabecera (longitud, código e ID) es propia de la conexión; el
+ * cuerpo es una vista de la trama compartida, que no se copia.
+ */
+final class NioSpectatorCallback implements SpectatorCallback {
+    private final NioConnection connection;
+    private final int id;
+    
+    NioSpectatorCallback(NioConnection connection, int id) {
+        this.connection = connection;
+        this.id = id;
+    }
+    
+    @Override
+    public void onMoves(byte[] frame) throws RemoteException {
+        ByteBuffer header;
+        try {
+            header = new FrameWriter(NioProtocol.ON_MOVES, id).toHeader(frame.length);
+        } catch (IOException e) {
+            throw new RemoteException("Error codificando la trama de espectador", e);
+        }
+        if (!connection.send(header, ByteBuffer.wrap(frame))) {
+            throw new ConnectException("Conexión NIO cerrada o saturada");
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package co.edu.uptc.server.recovery;
+
+import co.edu.uptc.server.GameSession;
+import co.edu.uptc.server.ServerConfig;
+import co.edu.uptc.server.SessionRegistry;
+import co.edu.uptc.server.journal.Journal;
+import co.edu.uptc.server.journal.JournalReader;
+import co.edu.uptc.server.journal.JournalRecord;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Recuperación de las partidas en curso tras una caída del servidor
+ *
+ * Un hilo (snapshot-writer) guarda periódicamente una instantánea compacta de
+ * las sesiones vivas y depura los segmentos del journal que ya cubre. Al
+ * arrancar se carga la última instantánea y se aplica solo la cola del
+ * journal posterior a ella: el tiempo de recuperación depende de la actividad
+ * desde la última instantánea y no de toda la historia. Las sesiones se
+ * decodifican y se reconstruyen en paralelo; solo la lectura de la cola es
+ * secuencial (los segmentos están en orden de LSN).
+ *
+ * La instantánea toma el LSN siguiente antes de recorrer las sesiones. Cada
+ * sesión se captura con su lock, así que incluye todo registro anterior a ese
+ * LSN; los posteriores que también incluya se reconocen por su lastLsn y se
+ * saltan al reaplicar la cola.
+ */
+public class RecoveryManager {
+    private static final Logger LOGGER = Logger.getLogger(RecoveryManager.class.getName());
+    
+    private final Journal journal;
+    private final SnapshotStore store;
+    private final SessionRegistry registry;
+    private final IntSupplier nextPlayer;
+    private final LongSupplier nextSession;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean replayedTail;
+    
+    /**
+     * @param nextPlayer Próximo número de jugador a asignar
+     * @param nextSession Próximo número de sesión a asignar
+     */
+    public RecoveryManager(Journal journal, SessionRegistry registry, IntSupplier nextPlayer,
+                           LongSupplier nextSession) {
+        this.journal = journal;
+        this.registry = registry;
+        this.nextPlayer = nextPlayer;
+        this.nextSession = nextSession;
+        this.store = journal.isEnabled()
+                ? new SnapshotStore(journal.getDirectory(), ServerConfig.snapshotsKept()) : null;
+    }
+    
+    /**
+     * Sin journal no hay nada que recuperar ni instantáneas que guardar
+     */
+    public boolean isEnabled() {
+        return store != null;
+    }
+    
+    /**
+     * Reconstruye las sesiones vivas al momento de la caída
+     * Las sesiones cerradas o sin jugadores se descartan.
+     */
+    public Result recover() throws IOException {
+        if (!isEnabled()) {
+            return new Result(List.of(), 1, 1, 0, false, 0);
+        }
+        long started = System.nanoTime();
+        Map<Long, SessionState> states = new ConcurrentHashMap<>();
+        long fromLsn = 0;
+        int playerCounter = 1;
+        long sessionCounter = 1;
+        
+        SnapshotStore.Snapshot snapshot = store.loadLatest();
+        if (snapshot != null) {
+            fromLsn = snapshot.getStartLsn();
+            playerCounter = snapshot.getNextPlayer();
+            sessionCounter = snapshot.getNextSession();
+            try {
+                IntStream.range(0, snapshot.getSessionCount()).parallel().forEach(i -> {
+                    SessionState state = decode(snapshot, i);
+                    states.put(state.getNumber(), state);
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        
+        // La cola se agrupa por sesión: el orden de LSN solo importa dentro de cada una
+        Map<Long, List<JournalRecord>> tail = new HashMap<>();
+        int[] maxPlayer = new int[1];
+        long[] maxSession = new long[1];
+        long[] replayed = new long[1];
+        JournalReader.read(journal.getDirectory(), fromLsn, record -> {
+            tail.computeIfAbsent(record.getSession(), number -> new ArrayList<>()).add(record);
+            maxPlayer[0] = Math.max(maxPlayer[0], record.getPlayer());
+            maxSession[0] = Math.max(maxSession[0], record.getSession());
+            replayed[0]++;
+        });
+        replayedTail = replayed[0] > 0;
+        tail.entrySet().parallelStream().forEach(entry -> {
+            SessionState state = states.computeIfAbsent(entry.getKey(), SessionState::new);
+            for (JournalRecord record : entry.getValue()) {
+                state.apply(record);
+            }
+        });
+        
+        List<SessionState> live = states.values().stream()
+                .filter(state -> !state.isClosed() && state.getPlayerCount() > 0)
+                .sorted(Comparator.comparingLong(SessionState::getNumber))
+                .collect(Collectors.toList());
+        for (SessionState state : live) {
+            for (int slot = 0; slot < state.getPlayerCount(); slot++) {
+                maxPlayer[0] = Math.max(maxPlayer[0], state.getPlayer(slot).getNumber());
+            }
+            maxSession[0] = Math.max(maxSession[0], state.getNumber());
+        }
+        return new Result(live, Math.max(playerCounter, maxPlayer[0] + 1),
+                Math.max(sessionCounter, maxSession[0] + 1), replayed[0], snapshot != null,
+                System.nanoTime() - started);
+    }
+    
+    private static SessionState decode(SnapshotStore.Snapshot snapshot, int i) {
+        try {
+            return snapshot.session(i);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Programa las instantáneas periódicas; si la recuperación reaplicó una
+     * cola del journal, la primera se toma de inmediato para no repetirla
+     */
+    public void start() {
+        long interval = ServerConfig.snapshotIntervalMs();
+        if (!isEnabled() || interval <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::snapshotSafely, replayedTail ? 0 : interval, interval,
+                TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Guarda una instantánea de las sesiones vivas y depura el journal
+     * @return Sesiones guardadas
+     */
+    public synchronized int snapshot() throws IOException {
+        if (!isEnabled()) {
+            return 0;
+        }
+        long startLsn = journal.nextLsn();
+        int players = nextPlayer.getAsInt();
+        long sessions = nextSession.getAsLong();
+        List<SessionState> states = new ArrayList<>(registry.size());
+        for (GameSession session : registry.sessions()) {
+            SessionState state = session.capture();
+            if (state != null) {
+                states.add(state);
+            }
+        }
+        store.write(startLsn, players, sessions, states);
+        journal.deleteSegmentsBefore(store.oldestStartLsn());
+        return states.size();
+    }
+    
+    private void snapshotSafely() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            // Una excepción cancelaría las ejecuciones siguientes del scheduler
+            LOGGER.warning("Error guardando la instantánea de sesiones: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Detiene las instantáneas periódicas y guarda una última
+     */
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            try {
+                scheduler.awaitTermination(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        snapshotSafely();
+    }
+    
+    /**
+     * Resultado de una recuperación: sesiones a restaurar y contadores
+     */
+    public static final class Result {
+        private final List<SessionState> sessions;
+        private final int nextPlayer;
+        private final long nextSession;
+        private final long replayedRecords;
+        private final boolean fromSnapshot;
+        private final long elapsedNanos;
+        
+        Result(List<SessionState> sessions, int nextPlayer, long nextSession, long replayedRecords,
+               boolean fromSnapshot, long elapsedNanos) {
+            this.sessions = sessions;
+            this.nextPlayer = nextPlayer;
+            this.nextSession = nextSession;
+            this.replayedRecords = replayedRecords;
+            this.fromSnapshot = fromSnapshot;
+            this.elapsedNanos = elapsedNanos;
+        }
+        
+        // Getters simples
+        public List<SessionState> getSessions() { return sessions; }
+        public int getNextPlayer() { return nextPlayer; }
+        public long getNextSession() { return nextSession; }
+        public long getReplayedRecords() { return replayedRecords; }
+        public boolean isFromSnapshot() { return fromSnapshot; }
+        public double getElapsedMillis() { return elapsedNanos / 1e6; }
+    }
+}
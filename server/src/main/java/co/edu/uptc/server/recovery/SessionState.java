@@ -0,0 +1,249 @@
+package co.edu.uptc.server.recovery;
+
+import co.edu.uptc.server.journal.JournalRecord;
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.GameStatus;
+import co.edu.uptc.shared.model.Position;
+import co.edu.uptc.shared.model.Ship;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Estado de una sesión fuera del servidor en ejecución: lo que guarda una
+ * instantánea y lo que se reconstruye al aplicar la cola del journal
+ *
+ * No notifica ni escribe en el journal; solo GameSession.restore lo convierte
+ * en una sesión viva.
+ */
+public class SessionState {
+    private final long number;
+    private long lastLsn;
+    private long version;
+    private GameStatus.GamePhase phase = GameStatus.GamePhase.WAITING;
+    private int turnPlayer;
+    private String winnerName;
+    private boolean closed;
+    private final PlayerState[] players = new PlayerState[2];
+    
+    public SessionState(long number) {
+        this.number = number;
+    }
+    
+    /**
+     * Estado capturado de una sesión viva; los tableros deben ser copias
+     */
+    public SessionState(long number, long lastLsn, long version, GameStatus.GamePhase phase,
+                        int turnPlayer, String winnerName) {
+        this.number = number;
+        this.lastLsn = lastLsn;
+        this.version = version;
+        this.phase = phase;
+        this.turnPlayer = turnPlayer;
+        this.winnerName = winnerName;
+    }
+    
+    public void addPlayer(int playerNumber, String name, long token, Board board) {
+        int slot = players[0] == null ? 0 : 1;
+        players[slot] = new PlayerState(playerNumber, name, token, board);
+    }
+    
+    /**
+     * Aplica un registro del journal; los ya incluidos en el estado se ignoran
+     */
+    public void apply(JournalRecord record) {
+        if (record.getLsn() <= lastLsn) {
+            return;
+        }
+        lastLsn = record.getLsn();
+        version++;
+        
+        switch (record.getType()) {
+            case PLAYER_JOINED:
+                if (players[1] == null && find(record.getPlayer()) == null) {
+                    long token = (long) record.getA() << 32 | (record.getB() & 0xFFFFFFFFL);
+                    addPlayer(record.getPlayer(), record.getName(), token, new Board());
+                    if (players[1] != null) {
+                        phase = GameStatus.GamePhase.PLACING_SHIPS;
+                    }
+                }
+                break;
+            case SHIP_PLACED: {
+                PlayerState player = find(record.getPlayer());
+                if (player != null) {
+                    Position start = Position.ofIndex(record.getA());
+                    player.board.placeShip(start, endOf(start, record.getB()));
+                }
+                break;
+            }
+            case TURN_CHANGED:
+                phase = GameStatus.GamePhase.PLAYING;
+                turnPlayer = record.getPlayer();
+                break;
+            case ATTACK: {
+                PlayerState attacker = find(record.getPlayer());
+                PlayerState defender = opponentOf(record.getPlayer());
+                if (attacker != null && defender != null) {
+                    Board.AttackResult result = defender.board.receiveAttack(Position.ofIndex(record.getA()));
+                    if (result == Board.AttackResult.SUNK_AND_GAME_OVER) {
+                        phase = GameStatus.GamePhase.FINISHED;
+                        winnerName = attacker.name;
+                    }
+                }
+                break;
+            }
+            case SESSION_CLOSED:
+                closed = true;
+                break;
+            default:
+                break;
+        }
+    }
+    
+    private PlayerState find(int playerNumber) {
+        for (PlayerState player : players) {
+            if (player != null && player.number == playerNumber) {
+                return player;
+            }
+        }
+        return null;
+    }
+    
+    private PlayerState opponentOf(int playerNumber) {
+        if (players[0] != null && players[0].number == playerNumber) return players[1];
+        if (players[1] != null && players[1].number == playerNumber) return players[0];
+        return null;
+    }
+    
+    /**
+     * Formato compacto de la instantánea: los barcos como (origen, tamaño y
+     * orientación) y los ataques como bitboard; impactos y hundimientos se
+     * recalculan al leer
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeLong(number);
+        out.writeLong(lastLsn);
+        out.writeLong(version);
+        out.writeByte(phase.ordinal());
+        out.writeInt(turnPlayer);
+        out.writeBoolean(winnerName != null);
+        if (winnerName != null) {
+            out.writeUTF(winnerName);
+        }
+        out.writeByte(getPlayerCount());
+        for (PlayerState player : players) {
+            if (player == null) {
+                continue;
+            }
+            out.writeInt(player.number);
+            out.writeUTF(player.name);
+            out.writeLong(player.token);
+            writeBoard(out, player.board);
+        }
+    }
+    
+    public static SessionState read(DataInput in) throws IOException {
+        SessionState state = new SessionState(in.readLong());
+        state.lastLsn = in.readLong();
+        state.version = in.readLong();
+        state.phase = GameStatus.GamePhase.values()[in.readUnsignedByte()];
+        state.turnPlayer = in.readInt();
+        state.winnerName = in.readBoolean() ? in.readUTF() : null;
+        int count = in.readUnsignedByte();
+        for (int i = 0; i < count; i++) {
+            int playerNumber = in.readInt();
+            String name = in.readUTF();
+            long token = in.readLong();
+            state.addPlayer(playerNumber, name, token, readBoard(in));
+        }
+        return state;
+    }
+    
+    private static void writeBoard(DataOutput out, Board board) throws IOException {
+        out.writeByte(board.getShipCount());
+        for (Ship ship : board.getShips()) {
+            out.writeByte(ship.cellIndex(0));
+            out.writeByte(ship.getSize() << 1 | (ship.isHorizontal() ? 1 : 0));
+        }
+        long attacksLo = 0;
+        long attacksHi = 0;
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            if (board.isAttacked(Position.ofIndex(cell))) {
+                if (cell < 64) {
+                    attacksLo |= 1L << cell;
+                } else {
+                    attacksHi |= 1L << (cell - 64);
+                }
+            }
+        }
+        out.writeLong(attacksLo);
+        out.writeLong(attacksHi);
+    }
+    
+    private static Board readBoard(DataInput in) throws IOException {
+        Board board = new Board();
+        int ships = in.readUnsignedByte();
+        for (int i = 0; i < ships; i++) {
+            Position start = Position.ofIndex(in.readUnsignedByte());
+            board.placeShip(start, endOf(start, in.readUnsignedByte()));
+        }
+        long attacksLo = in.readLong();
+        long attacksHi = in.readLong();
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            long mask = cell < 64 ? attacksLo >>> cell : attacksHi >>> (cell - 64);
+            if ((mask & 1) != 0) {
+                board.receiveAttack(Position.ofIndex(cell));
+            }
+        }
+        return board;
+    }
+    
+    /**
+     * Extremo final de un barco dado su origen y su forma (tamaño << 1 | horizontal)
+     */
+    private static Position endOf(Position start, int shape) {
+        int last = (shape >>> 1) - 1;
+        return (shape & 1) != 0
+                ? Position.of(start.getX() + last, start.getY())
+                : Position.of(start.getX(), start.getY() + last);
+    }
+    
+    // Getters simples
+    public long getNumber() { return number; }
+    public long getLastLsn() { return lastLsn; }
+    public long getVersion() { return version; }
+    public GameStatus.GamePhase getPhase() { return phase; }
+    public int getTurnPlayer() { return turnPlayer; }
+    public String getWinnerName() { return winnerName; }
+    public boolean isClosed() { return closed; }
+    public int getPlayerCount() { return (players[0] != null ? 1 : 0) + (players[1] != null ? 1 : 0); }
+    
+    /**
+     * Jugador en la posición 0 (el que entró primero) o 1, o null
+     */
+    public PlayerState getPlayer(int slot) {
+        return players[slot];
+    }
+    
+    /**
+     * Jugador recuperado: número, nombre, token de reconexión y tablero
+     */
+    public static final class PlayerState {
+        private final int number;
+        private final String name;
+        private final long token;
+        private final Board board;
+        
+        PlayerState(int number, String name, long token, Board board) {
+            this.number = number;
+            this.name = name;
+            this.token = token;
+            this.board = board;
+        }
+        
+        public int getNumber() { return number; }
+        public String getName() { return name; }
+        public long getToken() { return token; }
+        public Board getBoard() { return board; }
+    }
+}
@@ -0,0 +1,254 @@
+package co.edu.uptc.server.recovery;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Instantáneas de las sesiones vivas, guardadas junto al journal
+ *
+ * Cada archivo (snapshot-LSN.bin) contiene las sesiones capturadas a partir
+ * del LSN indicado: al recuperar basta leer el journal desde ese LSN. Se
+ * escribe en un archivo temporal, se sincroniza y se renombra de forma
+ * atómica, así una caída a mitad de la escritura nunca deja una instantánea
+ * a medias con el nombre definitivo.
+ *
+ * Formato (big-endian):
+ * <pre>
+ * int   "BSSN"
+ * short versión
+ * long  LSN de inicio
+ * long  instante de creación
+ * int   próximo número de jugador
+ * long  próximo número de sesión
+ * int   cantidad de sesiones
+ * ...   por sesión: int longitud + bytes ({@link SessionState#write})
+ * long  CRC32 de todo lo anterior
+ * </pre>
+ */
+public class SnapshotStore {
+    private static final Logger LOGGER = Logger.getLogger(SnapshotStore.class.getName());
+    
+    public static final int MAGIC = 0x4253534E; // "BSSN"
+    public static final short VERSION = 2; // 2: token de reconexión por jugador
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+    private static final int HEADER_BYTES = 38;
+    
+    private final Path dir;
+    private final int keep;
+    
+    /**
+     * @param keep Instantáneas que se conservan; las anteriores se borran
+     */
+    public SnapshotStore(Path dir, int keep) {
+        this.dir = dir;
+        this.keep = Math.max(1, keep);
+    }
+    
+    /**
+     * Escribe una instantánea y borra las que sobran
+     * @return Archivo escrito
+     */
+    public Path write(long startLsn, int nextPlayer, long nextSession, List<SessionState> sessions) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_BYTES + sessions.size() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(startLsn);
+        out.writeLong(System.currentTimeMillis());
+        out.writeInt(nextPlayer);
+        out.writeLong(nextSession);
+        out.writeInt(sessions.size());
+        
+        // Cada sesión con su longitud: al leer se decodifican en paralelo
+        ByteArrayOutputStream block = new ByteArrayOutputStream(128);
+        DataOutputStream blockOut = new DataOutputStream(block);
+        for (SessionState session : sessions) {
+            block.reset();
+            session.write(blockOut);
+            out.writeInt(block.size());
+            block.writeTo(out);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray(), 0, bytes.size());
+        out.writeLong(crc.getValue());
+        out.flush();
+        
+        Files.createDirectories(dir);
+        Path file = dir.resolve(String.format("%s%020d%s", PREFIX, startLsn, SUFFIX));
+        Path temp = dir.resolve(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        prune();
+        return file;
+    }
+    
+    /**
+     * Carga la instantánea válida más reciente; si la última está dañada se
+     * usa la anterior
+     * @return La instantánea, o null si no hay ninguna válida
+     */
+    public Snapshot loadLatest() throws IOException {
+        List<Path> files = list();
+        for (int i = files.size() - 1; i >= 0; i--) {
+            Snapshot snapshot = load(files.get(i));
+            if (snapshot != null) {
+                return snapshot;
+            }
+            LOGGER.warning("Instantánea inválida, se intenta la anterior: " + files.get(i));
+        }
+        return null;
+    }
+    
+    private static Snapshot load(Path file) throws IOException {
+        byte[] data = Files.readAllBytes(file);
+        if (data.length < HEADER_BYTES + 8) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.BIG_ENDIAN);
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 8);
+        if (buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION
+                || buffer.getLong(data.length - 8) != crc.getValue()) {
+            return null;
+        }
+        buffer.position(6);
+        long startLsn = buffer.getLong();
+        long createdAt = buffer.getLong();
+        int nextPlayer = buffer.getInt();
+        long nextSession = buffer.getLong();
+        int count = buffer.getInt();
+        
+        // Solo se ubican los bloques; decodificarlos queda para quien los use
+        int[] offsets = new int[count];
+        int[] lengths = new int[count];
+        int position = HEADER_BYTES;
+        for (int i = 0; i < count; i++) {
+            if (position + 4 > data.length - 8) {
+                return null;
+            }
+            lengths[i] = buffer.getInt(position);
+            if (lengths[i] < 0 || lengths[i] > data.length) {
+                return null;
+            }
+            offsets[i] = position + 4;
+            position = offsets[i] + lengths[i];
+        }
+        if (position != data.length - 8) {
+            return null;
+        }
+        return new Snapshot(file, startLsn, createdAt, nextPlayer, nextSession, data, offsets, lengths);
+    }
+    
+    /**
+     * LSN de inicio de la instantánea más antigua conservada: los segmentos
+     * del journal anteriores ya no se necesitan
+     * @return El LSN, o 0 si no hay instantáneas
+     */
+    public long oldestStartLsn() throws IOException {
+        List<Path> files = list();
+        return files.isEmpty() ? 0 : startLsnOf(files.get(0));
+    }
+    
+    private void prune() throws IOException {
+        List<Path> files = list();
+        for (int i = 0; i < files.size() - keep; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+    
+    /**
+     * Instantáneas ordenadas de la más antigua a la más reciente
+     */
+    private List<Path> list() throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+    
+    private static long startLsnOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+    
+    /**
+     * Instantánea cargada: cabecera y bloques de sesión aún sin decodificar
+     */
+    public static final class Snapshot {
+        private final Path file;
+        private final long startLsn;
+        private final long createdAt;
+        private final int nextPlayer;
+        private final long nextSession;
+        private final byte[] data;
+        private final int[] offsets;
+        private final int[] lengths;
+        
+        Snapshot(Path file, long startLsn, long createdAt, int nextPlayer, long nextSession,
+                 byte[] data, int[] offsets, int[] lengths) {
+            this.file = file;
+            this.startLsn = startLsn;
+            this.createdAt = createdAt;
+            this.nextPlayer = nextPlayer;
+            this.nextSession = nextSession;
+            this.data = data;
+            this.offsets = offsets;
+            this.lengths = lengths;
+        }
+        
+        /**
+         * Decodifica la sesión i; es seguro llamarlo desde varios hilos
+         */
+        public SessionState session(int i) throws IOException {
+            return SessionState.read(new DataInputStream(new ByteArrayInputStream(data, offsets[i], lengths[i])));
+        }
+        
+        // Getters simples
+        public Path getFile() { return file; }
+        public long getStartLsn() { return startLsn; }
+        public long getCreatedAt() { return createdAt; }
+        public int getNextPlayer() { return nextPlayer; }
+        public long getNextSession() { return nextSession; }
+        public int getSessionCount() { return offsets.length; }
+    }
+}
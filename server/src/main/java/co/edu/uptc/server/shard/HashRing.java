@@ -0,0 +1,106 @@
+package co.edu.uptc.server.shard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Anillo de hashing consistente de los shards, inmutable
+ *
+ * Cada shard ocupa varios puntos virtuales del anillo para repartir las
+ * claves de forma pareja; al entrar o salir un shard solo cambian de dueño
+ * las claves de sus arcos. Se reconstruye completo ante un cambio de
+ * miembros (poco frecuente) y las búsquedas leen dos arreglos sin locks.
+ */
+final class HashRing {
+    static final HashRing EMPTY = new HashRing(new long[0], new ShardHandle[0], 0);
+    
+    private final long[] points;
+    private final ShardHandle[] owners;
+    private final int shardCount;
+    
+    private HashRing(long[] points, ShardHandle[] owners, int shardCount) {
+        this.points = points;
+        this.owners = owners;
+        this.shardCount = shardCount;
+    }
+    
+    static HashRing of(Collection<ShardHandle> shards, int virtualNodes) {
+        ShardHandle[] members = shards.toArray(new ShardHandle[0]);
+        int size = members.length * virtualNodes;
+        long[] points = new long[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = hash(members[i / virtualNodes].getName() + "#" + (i % virtualNodes));
+            order[i] = i;
+        }
+        // Orden por punto (sin signo); el índice original identifica al dueño
+        Arrays.sort(order, (a, b) -> Long.compareUnsigned(points[a], points[b]));
+        long[] sortedPoints = new long[size];
+        ShardHandle[] owners = new ShardHandle[size];
+        for (int i = 0; i < size; i++) {
+            sortedPoints[i] = points[order[i]];
+            owners[i] = members[order[i] / virtualNodes];
+        }
+        return new HashRing(sortedPoints, owners, members.length);
+    }
+    
+    /**
+     * Shards distintos en el orden en que se encuentran recorriendo el anillo
+     * en sentido horario desde el punto de la clave; el primero es su dueño
+     */
+    List<ShardHandle> walk(String key) {
+        List<ShardHandle> result = new ArrayList<>(shardCount);
+        if (points.length == 0) {
+            return result;
+        }
+        int start = ceiling(hash(key));
+        for (int i = 0; i < points.length && result.size() < shardCount; i++) {
+            ShardHandle owner = owners[(start + i) % points.length];
+            if (!result.contains(owner)) {
+                result.add(owner);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Primer punto mayor o igual al hash (sin signo); da la vuelta al final
+     */
+    private int ceiling(long hash) {
+        int low = 0;
+        int high = points.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(points[mid], hash) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low == points.length ? 0 : low;
+    }
+    
+    int size() {
+        return shardCount;
+    }
+    
+    /**
+     * FNV-1a de 64 bits con la mezcla final de MurmurHash3 para dispersar
+     * claves parecidas ("session_1", "session_2", ...)
+     */
+    static long hash(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,56 @@
+package co.edu.uptc.server.shard;
+
+import co.edu.uptc.server.ServerConfig;
+import co.edu.uptc.server.ServerMain;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Punto de entrada del lobby en modo shards
+ * Publica LobbyService en el registro RMI; los servidores de juego se inician
+ * aparte con -Dbattleship.shard.name=... y se registran solos.
+ */
+public class LobbyMain {
+    private static final Logger LOGGER = Logger.getLogger(LobbyMain.class.getName());
+    
+    public static void main(String[] args) {
+        try {
+            ServerMain.limitRmiCalls((int) ServerConfig.lobbyCallTimeoutMs());
+            int port = ServerConfig.lobbyPort();
+            LobbyRouter router = new LobbyRouter();
+            Registry registry = LocateRegistry.createRegistry(port);
+            registry.bind(LobbyRouter.SERVICE_NAME, router);
+            System.out.println("✅ Lobby publicado como '" + LobbyRouter.SERVICE_NAME + "' en puerto " + port);
+            System.out.println("   Inicia los shards con -Dbattleship.shard.name=<nombre> ServerMain");
+            
+            long interval = ServerConfig.statsLogIntervalMs();
+            ScheduledExecutorService statsLog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "stats-log");
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (interval > 0) {
+                statsLog.scheduleAtFixedRate(() -> LOGGER.info(router.getStats()),
+                        interval, interval, TimeUnit.MILLISECONDS);
+            }
+            
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                statsLog.shutdownNow();
+                router.shutdown();
+                LOGGER.info("Lobby detenido");
+            }));
+            
+            Thread.currentThread().join();
+            
+        } catch (Exception e) {
+            System.err.println("❌ Error crítico iniciando el lobby: " + e.getMessage());
+            LOGGER.severe("Error crítico en el lobby: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
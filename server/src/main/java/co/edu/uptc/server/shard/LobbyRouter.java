@@ -0,0 +1,299 @@
+package co.edu.uptc.server.shard;
+
+import co.edu.uptc.server.ServerConfig;
+import co.edu.uptc.shared.interfaces.GameCallback;
+import co.edu.uptc.shared.interfaces.LobbyService;
+import co.edu.uptc.shared.model.ShardAssignment;
+import co.edu.uptc.shared.model.ShardLoad;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Lobby del modo shards: asigna las sesiones a los servidores de juego
+ *
+ * El lobby numera las sesiones (números únicos entre shards) y las ubica con
+ * hashing consistente sobre el ID de sesión, con cargas acotadas: se recorre
+ * el anillo desde el punto de la sesión y se elige el primer shard cuya
+ * ocupación no supere loadFactor veces el promedio. Así una sesión casi
+ * siempre vive en el dueño de su arco (locate lo encuentra en la primera
+ * consulta) y ningún shard se satura. Las sesiones con un solo jugador
+ * esperan en una cola sin bloqueo, igual que en Matchmaker, y el siguiente
+ * jugador se envía al shard que la tiene. Una sesión nueva se encola antes
+ * de crearla en el shard (con creationLock, tras revisar otra vez la cola):
+ * quien la toma espera a que el creador termine y así dos jugadores que
+ * llegan a la vez con la cola vacía siempre quedan juntos. La espera y las
+ * llamadas a los shards tienen límite (battleship.lobby.callTimeoutMs).
+ *
+ * El lobby no guarda estado de las partidas: los shards reportan su carga
+ * periódicamente, y un shard sin reportes sale del anillo. Tras reiniciar el
+ * lobby, los primeros reportes le devuelven la numeración de sesiones.
+ */
+public class LobbyRouter extends UnicastRemoteObject implements LobbyService {
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOGGER = Logger.getLogger(LobbyRouter.class.getName());
+    
+    /** Nombre con el que se publica en el registro RMI */
+    public static final String SERVICE_NAME = "LobbyService";
+    private static final int CREATE_ATTEMPTS = 3;
+    
+    private final Map<String, ShardHandle> shards = new ConcurrentHashMap<>();
+    private volatile HashRing ring = HashRing.EMPTY;
+    private final Queue<OpenSession> openSessions = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sessionCounter = new AtomicLong(1);
+    private final Object creationLock = new Object();
+    private final int virtualNodes;
+    private final double loadFactor;
+    private final long timeoutNanos;
+    private final long readyWaitMs;
+    private final long readyAt;
+    private final ScheduledExecutorService sweeper;
+    
+    public LobbyRouter() throws RemoteException {
+        super();
+        long reportMs = ServerConfig.shardReportMs();
+        this.virtualNodes = ServerConfig.lobbyVirtualNodes();
+        this.loadFactor = ServerConfig.lobbyLoadFactor();
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(3 * reportMs);
+        // El creador tarda a lo más una conexión y una respuesta (ServerMain.limitRmiCalls)
+        this.readyWaitMs = 2 * ServerConfig.lobbyCallTimeoutMs();
+        // Un intervalo completo de reportes antes de numerar sesiones nuevas
+        this.readyAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(reportMs);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lobby-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweeper.scheduleWithFixedDelay(this::sweepSafely, reportMs, reportMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    public ShardAssignment joinGame(String playerName, GameCallback callback) throws RemoteException {
+        if (System.nanoTime() - readyAt < 0) {
+            return ShardAssignment.error("Lobby iniciando, intenta en un momento");
+        }
+        
+        int attempts = 0;
+        while (attempts < CREATE_ATTEMPTS) {
+            // Primero completar una sesión que espera un segundo jugador
+            OpenSession open = openSessions.poll();
+            OpenSession created = null;
+            if (open == null) {
+                synchronized (creationLock) {
+                    // Otro jugador pudo encolar una sesión entre el primer intento y el lock
+                    open = openSessions.poll();
+                    if (open == null) {
+                        long number = sessionCounter.getAndIncrement();
+                        ShardHandle shard = place("session_" + number);
+                        if (shard == null) {
+                            return ShardAssignment.error("Servidores llenos, intenta más tarde");
+                        }
+                        created = new OpenSession(number, shard);
+                        openSessions.offer(created);
+                    }
+                }
+            }
+            
+            if (created != null) {
+                // La llamada remota se hace fuera del lock
+                String result = join(created.shard, created.number, true, playerName, callback);
+                created.ready.complete(result != null);
+                if (result != null) {
+                    created.shard.sessionCreated();
+                    return new ShardAssignment(result, created.shard.getName(), created.shard.getStub());
+                }
+                openSessions.remove(created);
+                created.shard.markFull();
+                attempts++;
+            } else {
+                Boolean ready = awaitReady(open);
+                if (ready == null) {
+                    // El creador sigue esperando al shard: la sesión queda para otro jugador
+                    openSessions.offer(open);
+                    return ShardAssignment.error("El servidor de juego no responde, intenta más tarde");
+                }
+                if (ready) {
+                    String result = join(open.shard, open.number, false, playerName, callback);
+                    if (result != null) {
+                        return new ShardAssignment(result, open.shard.getName(), open.shard.getStub());
+                    }
+                }
+            }
+            // La sesión ya no acepta jugadores (cerrada, no creada o shard caído): se descarta
+        }
+        return ShardAssignment.error("Servidores llenos, intenta más tarde");
+    }
+    
+    /**
+     * Espera a que el creador de la sesión termine de crearla en el shard
+     * @return true si se creó, false si no, o null si no terminó a tiempo
+     */
+    private Boolean awaitReady(OpenSession open) {
+        try {
+            return open.ready.get(readyWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    /**
+     * @return Resultado del shard, o null si rechazó al jugador o no respondió
+     */
+    private String join(ShardHandle shard, long number, boolean create, String playerName,
+                        GameCallback callback) {
+        if (!shard.isLive(System.nanoTime(), timeoutNanos)) {
+            return null;
+        }
+        try {
+            String result = shard.getStub().joinSession(number, create, playerName, callback);
+            return result.startsWith("SUCCESS:") ? result : null;
+        } catch (RemoteException e) {
+            LOGGER.warning("Shard " + shard.getName() + " no responde: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Hashing consistente con cargas acotadas: primer shard del recorrido
+     * cuya ocupación (sesiones / capacidad) queda bajo el límite
+     */
+    ShardHandle place(String sessionId) {
+        List<ShardHandle> candidates = ring.walk(sessionId);
+        long now = System.nanoTime();
+        long sessions = 0;
+        long capacity = 0;
+        for (ShardHandle shard : candidates) {
+            if (shard.isLive(now, timeoutNanos)) {
+                sessions += shard.estimatedSessions();
+                capacity += shard.getMaxSessions();
+            }
+        }
+        if (capacity == 0) {
+            return null;
+        }
+        double limit = loadFactor * (sessions + 1) / capacity;
+        ShardHandle fallback = null;
+        for (ShardHandle shard : candidates) {
+            if (!shard.isLive(now, timeoutNanos) || !shard.hasCapacity()) {
+                continue;
+            }
+            if ((shard.estimatedSessions() + 1.0) / shard.getMaxSessions() <= limit) {
+                return shard;
+            }
+            if (fallback == null) {
+                fallback = shard;
+            }
+        }
+        return fallback;
+    }
+    
+    @Override
+    public ShardAssignment locate(String sessionId) throws RemoteException {
+        // El dueño casi siempre es el primero del recorrido; se pregunta en ese orden
+        long now = System.nanoTime();
+        for (ShardHandle shard : ring.walk(sessionId)) {
+            if (!shard.isLive(now, timeoutNanos)) {
+                continue;
+            }
+            try {
+                if (shard.getStub().hostsSession(sessionId)) {
+                    return new ShardAssignment("SUCCESS:" + sessionId, shard.getName(), shard.getStub());
+                }
+            } catch (RemoteException e) {
+                LOGGER.warning("Shard " + shard.getName() + " no responde: " + e.getMessage());
+            }
+        }
+        return ShardAssignment.error("Sesión no encontrada");
+    }
+    
+    @Override
+    public void reportLoad(ShardLoad load) throws RemoteException {
+        sessionCounter.accumulateAndGet(load.getNextSession(), Math::max);
+        ShardHandle shard = shards.get(load.getShardName());
+        if (shard != null) {
+            shard.report(load);
+            return;
+        }
+        shards.putIfAbsent(load.getShardName(), new ShardHandle(load));
+        rebuildRing();
+        LOGGER.info("Shard incorporado al anillo: " + load);
+    }
+    
+    /**
+     * Retira del anillo los shards que dejaron de reportar
+     */
+    void sweep() {
+        long now = System.nanoTime();
+        boolean removed = shards.values().removeIf(shard -> {
+            if (shard.isLive(now, timeoutNanos)) {
+                return false;
+            }
+            LOGGER.warning("Shard sin reportes, se retira del anillo: " + shard.getName());
+            return true;
+        });
+        if (removed) {
+            rebuildRing();
+        }
+    }
+    
+    private synchronized void rebuildRing() {
+        ring = HashRing.of(shards.values(), virtualNodes);
+    }
+    
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría las ejecuciones siguientes del scheduler
+            LOGGER.warning("Error revisando shards: " + e.getMessage());
+        }
+    }
+    
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+    
+    /**
+     * Estado del lobby para el log
+     */
+    public String getStats() {
+        StringBuilder stats = new StringBuilder("Shards: ").append(shards.size())
+                .append(", sesiones esperando jugador: ").append(openSessions.size());
+        for (ShardHandle shard : shards.values()) {
+            stats.append("\n  ").append(shard.getLoad());
+        }
+        return stats.toString();
+    }
+    
+    /**
+     * Sesión con un jugador esperando rival en un shard
+     * ready se completa cuando el creador sabe si el shard la aceptó.
+     */
+    private static final class OpenSession {
+        final long number;
+        final ShardHandle shard;
+        final CompletableFuture<Boolean> ready = new CompletableFuture<>();
+        
+        OpenSession(long number, ShardHandle shard) {
+            this.number = number;
+            this.shard = shard;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package co.edu.uptc.server.shard;
+
+import co.edu.uptc.shared.interfaces.ShardService;
+import co.edu.uptc.shared.model.ShardLoad;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vista del lobby sobre un shard: su stub y la última carga reportada
+ *
+ * La carga reportada llega con retraso; las sesiones que el lobby creó desde
+ * el último reporte se suman para que una ráfaga de entradas no caiga toda en
+ * el mismo shard.
+ */
+final class ShardHandle {
+    private final String name;
+    private volatile ShardService stub;
+    private volatile ShardLoad load;
+    private volatile long lastReport;
+    private final AtomicInteger createdSinceReport = new AtomicInteger();
+    
+    ShardHandle(ShardLoad load) {
+        this.name = load.getShardName();
+        report(load);
+    }
+    
+    /**
+     * Actualiza la carga; el stub cambia si el shard se reinició
+     */
+    void report(ShardLoad load) {
+        this.stub = load.getShard();
+        this.load = load;
+        this.createdSinceReport.set(0);
+        this.lastReport = System.nanoTime();
+    }
+    
+    void sessionCreated() {
+        createdSinceReport.incrementAndGet();
+    }
+    
+    /**
+     * El shard no aceptó una sesión nueva: se da por lleno hasta el próximo reporte
+     */
+    void markFull() {
+        createdSinceReport.set(Math.max(0, load.getMaxSessions() - load.getSessions()));
+    }
+    
+    boolean isLive(long now, long timeoutNanos) {
+        return now - lastReport < timeoutNanos;
+    }
+    
+    int estimatedSessions() {
+        return load.getSessions() + createdSinceReport.get();
+    }
+    
+    int getMaxSessions() {
+        return Math.max(1, load.getMaxSessions());
+    }
+    
+    boolean hasCapacity() {
+        return estimatedSessions() < load.getMaxSessions();
+    }
+    
+    // Getters simples
+    String getName() { return name; }
+    ShardService getStub() { return stub; }
+    ShardLoad getLoad() { return load; }
+    
+    @Override
+    public String toString() {
+        return name + " (" + estimatedSessions() + "/" + load.getMaxSessions() + ")";
+    }
+}
@@ -0,0 +1,67 @@
+package co.edu.uptc.server.shard;
+
+import co.edu.uptc.server.GameServiceImpl;
+import co.edu.uptc.server.ServerConfig;
+import co.edu.uptc.shared.interfaces.LobbyService;
+import java.rmi.NotBoundException;
+import java.rmi.RemoteException;
+import java.rmi.registry.LocateRegistry;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Reporta periódicamente la carga de este servidor al lobby (modo shards)
+ * El primer reporte lo incorpora al anillo y cada reporte renueva su
+ * presencia; si el lobby se reinicia, el stub se vuelve a buscar.
+ */
+public class ShardReporter {
+    private static final Logger LOGGER = Logger.getLogger(ShardReporter.class.getName());
+    
+    private final String shardName;
+    private final GameServiceImpl service;
+    private final ScheduledExecutorService scheduler;
+    private LobbyService lobby;
+    private boolean reachable = true;
+    
+    public ShardReporter(String shardName, GameServiceImpl service) {
+        this.shardName = shardName;
+        this.service = service;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shard-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    public void start() {
+        long interval = ServerConfig.shardReportMs();
+        scheduler.scheduleWithFixedDelay(this::report, 0, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+    
+    private void report() {
+        try {
+            if (lobby == null) {
+                lobby = (LobbyService) LocateRegistry.getRegistry(ServerConfig.lobbyHost(), ServerConfig.lobbyPort())
+                        .lookup(LobbyRouter.SERVICE_NAME);
+            }
+            lobby.reportLoad(service.loadReport(shardName));
+            if (!reachable) {
+                LOGGER.info("Lobby disponible de nuevo");
+                reachable = true;
+            }
+        } catch (RemoteException | NotBoundException | RuntimeException e) {
+            // Se busca de nuevo en el próximo intervalo; solo se avisa una vez
+            lobby = null;
+            if (reachable) {
+                LOGGER.warning("No se pudo reportar al lobby: " + e.getMessage());
+                reachable = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package co.edu.uptc.server.sim;
+
+import co.edu.uptc.server.ai.ShotSelector;
+import co.edu.uptc.shared.model.Board;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Caza y remate clásico, como referencia frente a la densidad
+ *
+ * Sin impactos pendientes dispara al azar en las celdas de una paridad
+ * (el barco más corto es de 2, así que siempre ocupa una); con impactos
+ * pendientes dispara a sus vecinas ortogonales, prefiriendo las que siguen
+ * la línea de dos impactos.
+ */
+final class HuntTargeter extends ShotSelector {
+    private final double[] score = new double[Board.CELLS];
+    
+    HuntTargeter(Random random) {
+        super(random);
+    }
+    
+    @Override
+    public int nextShot() {
+        Arrays.fill(score, 0);
+        boolean targeting = false;
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            if (!isHit(cell)) {
+                continue;
+            }
+            int x = cell % Board.SIZE;
+            int y = cell / Board.SIZE;
+            targeting |= mark(cell, x > 0, -1, x < Board.SIZE - 1 && isHit(cell + 1));
+            targeting |= mark(cell, x < Board.SIZE - 1, 1, x > 0 && isHit(cell - 1));
+            targeting |= mark(cell, y > 0, -Board.SIZE, y < Board.SIZE - 1 && isHit(cell + Board.SIZE));
+            targeting |= mark(cell, y < Board.SIZE - 1, Board.SIZE, y > 0 && isHit(cell - Board.SIZE));
+        }
+        if (!targeting) {
+            for (int cell = 0; cell < Board.CELLS; cell++) {
+                score[cell] = (cell % Board.SIZE + cell / Board.SIZE) % 2 == 0 ? 1 : 0;
+            }
+        }
+        return best(score);
+    }
+    
+    /**
+     * Suma a la vecina en la dirección step; más si continúa una línea de impactos
+     */
+    private boolean mark(int cell, boolean inside, int step, boolean inLine) {
+        if (!inside) {
+            return false;
+        }
+        score[cell + step] += inLine ? 4 : 1;
+        return true;
+    }
+    
+    private boolean isHit(int cell) {
+        return cell < 64 ? (hitLo & 1L << cell) != 0 : (hitHi & 1L << (cell - 64)) != 0;
+    }
+}
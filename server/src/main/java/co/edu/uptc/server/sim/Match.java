@@ -0,0 +1,72 @@
+package co.edu.uptc.server.sim;
+
+import co.edu.uptc.server.ai.ShotSelector;
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.Position;
+import co.edu.uptc.shared.model.ShipPlacement;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Una partida IA contra IA sobre el modelo Board, sin sesión ni callbacks
+ * Mismas reglas que GameSession: quien acierta sigue disparando y gana
+ * quien hunde la última pieza de la flota rival.
+ */
+final class Match {
+    
+    private Match() {
+    }
+    
+    /**
+     * Juega una partida completa
+     * @param shots Recibe los disparos de cada jugador (posición 0 para a, 1 para b)
+     * @return 0 si gana a, 1 si gana b
+     */
+    static int play(Strategy a, Strategy b, boolean aStarts, Random random, int[] shots) {
+        Board[] boards = {board(a, random), board(b, random)};
+        ShotSelector[] selectors = {a.newSelector(random), b.newSelector(random)};
+        Strategy[] strategies = {a, b};
+        shots[0] = 0;
+        shots[1] = 0;
+        int attacker = aStarts ? 0 : 1;
+        while (true) {
+            ShotSelector selector = selectors[attacker];
+            Board target = boards[1 - attacker];
+            int cell = selector.nextShot();
+            if (cell < 0) {
+                throw new IllegalStateException(strategies[attacker].getName() + " no encontró celda libre");
+            }
+            Position position = Position.ofIndex(cell);
+            Board.AttackResult result = target.receiveAttack(position);
+            shots[attacker]++;
+            switch (result) {
+                case MISS:
+                    selector.miss(cell);
+                    attacker = 1 - attacker;
+                    break;
+                case HIT:
+                    selector.hit(cell);
+                    break;
+                case SUNK:
+                    selector.hit(cell);
+                    selector.sunk(target.getShipAt(position).toPlacement());
+                    break;
+                case SUNK_AND_GAME_OVER:
+                    return attacker;
+                default:
+                    throw new IllegalStateException(strategies[attacker].getName() + " repitió la celda " + position);
+            }
+        }
+    }
+    
+    private static Board board(Strategy strategy, Random random) {
+        List<ShipPlacement> fleet = strategy.placeFleet(random);
+        Board board = new Board();
+        for (ShipPlacement ship : fleet) {
+            if (!board.placeShip(ship.getOrigin(), ship.getEnd())) {
+                throw new IllegalStateException(strategy.getName() + " colocó barcos superpuestos");
+            }
+        }
+        return board;
+    }
+}
@@ -0,0 +1,111 @@
+package co.edu.uptc.server.sim;
+
+/**
+ * Resultados acumulados de un enfrentamiento a contra b
+ * Cada hilo acumula los suyos y se combinan al final con merge.
+ */
+public final class Matchup {
+    /** Cuantil normal del intervalo de confianza del 95% */
+    private static final double Z = 1.96;
+    
+    private final String nameA;
+    private final String nameB;
+    private long games;
+    private long winsA;
+    // Disparos del ganador: suma y suma de cuadrados, por ganador
+    private long shotsA;
+    private double squaresA;
+    private long shotsB;
+    private double squaresB;
+    
+    Matchup(String nameA, String nameB) {
+        this.nameA = nameA;
+        this.nameB = nameB;
+    }
+    
+    void record(int winner, int[] shots) {
+        games++;
+        if (winner == 0) {
+            winsA++;
+            shotsA += shots[0];
+            squaresA += (double) shots[0] * shots[0];
+        } else {
+            shotsB += shots[1];
+            squaresB += (double) shots[1] * shots[1];
+        }
+    }
+    
+    void merge(Matchup other) {
+        games += other.games;
+        winsA += other.winsA;
+        shotsA += other.shotsA;
+        squaresA += other.squaresA;
+        shotsB += other.shotsB;
+        squaresB += other.squaresB;
+    }
+    
+    public String getNameA() { return nameA; }
+    public String getNameB() { return nameB; }
+    public long getGames() { return games; }
+    public long getWinsA() { return winsA; }
+    public long getWinsB() { return games - winsA; }
+    
+    public double getWinRateA() {
+        return games == 0 ? 0 : (double) winsA / games;
+    }
+    
+    /**
+     * Intervalo de Wilson del 95% para la tasa de victorias de a
+     * @return {inferior, superior}
+     */
+    public double[] getWinRateIntervalA() {
+        if (games == 0) {
+            return new double[] {0, 1};
+        }
+        double p = getWinRateA();
+        double z2 = Z * Z;
+        double center = (p + z2 / (2 * games)) / (1 + z2 / games);
+        double half = Z * Math.sqrt(p * (1 - p) / games + z2 / (4.0 * games * games)) / (1 + z2 / games);
+        return new double[] {center - half, center + half};
+    }
+    
+    /** Disparos medios de a en las partidas que ganó */
+    public double getShotsToWinA() {
+        return mean(shotsA, winsA);
+    }
+    
+    public double getShotsToWinB() {
+        return mean(shotsB, getWinsB());
+    }
+    
+    /** Semiancho del intervalo del 95% de getShotsToWinA */
+    public double getShotsToWinMarginA() {
+        return margin(shotsA, squaresA, winsA);
+    }
+    
+    public double getShotsToWinMarginB() {
+        return margin(shotsB, squaresB, getWinsB());
+    }
+    
+    private static double mean(long sum, long n) {
+        return n == 0 ? Double.NaN : (double) sum / n;
+    }
+    
+    private static double margin(long sum, double squares, long n) {
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double mean = (double) sum / n;
+        double variance = Math.max(0, (squares - n * mean * mean) / (n - 1));
+        return Z * Math.sqrt(variance / n);
+    }
+    
+    @Override
+    public String toString() {
+        double[] interval = getWinRateIntervalA();
+        return String.format("%-8s vs %-8s  partidas %,d  victorias %s %.2f%% (IC95 %.2f-%.2f%%)  "
+                + "disparos para ganar %s %.2f ±%.2f, %s %.2f ±%.2f",
+                nameA, nameB, games, nameA, 100 * getWinRateA(), 100 * interval[0], 100 * interval[1],
+                nameA, getShotsToWinA(), getShotsToWinMarginA(), nameB, getShotsToWinB(), getShotsToWinMarginB());
+    }
+}
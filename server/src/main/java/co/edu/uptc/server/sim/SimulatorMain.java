@@ -0,0 +1,51 @@
+package co.edu.uptc.server.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simulador de torneos IA contra IA, sin RMI ni notificaciones
+ *
+ * Parámetros (propiedades del sistema):
+ * battleship.sim.strategies - estrategias separadas por coma (por defecto todas)
+ * battleship.sim.games      - partidas por enfrentamiento (1000000)
+ * battleship.sim.seed       - semilla del torneo (42)
+ * battleship.sim.threads    - hilos (todos los núcleos)
+ * Reporta tasa de victorias con su intervalo de confianza, disparos medios
+ * para ganar y partidas por minuto.
+ */
+public class SimulatorMain {
+    
+    public static void main(String[] args) throws Exception {
+        String names = System.getProperty("battleship.sim.strategies", String.join(",", Strategies.names()));
+        long games = Long.getLong("battleship.sim.games", 1_000_000);
+        long seed = Long.getLong("battleship.sim.seed", 42);
+        int threads = Integer.getInteger("battleship.sim.threads", Runtime.getRuntime().availableProcessors());
+        
+        List<Strategy> strategies = new ArrayList<>();
+        for (String name : names.split(",")) {
+            Strategy strategy = Strategies.byName(name.trim());
+            if (strategy == null) {
+                System.err.println("Estrategia desconocida: " + name.trim() + " (disponibles: "
+                        + String.join(", ", Strategies.names()) + ")");
+                System.exit(1);
+                return;
+            }
+            strategies.add(strategy);
+        }
+        
+        Tournament tournament = new Tournament(strategies, games, seed, threads);
+        System.out.printf("Torneo: %s, %,d partidas por enfrentamiento, semilla %d, %d hilos%n",
+                names, games, seed, threads);
+        long start = System.nanoTime();
+        List<Matchup> results = tournament.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        long total = 0;
+        for (Matchup matchup : results) {
+            System.out.println(matchup);
+            total += matchup.getGames();
+        }
+        System.out.printf("%,d partidas en %.1f s (%,.0f partidas/min)%n", total, seconds, total / seconds * 60);
+    }
+}
@@ -0,0 +1,98 @@
+package co.edu.uptc.server.sim;
+
+import co.edu.uptc.server.ai.DensityTargeter;
+import co.edu.uptc.server.ai.EndgameSolver;
+import co.edu.uptc.server.ai.EndgameTargeter;
+import co.edu.uptc.server.ai.ShotSelector;
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.FleetRules;
+import co.edu.uptc.shared.model.ShipPlacement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Estrategias incluidas, todas con flota aleatoria (FleetRules.randomFleet)
+ *
+ * random  - disparos al azar, sin repetir ni tocar el halo de los hundidos
+ * hunt    - caza por paridad y remate por vecinas
+ * density - el selector por densidad de la IA del servidor (nivel normal)
+ * endgame - density con el final exacto (EndgameSolver) sin pool ni límite
+ *           de tiempo, solo con pocas candidatas para que sea repetible
+ *
+ * El Monte Carlo de la IA difícil no se incluye: muestrea con generadores
+ * por hilo y un límite de tiempo, así que sus partidas no se repiten con
+ * la semilla, y cuesta milisegundos por disparo.
+ */
+public final class Strategies {
+    
+    private static final Map<String, Strategy> BUILT_IN = new LinkedHashMap<>();
+    // Con hasta 12 candidatas la búsqueda exacta tarda pocos milisegundos
+    private static final int ENDGAME_CANDIDATES = 12;
+    
+    static {
+        register(of("random", RandomTargeter::new));
+        register(of("hunt", HuntTargeter::new));
+        register(of("density", DensityTargeter::new));
+        register(of("endgame", random -> new EndgameTargeter(new DensityTargeter(random),
+                new EndgameSolver(null, Long.MAX_VALUE / 2, 2, ENDGAME_CANDIDATES, Integer.MAX_VALUE), random)));
+    }
+    
+    private Strategies() {
+    }
+    
+    private static void register(Strategy strategy) {
+        BUILT_IN.put(strategy.getName(), strategy);
+    }
+    
+    /**
+     * @return La estrategia incluida con ese nombre, o null si no existe
+     */
+    public static Strategy byName(String name) {
+        return BUILT_IN.get(name);
+    }
+    
+    public static List<String> names() {
+        return List.copyOf(BUILT_IN.keySet());
+    }
+    
+    /**
+     * Estrategia con flota aleatoria y el selector dado
+     */
+    public static Strategy of(String name, Function<Random, ShotSelector> selector) {
+        return new Strategy() {
+            @Override
+            public String getName() {
+                return name;
+            }
+            
+            @Override
+            public List<ShipPlacement> placeFleet(Random random) {
+                return FleetRules.randomFleet(random);
+            }
+            
+            @Override
+            public ShotSelector newSelector(Random random) {
+                return selector.apply(random);
+            }
+        };
+    }
+    
+    /**
+     * Celda libre al azar: el desempate de best sobre puntajes en cero
+     */
+    private static final class RandomTargeter extends ShotSelector {
+        private final double[] zero = new double[Board.CELLS];
+        
+        RandomTargeter(Random random) {
+            super(random);
+        }
+        
+        @Override
+        public int nextShot() {
+            return best(zero);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package co.edu.uptc.server.sim;
+
+import co.edu.uptc.server.ai.ShotSelector;
+import co.edu.uptc.shared.model.ShipPlacement;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Estrategia de un jugador del simulador: cómo coloca su flota y cómo elige
+ * sus disparos
+ *
+ * Toda la aleatoriedad debe salir del Random recibido para que una partida
+ * se repita igual con la misma semilla. Las instancias se comparten entre
+ * hilos; el estado de cada partida vive en el ShotSelector que se crea para
+ * ella.
+ */
+public interface Strategy {
+    
+    String getName();
+    
+    /**
+     * Flota que cumpla FleetRules.checkFleet
+     */
+    List<ShipPlacement> placeFleet(Random random);
+    
+    /**
+     * Selector nuevo para una partida; recibe los resultados de sus disparos
+     */
+    ShotSelector newSelector(Random random);
+}
@@ -0,0 +1,128 @@
+package co.edu.uptc.server.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Torneo todos contra todos entre estrategias, en paralelo sobre varios hilos
+ *
+ * Cada enfrentamiento se parte en bloques fijos de partidas que los hilos
+ * toman de una cola; cada bloque acumula su propio Matchup y al final se
+ * combinan en orden. La semilla de cada partida sale de la semilla del
+ * torneo, el enfrentamiento y el número de partida, así que el resultado
+ * es el mismo con cualquier cantidad de hilos. Las partidas pares las
+ * empieza a y las impares b, para no favorecer a quien sale primero.
+ */
+public final class Tournament {
+    
+    /** Partidas por bloque de trabajo */
+    static final int CHUNK = 4096;
+    
+    private final List<Strategy> strategies;
+    private final long gamesPerMatchup;
+    private final long seed;
+    private final int threads;
+    
+    public Tournament(List<Strategy> strategies, long gamesPerMatchup, long seed, int threads) {
+        if (strategies.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos una estrategia");
+        }
+        this.strategies = List.copyOf(strategies);
+        this.gamesPerMatchup = gamesPerMatchup;
+        this.seed = seed;
+        this.threads = threads;
+    }
+    
+    /**
+     * Enfrentamientos del torneo: cada par una vez, o la estrategia contra
+     * sí misma si hay una sola
+     */
+    public List<Matchup> pairings() {
+        List<Matchup> pairings = new ArrayList<>();
+        if (strategies.size() == 1) {
+            String name = strategies.get(0).getName();
+            pairings.add(new Matchup(name, name));
+        }
+        for (int i = 0; i < strategies.size(); i++) {
+            for (int j = i + 1; j < strategies.size(); j++) {
+                pairings.add(new Matchup(strategies.get(i).getName(), strategies.get(j).getName()));
+            }
+        }
+        return pairings;
+    }
+    
+    public List<Matchup> run() throws InterruptedException {
+        List<Matchup> results = pairings();
+        List<Strategy[]> players = new ArrayList<>();
+        if (strategies.size() == 1) {
+            players.add(new Strategy[] {strategies.get(0), strategies.get(0)});
+        }
+        for (int i = 0; i < strategies.size(); i++) {
+            for (int j = i + 1; j < strategies.size(); j++) {
+                players.add(new Strategy[] {strategies.get(i), strategies.get(j)});
+            }
+        }
+        
+        AtomicInteger counter = new AtomicInteger(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "sim-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<List<Future<Matchup>>> chunks = new ArrayList<>();
+            for (int m = 0; m < results.size(); m++) {
+                List<Future<Matchup>> futures = new ArrayList<>();
+                for (long start = 0; start < gamesPerMatchup; start += CHUNK) {
+                    long end = Math.min(gamesPerMatchup, start + CHUNK);
+                    int matchup = m;
+                    long first = start;
+                    Strategy[] pair = players.get(m);
+                    futures.add(executor.submit(() -> play(matchup, pair[0], pair[1], first, end)));
+                }
+                chunks.add(futures);
+            }
+            for (int m = 0; m < results.size(); m++) {
+                for (Future<Matchup> future : chunks.get(m)) {
+                    results.get(m).merge(future.get());
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló una partida del torneo", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+    
+    private Matchup play(int matchup, Strategy a, Strategy b, long first, long end) {
+        Matchup tally = new Matchup(a.getName(), b.getName());
+        Random random = new Random();
+        int[] shots = new int[2];
+        for (long game = first; game < end; game++) {
+            random.setSeed(gameSeed(matchup, game));
+            tally.record(Match.play(a, b, (game & 1) == 0, random, shots), shots);
+        }
+        return tally;
+    }
+    
+    /**
+     * Semilla de una partida, mezclada para que partidas vecinas no se parezcan
+     */
+    long gameSeed(int matchup, long game) {
+        long z = seed + 0x9E3779B97F4A7C15L * (game + 1) + 0xBF58476D1CE4E5B9L * (matchup + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    public long getGamesPerMatchup() { return gamesPerMatchup; }
+    public long getSeed() { return seed; }
+    public int getThreads() { return threads; }
+}
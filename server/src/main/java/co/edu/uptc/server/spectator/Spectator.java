@@ -0,0 +1,55 @@
+package co.edu.uptc.server.spectator;
+
+import co.edu.uptc.shared.interfaces.SpectatorCallback;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Espectador suscrito a una sesión: cola acotada de tramas ya codificadas
+ * Las tramas son arreglos compartidos con los demás espectadores; nunca se modifican.
+ */
+final class Spectator {
+    final String id;
+    final SpectatorCallback callback;
+    
+    private final ArrayBlockingQueue<byte[]> queue;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    // Fallos seguidos; solo lo toca el hilo que drena
+    int failures;
+    
+    Spectator(String id, SpectatorCallback callback, int capacity) {
+        this.id = id;
+        this.callback = callback;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+    
+    boolean offer(byte[] frame) {
+        return queue.offer(frame);
+    }
+    
+    /**
+     * Descarta las tramas pendientes y deja solo la instantánea
+     * Se llama con el lock de la sesión, así que nadie más encola en medio.
+     */
+    void conflate(byte[] snapshot) {
+        queue.clear();
+        queue.offer(snapshot);
+    }
+    
+    byte[] poll() {
+        return queue.poll();
+    }
+    
+    boolean isEmpty() {
+        return queue.isEmpty();
+    }
+    
+    /** Intenta tomar el derecho exclusivo de drenar la cola */
+    boolean tryClaim() {
+        return draining.compareAndSet(false, true);
+    }
+    
+    void release() {
+        draining.set(false);
+    }
+}
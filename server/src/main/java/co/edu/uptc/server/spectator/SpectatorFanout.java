@@ -0,0 +1,151 @@
+package co.edu.uptc.server.spectator;
+
+import java.rmi.RemoteException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Pool que entrega las tramas de los espectadores, separado del de los jugadores
+ *
+ * Igual que CallbackDispatcher, cada espectador se drena por un solo hilo a la
+ * vez y cede el hilo tras un lote. Un espectador lento nunca ocupa los hilos
+ * de callbacks de los jugadores; como mucho retrasa a otros espectadores.
+ */
+public class SpectatorFanout {
+    private static final Logger LOGGER = Logger.getLogger(SpectatorFanout.class.getName());
+    
+    // Tramas entregadas por turno de drenado antes de ceder el hilo
+    private static final int DRAIN_BATCH = 16;
+    // Fallos seguidos tras los que se da de baja al espectador
+    private static final int MAX_FAILURES = 3;
+    
+    private final ExecutorService workers;
+    private final int queueCapacity;
+    private final int maxPerSession;
+    
+    // Métricas
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder removed = new LongAdder();
+    
+    /**
+     * @param threads Hilos de entrega
+     * @param queueCapacity Tramas pendientes por espectador antes de resumirlas en una instantánea
+     * @param maxPerSession Espectadores máximos por sesión
+     */
+    public SpectatorFanout(int threads, int queueCapacity, int maxPerSession) {
+        AtomicInteger counter = new AtomicInteger(1);
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "spectator-fanout-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.queueCapacity = queueCapacity;
+        this.maxPerSession = maxPerSession;
+    }
+    
+    int getQueueCapacity() {
+        return queueCapacity;
+    }
+    
+    int getMaxPerSession() {
+        return maxPerSession;
+    }
+    
+    void recordPublished() {
+        published.increment();
+    }
+    
+    void recordConflated() {
+        conflated.increment();
+    }
+    
+    void schedule(SpectatorHub hub, Spectator spectator) {
+        if (spectator.tryClaim()) {
+            workers.execute(() -> drain(hub, spectator));
+        }
+    }
+    
+    private void drain(SpectatorHub hub, Spectator spectator) {
+        int deliveredNow = 0;
+        byte[] frame;
+        while ((frame = spectator.poll()) != null) {
+            if (!deliver(hub, spectator, frame)) {
+                spectator.release();
+                return;
+            }
+            if (++deliveredNow == DRAIN_BATCH && !spectator.isEmpty()) {
+                workers.execute(() -> drain(hub, spectator));
+                return;
+            }
+        }
+        spectator.release();
+        // Una trama pudo llegar entre el último poll y release
+        if (!spectator.isEmpty()) {
+            schedule(hub, spectator);
+        }
+    }
+    
+    /**
+     * @return false si el espectador se dio de baja por fallos repetidos
+     */
+    private boolean deliver(SpectatorHub hub, Spectator spectator, byte[] frame) {
+        try {
+            spectator.callback.onMoves(frame);
+            spectator.failures = 0;
+            delivered.increment();
+            return true;
+        } catch (RemoteException | RuntimeException e) {
+            failed.increment();
+            if (++spectator.failures < MAX_FAILURES) {
+                return true;
+            }
+            LOGGER.info("Espectador " + spectator.id + " dado de baja: " + e.getMessage());
+            hub.unsubscribe(spectator.id);
+            removed.increment();
+            return false;
+        }
+    }
+    
+    /**
+     * Detiene los hilos de entrega esperando brevemente las tramas pendientes
+     */
+    public void shutdown() {
+        workers.shutdown();
+        try {
+            workers.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    // === Métricas ===
+    
+    /** Tramas codificadas (una por jugada, sin importar cuántos espectadores haya) */
+    public long getPublishedCount() {
+        return published.sum();
+    }
+    
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+    
+    /** Veces que un espectador lento perdió sus tramas pendientes a cambio de una instantánea */
+    public long getConflatedCount() {
+        return conflated.sum();
+    }
+    
+    public long getFailedCount() {
+        return failed.sum();
+    }
+    
+    public long getRemovedCount() {
+        return removed.sum();
+    }
+}
@@ -0,0 +1,117 @@
+package co.edu.uptc.server.spectator;
+
+import co.edu.uptc.shared.event.GameEvent;
+import co.edu.uptc.shared.event.SpectatorFrame;
+import co.edu.uptc.shared.interfaces.SpectatorCallback;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Espectadores de una sesión y su flujo de jugadas
+ *
+ * Cada jugada se codifica una sola vez en una trama inmutable que comparten
+ * todos los espectadores. Si la cola de uno está llena, sus tramas pendientes
+ * se reemplazan por una instantánea del estado, construida a lo sumo una vez
+ * por jugada: el espectador lento se salta jugadas y los jugadores no esperan.
+ * subscribe, publish y close se llaman con el lock de la sesión tomado.
+ */
+public final class SpectatorHub {
+    private final String sessionId;
+    private final SpectatorFanout fanout;
+    private final Supplier<List<GameEvent>> snapshot;
+    private final List<Spectator> spectators = new CopyOnWriteArrayList<>();
+    private long sequence;
+    private int nextId = 1;
+    private boolean closed;
+    
+    /**
+     * @param snapshot Eventos que describen el estado actual de la partida
+     */
+    public SpectatorHub(String sessionId, SpectatorFanout fanout, Supplier<List<GameEvent>> snapshot) {
+        this.sessionId = sessionId;
+        this.fanout = fanout;
+        this.snapshot = snapshot;
+    }
+    
+    /**
+     * Suscribe un espectador y le encola la instantánea inicial
+     * @return ID del espectador ("sessionId/n"), o null si la sesión está cerrada o llena
+     */
+    public String subscribe(SpectatorCallback callback) {
+        if (closed || spectators.size() >= fanout.getMaxPerSession()) {
+            return null;
+        }
+        Spectator spectator = new Spectator(sessionId + "/" + nextId++, callback, fanout.getQueueCapacity());
+        spectator.offer(SpectatorFrame.encode(sequence, SpectatorFrame.SNAPSHOT, snapshot.get()));
+        spectators.add(spectator);
+        fanout.schedule(this, spectator);
+        return spectator.id;
+    }
+    
+    /**
+     * Da de baja a un espectador; las tramas que tenga pendientes se descartan
+     */
+    public boolean unsubscribe(String spectatorId) {
+        for (Spectator spectator : spectators) {
+            if (spectator.id.equals(spectatorId)) {
+                return spectators.remove(spectator);
+            }
+        }
+        return false;
+    }
+    
+    public boolean hasSpectators() {
+        return !spectators.isEmpty();
+    }
+    
+    public int size() {
+        return spectators.size();
+    }
+    
+    /**
+     * Publica los eventos de una jugada (vista neutral) a todos los espectadores
+     */
+    public void publish(List<GameEvent> events) {
+        if (closed || spectators.isEmpty()) {
+            return;
+        }
+        sequence++;
+        byte[] frame = SpectatorFrame.encode(sequence, 0, events);
+        fanout.recordPublished();
+        byte[] summary = null;
+        for (Spectator spectator : spectators) {
+            if (!spectator.offer(frame)) {
+                if (summary == null) {
+                    summary = SpectatorFrame.encode(sequence, SpectatorFrame.SNAPSHOT, snapshot.get());
+                }
+                spectator.conflate(summary);
+                fanout.recordConflated();
+            }
+            fanout.schedule(this, spectator);
+        }
+    }
+    
+    /**
+     * Envía la trama final a los espectadores y los da de baja
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (spectators.isEmpty()) {
+            return;
+        }
+        byte[] frame = SpectatorFrame.encode(sequence + 1, SpectatorFrame.SNAPSHOT | SpectatorFrame.CLOSED,
+                snapshot.get());
+        for (Spectator spectator : spectators) {
+            // La última trama siempre llega, aunque el espectador vaya atrasado
+            if (!spectator.offer(frame)) {
+                spectator.conflate(frame);
+            }
+            fanout.schedule(this, spectator);
+        }
+        spectators.clear();
+    }
+}
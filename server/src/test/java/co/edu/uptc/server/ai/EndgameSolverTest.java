@@ -0,0 +1,227 @@
+package co.edu.uptc.server.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import co.edu.uptc.shared.model.Position;
+import co.edu.uptc.shared.model.ShipPlacement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * EndgameSolver contra una búsqueda exhaustiva sin podas en un tablero reducido
+ *
+ * Quedan a flote un barco de 3 y uno de 2 dentro de una zona de 4x3 celdas;
+ * el resto del tablero está bloqueado. Todas las celdas de la zona son
+ * menores que 64, así que los conjuntos caben en un long.
+ */
+class EndgameSolverTest {
+    private static final int WIDTH = 4;
+    private static final int HEIGHT = 3;
+    private static final int[] SIZES = {3, 2};
+    
+    private final List<ShipPlacement[]> candidates = new ArrayList<>();
+    private final List<Long> masks = new ArrayList<>();
+    private final Map<String, Double> memo = new HashMap<>();
+    
+    @Test
+    void everyShotIsOptimal() {
+        enumerate();
+        assertTrue(candidates.size() > 1 && candidates.size() <= EndgameSolver.MAX_CANDIDATES);
+        // Cada colocación posible como la real: el solver juega hasta hundir ambos barcos
+        for (int truth = 0; truth < candidates.size(); truth++) {
+            playAgainst(truth);
+        }
+    }
+    
+    private void playAgainst(int truth) {
+        EndgameSolver solver = new EndgameSolver(null, Long.MAX_VALUE / 2, 2, EndgameSolver.MAX_CANDIDATES,
+                Integer.MAX_VALUE);
+        Known known = new Known();
+        long set = candidates.size() == 64 ? -1L : (1L << candidates.size()) - 1;
+        long shots = 0L;
+        for (int turn = 0; turn < WIDTH * HEIGHT; turn++) {
+            int cell = solver.solve(known);
+            assertNotEquals(-1, cell);
+            assertTrue(cell < 64 && (shots & 1L << cell) == 0, "celda " + cell);
+            assertEquals(value(set, shots), expected(set, shots, cell), 1e-9,
+                    "disparo " + cell + " con " + Long.bitCount(set) + " candidatas");
+            
+            String answer = answer(truth, cell, shots | 1L << cell);
+            set = split(set, cell, shots | 1L << cell).get(answer);
+            shots |= 1L << cell;
+            if (answer.equals("fin")) {
+                return;
+            } else if (answer.equals("agua")) {
+                known.miss(cell);
+            } else if (answer.equals("tocado")) {
+                known.hit(cell);
+            } else {
+                known.hit(cell);
+                known.sunk(shipAt(truth, cell));
+            }
+        }
+        throw new AssertionError("No terminó contra la candidata " + truth);
+    }
+    
+    /**
+     * Colocaciones de los dos barcos dentro de la zona sin tocarse
+     */
+    private void enumerate() {
+        List<ShipPlacement> threes = placements(SIZES[0]);
+        List<ShipPlacement> twos = placements(SIZES[1]);
+        for (ShipPlacement three : threes) {
+            for (ShipPlacement two : twos) {
+                if (!touch(three, two)) {
+                    candidates.add(new ShipPlacement[] {three, two});
+                    masks.add(mask(three) | mask(two));
+                }
+            }
+        }
+    }
+    
+    private static List<ShipPlacement> placements(int size) {
+        List<ShipPlacement> result = new ArrayList<>();
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                if (x + size <= WIDTH) {
+                    result.add(new ShipPlacement(Position.of(x, y), size, true));
+                }
+                if (y + size <= HEIGHT) {
+                    result.add(new ShipPlacement(Position.of(x, y), size, false));
+                }
+            }
+        }
+        return result;
+    }
+    
+    private static boolean touch(ShipPlacement a, ShipPlacement b) {
+        for (Position p : cells(a)) {
+            for (Position q : cells(b)) {
+                if (Math.abs(p.getX() - q.getX()) <= 1 && Math.abs(p.getY() - q.getY()) <= 1) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private static List<Position> cells(ShipPlacement ship) {
+        List<Position> cells = new ArrayList<>();
+        for (int i = 0; i < ship.getSize(); i++) {
+            cells.add(ship.isHorizontal()
+                    ? Position.of(ship.getOrigin().getX() + i, ship.getOrigin().getY())
+                    : Position.of(ship.getOrigin().getX(), ship.getOrigin().getY() + i));
+        }
+        return cells;
+    }
+    
+    private static long mask(ShipPlacement ship) {
+        long mask = 0L;
+        for (Position cell : cells(ship)) {
+            mask |= 1L << cell.getIndex();
+        }
+        return mask;
+    }
+    
+    private ShipPlacement shipAt(int k, int cell) {
+        for (ShipPlacement ship : candidates.get(k)) {
+            if ((mask(ship) & 1L << cell) != 0) {
+                return ship;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Respuesta del servidor si la candidata k fuera la real
+     */
+    private String answer(int k, int cell, long shots) {
+        if ((masks.get(k) & 1L << cell) == 0) {
+            return "agua";
+        }
+        if ((masks.get(k) & ~shots) == 0) {
+            return "fin";
+        }
+        ShipPlacement ship = shipAt(k, cell);
+        return (mask(ship) & ~shots) == 0 ? "hundido " + ship : "tocado";
+    }
+    
+    private Map<String, Long> split(long set, int cell, long shots) {
+        Map<String, Long> groups = new LinkedHashMap<>();
+        for (int k = 0; k < candidates.size(); k++) {
+            if ((set & 1L << k) != 0) {
+                groups.merge(answer(k, cell, shots), 1L << k, (x, y) -> x | y);
+            }
+        }
+        return groups;
+    }
+    
+    /**
+     * Esperanza óptima de disparos restantes, probando todas las celdas
+     */
+    private double value(long set, long shots) {
+        String key = set + ":" + shots;
+        Double known = memo.get(key);
+        if (known != null) {
+            return known;
+        }
+        long union = 0L;
+        for (int k = 0; k < candidates.size(); k++) {
+            if ((set & 1L << k) != 0) {
+                union |= masks.get(k) & ~shots;
+            }
+        }
+        double best = union == 0 ? 0 : Double.POSITIVE_INFINITY;
+        for (long bits = union; bits != 0; bits &= bits - 1) {
+            best = Math.min(best, expected(set, shots, Long.numberOfTrailingZeros(bits)));
+        }
+        memo.put(key, best);
+        return best;
+    }
+    
+    private double expected(long set, long shots, int cell) {
+        long next = shots | 1L << cell;
+        double total = 1;
+        int n = Long.bitCount(set);
+        for (Map.Entry<String, Long> group : split(set, cell, next).entrySet()) {
+            if (!group.getKey().equals("fin")) {
+                total += Long.bitCount(group.getValue()) * value(group.getValue(), next) / n;
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * Conocimiento de la IA: solo quedan los barcos de la prueba y la zona libre
+     */
+    private static final class Known extends ShotSelector {
+        Known() {
+            super(new Random(1));
+            Arrays.fill(afloat, 0);
+            for (int size : SIZES) {
+                afloat[size]++;
+            }
+            long zone = 0L;
+            for (int y = 0; y < HEIGHT; y++) {
+                for (int x = 0; x < WIDTH; x++) {
+                    zone |= 1L << Position.of(x, y).getIndex();
+                }
+            }
+            blockedLo = ~zone;
+            blockedHi = -1L;
+        }
+        
+        @Override
+        public int nextShot() {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package co.edu.uptc.server.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Journal escrito y leído de vuelta con JournalReader, incluidas casillas dañadas
+ */
+class JournalTest {
+    // 16 registros por segmento: pocos registros ya ocupan varios archivos
+    private static final int SEGMENT_BYTES = 16 * Journal.RECORD_SIZE;
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void recordsRoundTripAcrossSegments() throws IOException {
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES, 1, 0)) {
+            assertTrue(journal.isEnabled());
+            assertEquals(1, journal.playerJoined(7, 3, "Ana", 0x1234567890ABCDEFL));
+            for (int i = 0; i < 39; i++) {
+                assertEquals(i + 2, journal.append(RecordType.ATTACK, 7, 3, i % 100, i % 5));
+            }
+        }
+        assertEquals(3, JournalReader.listSegments(dir).size());
+        
+        List<JournalRecord> records = readAll();
+        assertEquals(40, records.size());
+        JournalRecord joined = records.get(0);
+        assertEquals(1, joined.getLsn());
+        assertEquals(RecordType.PLAYER_JOINED, joined.getType());
+        assertEquals(7, joined.getSession());
+        assertEquals(3, joined.getPlayer());
+        assertEquals("Ana", joined.getName());
+        assertEquals(0x1234567890ABCDEFL, (long) joined.getA() << 32 | (joined.getB() & 0xFFFFFFFFL));
+        for (int i = 0; i < 39; i++) {
+            JournalRecord record = records.get(i + 1);
+            assertEquals(i + 2, record.getLsn());
+            assertEquals(RecordType.ATTACK, record.getType());
+            assertEquals(i % 100, record.getA());
+            assertEquals(i % 5, record.getB());
+            assertNull(record.getName());
+        }
+    }
+    
+    @Test
+    void reopenedJournalContinuesAfterLastLsn() throws IOException {
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES, 1, 0)) {
+            for (int i = 0; i < 5; i++) {
+                journal.append(RecordType.TURN_CHANGED, 1, 1, 0, 0);
+            }
+        }
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES, 1, 0)) {
+            assertEquals(6, journal.nextLsn());
+            assertEquals(6, journal.append(RecordType.SESSION_CLOSED, 1, 0, 0, 0));
+        }
+        List<JournalRecord> records = readAll();
+        assertEquals(6, records.size());
+        assertEquals(RecordType.SESSION_CLOSED, records.get(5).getType());
+    }
+    
+    @Test
+    void readerSkipsTornAndCorruptRecords() throws IOException {
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES, 1, 0)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(RecordType.ATTACK, 2, 1, i, 0);
+            }
+        }
+        Path segment = JournalReader.listSegments(dir).get(0);
+        // LSN 3: casilla sin LSN, como si la caída ocurriera antes de escribirla
+        overwrite(segment, offsetOf(3), ByteBuffer.allocate(8));
+        // LSN 5: un campo cambiado ya no coincide con la suma de verificación
+        overwrite(segment, offsetOf(5) + 24, ByteBuffer.allocate(4).putInt(0, 99));
+        
+        List<Long> lsns = new ArrayList<>();
+        long last = JournalReader.read(dir, record -> lsns.add(record.getLsn()));
+        assertEquals(List.of(1L, 2L, 4L, 6L, 7L, 8L, 9L, 10L), lsns);
+        assertEquals(10, last);
+    }
+    
+    @Test
+    void readFromLsnSkipsEarlierRecords() throws IOException {
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES, 1, 0)) {
+            for (int i = 0; i < 40; i++) {
+                journal.append(RecordType.ATTACK, 2, 1, i, 0);
+            }
+        }
+        List<Long> lsns = new ArrayList<>();
+        JournalReader.read(dir, 35, record -> lsns.add(record.getLsn()));
+        assertEquals(List.of(35L, 36L, 37L, 38L, 39L, 40L), lsns);
+    }
+    
+    @Test
+    void appendAfterCloseIsIgnored() throws IOException {
+        Journal journal = Journal.open(dir, SEGMENT_BYTES, 1, 0);
+        journal.append(RecordType.ATTACK, 2, 1, 0, 0);
+        journal.close();
+        assertEquals(0, journal.append(RecordType.ATTACK, 2, 1, 1, 0));
+        assertEquals(1, readAll().size());
+    }
+    
+    private List<JournalRecord> readAll() throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        JournalReader.read(dir, records::add);
+        return records;
+    }
+    
+    /**
+     * Posición del registro en el primer segmento: la casilla 0 es la cabecera
+     */
+    private static long offsetOf(long lsn) {
+        return lsn * Journal.RECORD_SIZE;
+    }
+    
+    private static void overwrite(Path file, long offset, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(bytes, offset);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package co.edu.uptc.server.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Límites de las casillas del histograma y percentiles aproximados
+ */
+class LatencyHistogramTest {
+    
+    @Test
+    void smallValuesAreExact() {
+        for (int value = 0; value < 8; value++) {
+            assertEquals(value, LatencyHistogram.bucketOf(value));
+            assertEquals(value, LatencyHistogram.upperBound(value));
+        }
+    }
+    
+    @Test
+    void bucketsAreContiguous() {
+        // Cada casilla empieza justo después de la anterior
+        for (long value = 1; value < 1 << 16; value++) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            int previous = LatencyHistogram.bucketOf(value - 1);
+            assertTrue(bucket == previous || bucket == previous + 1, "valor " + value);
+            if (bucket != previous) {
+                assertEquals(value - 1, LatencyHistogram.upperBound(previous), "valor " + value);
+            }
+        }
+    }
+    
+    @Test
+    void valueFitsItsBucketWithinRelativeError() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            checkBounds(value);
+        }
+        for (int shift = 0; shift < 63; shift++) {
+            checkBounds(1L << shift);
+            checkBounds((1L << shift) - 1);
+            checkBounds((1L << shift) + 1);
+        }
+        checkBounds(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+    }
+    
+    @Test
+    void percentilesOfUniformValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-5);
+        assertEquals(1001, histogram.getCount());
+        assertEquals(1000, histogram.getMaxNanos());
+        assertEquals(500500.0 / 1001, histogram.getMeanNanos(), 1e-9);
+        assertEquals(1000, histogram.percentileNanos(100));
+        assertEquals(0, histogram.percentileNanos(0));
+        long median = histogram.percentileNanos(50);
+        assertTrue(median >= 500 && median <= 500 * 1.125, "p50 = " + median);
+        long p99 = histogram.percentileNanos(99);
+        assertTrue(p99 >= 990 && p99 <= 1000, "p99 = " + p99);
+    }
+    
+    @Test
+    void emptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentileNanos(99));
+        assertEquals(0.0, histogram.getMeanNanos());
+    }
+    
+    private static void checkBounds(long value) {
+        int bucket = LatencyHistogram.bucketOf(value);
+        long upper = LatencyHistogram.upperBound(bucket);
+        long lower = bucket == 0 ? 0 : LatencyHistogram.upperBound(bucket - 1) + 1;
+        assertTrue(lower <= value && value <= upper, "valor " + value + " en [" + lower + ", " + upper + "]");
+        assertTrue(upper - lower <= value / 8, "casilla de " + value + " demasiado ancha");
+    }
+}
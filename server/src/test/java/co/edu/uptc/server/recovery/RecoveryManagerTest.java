@@ -0,0 +1,204 @@
+package co.edu.uptc.server.recovery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import co.edu.uptc.server.CallbackDispatcher;
+import co.edu.uptc.server.GameSession;
+import co.edu.uptc.server.Player;
+import co.edu.uptc.server.ServerContext;
+import co.edu.uptc.server.SessionRegistry;
+import co.edu.uptc.server.eventlog.EventLog;
+import co.edu.uptc.server.journal.Journal;
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.Position;
+import co.edu.uptc.shared.model.Ship;
+import co.edu.uptc.shared.model.ShipPlacement;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Las sesiones reconstruidas desde el journal (y la instantánea) son iguales a las vivas
+ */
+class RecoveryManagerTest {
+    
+    static final List<ShipPlacement> FLEET = List.of(
+            new ShipPlacement(Position.of(0, 0), 5, true),
+            new ShipPlacement(Position.of(0, 2), 4, true),
+            new ShipPlacement(Position.of(6, 2), 3, false),
+            new ShipPlacement(Position.of(0, 6), 3, true),
+            new ShipPlacement(Position.of(8, 7), 2, false));
+    
+    @TempDir
+    Path dir;
+    
+    private ServerContext context;
+    private SessionRegistry registry;
+    private int nextPlayer = 1;
+    
+    @BeforeEach
+    void setUp() {
+        Journal journal = Journal.open(dir, 1 << 16, 1, 0);
+        assertTrue(journal.isEnabled());
+        context = new ServerContext(new CallbackDispatcher(1), EventLog.disabled(), journal);
+        registry = new SessionRegistry();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        context.shutdown();
+    }
+    
+    @Test
+    void recoversLiveSessionsFromJournal() throws IOException {
+        GameSession playing = newSession(1, 2);
+        playing.placeFleet("player_1", FLEET);
+        playing.placeFleet("player_2", FLEET);
+        play(playing, 30);
+        GameSession placing = newSession(2, 2);
+        placing.placeFleet("player_3", FLEET);
+        GameSession waiting = newSession(3, 1);
+        GameSession finished = newSession(4, 2);
+        finished.placeFleet("player_6", FLEET);
+        finished.placeFleet("player_7", FLEET);
+        play(finished, Integer.MAX_VALUE);
+        assertTrue(finished.isFinished());
+        GameSession closed = newSession(5, 2);
+        closed.close();
+        
+        RecoveryManager.Result result = recover();
+        assertFalse(result.isFromSnapshot());
+        assertSameSessions(List.of(playing, placing, waiting, finished), result.getSessions());
+        assertEquals(nextPlayer, result.getNextPlayer());
+        assertEquals(6, result.getNextSession());
+    }
+    
+    @Test
+    void recoversFromSnapshotAndJournalTail() throws IOException {
+        GameSession first = newSession(1, 2);
+        first.placeFleet("player_1", FLEET);
+        first.placeFleet("player_2", FLEET);
+        play(first, 10);
+        GameSession second = newSession(2, 2);
+        second.placeFleet("player_3", FLEET);
+        
+        RecoveryManager manager = new RecoveryManager(context.getJournal(), registry, () -> nextPlayer, () -> 3);
+        assertEquals(2, manager.snapshot());
+        long beforeTail = context.getJournal().nextLsn();
+        
+        // Cola posterior a la instantánea: jugadas, una sesión nueva y un cierre
+        play(first, 15);
+        second.close();
+        GameSession third = newSession(3, 1);
+        
+        RecoveryManager.Result result = recover();
+        assertTrue(result.isFromSnapshot());
+        assertEquals(context.getJournal().nextLsn() - beforeTail, result.getReplayedRecords());
+        assertSameSessions(List.of(first, third), result.getSessions());
+    }
+    
+    @Test
+    void restoredSessionMatchesRecoveredState() throws IOException {
+        GameSession session = newSession(1, 2);
+        session.placeFleet("player_1", FLEET);
+        session.placeFleet("player_2", FLEET);
+        play(session, 20);
+        
+        SessionState recovered = recover().getSessions().get(0);
+        GameSession restored = GameSession.restore(recovered, context);
+        assertSameState(session.capture(), restored.capture());
+        assertEquals(session.getPhase(), restored.getPhase());
+        assertEquals(session.getGameStatus("player_1").getCurrentPlayerName(),
+                restored.getGameStatus("player_1").getCurrentPlayerName());
+        assertEquals(session.getGameStatus("player_2").isMyTurn(), restored.getGameStatus("player_2").isMyTurn());
+    }
+    
+    private RecoveryManager.Result recover() throws IOException {
+        return new RecoveryManager(context.getJournal(), new SessionRegistry(), () -> 1, () -> 1).recover();
+    }
+    
+    private GameSession newSession(long number, int players) {
+        GameSession session = new GameSession(number, context);
+        for (int i = 0; i < players; i++) {
+            int playerNumber = nextPlayer++;
+            assertTrue(session.addPlayer(new Player(playerNumber, "Jugador " + playerNumber, null)));
+        }
+        registry.register(session);
+        return session;
+    }
+    
+    /**
+     * Dispara en orden por las celdas con quien tenga el turno
+     * @param shots Disparos máximos; termina antes si la partida acaba
+     */
+    private static void play(GameSession session, int shots) {
+        List<Player> players = session.getPlayers();
+        int[] next = new int[2];
+        for (int i = 0; i < shots && !session.isFinished(); i++) {
+            Player shooter = session.getGameStatus(players.get(0).getId()).isMyTurn() ? players.get(0) : players.get(1);
+            int slot = shooter == players.get(0) ? 0 : 1;
+            assertNotNull(session.attack(shooter.getId(), Position.ofIndex(next[slot]++)));
+        }
+    }
+    
+    private static void assertSameSessions(List<GameSession> live, List<SessionState> recovered) {
+        Map<Long, SessionState> byNumber = new HashMap<>();
+        for (SessionState state : recovered) {
+            byNumber.put(state.getNumber(), state);
+        }
+        assertEquals(live.size(), recovered.size());
+        for (GameSession session : live) {
+            SessionState state = byNumber.get(session.getNumber());
+            assertNotNull(state, "falta la sesión " + session.getNumber());
+            assertSameState(session.capture(), state);
+        }
+    }
+    
+    /**
+     * Todo menos la versión: la recuperación la cuenta por registro y no por cambio
+     */
+    static void assertSameState(SessionState expected, SessionState actual) {
+        assertEquals(expected.getNumber(), actual.getNumber());
+        assertEquals(expected.getLastLsn(), actual.getLastLsn());
+        assertEquals(expected.getPhase(), actual.getPhase());
+        assertEquals(expected.getTurnPlayer(), actual.getTurnPlayer());
+        assertEquals(expected.getWinnerName(), actual.getWinnerName());
+        assertEquals(expected.isClosed(), actual.isClosed());
+        assertEquals(expected.getPlayerCount(), actual.getPlayerCount());
+        for (int slot = 0; slot < expected.getPlayerCount(); slot++) {
+            SessionState.PlayerState a = expected.getPlayer(slot);
+            SessionState.PlayerState b = actual.getPlayer(slot);
+            assertEquals(a.getNumber(), b.getNumber());
+            assertEquals(a.getName(), b.getName());
+            assertEquals(a.getToken(), b.getToken());
+            assertSameBoard(a.getBoard(), b.getBoard());
+        }
+    }
+    
+    private static void assertSameBoard(Board expected, Board actual) {
+        assertEquals(placements(expected), placements(actual));
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            Position position = Position.ofIndex(cell);
+            assertEquals(expected.isAttacked(position), actual.isAttacked(position), "ataque en " + position);
+            assertEquals(expected.isHit(position), actual.isHit(position), "impacto en " + position);
+        }
+    }
+    
+    private static List<String> placements(Board board) {
+        List<String> result = new ArrayList<>();
+        for (Ship ship : board.getShips()) {
+            result.add(ship.toPlacement() + (ship.isSunk() ? " hundido" : ""));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,119 @@
+package co.edu.uptc.server.recovery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.GameStatus;
+import co.edu.uptc.shared.model.Position;
+import co.edu.uptc.shared.model.ShipPlacement;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Instantáneas escritas y cargadas de vuelta, y el respaldo ante una dañada
+ */
+class SnapshotStoreTest {
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void latestSnapshotRoundTrip() throws IOException {
+        SnapshotStore store = new SnapshotStore(dir, 2);
+        List<SessionState> sessions = List.of(playing(1, 40), waiting(2, 41));
+        store.write(42, 5, 3, sessions);
+        
+        SnapshotStore.Snapshot snapshot = store.loadLatest();
+        assertNotNull(snapshot);
+        assertEquals(42, snapshot.getStartLsn());
+        assertEquals(5, snapshot.getNextPlayer());
+        assertEquals(3, snapshot.getNextSession());
+        assertEquals(2, snapshot.getSessionCount());
+        for (int i = 0; i < sessions.size(); i++) {
+            SessionState read = snapshot.session(i);
+            assertEquals(sessions.get(i).getVersion(), read.getVersion());
+            RecoveryManagerTest.assertSameState(sessions.get(i), read);
+        }
+    }
+    
+    @Test
+    void corruptLatestFallsBackToPrevious() throws IOException {
+        SnapshotStore store = new SnapshotStore(dir, 2);
+        store.write(10, 3, 2, List.of(playing(1, 9)));
+        Path latest = store.write(20, 3, 2, List.of(playing(1, 19)));
+        
+        byte[] data = Files.readAllBytes(latest);
+        data[data.length / 2] ^= 0x5A;
+        Files.write(latest, data);
+        
+        SnapshotStore.Snapshot snapshot = store.loadLatest();
+        assertNotNull(snapshot);
+        assertEquals(10, snapshot.getStartLsn());
+        assertEquals(9, snapshot.session(0).getLastLsn());
+    }
+    
+    @Test
+    void truncatedLatestFallsBackToPrevious() throws IOException {
+        SnapshotStore store = new SnapshotStore(dir, 2);
+        store.write(10, 3, 2, List.of(playing(1, 9)));
+        Path latest = store.write(20, 3, 2, List.of(playing(1, 19)));
+        
+        byte[] data = Files.readAllBytes(latest);
+        Files.write(latest, Arrays.copyOf(data, data.length - 20));
+        
+        assertEquals(10, store.loadLatest().getStartLsn());
+    }
+    
+    @Test
+    void noValidSnapshot() throws IOException {
+        SnapshotStore store = new SnapshotStore(dir, 2);
+        assertNull(store.loadLatest());
+        Path only = store.write(10, 1, 1, List.of());
+        Files.write(only, new byte[] {1, 2, 3});
+        assertNull(store.loadLatest());
+    }
+    
+    @Test
+    void oldSnapshotsArePruned() throws IOException {
+        SnapshotStore store = new SnapshotStore(dir, 2);
+        store.write(10, 1, 1, List.of());
+        store.write(20, 1, 1, List.of());
+        store.write(30, 1, 1, List.of());
+        assertEquals(20, store.oldestStartLsn());
+        assertEquals(30, store.loadLatest().getStartLsn());
+    }
+    
+    private static SessionState playing(long number, long lastLsn) {
+        SessionState state = new SessionState(number, lastLsn, 17, GameStatus.GamePhase.PLAYING, 2, null);
+        Board first = fleetBoard();
+        first.receiveAttack(Position.of(0, 0));
+        first.receiveAttack(Position.of(9, 9));
+        Board second = fleetBoard();
+        second.receiveAttack(Position.of(8, 7));
+        second.receiveAttack(Position.of(8, 8));
+        state.addPlayer(1, "Ana", 0x0123456789ABCDEFL, first);
+        state.addPlayer(2, "Luis", -1L, second);
+        return state;
+    }
+    
+    private static SessionState waiting(long number, long lastLsn) {
+        SessionState state = new SessionState(number, lastLsn, 1, GameStatus.GamePhase.WAITING, 0, null);
+        state.addPlayer(3, "Jugador con ñ", 42, new Board());
+        return state;
+    }
+    
+    private static Board fleetBoard() {
+        Board board = new Board();
+        for (ShipPlacement placement : RecoveryManagerTest.FLEET) {
+            board.placeShip(placement.getOrigin(), placement.getEnd());
+        }
+        return board;
+    }
+}
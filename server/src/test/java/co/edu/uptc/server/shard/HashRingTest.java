@@ -0,0 +1,106 @@
+package co.edu.uptc.server.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import co.edu.uptc.shared.model.ShardLoad;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Recorrido del anillo comparado con una búsqueda lineal sobre todos los puntos
+ */
+class HashRingTest {
+    private static final int VIRTUAL_NODES = 32;
+    
+    @Test
+    void emptyRingHasNoOwner() {
+        assertTrue(HashRing.EMPTY.walk("session_1").isEmpty());
+        assertEquals(0, HashRing.EMPTY.size());
+    }
+    
+    @Test
+    void walkMatchesLinearSearch() {
+        List<ShardHandle> shards = shards("a", "b", "c", "d", "e");
+        HashRing ring = HashRing.of(shards, VIRTUAL_NODES);
+        assertEquals(5, ring.size());
+        for (int i = 0; i < 2000; i++) {
+            String key = "session_" + i;
+            assertEquals(names(linearWalk(shards, key)), names(ring.walk(key)), key);
+        }
+    }
+    
+    @Test
+    void removingShardOnlyMovesItsKeys() {
+        List<ShardHandle> shards = shards("a", "b", "c", "d");
+        HashRing before = HashRing.of(shards, VIRTUAL_NODES);
+        HashRing after = HashRing.of(shards.subList(0, 3), VIRTUAL_NODES);
+        for (int i = 0; i < 2000; i++) {
+            String key = "session_" + i;
+            List<ShardHandle> walk = before.walk(key);
+            ShardHandle owner = walk.get(0);
+            if (owner != shards.get(3)) {
+                assertEquals(owner, after.walk(key).get(0), key);
+            } else {
+                // Pasa al siguiente shard del recorrido anterior
+                assertEquals(walk.get(1), after.walk(key).get(0), key);
+            }
+        }
+    }
+    
+    @Test
+    void keysAreSpreadAcrossShards() {
+        List<ShardHandle> shards = shards("a", "b", "c", "d");
+        HashRing ring = HashRing.of(shards, 128);
+        Map<String, Integer> owned = new HashMap<>();
+        int keys = 20000;
+        for (int i = 0; i < keys; i++) {
+            owned.merge(ring.walk("session_" + i).get(0).getName(), 1, Integer::sum);
+        }
+        for (ShardHandle shard : shards) {
+            int count = owned.getOrDefault(shard.getName(), 0);
+            assertTrue(count > keys / 8 && count < keys * 3 / 8, shard.getName() + ": " + count);
+        }
+    }
+    
+    private static List<ShardHandle> shards(String... names) {
+        List<ShardHandle> shards = new ArrayList<>();
+        for (String name : names) {
+            shards.add(new ShardHandle(new ShardLoad(name, null, 0, 0, 100, 1)));
+        }
+        return shards;
+    }
+    
+    /**
+     * Shards distintos ordenados por la distancia en sentido horario de sus puntos a la clave
+     */
+    private static List<ShardHandle> linearWalk(List<ShardHandle> shards, String key) {
+        long hash = HashRing.hash(key);
+        List<long[]> points = new ArrayList<>();
+        for (int s = 0; s < shards.size(); s++) {
+            for (int v = 0; v < VIRTUAL_NODES; v++) {
+                long point = HashRing.hash(shards.get(s).getName() + "#" + v);
+                points.add(new long[] {point - hash, s});
+            }
+        }
+        points.sort((x, y) -> Long.compareUnsigned(x[0], y[0]));
+        Set<ShardHandle> order = new LinkedHashSet<>();
+        for (long[] point : points) {
+            order.add(shards.get((int) point[1]));
+        }
+        return new ArrayList<>(order);
+    }
+    
+    private static List<String> names(List<ShardHandle> shards) {
+        List<String> names = new ArrayList<>();
+        for (ShardHandle shard : shards) {
+            names.add(shard.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,38 @@
+package co.edu.uptc.shared.event;
+
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.Position;
+
+/**
+ * Resultado de un ataque, visto desde el destinatario
+ */
+public final class AttackResolved extends GameEvent {
+    private static final long serialVersionUID = 1L;
+    
+    private final String attackerName;
+    private final Position target;
+    private final Board.AttackResult result;
+    private final boolean byMe;
+    
+    public AttackResolved(String attackerName, Position target, Board.AttackResult result, boolean byMe) {
+        this.attackerName = attackerName;
+        this.target = target;
+        this.result = result;
+        this.byMe = byMe;
+    }
+    
+    @Override
+    public Type getType() { return Type.ATTACK_RESOLVED; }
+    
+    public String getAttackerName() { return attackerName; }
+    public Position getTarget() { return target; }
+    public Board.AttackResult getResult() { return result; }
+    
+    /** true si el destinatario fue quien atacó (resultado sobre el tablero enemigo) */
+    public boolean isByMe() { return byMe; }
+    
+    @Override
+    public String toString() {
+        return "AttackResolved{" + attackerName + " -> " + target + ": " + result + "}";
+    }
+}
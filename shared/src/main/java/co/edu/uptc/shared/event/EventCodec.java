@@ -0,0 +1,112 @@
+package co.edu.uptc.shared.event;
+
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.Position;
+import co.edu.uptc.shared.model.ShipPlacement;
+import co.edu.uptc.shared.model.WireFormat;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Formato binario compacto de los eventos tipados, usado por el transporte
+ * NIO y por las tramas de espectador
+ */
+public final class EventCodec {
+    
+    /** Bytes mínimos de un evento codificado: tipo y un campo */
+    private static final int MIN_EVENT_BYTES = 2;
+    
+    private EventCodec() {
+    }
+    
+    /**
+     * Eventos de una jugada: cantidad y, por evento, su tipo (ordinal) y campos
+     */
+    public static void write(DataOutput out, List<GameEvent> events) throws IOException {
+        WireFormat.writeVarInt(out, events.size());
+        for (GameEvent event : events) {
+            out.writeByte(event.getType().ordinal());
+            switch (event.getType()) {
+                case ATTACK_RESOLVED: {
+                    AttackResolved attack = (AttackResolved) event;
+                    WireFormat.writeNullableString(out, attack.getAttackerName());
+                    out.writeByte(attack.getTarget().getIndex());
+                    out.writeByte(attack.getResult().ordinal());
+                    out.writeBoolean(attack.isByMe());
+                    break;
+                }
+                case TURN_CHANGED: {
+                    TurnChanged turn = (TurnChanged) event;
+                    WireFormat.writeNullableString(out, turn.getCurrentPlayerName());
+                    out.writeBoolean(turn.isMyTurn());
+                    break;
+                }
+                case SHIP_SUNK: {
+                    ShipSunk sunk = (ShipSunk) event;
+                    sunk.getShip().write(out);
+                    out.writeBoolean(sunk.isMine());
+                    break;
+                }
+                case GAME_OVER: {
+                    GameOver over = (GameOver) event;
+                    WireFormat.writeNullableString(out, over.getWinnerName());
+                    out.writeBoolean(over.isYouWon());
+                    break;
+                }
+                case PLAYER_JOINED:
+                    WireFormat.writeNullableString(out, ((PlayerJoined) event).getPlayerName());
+                    break;
+                default:
+                    throw new IOException("Evento sin codificación: " + event.getType());
+            }
+        }
+    }
+    
+    /**
+     * @param in Trama completa en memoria; la cantidad se acota a lo que cabe en ella
+     */
+    public static List<GameEvent> read(DataInputStream in) throws IOException {
+        int count = WireFormat.readCount(in, in.available() / MIN_EVENT_BYTES);
+        List<GameEvent> events = new ArrayList<>(count);
+        GameEvent.Type[] types = GameEvent.Type.values();
+        for (int i = 0; i < count; i++) {
+            int type = in.readUnsignedByte();
+            if (type >= types.length) {
+                throw new IOException("Tipo de evento desconocido: " + type);
+            }
+            switch (types[type]) {
+                case ATTACK_RESOLVED: {
+                    String attacker = WireFormat.readNullableString(in);
+                    Position target = Position.ofIndex(in.readUnsignedByte());
+                    Board.AttackResult result = Board.AttackResult.values()[in.readUnsignedByte()];
+                    events.add(new AttackResolved(attacker, target, result, in.readBoolean()));
+                    break;
+                }
+                case TURN_CHANGED: {
+                    String current = WireFormat.readNullableString(in);
+                    events.add(new TurnChanged(current, in.readBoolean()));
+                    break;
+                }
+                case SHIP_SUNK: {
+                    ShipPlacement ship = ShipPlacement.read(in);
+                    events.add(new ShipSunk(ship, in.readBoolean()));
+                    break;
+                }
+                case GAME_OVER: {
+                    String winner = WireFormat.readNullableString(in);
+                    events.add(new GameOver(winner, in.readBoolean()));
+                    break;
+                }
+                case PLAYER_JOINED:
+                    events.add(new PlayerJoined(WireFormat.readNullableString(in)));
+                    break;
+                default:
+                    throw new IOException("Tipo de evento desconocido: " + type);
+            }
+        }
+        return events;
+    }
+}
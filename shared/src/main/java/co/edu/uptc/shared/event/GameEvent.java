@@ -0,0 +1,25 @@
+package co.edu.uptc.shared.event;
+
+import java.io.Serializable;
+
+/**
+ * Evento tipado del juego enviado del servidor al cliente
+ * Los eventos de una misma jugada viajan juntos en GameCallback.onGameEvents,
+ * por lo que el cliente no necesita interpretar textos.
+ */
+public abstract class GameEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * Tipos de evento, para despachar con switch en el cliente
+     */
+    public enum Type {
+        ATTACK_RESOLVED,
+        TURN_CHANGED,
+        SHIP_SUNK,
+        GAME_OVER,
+        PLAYER_JOINED
+    }
+    
+    public abstract Type getType();
+}
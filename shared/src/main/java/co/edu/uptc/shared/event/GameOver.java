@@ -0,0 +1,27 @@
+package co.edu.uptc.shared.event;
+
+/**
+ * Fin de la partida
+ */
+public final class GameOver extends GameEvent {
+    private static final long serialVersionUID = 1L;
+    
+    private final String winnerName;
+    private final boolean youWon;
+    
+    public GameOver(String winnerName, boolean youWon) {
+        this.winnerName = winnerName;
+        this.youWon = youWon;
+    }
+    
+    @Override
+    public Type getType() { return Type.GAME_OVER; }
+    
+    public String getWinnerName() { return winnerName; }
+    public boolean isYouWon() { return youWon; }
+    
+    @Override
+    public String toString() {
+        return "GameOver{winner=" + winnerName + "}";
+    }
+}
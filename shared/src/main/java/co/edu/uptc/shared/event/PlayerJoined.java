@@ -0,0 +1,24 @@
+package co.edu.uptc.shared.event;
+
+/**
+ * El oponente se unió a la sesión; comienza la colocación de barcos
+ */
+public final class PlayerJoined extends GameEvent {
+    private static final long serialVersionUID = 1L;
+    
+    private final String playerName;
+    
+    public PlayerJoined(String playerName) {
+        this.playerName = playerName;
+    }
+    
+    @Override
+    public Type getType() { return Type.PLAYER_JOINED; }
+    
+    public String getPlayerName() { return playerName; }
+    
+    @Override
+    public String toString() {
+        return "PlayerJoined{" + playerName + "}";
+    }
+}
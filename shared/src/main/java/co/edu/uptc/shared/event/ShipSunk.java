@@ -0,0 +1,31 @@
+package co.edu.uptc.shared.event;
+
+import co.edu.uptc.shared.model.ShipPlacement;
+
+/**
+ * Un barco fue hundido; se revela su posición completa
+ */
+public final class ShipSunk extends GameEvent {
+    private static final long serialVersionUID = 1L;
+    
+    private final ShipPlacement ship;
+    private final boolean mine;
+    
+    public ShipSunk(ShipPlacement ship, boolean mine) {
+        this.ship = ship;
+        this.mine = mine;
+    }
+    
+    @Override
+    public Type getType() { return Type.SHIP_SUNK; }
+    
+    public ShipPlacement getShip() { return ship; }
+    
+    /** true si el barco hundido pertenece al destinatario */
+    public boolean isMine() { return mine; }
+    
+    @Override
+    public String toString() {
+        return "ShipSunk{" + ship + ", mine=" + mine + "}";
+    }
+}
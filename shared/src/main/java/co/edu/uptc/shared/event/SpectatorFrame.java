@@ -0,0 +1,72 @@
+package co.edu.uptc.shared.event;
+
+import co.edu.uptc.shared.model.WireFormat;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Trama del flujo de jugadas que reciben los espectadores de una sesión
+ *
+ * El servidor la codifica una sola vez por jugada y entrega los mismos bytes
+ * a todos los espectadores. Los eventos usan la vista neutral (byMe, myTurn,
+ * mine y youWon en false). Una trama SNAPSHOT reemplaza todo lo anterior: es
+ * la primera que recibe un espectador y la que recibe uno lento cuyas tramas
+ * pendientes se descartaron. La secuencia crece con cada jugada, así que un
+ * salto indica tramas resumidas en una instantánea.
+ *
+ * Formato: varlong secuencia, byte banderas, eventos ({@link EventCodec}).
+ */
+public final class SpectatorFrame {
+    
+    /** La trama contiene el estado completo de la partida */
+    public static final int SNAPSHOT = 1;
+    /** La sesión se cerró; no llegarán más tramas */
+    public static final int CLOSED = 2;
+    
+    private final long sequence;
+    private final int flags;
+    private final List<GameEvent> events;
+    
+    private SpectatorFrame(long sequence, int flags, List<GameEvent> events) {
+        this.sequence = sequence;
+        this.flags = flags;
+        this.events = events;
+    }
+    
+    public static byte[] encode(long sequence, int flags, List<GameEvent> events) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + events.size() * 16);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            WireFormat.writeVarLong(out, sequence);
+            out.writeByte(flags);
+            EventCodec.write(out, events);
+        } catch (IOException e) {
+            // Escritura en memoria
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    public static SpectatorFrame decode(byte[] frame) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame));
+        long sequence = WireFormat.readVarLong(in);
+        int flags = in.readUnsignedByte();
+        return new SpectatorFrame(sequence, flags, EventCodec.read(in));
+    }
+    
+    public long getSequence() { return sequence; }
+    public boolean isSnapshot() { return (flags & SNAPSHOT) != 0; }
+    public boolean isClosed() { return (flags & CLOSED) != 0; }
+    public List<GameEvent> getEvents() { return events; }
+    
+    @Override
+    public String toString() {
+        return "SpectatorFrame{#" + sequence + (isSnapshot() ? " snapshot" : "")
+                + (isClosed() ? " closed" : "") + ", " + events + "}";
+    }
+}
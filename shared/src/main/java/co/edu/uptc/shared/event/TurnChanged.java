@@ -0,0 +1,27 @@
+package co.edu.uptc.shared.event;
+
+/**
+ * Cambio de turno (también se emite al iniciar la partida)
+ */
+public final class TurnChanged extends GameEvent {
+    private static final long serialVersionUID = 1L;
+    
+    private final String currentPlayerName;
+    private final boolean myTurn;
+    
+    public TurnChanged(String currentPlayerName, boolean myTurn) {
+        this.currentPlayerName = currentPlayerName;
+        this.myTurn = myTurn;
+    }
+    
+    @Override
+    public Type getType() { return Type.TURN_CHANGED; }
+    
+    public String getCurrentPlayerName() { return currentPlayerName; }
+    public boolean isMyTurn() { return myTurn; }
+    
+    @Override
+    public String toString() {
+        return "TurnChanged{" + currentPlayerName + ", myTurn=" + myTurn + "}";
+    }
+}
@@ -1,7 +1,9 @@
 package co.edu.uptc.shared.interfaces;
 
+import co.edu.uptc.shared.event.GameEvent;
 import java.rmi.Remote;
 import java.rmi.RemoteException;
+import java.util.List;
 
 /**
  * Interface RMI para callbacks bidireccionales servidor → cliente
@@ -16,6 +18,13 @@ public interface GameCallback extends Remote {
      */
     void onGameEvent(String message) throws RemoteException;
     
+    /**
+     * Notifica en una sola invocación todos los eventos tipados de una jugada
+     * @param events Eventos en el orden en que ocurrieron
+     * @throws RemoteException Error en comunicación RMI
+     */
+    void onGameEvents(List<GameEvent> events) throws RemoteException;
+    
     /**
      * Notifica cuando otro jugador se conecta al sistema distribuido
      * @param playerName Nombre del jugador que se conectó
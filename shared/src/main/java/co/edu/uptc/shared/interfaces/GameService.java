@@ -3,6 +3,7 @@ package co.edu.uptc.shared.interfaces;
 import co.edu.uptc.shared.model.*;
 import java.rmi.Remote;
 import java.rmi.RemoteException;
+import java.util.List;
 
 /**
  * Interface RMI principal del servicio de Batalla Naval
@@ -14,13 +15,16 @@ public interface GameService extends Remote {
      * Un jugador se une al juego distribuido
      * @param playerName Nombre del jugador
      * @param callback Callback RMI para notificaciones bidireccionales
-     * @return ID único del jugador en el sistema distribuido
+     * @return "SUCCESS:playerId:sessionId:token", donde token es el secreto para
+     *         reattach, o "ERROR:..." si el servidor no acepta al jugador
      * @throws RemoteException Error en comunicación RMI
      */
     String joinGame(String playerName, GameCallback callback) throws RemoteException;
     
     /**
      * Coloca un barco en el tablero - Invocación de método remoto
+     * Se aplican las mismas reglas que en placeFleet contra los barcos ya
+     * colocados; la partida empieza cuando ambas flotas están completas.
      * @param playerId ID del jugador
      * @param start Posición inicial del barco
      * @param end Posición final del barco
@@ -29,6 +33,16 @@ public interface GameService extends Remote {
      */
     boolean placeShip(String playerId, Position start, Position end) throws RemoteException;
     
+    /**
+     * Coloca la flota completa en una sola invocación remota
+     * El servidor valida composición, límites, superposición y barcos no pegados.
+     * @param playerId ID del jugador
+     * @param fleet Colocación de cada barco de la flota
+     * @return true si la flota es válida y quedó colocada
+     * @throws RemoteException Error en comunicación RMI
+     */
+    boolean placeFleet(String playerId, List<ShipPlacement> fleet) throws RemoteException;
+    
     /**
      * Realiza un ataque - Coordinación distribuida entre jugadores
      * @param playerId ID del jugador que ataca
@@ -46,6 +60,40 @@ public interface GameService extends Remote {
      */
     GameStatus getGameStatus(String playerId) throws RemoteException;
     
+    /**
+     * Espera un cambio de estado (long-poll) - Reemplaza la consulta periódica
+     * Retorna de inmediato si la versión de la sesión ya difiere de la conocida,
+     * o sin cambios si el servidor tiene ocupadas todas sus esperas; en ese
+     * caso el cliente debe pausar antes de volver a consultar.
+     * @param playerId ID del jugador
+     * @param knownVersion Última versión recibida por el cliente (-1 si ninguna)
+     * @param timeoutMs Tiempo máximo de espera en milisegundos
+     * @return Estado actual; con la misma versión si no hubo cambios en el plazo
+     * @throws RemoteException Error en comunicación RMI
+     */
+    GameStatus getGameStatusSince(String playerId, long knownVersion, long timeoutMs) throws RemoteException;
+    
+    /**
+     * Renueva la concesión de vida del jugador - Llamada ligera y periódica
+     * Cualquier otra invocación del jugador también la renueva.
+     * @param playerId ID del jugador
+     * @return false si el servidor ya dio al jugador por desconectado
+     * @throws RemoteException Error en comunicación RMI
+     */
+    boolean heartbeat(String playerId) throws RemoteException;
+    
+    /**
+     * Reconecta un jugador existente, p. ej. tras un reinicio del servidor
+     * La partida se recupera en el servidor; el cliente solo entrega su nuevo callback.
+     * @param playerId ID del jugador recibido en joinGame
+     * @param token Token de reconexión recibido en joinGame (cuarto campo del resultado)
+     * @param callback Callback RMI para notificaciones bidireccionales
+     * @return "SUCCESS:playerId:sessionId", o "ERROR:..." si el jugador no existe
+     *         o el token no corresponde
+     * @throws RemoteException Error en comunicación RMI
+     */
+    String reattach(String playerId, String token, GameCallback callback) throws RemoteException;
+    
     /**
      * Marca jugador como listo - Coordinación de inicio distribuido
      * @param playerId ID del jugador
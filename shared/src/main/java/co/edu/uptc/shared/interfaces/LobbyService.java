@@ -0,0 +1,39 @@
+package co.edu.uptc.shared.interfaces;
+
+import co.edu.uptc.shared.model.ShardAssignment;
+import co.edu.uptc.shared.model.ShardLoad;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+/**
+ * Interface RMI del lobby en modo shards
+ * Reparte las sesiones entre varios servidores y entrega al cliente el stub
+ * del servidor (shard) dueño de su sesión; desde ahí el cliente juega
+ * directamente con ese shard.
+ */
+public interface LobbyService extends Remote {
+    
+    /**
+     * Une al jugador a una sesión en el shard que le corresponde
+     * @param playerName Nombre del jugador
+     * @param callback Callback RMI para notificaciones bidireccionales
+     * @return Resultado de joinGame ("SUCCESS:playerId:sessionId:token") y stub del shard
+     * @throws RemoteException Error en comunicación RMI
+     */
+    ShardAssignment joinGame(String playerName, GameCallback callback) throws RemoteException;
+    
+    /**
+     * Busca el shard dueño de una sesión existente (p. ej. para reattach)
+     * @param sessionId ID de la sesión
+     * @return Asignación con el stub del shard, o sin stub si ningún shard la tiene
+     * @throws RemoteException Error en comunicación RMI
+     */
+    ShardAssignment locate(String sessionId) throws RemoteException;
+    
+    /**
+     * Reporte periódico de carga de un shard; el primero lo incorpora al anillo
+     * @param load Carga actual y stub del shard
+     * @throws RemoteException Error en comunicación RMI
+     */
+    void reportLoad(ShardLoad load) throws RemoteException;
+}
@@ -0,0 +1,29 @@
+package co.edu.uptc.shared.interfaces;
+
+import java.rmi.RemoteException;
+
+/**
+ * Servicio de juego de un shard: lo que el lobby necesita además de GameService
+ */
+public interface ShardService extends GameService {
+    
+    /**
+     * Une un jugador a la sesión indicada por el lobby
+     * @param sessionNumber Número de sesión asignado por el lobby (único entre shards)
+     * @param create true para crear la sesión; false si debe existir y esperar un jugador
+     * @param playerName Nombre del jugador
+     * @param callback Callback RMI del cliente
+     * @return "SUCCESS:playerId:sessionId:token" o "ERROR:..." si la sesión no acepta al jugador
+     * @throws RemoteException Error en comunicación RMI
+     */
+    String joinSession(long sessionNumber, boolean create, String playerName, GameCallback callback)
+            throws RemoteException;
+    
+    /**
+     * Indica si la sesión vive en este shard
+     * @param sessionId ID de la sesión
+     * @return true si el shard la tiene registrada
+     * @throws RemoteException Error en comunicación RMI
+     */
+    boolean hostsSession(String sessionId) throws RemoteException;
+}
@@ -0,0 +1,17 @@
+package co.edu.uptc.shared.interfaces;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+/**
+ * Interface RMI para el flujo de jugadas servidor → espectador
+ */
+public interface SpectatorCallback extends Remote {
+    
+    /**
+     * Entrega una trama del flujo de jugadas de la sesión observada
+     * @param frame Trama codificada; se lee con SpectatorFrame.decode
+     * @throws RemoteException Error en comunicación RMI
+     */
+    void onMoves(byte[] frame) throws RemoteException;
+}
@@ -0,0 +1,28 @@
+package co.edu.uptc.shared.interfaces;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+/**
+ * Interface RMI para observar partidas en curso sin participar
+ * La implementa el mismo servicio que GameService.
+ */
+public interface SpectatorService extends Remote {
+    
+    /**
+     * Suscribe un espectador a una sesión; la primera trama que recibe es una
+     * instantánea con el estado actual de la partida
+     * @param sessionId ID de la sesión a observar
+     * @param callback Callback RMI que recibirá las tramas
+     * @return "SUCCESS:spectatorId", o "ERROR:..." si la sesión no existe o está llena
+     * @throws RemoteException Error en comunicación RMI
+     */
+    String spectate(String sessionId, SpectatorCallback callback) throws RemoteException;
+    
+    /**
+     * Cancela la suscripción de un espectador
+     * @param spectatorId ID recibido en spectate
+     * @throws RemoteException Error en comunicación RMI
+     */
+    void stopSpectating(String spectatorId) throws RemoteException;
+}
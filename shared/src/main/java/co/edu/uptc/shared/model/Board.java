@@ -1,5 +1,9 @@
 package co.edu.uptc.shared.model;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -7,35 +11,76 @@ import java.util.List;
 /**
  * Tablero de batalla naval 10x10
  * Serializable para sincronización en sistema distribuido
+ *
+ * Internamente usa bitboards: cada conjunto de celdas (barcos, ataques, impactos)
+ * se guarda en dos long (celdas 0-63 en "lo", 64-99 en "hi"), con índice y*10 + x.
  */
 public class Board implements Serializable {
     private static final long serialVersionUID = 1L;
     
     public static final int SIZE = 10;
+    public static final int CELLS = SIZE * SIZE;
     
     private final List<Ship> ships;
-    private final boolean[][] attacks; // true = ya atacado
-    private final boolean[][] hits;    // true = impacto
+    
+    // Bitboards de ocupación, ataques e impactos
+    private long shipsLo, shipsHi;
+    private long attacksLo, attacksHi;
+    private long hitsLo, hitsHi;
+    
+    // Índice celda -> barco: 0 = agua, i + 1 = ships.get(i)
+    private final byte[] cellToShip;
+    
+    // Barcos hundidos, mantenido de forma incremental
+    private int sunkShips;
     
     public Board() {
         this.ships = new ArrayList<>();
-        this.attacks = new boolean[SIZE][SIZE];
-        this.hits = new boolean[SIZE][SIZE];
+        this.cellToShip = new byte[CELLS];
+    }
+    
+    /**
+     * Copia independiente del tablero (barcos, ataques e impactos)
+     * Permite tomar una instantánea sin retener el tablero en uso.
+     */
+    public Board copy() {
+        Board board = new Board();
+        for (Ship ship : ships) {
+            board.ships.add(ship.copy());
+        }
+        board.shipsLo = shipsLo;
+        board.shipsHi = shipsHi;
+        board.attacksLo = attacksLo;
+        board.attacksHi = attacksHi;
+        board.hitsLo = hitsLo;
+        board.hitsHi = hitsHi;
+        System.arraycopy(cellToShip, 0, board.cellToShip, 0, CELLS);
+        board.sunkShips = sunkShips;
+        return board;
     }
     
     public boolean placeShip(Position start, Position end) {
         Ship newShip = new Ship(start, end);
+        int size = newShip.getSize();
         
         // Verificar que no se superponga con otros barcos
-        for (Ship existingShip : ships) {
-            for (Position pos : newShip.getPositions()) {
-                if (existingShip.occupiesPosition(pos)) {
-                    return false;
-                }
+        for (int i = 0; i < size; i++) {
+            if (cellToShip[newShip.cellIndex(i)] != 0) {
+                return false;
             }
         }
         
         ships.add(newShip);
+        byte shipId = (byte) ships.size();
+        for (int i = 0; i < size; i++) {
+            int cell = newShip.cellIndex(i);
+            cellToShip[cell] = shipId;
+            if (cell < 64) {
+                shipsLo |= 1L << cell;
+            } else {
+                shipsHi |= 1L << (cell - 64);
+            }
+        }
         return true;
     }
     
@@ -45,48 +90,65 @@ public class Board implements Serializable {
      * @return Resultado del ataque para comunicación distribuida
      */
     public AttackResult receiveAttack(Position position) {
-        int x = position.getX();
-        int y = position.getY();
+        int cell = cellIndex(position);
         
-        if (attacks[y][x]) {
-            return AttackResult.ALREADY_ATTACKED;
+        if (cell < 64) {
+            long bit = 1L << cell;
+            if ((attacksLo & bit) != 0) {
+                return AttackResult.ALREADY_ATTACKED;
+            }
+            attacksLo |= bit;
+            if ((shipsLo & bit) == 0) {
+                return AttackResult.MISS;
+            }
+            hitsLo |= bit;
+        } else {
+            long bit = 1L << (cell - 64);
+            if ((attacksHi & bit) != 0) {
+                return AttackResult.ALREADY_ATTACKED;
+            }
+            attacksHi |= bit;
+            if ((shipsHi & bit) == 0) {
+                return AttackResult.MISS;
+            }
+            hitsHi |= bit;
         }
         
-        attacks[y][x] = true;
+        Ship ship = ships.get(cellToShip[cell] - 1);
+        ship.hit(position);
         
-        // Buscar si hay un barco en esta posición
-        for (Ship ship : ships) {
-            if (ship.occupiesPosition(position)) {
-                ship.hit(position);
-                hits[y][x] = true;
-                
-                if (ship.isSunk()) {
-                    if (allShipsSunk()) {
-                        return AttackResult.SUNK_AND_GAME_OVER;
-                    }
-                    return AttackResult.SUNK;
-                }
-                return AttackResult.HIT;
+        if (ship.isSunk()) {
+            sunkShips++;
+            if (allShipsSunk()) {
+                return AttackResult.SUNK_AND_GAME_OVER;
             }
+            return AttackResult.SUNK;
         }
-        
-        return AttackResult.MISS;
+        return AttackResult.HIT;
     }
     
     public boolean allShipsSunk() {
-        return ships.stream().allMatch(Ship::isSunk);
+        return sunkShips == ships.size();
     }
     
     public boolean hasShipAt(Position position) {
-        return ships.stream().anyMatch(ship -> ship.occupiesPosition(position));
+        return cellToShip[position.getIndex()] != 0;
     }
     
     public boolean isAttacked(Position position) {
-        return attacks[position.getY()][position.getX()];
+        return testBit(attacksLo, attacksHi, cellIndex(position));
     }
     
     public boolean isHit(Position position) {
-        return hits[position.getY()][position.getX()];
+        return testBit(hitsLo, hitsHi, cellIndex(position));
+    }
+    
+    /**
+     * Barco que ocupa la posición, o null si es agua
+     */
+    public Ship getShipAt(Position position) {
+        int shipId = cellToShip[position.getIndex()];
+        return shipId == 0 ? null : ships.get(shipId - 1);
     }
     
     public List<Ship> getShips() {
@@ -97,6 +159,72 @@ public class Board implements Serializable {
         return ships.size();
     }
     
+    private static int cellIndex(Position position) {
+        return position.getIndex();
+    }
+    
+    private static boolean testBit(long lo, long hi, int cell) {
+        return cell < 64 ? (lo & (1L << cell)) != 0 : (hi & (1L << (cell - 64))) != 0;
+    }
+    
+    private Object writeReplace() {
+        return WireFormat.COMPACT ? new Wire(this) : this;
+    }
+    
+    /**
+     * Proxy de transferencia: barcos como (origen, longitud+orientación) y
+     * ataques como bitboard; impactos y hundimientos se recalculan al leer
+     */
+    private static final class Wire implements Externalizable {
+        private static final long serialVersionUID = 1L;
+        
+        private Board board;
+        
+        public Wire() {
+        }
+        
+        Wire(Board board) {
+            this.board = board;
+        }
+        
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeByte(board.ships.size());
+            for (Ship ship : board.ships) {
+                out.writeByte(ship.cellIndex(0));
+                out.writeByte(ship.getSize() << 1 | (ship.isHorizontal() ? 1 : 0));
+            }
+            out.writeLong(board.attacksLo);
+            out.writeLong(board.attacksHi);
+        }
+        
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            board = new Board();
+            int shipCount = in.readUnsignedByte();
+            for (int i = 0; i < shipCount; i++) {
+                Position start = Position.ofIndex(in.readUnsignedByte());
+                int shape = in.readUnsignedByte();
+                int last = (shape >>> 1) - 1;
+                Position end = (shape & 1) != 0
+                        ? Position.of(start.getX() + last, start.getY())
+                        : Position.of(start.getX(), start.getY() + last);
+                board.placeShip(start, end);
+            }
+            long attacksLo = in.readLong();
+            long attacksHi = in.readLong();
+            for (int cell = 0; cell < CELLS; cell++) {
+                if (testBit(attacksLo, attacksHi, cell)) {
+                    board.receiveAttack(Position.ofIndex(cell));
+                }
+            }
+        }
+        
+        private Object readResolve() {
+            return board;
+        }
+    }
+    
     /**
      * Enum para resultados de ataque en sistema distribuido
      * Serializable para transferencia RMI
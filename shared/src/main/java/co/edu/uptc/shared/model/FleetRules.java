@@ -0,0 +1,130 @@
+package co.edu.uptc.shared.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reglas de la flota: composición estándar y regla de barcos no pegados
+ * Fuente única usada por el servidor para validar y por el cliente para colocar.
+ */
+public final class FleetRules {
+    
+    /** Tamaños de la flota estándar: portaaviones, acorazado, crucero, submarino, destructor */
+    private static final int[] STANDARD_FLEET = {5, 4, 3, 3, 2};
+    
+    private FleetRules() {
+    }
+    
+    public static int[] standardFleet() {
+        return STANDARD_FLEET.clone();
+    }
+    
+    public static int fleetSize() {
+        return STANDARD_FLEET.length;
+    }
+    
+    /**
+     * Valida una flota completa: composición estándar, dentro del tablero,
+     * sin superposición y sin barcos adyacentes (ni en diagonal)
+     * @throws IllegalArgumentException con el motivo si la flota no es válida
+     */
+    public static void checkFleet(List<ShipPlacement> fleet) {
+        if (fleet == null || fleet.size() != STANDARD_FLEET.length) {
+            throw new IllegalArgumentException("La flota debe tener " + STANDARD_FLEET.length + " barcos");
+        }
+        
+        int[] sizes = new int[fleet.size()];
+        long blockedLo = 0L, blockedHi = 0L;
+        for (int i = 0; i < fleet.size(); i++) {
+            ShipPlacement placement = fleet.get(i);
+            if (placement == null || !placement.fitsOnBoard()) {
+                throw new IllegalArgumentException("Barco fuera del tablero: " + placement);
+            }
+            int idx = PlacementMasks.index(placement);
+            if ((PlacementMasks.maskLo(idx) & blockedLo) != 0 || (PlacementMasks.maskHi(idx) & blockedHi) != 0) {
+                throw new IllegalArgumentException("Barco superpuesto o adyacente a otro: " + placement);
+            }
+            blockedLo |= PlacementMasks.haloLo(idx);
+            blockedHi |= PlacementMasks.haloHi(idx);
+            sizes[i] = placement.getSize();
+        }
+        
+        int[] expected = STANDARD_FLEET.clone();
+        Arrays.sort(sizes);
+        Arrays.sort(expected);
+        if (!Arrays.equals(sizes, expected)) {
+            throw new IllegalArgumentException("Composición de flota inválida: " + Arrays.toString(sizes));
+        }
+    }
+    
+    /**
+     * Valida un barco más de una flota que se coloca de a uno: dentro del
+     * tablero, sin tocar a los ya colocados y de un tamaño que aún falta
+     * Colocar así toda la flota equivale a pasar checkFleet.
+     * @throws IllegalArgumentException con el motivo si el barco no es válido
+     */
+    public static void checkNextShip(List<ShipPlacement> placed, ShipPlacement next) {
+        if (next == null || !next.fitsOnBoard()) {
+            throw new IllegalArgumentException("Barco fuera del tablero: " + next);
+        }
+        long blockedLo = 0L, blockedHi = 0L;
+        int[] missing = STANDARD_FLEET.clone();
+        removeSize(missing, next.getSize());
+        for (ShipPlacement placement : placed) {
+            int idx = PlacementMasks.index(placement);
+            blockedLo |= PlacementMasks.haloLo(idx);
+            blockedHi |= PlacementMasks.haloHi(idx);
+            removeSize(missing, placement.getSize());
+        }
+        int idx = PlacementMasks.index(next);
+        if ((PlacementMasks.maskLo(idx) & blockedLo) != 0 || (PlacementMasks.maskHi(idx) & blockedHi) != 0) {
+            throw new IllegalArgumentException("Barco superpuesto o adyacente a otro: " + next);
+        }
+    }
+    
+    private static void removeSize(int[] missing, int size) {
+        for (int i = 0; i < missing.length; i++) {
+            if (missing[i] == size) {
+                missing[i] = 0;
+                return;
+            }
+        }
+        throw new IllegalArgumentException("La flota ya no admite barcos de tamaño " + size);
+    }
+    
+    /**
+     * Flota estándar aleatoria que cumple checkFleet, para jugadores automáticos
+     * Cada barco se elige entre las colocaciones precalculadas que no tocan a
+     * los anteriores; si uno no cabe se empieza de nuevo (muy poco frecuente).
+     */
+    public static List<ShipPlacement> randomFleet(Random random) {
+        List<ShipPlacement> fleet = new ArrayList<>(STANDARD_FLEET.length);
+        while (true) {
+            fleet.clear();
+            long blockedLo = 0L, blockedHi = 0L;
+            for (int size : STANDARD_FLEET) {
+                int[] candidates = PlacementMasks.placementsOfSize(size);
+                int chosen = -1;
+                for (int attempt = 0; attempt < 64 && chosen < 0; attempt++) {
+                    int idx = candidates[random.nextInt(candidates.length)];
+                    if ((PlacementMasks.maskLo(idx) & blockedLo) == 0
+                            && (PlacementMasks.maskHi(idx) & blockedHi) == 0) {
+                        chosen = idx;
+                    }
+                }
+                if (chosen < 0) {
+                    break;
+                }
+                blockedLo |= PlacementMasks.haloLo(chosen);
+                blockedHi |= PlacementMasks.haloHi(chosen);
+                fleet.add(new ShipPlacement(Position.ofIndex(PlacementMasks.originOf(chosen)), size,
+                        PlacementMasks.isHorizontal(chosen)));
+            }
+            if (fleet.size() == STANDARD_FLEET.length) {
+                return fleet;
+            }
+        }
+    }
+}
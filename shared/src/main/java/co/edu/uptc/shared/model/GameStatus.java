@@ -1,52 +1,108 @@
 package co.edu.uptc.shared.model;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.io.Serializable;
 
 /**
  * Estado del juego distribuido - Transferible vía RMI
  * Sincroniza estado entre servidor y múltiples clientes
+ *
+ * La versión es la de la sesión en el momento de generar el estado; crece con
+ * cada cambio y permite al cliente esperar solo cambios nuevos (long-poll).
  */
 public final class GameStatus implements Serializable {
     private static final long serialVersionUID = 1L;
     
+    private static final int MY_TURN = 1;
+    private static final int CUSTOM_MESSAGE = 2;
+    
     private final GamePhase phase;
     private final String currentPlayerName;
     private final boolean isMyTurn;
     private final int playersConnected;
     private final String winner;
     private final String statusMessage;
+    private final long version;
+    // El mensaje es el de las fábricas: el formato compacto no lo transmite
+    private final boolean generatedMessage;
     
-    public GameStatus(GamePhase phase, String currentPlayerName, boolean isMyTurn, 
+    public GameStatus(GamePhase phase, String currentPlayerName, boolean isMyTurn,
                      int playersConnected, String winner, String statusMessage) {
+        this(phase, currentPlayerName, isMyTurn, playersConnected, winner, statusMessage, 0);
+    }
+    
+    public GameStatus(GamePhase phase, String currentPlayerName, boolean isMyTurn,
+                     int playersConnected, String winner, String statusMessage, long version) {
+        this(phase, currentPlayerName, isMyTurn, playersConnected, winner, statusMessage, version, false);
+    }
+    
+    private GameStatus(GamePhase phase, String currentPlayerName, boolean isMyTurn, int playersConnected,
+                       String winner, String statusMessage, long version, boolean generatedMessage) {
         this.phase = phase;
         this.currentPlayerName = currentPlayerName;
         this.isMyTurn = isMyTurn;
         this.playersConnected = playersConnected;
         this.winner = winner;
         this.statusMessage = statusMessage;
+        this.version = version;
+        this.generatedMessage = generatedMessage;
     }
     
     // Factory methods para estados comunes del sistema distribuido
     public static GameStatus waiting(int playersConnected) {
-        String message = playersConnected == 0 ? "Esperando jugadores..." : 
-                        "Esperando segundo jugador... (" + playersConnected + "/2)";
-        return new GameStatus(GamePhase.WAITING, null, false, playersConnected, null, message);
+        return create(GamePhase.WAITING, null, false, playersConnected, null);
     }
     
     public static GameStatus placingShips(int playersConnected) {
-        return new GameStatus(GamePhase.PLACING_SHIPS, null, false, playersConnected, null,
-                            "Coloca tus barcos en el tablero");
+        return create(GamePhase.PLACING_SHIPS, null, false, playersConnected, null);
     }
     
     public static GameStatus playing(String currentPlayerName, boolean isMyTurn) {
-        String message = isMyTurn ? "¡Tu turno! Ataca el tablero enemigo" : 
-                        "Turno de " + currentPlayerName + " - Espera...";
-        return new GameStatus(GamePhase.PLAYING, currentPlayerName, isMyTurn, 2, null, message);
+        return create(GamePhase.PLAYING, currentPlayerName, isMyTurn, 2, null);
     }
     
     public static GameStatus finished(String winner) {
-        String message = "¡Juego terminado! Ganador: " + winner;
-        return new GameStatus(GamePhase.FINISHED, null, false, 2, winner, message);
+        return create(GamePhase.FINISHED, null, false, 2, winner);
+    }
+    
+    private static GameStatus create(GamePhase phase, String currentPlayerName, boolean isMyTurn,
+                                     int playersConnected, String winner) {
+        return new GameStatus(phase, currentPlayerName, isMyTurn, playersConnected, winner,
+                defaultMessage(phase, currentPlayerName, isMyTurn, playersConnected, winner), 0, true);
+    }
+    
+    /**
+     * Mensaje que generan los métodos fábrica; en formato compacto no se transmite
+     */
+    private static String defaultMessage(GamePhase phase, String currentPlayerName, boolean isMyTurn,
+                                         int playersConnected, String winner) {
+        switch (phase) {
+            case WAITING:
+                return playersConnected == 0 ? "Esperando jugadores..." :
+                        "Esperando segundo jugador... (" + playersConnected + "/2)";
+            case PLACING_SHIPS:
+                return "Coloca tus barcos en el tablero";
+            case PLAYING:
+                return isMyTurn ? "¡Tu turno! Ataca el tablero enemigo" :
+                        "Turno de " + currentPlayerName + " - Espera...";
+            case FINISHED:
+                return "¡Juego terminado! Ganador: " + winner;
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * Copia del estado marcada con la versión de la sesión
+     */
+    public GameStatus withVersion(long version) {
+        return new GameStatus(phase, currentPlayerName, isMyTurn, playersConnected, winner, statusMessage, version,
+                generatedMessage);
     }
     
     // Getters
@@ -56,6 +112,7 @@ public final class GameStatus implements Serializable {
     public int getPlayersConnected() { return playersConnected; }
     public String getWinner() { return winner; }
     public String getStatusMessage() { return statusMessage; }
+    public long getVersion() { return version; }
     
     public boolean isGameReady() {
         return playersConnected == 2;
@@ -93,6 +150,74 @@ public final class GameStatus implements Serializable {
         }
     }
     
+    /**
+     * Formato compacto: fase como ordinal, banderas en un byte, jugadores y
+     * versión como varint y el mensaje solo cuando no lo generaron las
+     * fábricas. Lo usan el proxy RMI y el transporte NIO.
+     */
+    public void write(DataOutput out) throws IOException {
+        boolean custom = !generatedMessage;
+        
+        out.writeByte(phase.ordinal());
+        out.writeByte((isMyTurn ? MY_TURN : 0) | (custom ? CUSTOM_MESSAGE : 0));
+        WireFormat.writeVarInt(out, playersConnected);
+        WireFormat.writeVarLong(out, version);
+        WireFormat.writeNullableString(out, currentPlayerName);
+        WireFormat.writeNullableString(out, winner);
+        if (custom) {
+            WireFormat.writeNullableString(out, statusMessage);
+        }
+    }
+    
+    public static GameStatus read(DataInput in) throws IOException {
+        GamePhase phase = GamePhase.values()[in.readUnsignedByte()];
+        int flags = in.readUnsignedByte();
+        boolean myTurn = (flags & MY_TURN) != 0;
+        int playersConnected = WireFormat.readVarInt(in);
+        long version = WireFormat.readVarLong(in);
+        String currentPlayerName = WireFormat.readNullableString(in);
+        String winner = WireFormat.readNullableString(in);
+        boolean custom = (flags & CUSTOM_MESSAGE) != 0;
+        String message = custom
+                ? WireFormat.readNullableString(in)
+                : defaultMessage(phase, currentPlayerName, myTurn, playersConnected, winner);
+        return new GameStatus(phase, currentPlayerName, myTurn, playersConnected, winner, message, version, !custom);
+    }
+    
+    private Object writeReplace() {
+        return WireFormat.COMPACT ? new Wire(this) : this;
+    }
+    
+    /**
+     * Proxy de transferencia con el formato de {@link #write}
+     */
+    private static final class Wire implements Externalizable {
+        private static final long serialVersionUID = 1L;
+        
+        private GameStatus status;
+        
+        public Wire() {
+        }
+        
+        Wire(GameStatus status) {
+            this.status = status;
+        }
+        
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            status.write(out);
+        }
+        
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            status = read(in);
+        }
+        
+        private Object readResolve() {
+            return status;
+        }
+    }
+    
     @Override
     public String toString() {
         return "GameStatus{" +
@@ -102,6 +227,7 @@ public final class GameStatus implements Serializable {
                 ", playersConnected=" + playersConnected +
                 ", winner='" + winner + '\'' +
                 ", message='" + statusMessage + '\'' +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,111 @@
+package co.edu.uptc.shared.model;
+
+import java.util.Arrays;
+
+/**
+ * Máscaras precalculadas para cada colocación posible (tamaño, orientación, origen)
+ *
+ * Cada entrada guarda el bitboard de celdas que ocupa el barco y su "halo"
+ * (las celdas del barco más sus 8 vecinas), ambos como pares lo/hi con el
+ * mismo índice de celda que Board. Las colocaciones que no caben en el
+ * tablero quedan marcadas como inválidas.
+ */
+public final class PlacementMasks {
+    
+    /** Tamaño máximo de barco con máscaras precalculadas */
+    public static final int MAX_SIZE = Board.SIZE;
+    
+    private static final int CELLS = Board.CELLS;
+    private static final int ENTRIES = (MAX_SIZE + 1) * 2 * CELLS;
+    
+    private static final long[] MASK_LO = new long[ENTRIES];
+    private static final long[] MASK_HI = new long[ENTRIES];
+    private static final long[] HALO_LO = new long[ENTRIES];
+    private static final long[] HALO_HI = new long[ENTRIES];
+    private static final boolean[] VALID = new boolean[ENTRIES];
+    
+    // Índices de las colocaciones válidas de cada tamaño, para enumerarlas rápido
+    private static final int[][] BY_SIZE = new int[MAX_SIZE + 1][];
+    
+    static {
+        for (int size = 1; size <= MAX_SIZE; size++) {
+            int[] valid = new int[2 * CELLS];
+            int count = 0;
+            for (int h = 0; h < 2; h++) {
+                boolean horizontal = h == 1;
+                for (int origin = 0; origin < CELLS; origin++) {
+                    int ox = origin % Board.SIZE;
+                    int oy = origin / Board.SIZE;
+                    int ex = horizontal ? ox + size - 1 : ox;
+                    int ey = horizontal ? oy : oy + size - 1;
+                    if (ex >= Board.SIZE || ey >= Board.SIZE) {
+                        continue;
+                    }
+                    int idx = index(size, horizontal, origin);
+                    VALID[idx] = true;
+                    for (int y = Math.max(0, oy - 1); y <= Math.min(Board.SIZE - 1, ey + 1); y++) {
+                        for (int x = Math.max(0, ox - 1); x <= Math.min(Board.SIZE - 1, ex + 1); x++) {
+                            int cell = y * Board.SIZE + x;
+                            boolean inShip = x >= ox && x <= ex && y >= oy && y <= ey;
+                            if (cell < 64) {
+                                HALO_LO[idx] |= 1L << cell;
+                                if (inShip) MASK_LO[idx] |= 1L << cell;
+                            } else {
+                                HALO_HI[idx] |= 1L << (cell - 64);
+                                if (inShip) MASK_HI[idx] |= 1L << (cell - 64);
+                            }
+                        }
+                    }
+                    // Un barco de tamaño 1 es el mismo en ambas orientaciones
+                    if (size > 1 || !horizontal) {
+                        valid[count++] = idx;
+                    }
+                }
+            }
+            BY_SIZE[size] = Arrays.copyOf(valid, count);
+        }
+    }
+    
+    private PlacementMasks() {
+    }
+    
+    /**
+     * Índice de la tabla para una colocación
+     */
+    public static int index(int size, boolean horizontal, int origin) {
+        return (size * 2 + (horizontal ? 1 : 0)) * CELLS + origin;
+    }
+    
+    public static int index(ShipPlacement placement) {
+        return index(placement.getSize(), placement.isHorizontal(), placement.getOrigin().getIndex());
+    }
+    
+    public static boolean fits(int size, boolean horizontal, int origin) {
+        return size >= 1 && size <= MAX_SIZE && origin >= 0 && origin < CELLS
+                && VALID[index(size, horizontal, origin)];
+    }
+    
+    /**
+     * Índices de todas las colocaciones válidas de un tamaño (no modificar)
+     */
+    public static int[] placementsOfSize(int size) {
+        return BY_SIZE[size];
+    }
+    
+    public static long maskLo(int index) { return MASK_LO[index]; }
+    public static long maskHi(int index) { return MASK_HI[index]; }
+    public static long haloLo(int index) { return HALO_LO[index]; }
+    public static long haloHi(int index) { return HALO_HI[index]; }
+    
+    public static int sizeOf(int index) {
+        return index / (2 * CELLS);
+    }
+    
+    public static boolean isHorizontal(int index) {
+        return (index / CELLS) % 2 == 1;
+    }
+    
+    public static int originOf(int index) {
+        return index % CELLS;
+    }
+}
@@ -1,28 +1,64 @@
 package co.edu.uptc.shared.model;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.io.Serializable;
-import java.util.Objects;
 
 /**
  * Value Object inmutable para coordenadas del tablero
  * Serializable para transferencia en sistemas distribuidos RMI
+ *
+ * Flyweight: solo existen 100 instancias, precalculadas en una tabla plana
+ * indexada por y*10 + x. Se obtienen con {@link #of(int, int)}.
  */
 public final class Position implements Serializable {
     private static final long serialVersionUID = 1L;
     
+    private static final int SIZE = 10;
+    private static final Position[] TABLE = new Position[SIZE * SIZE];
+    
+    static {
+        for (int i = 0; i < TABLE.length; i++) {
+            TABLE[i] = new Position(i % SIZE, i / SIZE);
+        }
+    }
+    
     private final int x;
     private final int y;
+    private final int index;
     
-    public Position(int x, int y) {
-        if (x < 0 || x >= 10 || y < 0 || y >= 10) {
-            throw new IllegalArgumentException("Posición fuera del tablero: (" + x + "," + y + ")");
-        }
+    private Position(int x, int y) {
         this.x = x;
         this.y = y;
+        this.index = y * SIZE + x;
+    }
+    
+    /**
+     * Obtiene la instancia canónica de una coordenada
+     * @throws IllegalArgumentException si la coordenada está fuera del tablero
+     */
+    public static Position of(int x, int y) {
+        if (x < 0 || x >= SIZE || y < 0 || y >= SIZE) {
+            throw new IllegalArgumentException("Posición fuera del tablero: (" + x + "," + y + ")");
+        }
+        return TABLE[y * SIZE + x];
+    }
+    
+    /**
+     * Obtiene la instancia canónica a partir del índice de celda (y*10 + x)
+     */
+    public static Position ofIndex(int index) {
+        if (index < 0 || index >= TABLE.length) {
+            throw new IllegalArgumentException("Índice de celda fuera del tablero: " + index);
+        }
+        return TABLE[index];
     }
     
     public int getX() { return x; }
     public int getY() { return y; }
+    public int getIndex() { return index; }
     
     public boolean isAdjacent(Position other) {
         int dx = Math.abs(this.x - other.x);
@@ -30,21 +66,65 @@ public final class Position implements Serializable {
         return (dx == 1 && dy == 0) || (dx == 0 && dy == 1);
     }
     
+    /**
+     * Las instancias son canónicas, por lo que la igualdad es por identidad
+     */
     @Override
     public boolean equals(Object obj) {
-        if (this == obj) return true;
-        if (obj == null || getClass() != obj.getClass()) return false;
-        Position position = (Position) obj;
-        return x == position.x && y == position.y;
+        return this == obj;
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return index;
     }
     
     @Override
     public String toString() {
         return "(" + x + "," + y + ")";
     }
+    
+    /**
+     * En formato compacto la posición viaja como un único byte (índice de celda)
+     */
+    private Object writeReplace() {
+        return WireFormat.COMPACT ? new Wire(index) : this;
+    }
+    
+    /**
+     * Al deserializar se retorna la instancia canónica de la tabla
+     */
+    private Object readResolve() {
+        return of(x, y);
+    }
+    
+    /**
+     * Proxy de transferencia: un byte con el índice de celda
+     */
+    private static final class Wire implements Externalizable {
+        private static final long serialVersionUID = 1L;
+        
+        private int index;
+        
+        public Wire() {
+        }
+        
+        Wire(int index) {
+            this.index = index;
+        }
+        
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeByte(index);
+        }
+        
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            index = in.readUnsignedByte();
+        }
+        
+        private Object readResolve() {
+            return ofIndex(index);
+        }
+    }
 }
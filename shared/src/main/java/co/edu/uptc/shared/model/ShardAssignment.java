@@ -0,0 +1,39 @@
+package co.edu.uptc.shared.model;
+
+import co.edu.uptc.shared.interfaces.GameService;
+import java.io.Serializable;
+
+/**
+ * Respuesta del lobby: resultado de la operación y stub del shard asignado
+ */
+public final class ShardAssignment implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    private final String result;
+    private final String shardName;
+    private final GameService shard;
+    
+    public ShardAssignment(String result, String shardName, GameService shard) {
+        this.result = result;
+        this.shardName = shardName;
+        this.shard = shard;
+    }
+    
+    public static ShardAssignment error(String message) {
+        return new ShardAssignment("ERROR:" + message, null, null);
+    }
+    
+    public boolean isSuccess() {
+        return shard != null && result.startsWith("SUCCESS:");
+    }
+    
+    // Getters simples
+    public String getResult() { return result; }
+    public String getShardName() { return shardName; }
+    public GameService getShard() { return shard; }
+    
+    @Override
+    public String toString() {
+        return "ShardAssignment{" + result + (shardName != null ? " @" + shardName : "") + "}";
+    }
+}
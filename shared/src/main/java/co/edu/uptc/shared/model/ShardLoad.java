@@ -0,0 +1,44 @@
+package co.edu.uptc.shared.model;
+
+import co.edu.uptc.shared.interfaces.ShardService;
+import java.io.Serializable;
+
+/**
+ * Carga reportada por un shard al lobby
+ */
+public final class ShardLoad implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    private final String shardName;
+    private final ShardService shard;
+    private final int sessions;
+    private final int players;
+    private final int maxSessions;
+    private final long nextSession;
+    
+    /**
+     * @param nextSession Próximo número de sesión libre en el shard (el lobby no lo reutiliza)
+     */
+    public ShardLoad(String shardName, ShardService shard, int sessions, int players,
+                     int maxSessions, long nextSession) {
+        this.shardName = shardName;
+        this.shard = shard;
+        this.sessions = sessions;
+        this.players = players;
+        this.maxSessions = maxSessions;
+        this.nextSession = nextSession;
+    }
+    
+    // Getters simples
+    public String getShardName() { return shardName; }
+    public ShardService getShard() { return shard; }
+    public int getSessions() { return sessions; }
+    public int getPlayers() { return players; }
+    public int getMaxSessions() { return maxSessions; }
+    public long getNextSession() { return nextSession; }
+    
+    @Override
+    public String toString() {
+        return shardName + ": sesiones=" + sessions + "/" + maxSessions + ", jugadores=" + players;
+    }
+}
@@ -1,77 +1,191 @@
 package co.edu.uptc.shared.model;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * Representa un barco en el juego distribuido
  * Serializable para transferencia entre cliente-servidor RMI
+ *
+ * Representación compacta: celda de origen, longitud, orientación,
+ * máscara de impactos (bit i = segmento i) y contador de impactos restantes.
  */
 public class Ship implements Serializable {
     private static final long serialVersionUID = 1L;
     
-    private final List<Position> positions;
-    private final List<Boolean> hits;
-    private final int size;
+    private final byte origin;      // índice y*10 + x de la celda superior/izquierda
+    private final byte length;
+    private final boolean horizontal;
+    private int hitMask;
+    private byte remaining;
     
-    public Ship(Position start, Position end) {
-        this.positions = calculatePositions(start, end);
-        this.size = positions.size();
-        this.hits = new ArrayList<>();
-        for (int i = 0; i < size; i++) {
-            hits.add(false);
-        }
-    }
+    private transient List<Position> positionsView;
     
-    private List<Position> calculatePositions(Position start, Position end) {
-        List<Position> result = new ArrayList<>();
-        
+    public Ship(Position start, Position end) {
         if (start.getX() == end.getX()) {
             // Vertical
             int minY = Math.min(start.getY(), end.getY());
-            int maxY = Math.max(start.getY(), end.getY());
-            for (int y = minY; y <= maxY; y++) {
-                result.add(new Position(start.getX(), y));
-            }
+            this.origin = (byte) Position.of(start.getX(), minY).getIndex();
+            this.length = (byte) (Math.abs(end.getY() - start.getY()) + 1);
+            this.horizontal = false;
         } else if (start.getY() == end.getY()) {
             // Horizontal
             int minX = Math.min(start.getX(), end.getX());
-            int maxX = Math.max(start.getX(), end.getX());
-            for (int x = minX; x <= maxX; x++) {
-                result.add(new Position(x, start.getY()));
-            }
+            this.origin = (byte) Position.of(minX, start.getY()).getIndex();
+            this.length = (byte) (Math.abs(end.getX() - start.getX()) + 1);
+            this.horizontal = true;
         } else {
             throw new IllegalArgumentException("El barco debe ser horizontal o vertical");
         }
-        
-        return result;
+        this.remaining = length;
+    }
+    
+    private Ship(int origin, int length, boolean horizontal, int hitMask) {
+        this.origin = (byte) origin;
+        this.length = (byte) length;
+        this.horizontal = horizontal;
+        this.hitMask = hitMask;
+        this.remaining = (byte) (length - Integer.bitCount(hitMask));
+    }
+    
+    /**
+     * Copia independiente, con los mismos impactos
+     */
+    Ship copy() {
+        return new Ship(origin, length, horizontal, hitMask);
     }
     
     public boolean occupiesPosition(Position position) {
-        return positions.contains(position);
+        return segmentOf(position) >= 0;
     }
     
     public boolean hit(Position position) {
-        int index = positions.indexOf(position);
-        if (index >= 0 && !hits.get(index)) {
-            hits.set(index, true);
-            return true;
+        int segment = segmentOf(position);
+        if (segment < 0) {
+            return false;
+        }
+        int bit = 1 << segment;
+        if ((hitMask & bit) != 0) {
+            return false;
         }
-        return false;
+        hitMask |= bit;
+        remaining--;
+        return true;
     }
     
     public boolean isSunk() {
-        return hits.stream().allMatch(hit -> hit);
+        return remaining == 0;
     }
     
+    /**
+     * Vista de solo lectura de las celdas del barco, calculada bajo demanda
+     */
     public List<Position> getPositions() {
-        return new ArrayList<>(positions);
+        if (positionsView == null) {
+            positionsView = new AbstractList<Position>() {
+                @Override
+                public Position get(int i) {
+                    if (i < 0 || i >= length) {
+                        throw new IndexOutOfBoundsException("Segmento " + i + " de " + length);
+                    }
+                    return Position.ofIndex(cellIndex(i));
+                }
+                
+                @Override
+                public int size() {
+                    return length;
+                }
+            };
+        }
+        return positionsView;
+    }
+    
+    /**
+     * Índice de celda (y*10 + x) del segmento i del barco
+     */
+    public int cellIndex(int segment) {
+        return origin + (horizontal ? segment : segment * Board.SIZE);
+    }
+    
+    public ShipPlacement toPlacement() {
+        return new ShipPlacement(getOrigin(), length, horizontal);
+    }
+    
+    public Position getOrigin() {
+        return Position.ofIndex(origin);
+    }
+    
+    public boolean isHorizontal() {
+        return horizontal;
+    }
+    
+    public int getHitMask() {
+        return hitMask;
     }
     
     public int getSize() {
-        return size;
+        return length;
+    }
+    
+    /**
+     * Segmento del barco que ocupa la posición, o -1 si no la ocupa
+     */
+    private int segmentOf(Position position) {
+        int ox = origin % Board.SIZE;
+        int oy = origin / Board.SIZE;
+        int offset;
+        if (horizontal) {
+            if (position.getY() != oy) return -1;
+            offset = position.getX() - ox;
+        } else {
+            if (position.getX() != ox) return -1;
+            offset = position.getY() - oy;
+        }
+        return offset >= 0 && offset < length ? offset : -1;
+    }
+    
+    private Object writeReplace() {
+        return WireFormat.COMPACT ? new Wire(this) : this;
+    }
+    
+    /**
+     * Proxy de transferencia: origen, longitud+orientación y máscara de impactos
+     */
+    private static final class Wire implements Externalizable {
+        private static final long serialVersionUID = 1L;
+        
+        private Ship ship;
+        
+        public Wire() {
+        }
+        
+        Wire(Ship ship) {
+            this.ship = ship;
+        }
+        
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeByte(ship.origin);
+            out.writeByte(ship.length << 1 | (ship.horizontal ? 1 : 0));
+            out.writeShort(ship.hitMask);
+        }
+        
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            int origin = in.readUnsignedByte();
+            int shape = in.readUnsignedByte();
+            int hitMask = in.readUnsignedShort();
+            ship = new Ship(origin, shape >>> 1, (shape & 1) != 0, hitMask);
+        }
+        
+        private Object readResolve() {
+            return ship;
+        }
     }
     
     @Override
@@ -79,11 +193,11 @@ public class Ship implements Serializable {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         Ship ship = (Ship) obj;
-        return Objects.equals(positions, ship.positions);
+        return origin == ship.origin && length == ship.length && horizontal == ship.horizontal;
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(positions);
+        return (origin * 31 + length) * 2 + (horizontal ? 1 : 0);
     }
 }
@@ -0,0 +1,118 @@
+package co.edu.uptc.shared.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+
+/**
+ * Colocación de un barco: celda de origen (superior/izquierda), tamaño y orientación
+ * Serializable para enviar la flota completa en una sola invocación RMI
+ */
+public final class ShipPlacement implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    private final Position origin;
+    private final int size;
+    private final boolean horizontal;
+    
+    public ShipPlacement(Position origin, int size, boolean horizontal) {
+        if (origin == null) {
+            throw new IllegalArgumentException("La colocación requiere una posición de origen");
+        }
+        if (size < 1 || size > Board.SIZE) {
+            throw new IllegalArgumentException("Tamaño de barco inválido: " + size);
+        }
+        this.origin = origin;
+        this.size = size;
+        this.horizontal = horizontal;
+    }
+    
+    public Position getOrigin() { return origin; }
+    public int getSize() { return size; }
+    public boolean isHorizontal() { return horizontal; }
+    
+    /**
+     * true si el barco cabe completo dentro del tablero
+     */
+    public boolean fitsOnBoard() {
+        return PlacementMasks.fits(size, horizontal, origin.getIndex());
+    }
+    
+    /**
+     * Celda final del barco; requiere {@link #fitsOnBoard()}
+     */
+    public Position getEnd() {
+        return horizontal ? Position.of(origin.getX() + size - 1, origin.getY())
+                          : Position.of(origin.getX(), origin.getY() + size - 1);
+    }
+    
+    /**
+     * Formato compacto de dos bytes: índice de origen y tamaño << 1 | horizontal
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeByte(origin.getIndex());
+        out.writeByte(size << 1 | (horizontal ? 1 : 0));
+    }
+    
+    public static ShipPlacement read(DataInput in) throws IOException {
+        Position origin = Position.ofIndex(in.readUnsignedByte());
+        int shape = in.readUnsignedByte();
+        return new ShipPlacement(origin, shape >>> 1, (shape & 1) != 0);
+    }
+    
+    private Object writeReplace() {
+        return WireFormat.COMPACT ? new Wire(this) : this;
+    }
+    
+    /**
+     * Proxy de transferencia con el formato de {@link #write}
+     */
+    private static final class Wire implements Externalizable {
+        private static final long serialVersionUID = 1L;
+        
+        private ShipPlacement placement;
+        
+        public Wire() {
+        }
+        
+        Wire(ShipPlacement placement) {
+            this.placement = placement;
+        }
+        
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            placement.write(out);
+        }
+        
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            placement = read(in);
+        }
+        
+        private Object readResolve() {
+            return placement;
+        }
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        ShipPlacement other = (ShipPlacement) obj;
+        return origin == other.origin && size == other.size && horizontal == other.horizontal;
+    }
+    
+    @Override
+    public int hashCode() {
+        return (origin.getIndex() * 31 + size) * 2 + (horizontal ? 1 : 0);
+    }
+    
+    @Override
+    public String toString() {
+        return "ShipPlacement{" + origin + ", size=" + size + ", " + (horizontal ? "H" : "V") + "}";
+    }
+}
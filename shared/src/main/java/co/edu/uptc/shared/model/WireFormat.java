@@ -0,0 +1,91 @@
+package co.edu.uptc.shared.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Utilidades del formato compacto de transferencia de los modelos RMI
+ *
+ * Cada modelo serializable se reemplaza al escribirse (writeReplace) por un
+ * proxy Externalizable que escribe solo los bytes necesarios. Con la propiedad
+ * del sistema battleship.wire.legacy=true se conserva la serialización Java
+ * por defecto, útil para comparar ambos formatos.
+ */
+public final class WireFormat {
+    
+    /** true = proxies compactos, false = serialización Java por defecto */
+    public static final boolean COMPACT = !Boolean.getBoolean("battleship.wire.legacy");
+    
+    private WireFormat() {
+    }
+    
+    /**
+     * Escribe un entero no negativo en formato varint (7 bits por byte)
+     */
+    public static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+    
+    public static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint mal formado");
+    }
+    
+    /**
+     * Lee la cantidad de elementos de una colección y la rechaza si supera max
+     * Se valida antes de reservar memoria: la cantidad llega de la red.
+     */
+    public static int readCount(DataInput in, int max) throws IOException {
+        int count = readVarInt(in);
+        if (count < 0 || count > max) {
+            throw new IOException("Cantidad fuera de rango: " + count);
+        }
+        return count;
+    }
+    
+    public static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+    
+    public static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint mal formado");
+    }
+    
+    /**
+     * Escribe un texto que puede ser null (marca de presencia + UTF modificado)
+     */
+    public static void writeNullableString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+    
+    public static String readNullableString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,72 @@
+package co.edu.uptc.shared.nio;
+
+import co.edu.uptc.shared.model.WireFormat;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Construye una trama del protocolo NIO: reserva el prefijo de longitud,
+ * escribe código e ID y deja el resto a los argumentos
+ * La escritura es en memoria, así que las IOException no ocurren en la práctica.
+ */
+public final class FrameWriter extends DataOutputStream {
+    
+    public FrameWriter(int opcode, int id) {
+        super(new Bytes());
+        try {
+            writeInt(0);
+            writeByte(opcode);
+            WireFormat.writeVarInt(this, id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Completa el prefijo de longitud y retorna la trama lista para enviar
+     * @throws IOException Si la trama supera {@link NioProtocol#MAX_FRAME}
+     */
+    public ByteBuffer toBuffer() throws IOException {
+        Bytes bytes = (Bytes) out;
+        int length = bytes.size() - 4;
+        if (length > NioProtocol.MAX_FRAME) {
+            throw new IOException("Trama demasiado grande: " + length + " bytes");
+        }
+        ByteBuffer frame = ByteBuffer.wrap(bytes.buffer(), 0, bytes.size());
+        frame.putInt(0, length);
+        return frame;
+    }
+    
+    /**
+     * Completa el prefijo de una trama cuyo final se envía en otro buffer,
+     * compartido entre varias conexiones
+     * @param tailLength Bytes del final que no pasan por este escritor
+     * @throws IOException Si la trama supera {@link NioProtocol#MAX_FRAME}
+     */
+    public ByteBuffer toHeader(int tailLength) throws IOException {
+        Bytes bytes = (Bytes) out;
+        int length = bytes.size() - 4 + tailLength;
+        if (length > NioProtocol.MAX_FRAME) {
+            throw new IOException("Trama demasiado grande: " + length + " bytes");
+        }
+        ByteBuffer header = ByteBuffer.wrap(bytes.buffer(), 0, bytes.size());
+        header.putInt(0, length);
+        return header;
+    }
+    
+    /**
+     * Arreglo interno sin copiar al crear el buffer
+     */
+    private static final class Bytes extends ByteArrayOutputStream {
+        Bytes() {
+            super(64);
+        }
+        
+        byte[] buffer() {
+            return buf;
+        }
+    }
+}
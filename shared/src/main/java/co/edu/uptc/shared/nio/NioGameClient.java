@@ -0,0 +1,448 @@
+package co.edu.uptc.shared.nio;
+
+import co.edu.uptc.shared.event.EventCodec;
+import co.edu.uptc.shared.event.GameEvent;
+import co.edu.uptc.shared.interfaces.GameCallback;
+import co.edu.uptc.shared.interfaces.GameService;
+import co.edu.uptc.shared.interfaces.SpectatorCallback;
+import co.edu.uptc.shared.interfaces.SpectatorService;
+import co.edu.uptc.shared.model.GameStatus;
+import co.edu.uptc.shared.model.Position;
+import co.edu.uptc.shared.model.ShipPlacement;
+import co.edu.uptc.shared.model.WireFormat;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.rmi.ConnectException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * GameService sobre el transporte NIO: el mismo contrato que el stub RMI
+ *
+ * Una sola conexión lleva las peticiones de todos los hilos del cliente
+ * (cada una con su ID) y los callbacks del servidor, que se entregan en orden
+ * en un hilo propio (nio-callbacks) para que un callback pueda invocar al
+ * servicio sin bloquear la lectura. Los errores de comunicación se reportan
+ * como RemoteException, igual que con RMI. Si la conexión se pierde, la
+ * siguiente invocación abre una nueva; los callbacks se registran de nuevo
+ * con reattach.
+ */
+public class NioGameClient implements GameService, SpectatorService, Closeable {
+    private static final Logger LOGGER = Logger.getLogger(NioGameClient.class.getName());
+    
+    /** Espera máxima por una respuesta (más el plazo del long-poll) */
+    private static final long CALL_TIMEOUT_MS = 30000;
+    
+    private final InetSocketAddress address;
+    private final AtomicInteger ids = new AtomicInteger();
+    private final ExecutorService notifier;
+    private volatile Connection connection;
+    private volatile boolean closed;
+    
+    private NioGameClient(InetSocketAddress address) {
+        this.address = address;
+        this.notifier = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "nio-callbacks");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Conecta con el servidor NIO
+     * @throws IOException Si el servidor no acepta la conexión
+     */
+    public static NioGameClient connect(String host, int port) throws IOException {
+        NioGameClient client = new NioGameClient(new InetSocketAddress(host, port));
+        client.connection();
+        return client;
+    }
+    
+    @Override
+    public String joinGame(String playerName, GameCallback callback) throws RemoteException {
+        return readString(call(NioProtocol.JOIN_GAME,
+                out -> WireFormat.writeNullableString(out, playerName), callback, 0));
+    }
+    
+    @Override
+    public boolean placeShip(String playerId, Position start, Position end) throws RemoteException {
+        return readBoolean(call(NioProtocol.PLACE_SHIP, out -> {
+            WireFormat.writeNullableString(out, playerId);
+            NioProtocol.writePosition(out, start);
+            NioProtocol.writePosition(out, end);
+        }, null, 0));
+    }
+    
+    @Override
+    public boolean placeFleet(String playerId, List<ShipPlacement> fleet) throws RemoteException {
+        return readBoolean(call(NioProtocol.PLACE_FLEET, out -> {
+            WireFormat.writeNullableString(out, playerId);
+            NioProtocol.writeFleet(out, fleet);
+        }, null, 0));
+    }
+    
+    @Override
+    public String attack(String playerId, Position target) throws RemoteException {
+        return readString(call(NioProtocol.ATTACK, out -> {
+            WireFormat.writeNullableString(out, playerId);
+            NioProtocol.writePosition(out, target);
+        }, null, 0));
+    }
+    
+    @Override
+    public GameStatus getGameStatus(String playerId) throws RemoteException {
+        DataInputStream in = call(NioProtocol.GET_GAME_STATUS,
+                out -> WireFormat.writeNullableString(out, playerId), null, 0);
+        return readStatus(in);
+    }
+    
+    @Override
+    public GameStatus getGameStatusSince(String playerId, long knownVersion, long timeoutMs) throws RemoteException {
+        long waitMs = Math.max(0, timeoutMs);
+        DataInputStream in = call(NioProtocol.GET_GAME_STATUS_SINCE, out -> {
+            WireFormat.writeNullableString(out, playerId);
+            out.writeLong(knownVersion);
+            WireFormat.writeVarLong(out, waitMs);
+        }, null, waitMs);
+        return readStatus(in);
+    }
+    
+    @Override
+    public boolean heartbeat(String playerId) throws RemoteException {
+        return readBoolean(call(NioProtocol.HEARTBEAT,
+                out -> WireFormat.writeNullableString(out, playerId), null, 0));
+    }
+    
+    @Override
+    public String reattach(String playerId, String token, GameCallback callback) throws RemoteException {
+        return readString(call(NioProtocol.REATTACH, out -> {
+            WireFormat.writeNullableString(out, playerId);
+            WireFormat.writeNullableString(out, token);
+        }, callback, 0));
+    }
+    
+    @Override
+    public boolean setPlayerReady(String playerId) throws RemoteException {
+        return readBoolean(call(NioProtocol.SET_PLAYER_READY,
+                out -> WireFormat.writeNullableString(out, playerId), null, 0));
+    }
+    
+    @Override
+    public void disconnectPlayer(String playerId) throws RemoteException {
+        call(NioProtocol.DISCONNECT_PLAYER, out -> WireFormat.writeNullableString(out, playerId), null, 0);
+    }
+    
+    @Override
+    public String spectate(String sessionId, SpectatorCallback callback) throws RemoteException {
+        return readString(call(NioProtocol.SPECTATE,
+                out -> WireFormat.writeNullableString(out, sessionId), callback, 0));
+    }
+    
+    @Override
+    public void stopSpectating(String spectatorId) throws RemoteException {
+        call(NioProtocol.STOP_SPECTATING, out -> WireFormat.writeNullableString(out, spectatorId), null, 0);
+    }
+    
+    /**
+     * Envía una petición y espera su respuesta
+     * @param callback GameCallback o SpectatorCallback que recibirá las notificaciones
+     *                 asociadas a la petición, o null
+     * @param extraWaitMs Espera adicional permitida (plazo del long-poll)
+     * @return Resultado de la respuesta, posicionado tras el ID
+     */
+    private DataInputStream call(int opcode, Arguments arguments, Remote callback, long extraWaitMs)
+            throws RemoteException {
+        Connection current = connection();
+        int id = ids.incrementAndGet() & Integer.MAX_VALUE;
+        CompletableFuture<DataInputStream> reply = new CompletableFuture<>();
+        current.pending.put(id, reply);
+        if (callback != null) {
+            current.callbacks.put(id, callback);
+        }
+        try {
+            FrameWriter frame = new FrameWriter(opcode, id);
+            arguments.write(frame);
+            current.send(frame.toBuffer());
+            return reply.get(CALL_TIMEOUT_MS + extraWaitMs, TimeUnit.MILLISECONDS);
+        } catch (IOException e) {
+            current.fail(e);
+            throw new ConnectException("Error enviando al servidor NIO", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RemoteException) {
+                throw (RemoteException) e.getCause();
+            }
+            throw new RemoteException("Error en la invocación", e.getCause());
+        } catch (TimeoutException e) {
+            throw new RemoteException("El servidor NIO no respondió a tiempo");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemoteException("Invocación interrumpida", e);
+        } finally {
+            current.pending.remove(id);
+        }
+    }
+    
+    /**
+     * Conexión activa; si se perdió se abre una nueva
+     */
+    private Connection connection() throws ConnectException {
+        Connection current = connection;
+        if (current != null && current.isOpen()) {
+            return current;
+        }
+        synchronized (this) {
+            current = connection;
+            if (current != null && current.isOpen()) {
+                return current;
+            }
+            if (closed) {
+                throw new ConnectException("Cliente NIO cerrado");
+            }
+            try {
+                current = new Connection(SocketChannel.open(address));
+            } catch (IOException e) {
+                throw new ConnectException("No se pudo conectar a " + address, e);
+            }
+            connection = current;
+            current.start();
+            return current;
+        }
+    }
+    
+    private static String readString(DataInputStream in) throws RemoteException {
+        try {
+            return WireFormat.readNullableString(in);
+        } catch (IOException e) {
+            throw malformed(e);
+        }
+    }
+    
+    private static boolean readBoolean(DataInputStream in) throws RemoteException {
+        try {
+            return in.readBoolean();
+        } catch (IOException e) {
+            throw malformed(e);
+        }
+    }
+    
+    private static GameStatus readStatus(DataInputStream in) throws RemoteException {
+        try {
+            return GameStatus.read(in);
+        } catch (IOException e) {
+            throw malformed(e);
+        }
+    }
+    
+    private static RemoteException malformed(IOException e) {
+        return new RemoteException("Respuesta mal formada del servidor NIO", e);
+    }
+    
+    @Override
+    public void close() {
+        closed = true;
+        Connection current = connection;
+        if (current != null) {
+            current.fail(new IOException("Cliente NIO cerrado"));
+        }
+        notifier.shutdown();
+    }
+    
+    /**
+     * Escritura de los argumentos de una petición
+     */
+    @FunctionalInterface
+    private interface Arguments {
+        void write(DataOutput out) throws IOException;
+    }
+    
+    /**
+     * Invocación de un método de GameCallback
+     */
+    @FunctionalInterface
+    private interface Notification {
+        void deliver(GameCallback callback) throws RemoteException;
+    }
+    
+    /**
+     * Conexión TCP con su hilo lector, las peticiones en curso y los callbacks registrados
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final Map<Integer, CompletableFuture<DataInputStream>> pending = new ConcurrentHashMap<>();
+        private final Map<Integer, Remote> callbacks = new ConcurrentHashMap<>();
+        private final Thread reader;
+        
+        Connection(SocketChannel channel) throws IOException {
+            this.channel = channel;
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            this.reader = new Thread(this::readLoop, "nio-client-reader");
+            this.reader.setDaemon(true);
+        }
+        
+        void start() {
+            reader.start();
+        }
+        
+        boolean isOpen() {
+            return channel.isOpen();
+        }
+        
+        /**
+         * Escribe una trama completa; las de distintos hilos no se intercalan
+         */
+        synchronized void send(ByteBuffer frame) throws IOException {
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+        }
+        
+        private void readLoop() {
+            ByteBuffer buffer = ByteBuffer.allocate(NioProtocol.MAX_FRAME + 4);
+            try {
+                while (channel.read(buffer) >= 0) {
+                    buffer.flip();
+                    while (buffer.remaining() >= 4) {
+                        int length = buffer.getInt(buffer.position());
+                        if (length <= 0 || length > NioProtocol.MAX_FRAME) {
+                            throw new IOException("Trama inválida de " + length + " bytes");
+                        }
+                        if (buffer.remaining() < 4 + length) {
+                            break;
+                        }
+                        buffer.getInt();
+                        byte[] frame = new byte[length];
+                        buffer.get(frame);
+                        handle(new DataInputStream(new ByteArrayInputStream(frame)));
+                    }
+                    buffer.compact();
+                }
+                fail(new IOException("El servidor cerró la conexión"));
+            } catch (IOException e) {
+                fail(e);
+            } catch (RuntimeException e) {
+                // Trama con valores fuera de rango: la conexión ya no es confiable
+                fail(new IOException("Trama inválida del servidor: " + e, e));
+            }
+        }
+        
+        private void handle(DataInputStream in) throws IOException {
+            int opcode = in.readUnsignedByte();
+            int id = WireFormat.readVarInt(in);
+            switch (opcode) {
+                case NioProtocol.RESULT: {
+                    CompletableFuture<DataInputStream> reply = pending.get(id);
+                    if (reply != null) {
+                        reply.complete(in);
+                    }
+                    break;
+                }
+                case NioProtocol.FAILURE: {
+                    CompletableFuture<DataInputStream> reply = pending.get(id);
+                    if (reply != null) {
+                        reply.completeExceptionally(new RemoteException(in.readUTF()));
+                    }
+                    break;
+                }
+                case NioProtocol.ON_GAME_EVENT: {
+                    String message = WireFormat.readNullableString(in);
+                    notify(id, callback -> callback.onGameEvent(message));
+                    break;
+                }
+                case NioProtocol.ON_GAME_EVENTS: {
+                    List<GameEvent> events = EventCodec.read(in);
+                    notify(id, callback -> callback.onGameEvents(events));
+                    break;
+                }
+                case NioProtocol.ON_PLAYER_JOINED: {
+                    String name = WireFormat.readNullableString(in);
+                    notify(id, callback -> callback.onPlayerJoined(name));
+                    break;
+                }
+                case NioProtocol.ON_TURN_CHANGED: {
+                    boolean myTurn = in.readBoolean();
+                    String current = WireFormat.readNullableString(in);
+                    notify(id, callback -> callback.onTurnChanged(myTurn, current));
+                    break;
+                }
+                case NioProtocol.ON_GAME_ENDED: {
+                    String winner = WireFormat.readNullableString(in);
+                    notify(id, callback -> callback.onGameEnded(winner));
+                    break;
+                }
+                case NioProtocol.ON_OPPONENT_DISCONNECTED:
+                    notify(id, GameCallback::onOpponentDisconnected);
+                    break;
+                case NioProtocol.ON_MOVES: {
+                    byte[] frame = new byte[in.available()];
+                    in.readFully(frame);
+                    watch(id, frame);
+                    break;
+                }
+                default:
+                    throw new IOException("Código de operación desconocido: " + opcode);
+            }
+        }
+        
+        private void notify(int id, Notification notification) {
+            Remote callback = callbacks.get(id);
+            if (!(callback instanceof GameCallback)) {
+                return;
+            }
+            notifier.execute(() -> {
+                try {
+                    notification.deliver((GameCallback) callback);
+                } catch (RemoteException | RuntimeException e) {
+                    LOGGER.warning("Error entregando callback: " + e);
+                }
+            });
+        }
+        
+        private void watch(int id, byte[] frame) {
+            Remote callback = callbacks.get(id);
+            if (!(callback instanceof SpectatorCallback)) {
+                return;
+            }
+            notifier.execute(() -> {
+                try {
+                    ((SpectatorCallback) callback).onMoves(frame);
+                } catch (RemoteException | RuntimeException e) {
+                    LOGGER.warning("Error entregando trama de espectador: " + e);
+                }
+            });
+        }
+        
+        /**
+         * Cierra la conexión y falla las peticiones en curso
+         */
+        void fail(IOException cause) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Ya se está descartando la conexión
+            }
+            ConnectException lost = new ConnectException("Conexión con el servidor NIO perdida", cause);
+            for (CompletableFuture<DataInputStream> reply : pending.values()) {
+                reply.completeExceptionally(lost);
+            }
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package co.edu.uptc.shared.nio;
+
+import co.edu.uptc.shared.model.FleetRules;
+import co.edu.uptc.shared.model.Position;
+import co.edu.uptc.shared.model.ShipPlacement;
+import co.edu.uptc.shared.model.WireFormat;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Protocolo binario del transporte NIO, alternativo a RMI
+ *
+ * Cada trama lleva un prefijo de longitud y una sola conexión TCP transporta
+ * en ambos sentidos las invocaciones de GameService y los callbacks de
+ * GameCallback. Los modelos usan el mismo formato compacto de los proxies RMI
+ * (GameStatus.write, ShipPlacement.write, EventCodec, WireFormat).
+ *
+ * Formato de trama (big-endian):
+ * <pre>
+ * int    longitud del resto de la trama
+ * byte   código de operación
+ * varint ID de la petición (respuestas) o del callback (notificaciones)
+ * ...    argumentos o resultado
+ * </pre>
+ * Las respuestas repiten el ID de la petición, así que un cliente puede tener
+ * varias en curso (p. ej. un long-poll y un ataque). Las notificaciones llevan
+ * el ID de la petición joinGame/reattach que registró el callback.
+ */
+public final class NioProtocol {
+    
+    /** Puerto por defecto del servidor NIO */
+    public static final int DEFAULT_PORT = 1101;
+    /** Tamaño máximo de una trama; una mayor cierra la conexión */
+    public static final int MAX_FRAME = 64 * 1024;
+    
+    // Peticiones cliente → servidor
+    public static final int JOIN_GAME = 1;
+    public static final int PLACE_SHIP = 2;
+    public static final int PLACE_FLEET = 3;
+    public static final int ATTACK = 4;
+    public static final int GET_GAME_STATUS = 5;
+    public static final int GET_GAME_STATUS_SINCE = 6;
+    public static final int HEARTBEAT = 7;
+    public static final int REATTACH = 8;
+    public static final int SET_PLAYER_READY = 9;
+    public static final int DISCONNECT_PLAYER = 10;
+    public static final int SPECTATE = 11;
+    public static final int STOP_SPECTATING = 12;
+    
+    // Respuestas servidor → cliente
+    public static final int RESULT = 64;
+    public static final int FAILURE = 65;
+    
+    // Notificaciones servidor → cliente (GameCallback)
+    public static final int ON_GAME_EVENT = 96;
+    public static final int ON_GAME_EVENTS = 97;
+    public static final int ON_PLAYER_JOINED = 98;
+    public static final int ON_TURN_CHANGED = 99;
+    public static final int ON_GAME_ENDED = 100;
+    public static final int ON_OPPONENT_DISCONNECTED = 101;
+    /** Trama de espectador (SpectatorFrame) compartida entre todos los espectadores */
+    public static final int ON_MOVES = 102;
+    
+    private NioProtocol() {
+    }
+    
+    /**
+     * Lee el cuerpo de una trama completa: código, ID y argumentos
+     * @param frame Buffer posicionado al inicio del cuerpo, limitado a su final
+     */
+    public static DataInputStream body(ByteBuffer frame) {
+        return new DataInputStream(new ByteArrayInputStream(frame.array(),
+                frame.arrayOffset() + frame.position(), frame.remaining()));
+    }
+    
+    public static void writePosition(DataOutput out, Position position) throws IOException {
+        out.writeByte(position.getIndex());
+    }
+    
+    public static Position readPosition(DataInput in) throws IOException {
+        return Position.ofIndex(in.readUnsignedByte());
+    }
+    
+    public static void writeFleet(DataOutput out, List<ShipPlacement> fleet) throws IOException {
+        WireFormat.writeVarInt(out, fleet.size());
+        for (ShipPlacement placement : fleet) {
+            placement.write(out);
+        }
+    }
+    
+    public static List<ShipPlacement> readFleet(DataInput in) throws IOException {
+        int count = WireFormat.readCount(in, FleetRules.fleetSize());
+        List<ShipPlacement> fleet = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            fleet.add(ShipPlacement.read(in));
+        }
+        return fleet;
+    }
+}
@@ -0,0 +1,89 @@
+package co.edu.uptc.shared.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.Position;
+import co.edu.uptc.shared.model.ShipPlacement;
+import co.edu.uptc.shared.model.WireFormat;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Codificación binaria de los eventos de juego y de las tramas de espectadores
+ */
+class EventCodecTest {
+    
+    static final List<GameEvent> EVENTS = List.of(
+            new AttackResolved("Ana", Position.of(3, 7), Board.AttackResult.HIT, true),
+            new AttackResolved(null, Position.of(9, 9), Board.AttackResult.MISS, false),
+            new ShipSunk(new ShipPlacement(Position.of(8, 7), 2, false), true),
+            new ShipSunk(new ShipPlacement(Position.of(0, 0), 5, true), false),
+            new TurnChanged("Luis", false),
+            new GameOver("Ana", true),
+            new GameOver(null, false),
+            new PlayerJoined("Jugador con ñ"));
+    
+    @Test
+    void eventsRoundTrip() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        EventCodec.write(new DataOutputStream(buffer), EVENTS);
+        List<GameEvent> read = EventCodec.read(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray())));
+        assertSameEvents(EVENTS, read);
+    }
+    
+    @Test
+    void emptyListRoundTrip() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        EventCodec.write(new DataOutputStream(buffer), List.of());
+        assertTrue(EventCodec.read(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()))).isEmpty());
+    }
+    
+    @Test
+    void countLargerThanFrameIsRejected() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        WireFormat.writeVarInt(out, Integer.MAX_VALUE);
+        out.writeByte(GameEvent.Type.PLAYER_JOINED.ordinal());
+        assertThrows(IOException.class,
+                () -> EventCodec.read(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()))));
+    }
+    
+    @Test
+    void spectatorFrameRoundTrip() throws IOException {
+        byte[] frame = SpectatorFrame.encode(1234567L, SpectatorFrame.SNAPSHOT, EVENTS);
+        SpectatorFrame decoded = SpectatorFrame.decode(frame);
+        assertEquals(1234567L, decoded.getSequence());
+        assertTrue(decoded.isSnapshot());
+        assertFalse(decoded.isClosed());
+        assertSameEvents(EVENTS, decoded.getEvents());
+        
+        SpectatorFrame closed = SpectatorFrame.decode(SpectatorFrame.encode(0, SpectatorFrame.CLOSED, List.of()));
+        assertTrue(closed.isClosed());
+        assertTrue(closed.getEvents().isEmpty());
+    }
+    
+    static void assertSameEvents(List<GameEvent> expected, List<GameEvent> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            GameEvent a = expected.get(i);
+            GameEvent b = actual.get(i);
+            assertEquals(a.getType(), b.getType());
+            assertEquals(a.toString(), b.toString());
+            // Campos que toString no muestra
+            if (a instanceof AttackResolved) {
+                assertEquals(((AttackResolved) a).isByMe(), ((AttackResolved) b).isByMe());
+            } else if (a instanceof GameOver) {
+                assertEquals(((GameOver) a).isYouWon(), ((GameOver) b).isYouWon());
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package co.edu.uptc.shared.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Proxy compacto de Board: barcos y ataques viajan, impactos y hundidos se recalculan
+ */
+class BoardWireTest {
+    
+    static final List<ShipPlacement> FLEET = List.of(
+            new ShipPlacement(Position.of(0, 0), 5, true),
+            new ShipPlacement(Position.of(0, 2), 4, true),
+            new ShipPlacement(Position.of(6, 2), 3, false),
+            new ShipPlacement(Position.of(0, 6), 3, true),
+            new ShipPlacement(Position.of(8, 7), 2, false));
+    
+    @Test
+    void emptyBoardRoundTrip() throws Exception {
+        assertSameBoard(new Board(), roundTrip(new Board()));
+    }
+    
+    @Test
+    void boardWithAttacksRoundTrip() throws Exception {
+        Board board = fleetBoard();
+        // Un barco hundido, impactos sueltos, agua y celdas de la parte alta (índice >= 64)
+        board.receiveAttack(Position.of(8, 7));
+        board.receiveAttack(Position.of(8, 8));
+        board.receiveAttack(Position.of(0, 0));
+        board.receiveAttack(Position.of(6, 3));
+        board.receiveAttack(Position.of(9, 9));
+        board.receiveAttack(Position.of(5, 5));
+        assertSameBoard(board, roundTrip(board));
+    }
+    
+    @Test
+    void finishedBoardRoundTrip() throws Exception {
+        Board board = fleetBoard();
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            board.receiveAttack(Position.ofIndex(cell));
+        }
+        Board copy = roundTrip(board);
+        assertTrue(copy.allShipsSunk());
+        assertSameBoard(board, copy);
+    }
+    
+    static Board fleetBoard() {
+        Board board = new Board();
+        for (ShipPlacement placement : FLEET) {
+            assertTrue(board.placeShip(placement.getOrigin(), placement.getEnd()));
+        }
+        return board;
+    }
+    
+    private static Board roundTrip(Board board) throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+            out.writeObject(board);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+            return (Board) in.readObject();
+        }
+    }
+    
+    static void assertSameBoard(Board expected, Board actual) {
+        assertEquals(placements(expected), placements(actual));
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            Position position = Position.ofIndex(cell);
+            assertEquals(expected.hasShipAt(position), actual.hasShipAt(position), "barco en " + position);
+            assertEquals(expected.isAttacked(position), actual.isAttacked(position), "ataque en " + position);
+            assertEquals(expected.isHit(position), actual.isHit(position), "impacto en " + position);
+        }
+        assertEquals(expected.allShipsSunk(), actual.allShipsSunk());
+    }
+    
+    private static List<String> placements(Board board) {
+        List<String> result = new ArrayList<>();
+        for (Ship ship : board.getShips()) {
+            result.add(ship.toPlacement() + (ship.isSunk() ? " hundido" : ""));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,91 @@
+package co.edu.uptc.shared.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Formato compacto de GameStatus: write/read y el proxy de serialización
+ */
+class GameStatusTest {
+    
+    @Test
+    void factoryStatusesRoundTrip() throws IOException {
+        List<GameStatus> statuses = List.of(
+                GameStatus.waiting(0),
+                GameStatus.waiting(1).withVersion(3),
+                GameStatus.placingShips(2).withVersion(300),
+                GameStatus.playing("Ana", true).withVersion(1L << 40),
+                GameStatus.playing("Ana", false),
+                GameStatus.finished("Luis").withVersion(99));
+        for (GameStatus status : statuses) {
+            assertSameStatus(status, roundTrip(status));
+        }
+    }
+    
+    @Test
+    void factoryMessageIsNotTransmitted() throws IOException {
+        GameStatus status = GameStatus.playing("Ana", false).withVersion(5);
+        GameStatus custom = new GameStatus(GameStatus.GamePhase.PLAYING, "Ana", false, 2, null,
+                status.getStatusMessage(), 5);
+        assertTrue(bytes(status).length < bytes(custom).length);
+    }
+    
+    @Test
+    void customMessageRoundTrip() throws IOException {
+        GameStatus status = new GameStatus(GameStatus.GamePhase.PLAYING, "Ana", true, 2, null,
+                "Mensaje propio", 12);
+        assertSameStatus(status, roundTrip(status));
+        
+        GameStatus empty = new GameStatus(GameStatus.GamePhase.WAITING, null, false, 1, null, null);
+        assertSameStatus(empty, roundTrip(empty));
+    }
+    
+    @Test
+    void rereadStatusWritesSameBytes() throws IOException {
+        GameStatus status = GameStatus.finished("Luis").withVersion(7);
+        assertArrayEquals(bytes(status), bytes(roundTrip(status)));
+    }
+    
+    @Test
+    void serializationUsesWire() throws Exception {
+        GameStatus status = GameStatus.playing("Ana", true).withVersion(42);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+            out.writeObject(status);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+            assertSameStatus(status, (GameStatus) in.readObject());
+        }
+    }
+    
+    static byte[] bytes(GameStatus status) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        status.write(new DataOutputStream(buffer));
+        return buffer.toByteArray();
+    }
+    
+    private static GameStatus roundTrip(GameStatus status) throws IOException {
+        return GameStatus.read(new DataInputStream(new ByteArrayInputStream(bytes(status))));
+    }
+    
+    private static void assertSameStatus(GameStatus expected, GameStatus actual) {
+        assertEquals(expected.getPhase(), actual.getPhase());
+        assertEquals(expected.getCurrentPlayerName(), actual.getCurrentPlayerName());
+        assertEquals(expected.isMyTurn(), actual.isMyTurn());
+        assertEquals(expected.getPlayersConnected(), actual.getPlayersConnected());
+        assertEquals(expected.getWinner(), actual.getWinner());
+        assertEquals(expected.getStatusMessage(), actual.getStatusMessage());
+        assertEquals(expected.getVersion(), actual.getVersion());
+    }
+}
@@ -0,0 +1,86 @@
+package co.edu.uptc.shared.nio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import co.edu.uptc.shared.model.Board;
+import co.edu.uptc.shared.model.FleetRules;
+import co.edu.uptc.shared.model.Position;
+import co.edu.uptc.shared.model.ShipPlacement;
+import co.edu.uptc.shared.model.WireFormat;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Argumentos de las tramas NIO: posiciones, flotas y lectura del cuerpo
+ */
+class NioProtocolTest {
+    
+    private static final List<ShipPlacement> FLEET = List.of(
+            new ShipPlacement(Position.of(0, 0), 5, true),
+            new ShipPlacement(Position.of(0, 2), 4, true),
+            new ShipPlacement(Position.of(6, 2), 3, false),
+            new ShipPlacement(Position.of(0, 6), 3, true),
+            new ShipPlacement(Position.of(8, 7), 2, false));
+    
+    @Test
+    void positionsRoundTrip() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            NioProtocol.writePosition(out, Position.ofIndex(cell));
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            assertEquals(Position.ofIndex(cell), NioProtocol.readPosition(in));
+        }
+    }
+    
+    @Test
+    void fleetRoundTrip() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        NioProtocol.writeFleet(new DataOutputStream(buffer), FLEET);
+        List<ShipPlacement> read = NioProtocol.readFleet(
+                new DataInputStream(new ByteArrayInputStream(buffer.toByteArray())));
+        assertEquals(FLEET, read);
+    }
+    
+    @Test
+    void fleetLargerThanRulesIsRejected() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        WireFormat.writeVarInt(out, FleetRules.fleetSize() + 1);
+        assertThrows(IOException.class,
+                () -> NioProtocol.readFleet(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()))));
+        
+        buffer.reset();
+        WireFormat.writeVarInt(out, -1);
+        assertThrows(IOException.class,
+                () -> NioProtocol.readFleet(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()))));
+    }
+    
+    @Test
+    void bodyReadsOnlyTheFrame() throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(16);
+        frame.putInt(99);
+        frame.put((byte) NioProtocol.ATTACK);
+        frame.putInt(7);
+        frame.put((byte) Position.of(4, 9).getIndex());
+        frame.putInt(-1);
+        frame.flip();
+        frame.position(4);
+        frame.limit(10);
+        
+        DataInputStream body = NioProtocol.body(frame);
+        assertEquals(NioProtocol.ATTACK, body.readUnsignedByte());
+        assertEquals(7, body.readInt());
+        assertEquals(Position.of(4, 9), NioProtocol.readPosition(body));
+        assertEquals(0, body.available());
+    }
+}